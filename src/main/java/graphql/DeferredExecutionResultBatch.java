@@ -0,0 +1,62 @@
+package graphql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static graphql.Assert.assertNotNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Several results of @defer fields that were ready at the same time and so are delivered together.  Each of the
+ * results has its own path, so this batch has an empty path, its data is the list of the data of the results and its
+ * errors are the errors of all the results.
+ *
+ * @see graphql.execution.defer.DeferOptions#isBatchResults()
+ */
+@PublicApi
+public class DeferredExecutionResultBatch extends ExecutionResultImpl implements DeferredExecutionResult {
+
+    private final List<DeferredExecutionResult> results;
+
+    public DeferredExecutionResultBatch(List<DeferredExecutionResult> results) {
+        super(dataOf(results), errorsOf(results));
+        this.results = Collections.unmodifiableList(new ArrayList<>(assertNotNull(results)));
+    }
+
+    private static List<Object> dataOf(List<DeferredExecutionResult> results) {
+        return results.stream().map(ExecutionResult::getData).collect(toList());
+    }
+
+    private static List<GraphQLError> errorsOf(List<DeferredExecutionResult> results) {
+        List<GraphQLError> errors = new ArrayList<>();
+        for (DeferredExecutionResult result : results) {
+            errors.addAll(result.getErrors());
+        }
+        return errors;
+    }
+
+    /**
+     * @return the results in this batch, in the order the deferred fields were encountered
+     */
+    public List<DeferredExecutionResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return an empty path, since each of the results has its own path
+     */
+    @Override
+    public List<Object> getPath() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Map<String, Object> toSpecification() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("incremental", results.stream().map(ExecutionResult::toSpecification).collect(toList()));
+        return map;
+    }
+}
@@ -27,10 +27,11 @@ public class ExecutionInput {
     private final CacheControl cacheControl;
     private final ExecutionId executionId;
     private final Locale locale;
+    private final Map<String, Object> extensions;
 
 
     @Internal
-    private ExecutionInput(String query, String operationName, Object context, Object root, Map<String, Object> variables, DataLoaderRegistry dataLoaderRegistry, CacheControl cacheControl, ExecutionId executionId, Locale locale) {
+    private ExecutionInput(String query, String operationName, Object context, Object root, Map<String, Object> variables, DataLoaderRegistry dataLoaderRegistry, CacheControl cacheControl, ExecutionId executionId, Locale locale, Map<String, Object> extensions) {
         this.query = assertNotNull(query, "query can't be null");
         this.operationName = operationName;
         this.context = context;
@@ -40,6 +41,7 @@ public class ExecutionInput {
         this.cacheControl = cacheControl;
         this.executionId = executionId;
         this.locale = locale;
+        this.extensions = extensions;
     }
 
     /**
@@ -107,6 +109,16 @@ public class ExecutionInput {
         return locale;
     }
 
+    /**
+     * The extensions are the map of values that a client can send alongside the query, for example the id of a
+     * persisted query
+     *
+     * @return the extensions of this operation which is never null
+     */
+    public Map<String, Object> getExtensions() {
+        return extensions;
+    }
+
     /**
      * This helps you transform the current ExecutionInput object into another one by starting a builder with all
      * the current values and allows you to transform it how you want.
@@ -124,7 +136,8 @@ public class ExecutionInput {
                 .cacheControl(this.cacheControl)
                 .variables(this.variables)
                 .executionId(this.executionId)
-                .locale(this.locale);
+                .locale(this.locale)
+                .extensions(this.extensions);
 
         builderConsumer.accept(builder);
 
@@ -142,6 +155,7 @@ public class ExecutionInput {
                 ", dataLoaderRegistry=" + dataLoaderRegistry +
                 ", executionId= " + executionId +
                 ", locale= " + locale +
+                ", extensions=" + extensions +
                 '}';
     }
 
@@ -177,6 +191,7 @@ public class ExecutionInput {
         private CacheControl cacheControl = CacheControl.newCacheControl();
         private Locale locale;
         private ExecutionId executionId;
+        private Map<String, Object> extensions = Collections.emptyMap();
 
         public Builder query(String query) {
             this.query = assertNotNull(query, "query can't be null");
@@ -262,8 +277,19 @@ public class ExecutionInput {
             return this;
         }
 
+        /**
+         * Sets the extensions the client sent alongside the query
+         *
+         * @param extensions the extensions map
+         * @return this builder
+         */
+        public Builder extensions(Map<String, Object> extensions) {
+            this.extensions = assertNotNull(extensions, "extensions map can't be null");
+            return this;
+        }
+
         public ExecutionInput build() {
-            return new ExecutionInput(query, operationName, context, root, variables, dataLoaderRegistry, cacheControl, executionId, locale);
+            return new ExecutionInput(query, operationName, context, root, variables, dataLoaderRegistry, cacheControl, executionId, locale, extensions);
         }
     }
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package graphql;
 
 import graphql.execution.AbortExecutionException;
+import graphql.execution.Async;
 import graphql.execution.AsyncExecutionStrategy;
 import graphql.execution.AsyncSerialExecutionStrategy;
 import graphql.execution.Execution;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionIdProvider;
+import graphql.execution.ExecutionPlan;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.SubscriptionExecutionStrategy;
+import graphql.execution.defer.DeferOptions;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.DocumentAndVariables;
 import graphql.execution.instrumentation.Instrumentation;
@@ -24,8 +27,11 @@ import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.language.Document;
 import graphql.parser.InvalidSyntaxException;
 import graphql.parser.Parser;
+import graphql.parser.ParserOptions;
 import graphql.schema.GraphQLSchema;
 import graphql.util.LogKit;
+import graphql.validation.NoOpValidationCache;
+import graphql.validation.ValidationCache;
 import graphql.validation.ValidationError;
 import graphql.validation.Validator;
 import org.slf4j.Logger;
@@ -36,9 +42,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import static graphql.Assert.assertNotNull;
@@ -104,6 +112,10 @@ public class GraphQL {
     private final ExecutionIdProvider idProvider;
     private final Instrumentation instrumentation;
     private final PreparsedDocumentProvider preparsedDocumentProvider;
+    private final ValidationCache validationCache;
+    private final DeferOptions deferOptions;
+    private final Executor parseAndValidateExecutor;
+    private final Executor validationExecutor;
 
 
     /**
@@ -147,7 +159,7 @@ public class GraphQL {
     @Internal
     @Deprecated
     public GraphQL(GraphQLSchema graphQLSchema, ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy) {
-        this(graphQLSchema, queryStrategy, mutationStrategy, null, DEFAULT_EXECUTION_ID_PROVIDER, DEFAULT_INSTRUMENTATION, NoOpPreparsedDocumentProvider.INSTANCE);
+        this(graphQLSchema, queryStrategy, mutationStrategy, null, DEFAULT_EXECUTION_ID_PROVIDER, DEFAULT_INSTRUMENTATION, NoOpPreparsedDocumentProvider.INSTANCE, NoOpValidationCache.INSTANCE, DeferOptions.defaultDeferOptions(), null, null);
     }
 
     /**
@@ -163,10 +175,10 @@ public class GraphQL {
     @Internal
     @Deprecated
     public GraphQL(GraphQLSchema graphQLSchema, ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy, ExecutionStrategy subscriptionStrategy) {
-        this(graphQLSchema, queryStrategy, mutationStrategy, subscriptionStrategy, DEFAULT_EXECUTION_ID_PROVIDER, DEFAULT_INSTRUMENTATION, NoOpPreparsedDocumentProvider.INSTANCE);
+        this(graphQLSchema, queryStrategy, mutationStrategy, subscriptionStrategy, DEFAULT_EXECUTION_ID_PROVIDER, DEFAULT_INSTRUMENTATION, NoOpPreparsedDocumentProvider.INSTANCE, NoOpValidationCache.INSTANCE, DeferOptions.defaultDeferOptions(), null, null);
     }
 
-    private GraphQL(GraphQLSchema graphQLSchema, ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy, ExecutionStrategy subscriptionStrategy, ExecutionIdProvider idProvider, Instrumentation instrumentation, PreparsedDocumentProvider preparsedDocumentProvider) {
+    private GraphQL(GraphQLSchema graphQLSchema, ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy, ExecutionStrategy subscriptionStrategy, ExecutionIdProvider idProvider, Instrumentation instrumentation, PreparsedDocumentProvider preparsedDocumentProvider, ValidationCache validationCache, DeferOptions deferOptions, Executor parseAndValidateExecutor, Executor validationExecutor) {
         this.graphQLSchema = assertNotNull(graphQLSchema, "graphQLSchema must be non null");
         this.queryStrategy = queryStrategy != null ? queryStrategy : new AsyncExecutionStrategy();
         this.mutationStrategy = mutationStrategy != null ? mutationStrategy : new AsyncSerialExecutionStrategy();
@@ -174,6 +186,10 @@ public class GraphQL {
         this.idProvider = assertNotNull(idProvider, "idProvider must be non null");
         this.instrumentation = assertNotNull(instrumentation);
         this.preparsedDocumentProvider = assertNotNull(preparsedDocumentProvider, "preparsedDocumentProvider must be non null");
+        this.validationCache = assertNotNull(validationCache, "validationCache must be non null");
+        this.deferOptions = assertNotNull(deferOptions, "deferOptions must be non null");
+        this.parseAndValidateExecutor = parseAndValidateExecutor;
+        this.validationExecutor = validationExecutor;
     }
 
     /**
@@ -203,7 +219,11 @@ public class GraphQL {
                 .subscriptionExecutionStrategy(nvl(this.subscriptionStrategy, builder.subscriptionExecutionStrategy))
                 .executionIdProvider(nvl(this.idProvider, builder.idProvider))
                 .instrumentation(nvl(this.instrumentation, builder.instrumentation))
-                .preparsedDocumentProvider(nvl(this.preparsedDocumentProvider, builder.preparsedDocumentProvider));
+                .preparsedDocumentProvider(nvl(this.preparsedDocumentProvider, builder.preparsedDocumentProvider))
+                .validationCache(nvl(this.validationCache, builder.validationCache))
+                .deferOptions(nvl(this.deferOptions, builder.deferOptions))
+                .parseAndValidateExecutor(this.parseAndValidateExecutor)
+                .validationExecutor(this.validationExecutor);
 
         builderConsumer.accept(builder);
 
@@ -223,6 +243,10 @@ public class GraphQL {
         private ExecutionIdProvider idProvider = DEFAULT_EXECUTION_ID_PROVIDER;
         private Instrumentation instrumentation = null; // deliberate default here
         private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
+        private ValidationCache validationCache = NoOpValidationCache.INSTANCE;
+        private DeferOptions deferOptions = DeferOptions.defaultDeferOptions();
+        private Executor parseAndValidateExecutor = null; // null means the calling thread
+        private Executor validationExecutor = null; // null means validating sequentially
         private boolean doNotAddDefaultInstrumentations = false;
 
 
@@ -260,6 +284,65 @@ public class GraphQL {
             return this;
         }
 
+        /**
+         * The validation errors of queries can be cached separately from their parsed documents, which suits
+         * queries that are sent repeatedly but can't have their documents cached by a {@link PreparsedDocumentProvider}
+         *
+         * @param validationCache the cache of validation errors
+         *
+         * @return this builder
+         */
+        public Builder validationCache(ValidationCache validationCache) {
+            this.validationCache = assertNotNull(validationCache, "ValidationCache must be non null");
+            return this;
+        }
+
+        /**
+         * The results of @defer fields can be fetched concurrently and delivered in batches, rather than one after
+         * another as they are by default
+         *
+         * @param deferOptions the options that control how deferred results are delivered
+         *
+         * @return this builder
+         */
+        public Builder deferOptions(DeferOptions deferOptions) {
+            this.deferOptions = assertNotNull(deferOptions, "DeferOptions must be non null");
+            return this;
+        }
+
+        /**
+         * By default {@link GraphQL#executeAsync(ExecutionInput)} gets the document from the {@link PreparsedDocumentProvider},
+         * and so parses and validates it, on the calling thread.  Given an executor, this is done on that executor
+         * instead, which keeps threads that must not block, such as event loops, free.
+         *
+         * @param parseAndValidateExecutor the executor that documents are parsed and validated on, or null to use
+         *                                 the calling thread
+         *
+         * @return this builder
+         */
+        public Builder parseAndValidateExecutor(Executor parseAndValidateExecutor) {
+            this.parseAndValidateExecutor = parseAndValidateExecutor;
+            return this;
+        }
+
+        /**
+         * By default documents are validated sequentially.  Given an executor, the rules are run in partitions per
+         * top level definition on that executor instead, which validates documents with many operations and fragments
+         * faster, see {@link Validator#validateDocument(GraphQLSchema, Document, Executor)}.
+         * <p>
+         * The thread that validates waits for the partitions, so a bounded executor should not also be the
+         * {@link #parseAndValidateExecutor(Executor)}.
+         *
+         * @param validationExecutor the executor that the partitions of a document are validated on, or null to
+         *                           validate sequentially
+         *
+         * @return this builder
+         */
+        public Builder validationExecutor(Executor validationExecutor) {
+            this.validationExecutor = validationExecutor;
+            return this;
+        }
+
         public Builder executionIdProvider(ExecutionIdProvider executionIdProvider) {
             this.idProvider = assertNotNull(executionIdProvider, "ExecutionIdProvider must be non null");
             return this;
@@ -287,7 +370,7 @@ public class GraphQL {
             assertNotNull(queryExecutionStrategy, "queryStrategy must be non null");
             assertNotNull(idProvider, "idProvider must be non null");
             final Instrumentation augmentedInstrumentation = checkInstrumentationDefaultState(instrumentation, doNotAddDefaultInstrumentations);
-            return new GraphQL(graphQLSchema, queryExecutionStrategy, mutationExecutionStrategy, subscriptionExecutionStrategy, idProvider, augmentedInstrumentation, preparsedDocumentProvider);
+            return new GraphQL(graphQLSchema, queryExecutionStrategy, mutationExecutionStrategy, subscriptionExecutionStrategy, idProvider, augmentedInstrumentation, preparsedDocumentProvider, validationCache, deferOptions, parseAndValidateExecutor, validationExecutor);
         }
     }
 
@@ -527,17 +610,40 @@ public class GraphQL {
 
     private CompletableFuture<ExecutionResult> parseValidateAndExecute(ExecutionInput executionInput, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
         AtomicReference<ExecutionInput> executionInputRef = new AtomicReference<>(executionInput);
+        AtomicReference<PreparsedDocumentEntry> computedEntryRef = new AtomicReference<>();
         Function<ExecutionInput, PreparsedDocumentEntry> computeFunction = transformedInput -> {
             // if they change the original query in the pre-parser, then we want to see it downstream from then on
             executionInputRef.set(transformedInput);
-            return parseAndValidate(executionInputRef, graphQLSchema, instrumentationState);
+            PreparsedDocumentEntry computedEntry = parseAndValidate(executionInputRef, graphQLSchema, instrumentationState);
+            computedEntryRef.set(computedEntry);
+            return computedEntry;
         };
-        PreparsedDocumentEntry preparsedDoc = preparsedDocumentProvider.getDocument(executionInput, computeFunction);
-        if (preparsedDoc.hasErrors()) {
-            return CompletableFuture.completedFuture(new ExecutionResultImpl(preparsedDoc.getErrors()));
+        CompletableFuture<PreparsedDocumentEntry> preparsedDocFuture;
+        if (parseAndValidateExecutor == null) {
+            preparsedDocFuture = preparsedDocumentProvider.getDocumentAsync(executionInput, computeFunction);
+        } else {
+            preparsedDocFuture = CompletableFuture.supplyAsync(() -> preparsedDocumentProvider.getDocumentAsync(executionInput, computeFunction), parseAndValidateExecutor)
+                    .thenCompose(Function.identity());
         }
-
-        return execute(executionInputRef.get(), preparsedDoc.getDocument(), graphQLSchema, instrumentationState);
+        return preparsedDocFuture.handle((preparsedDoc, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                if (cause instanceof AbortExecutionException) {
+                    return CompletableFuture.completedFuture(((AbortExecutionException) cause).toExecutionResult());
+                }
+                return Async.<ExecutionResult>exceptionallyCompletedFuture(cause);
+            }
+            if (preparsedDoc.hasErrors()) {
+                return CompletableFuture.<ExecutionResult>completedFuture(new ExecutionResultImpl(preparsedDoc.getErrors()));
+            }
+            // a plan only pays for itself once the entry is reused, so an entry parsed for this execution runs without one
+            ExecutionPlan executionPlan = preparsedDoc == computedEntryRef.get() ? null : preparsedDoc.getExecutionPlan(graphQLSchema);
+            try {
+                return execute(executionInputRef.get(), preparsedDoc.getDocument(), executionPlan, graphQLSchema, instrumentationState);
+            } catch (AbortExecutionException e) {
+                return CompletableFuture.completedFuture(e.toExecutionResult());
+            }
+        }).thenCompose(Function.identity());
     }
 
     private PreparsedDocumentEntry parseAndValidate(AtomicReference<ExecutionInput> executionInputRef, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
@@ -557,7 +663,7 @@ public class GraphQL {
             executionInputRef.set(executionInput);
 
             logNotSafe.debug("Validating query: '{}'", query);
-            final List<ValidationError> errors = validate(executionInput, document, graphQLSchema, instrumentationState);
+            final List<ValidationError> errors = validate(executionInput, parseResult, graphQLSchema, instrumentationState);
             if (!errors.isEmpty()) {
                 logNotSafe.warn("Query failed to validate : '{}'", query);
                 return new PreparsedDocumentEntry(errors);
@@ -575,7 +681,7 @@ public class GraphQL {
         Document document;
         DocumentAndVariables documentAndVariables;
         try {
-            document = parser.parseDocument(executionInput.getQuery());
+            document = parser.parseDocument(executionInput.getQuery(), null, ParserOptions.getDefaultOperationParserOptions());
             documentAndVariables = newDocumentAndVariables()
                     .document(document).variables(executionInput.getVariables()).build();
             documentAndVariables = instrumentation.instrumentDocumentAndVariables(documentAndVariables, parameters);
@@ -585,26 +691,36 @@ public class GraphQL {
         }
 
         parseInstrumentation.onCompleted(documentAndVariables.getDocument(), null);
-        return ParseResult.of(documentAndVariables);
+        return ParseResult.of(documentAndVariables, documentAndVariables.getDocument() == document);
     }
 
-    private List<ValidationError> validate(ExecutionInput executionInput, Document document, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+    private List<ValidationError> validate(ExecutionInput executionInput, ParseResult parseResult, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+        Document document = parseResult.getDocument();
         InstrumentationContext<List<ValidationError>> validationCtx = instrumentation.beginValidation(new InstrumentationValidationParameters(executionInput, document, graphQLSchema, instrumentationState));
 
         Validator validator = new Validator();
-        List<ValidationError> validationErrors = validator.validateDocument(graphQLSchema, document);
+        Supplier<List<ValidationError>> validation = () -> validationExecutor == null
+                ? validator.validateDocument(graphQLSchema, document)
+                : validator.validateDocument(graphQLSchema, document, validationExecutor);
+        List<ValidationError> validationErrors;
+        if (parseResult.isDocumentOfQuery()) {
+            validationErrors = validationCache.getValidationErrors(graphQLSchema, executionInput.getQuery(), validation);
+        } else {
+            // a document replaced by instrumentation doesn't match the query text the cache is keyed by
+            validationErrors = validation.get();
+        }
 
         validationCtx.onCompleted(validationErrors, null);
         return validationErrors;
     }
 
-    private CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput, Document document, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+    private CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput, Document document, ExecutionPlan executionPlan, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
 
-        Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation);
+        Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, deferOptions);
         ExecutionId executionId = executionInput.getExecutionId();
 
         logNotSafe.debug("Executing '{}'. operation name: '{}'. query: '{}'. variables '{}'", executionId, executionInput.getOperationName(), executionInput.getQuery(), executionInput.getVariables());
-        CompletableFuture<ExecutionResult> future = execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState);
+        CompletableFuture<ExecutionResult> future = execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState, executionPlan);
         future = future.whenComplete((result, throwable) -> {
             if (throwable != null) {
                 logNotSafe.error(String.format("Execution '%s' threw exception when executing : query : '%s'. variables '%s'", executionId, executionInput.getQuery(), executionInput.getVariables()), throwable);
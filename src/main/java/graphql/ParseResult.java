@@ -10,10 +10,16 @@ import java.util.Map;
 public class ParseResult {
     private final DocumentAndVariables documentAndVariables;
     private final InvalidSyntaxException exception;
+    private final boolean documentOfQuery;
 
     public ParseResult(DocumentAndVariables documentAndVariables, InvalidSyntaxException exception) {
+        this(documentAndVariables, exception, false);
+    }
+
+    private ParseResult(DocumentAndVariables documentAndVariables, InvalidSyntaxException exception, boolean documentOfQuery) {
         this.documentAndVariables = documentAndVariables;
         this.exception = exception;
+        this.documentOfQuery = documentOfQuery;
     }
 
     public  boolean isFailure() {
@@ -32,10 +38,21 @@ public class ParseResult {
         return exception;
     }
 
+    /**
+     * @return true if the document is the one parsed from the query text, rather than one that was replaced by instrumentation
+     */
+    public boolean isDocumentOfQuery() {
+        return documentOfQuery;
+    }
+
     public  static ParseResult of(DocumentAndVariables document) {
         return new ParseResult(document, null);
     }
 
+    public static ParseResult of(DocumentAndVariables document, boolean documentOfQuery) {
+        return new ParseResult(document, null, documentOfQuery);
+    }
+
     public  static ParseResult ofError(InvalidSyntaxException e) {
         return new ParseResult(null, e);
     }
@@ -42,7 +42,7 @@ public class CacheControl {
         PUBLIC, PRIVATE
     }
 
-    private class Hint {
+    static class Hint {
         private final List<Object> path;
         private final Integer maxAge;
         private final Scope scope;
@@ -53,6 +53,18 @@ public class CacheControl {
             this.scope = scope;
         }
 
+        List<Object> getPath() {
+            return path;
+        }
+
+        Integer getMaxAge() {
+            return maxAge;
+        }
+
+        Scope getScope() {
+            return scope;
+        }
+
         Map<String, Object> toMap() {
             Map<String, Object> map = new LinkedHashMap<>();
             map.put("path", path);
@@ -154,6 +166,14 @@ public class CacheControl {
         return hint(dataFetchingEnvironment, null, scope);
     }
 
+    List<Hint> getHints() {
+        return new ArrayList<>(hints);
+    }
+
+    void addHints(List<Hint> hints) {
+        this.hints.addAll(hints);
+    }
+
     /**
      * Creates a new CacheControl object that can be used to trick caching hints
      *
@@ -0,0 +1,277 @@
+package graphql.cachecontrol;
+
+import graphql.PublicApi;
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.idl.SchemaDirectiveWiring;
+import graphql.schema.idl.SchemaDirectiveWiringEnvironment;
+import graphql.util.BoundedCache;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+import static graphql.DirectivesUtil.directiveWithArg;
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * This adds ' @cacheControl(maxAge : 60, scope : PUBLIC) ' support on field definitions.  The data fetcher of such a
+ * field is wrapped so that its results are cached in memory for max age seconds and are served from the cache, without
+ * calling the data fetcher, for the same field, source object and arguments.
+ * <p>
+ * Every fetch of the field also makes the matching {@link CacheControl} hint, so the hints are reported whether or not
+ * the value came from the cache.  Fields with a PRIVATE scope or without a positive max age are only hinted and never
+ * cached, since their values can't be shared between requests.
+ * <p>
+ * Values that are fetched asynchronously are cached once they have completed.  Until then other requests fetch the
+ * value themselves rather than wait on a future that belongs to the request that fetched it first, such as one that
+ * a {@code DataLoader} of that request only completes when that request dispatches it.
+ * <p>
+ * The directive has to be declared in the SDL and the wiring registered under its name, for example
+ *
+ * <pre>
+ * {@code
+ *     enum CacheControlScope { PUBLIC PRIVATE }
+ *     directive @cacheControl(maxAge : Int, scope : CacheControlScope) on FIELD_DEFINITION
+ *
+ *     RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+ *             .directive(CacheControlDirectiveWiring.CACHE_CONTROL, CacheControlDirectiveWiring.newCacheControlDirectiveWiring().build())
+ *             .build();
+ * }
+ * </pre>
+ * <p>
+ * By default the source objects are told apart by identity, which suits parent objects that are shared between requests.
+ * A {@link Builder#sourceKey(Function)} can be given to cache by a value instead, such as the id of the source object.
+ */
+@PublicApi
+public class CacheControlDirectiveWiring implements SchemaDirectiveWiring {
+
+    public static final String CACHE_CONTROL = "cacheControl";
+
+    /**
+     * The default maximum number of cached field values
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Function<DataFetchingEnvironment, Object> sourceKey;
+    private final Clock clock;
+
+    private final BoundedCache<Key, Entry> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private CacheControlDirectiveWiring(Builder builder) {
+        this.sourceKey = builder.sourceKey;
+        this.clock = builder.clock;
+        this.entries = BoundedCache.newBoundedCache(builder.maximumSize);
+    }
+
+    @Override
+    public GraphQLFieldDefinition onField(SchemaDirectiveWiringEnvironment<GraphQLFieldDefinition> environment) {
+        GraphQLFieldDefinition field = environment.getElement();
+        Integer maxAge = directiveArgument(field, "maxAge").map(value -> ((Number) value).intValue()).orElse(null);
+        CacheControl.Scope scope = directiveArgument(field, "scope").map(value -> CacheControl.Scope.valueOf(String.valueOf(value))).orElse(CacheControl.Scope.PUBLIC);
+
+        FieldCoordinates fieldCoordinates = coordinates(environment.getFieldsContainer(), field);
+        DataFetcher<?> dataFetcher = environment.getFieldDataFetcher();
+        boolean cached = maxAge != null && maxAge > 0 && scope == CacheControl.Scope.PUBLIC;
+        DataFetcher<?> wrappedDataFetcher = env -> {
+            env.getCacheControl().hint(env, maxAge, scope);
+            if (!cached) {
+                return dataFetcher.get(env);
+            }
+            return fetch(new Key(fieldCoordinates, sourceKey.apply(env), env.getArguments()), maxAge, dataFetcher, env);
+        };
+        return environment.setFieldDataFetcher(wrappedDataFetcher);
+    }
+
+    private Optional<Object> directiveArgument(GraphQLFieldDefinition field, String argumentName) {
+        return directiveWithArg(field.getDirectives(), CACHE_CONTROL, argumentName).map(GraphQLArgument::getValue);
+    }
+
+    private Object fetch(Key key, int maxAge, DataFetcher<?> dataFetcher, DataFetchingEnvironment environment) throws Exception {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > clock.millis()) {
+                hitCount.increment();
+                return entry.value;
+            }
+            entries.remove(key, entry);
+        }
+        missCount.increment();
+        Object value = dataFetcher.get(environment);
+        if (value instanceof CompletableFuture) {
+            // only the completed value is cached, the future itself may depend on the request that fetched it
+            ((CompletableFuture<?>) value).whenComplete((result, exception) -> {
+                if (exception == null) {
+                    cache(key, maxAge, result);
+                }
+            });
+        } else {
+            cache(key, maxAge, value);
+        }
+        return value;
+    }
+
+    private void cache(Key key, int maxAge, Object value) {
+        if (value instanceof DataFetcherResult && ((DataFetcherResult<?>) value).hasErrors()) {
+            return;
+        }
+        entries.put(key, new Entry(value, clock.millis() + maxAge * 1000L));
+    }
+
+    /**
+     * Removes all the cached field values, for example when the data they were fetched from has changed
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of field values that were served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of field values that were fetched because they were not in the cache
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of cached field values, including the ones that have expired but have not been evicted yet
+     */
+    public int getSize() {
+        return (int) entries.size();
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class Key {
+        private final FieldCoordinates fieldCoordinates;
+        private final Object sourceKey;
+        private final Map<String, Object> arguments;
+        private final int hashCode;
+
+        Key(FieldCoordinates fieldCoordinates, Object sourceKey, Map<String, Object> arguments) {
+            this.fieldCoordinates = fieldCoordinates;
+            this.sourceKey = sourceKey;
+            this.arguments = arguments;
+            this.hashCode = Objects.hash(fieldCoordinates, sourceKey, arguments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return fieldCoordinates.equals(key.fieldCoordinates)
+                    && Objects.equals(sourceKey, key.sourceKey)
+                    && Objects.equals(arguments, key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Tells source objects apart by identity, whatever their equals method says
+     */
+    private static class IdentityKey {
+        private final Object source;
+
+        IdentityKey(Object source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).source == source;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(source);
+        }
+    }
+
+    public static Builder newCacheControlDirectiveWiring() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Function<DataFetchingEnvironment, Object> sourceKey = environment -> new IdentityKey(environment.getSource());
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * The maximum number of cached field values, shared by all the fields with the directive
+         *
+         * @param maximumSize the maximum number of entries
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            assertTrue(maximumSize > 0, "The maximum size must be positive");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * The function that derives the part of the cache key that identifies the source object of a field.  By default
+         * source objects are identified by identity.
+         *
+         * @param sourceKey the function returning the key of the source object
+         *
+         * @return this builder
+         */
+        public Builder sourceKey(Function<DataFetchingEnvironment, Object> sourceKey) {
+            this.sourceKey = assertNotNull(sourceKey);
+            return this;
+        }
+
+        /**
+         * The clock the max ages of the cached field values are measured with
+         *
+         * @param clock the clock
+         *
+         * @return this builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = assertNotNull(clock);
+            return this;
+        }
+
+        public CacheControlDirectiveWiring build() {
+            return new CacheControlDirectiveWiring(this);
+        }
+    }
+}
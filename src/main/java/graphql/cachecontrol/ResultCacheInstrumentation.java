@@ -0,0 +1,314 @@
+package graphql.cachecontrol;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQL;
+import graphql.PublicApi;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.schema.GraphQLSchema;
+import graphql.util.BoundedCache;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * This {@link graphql.execution.instrumentation.Instrumentation} caches the results of query operations in memory for
+ * as long as the {@link CacheControl} hints made while executing them allow, and serves later requests for the same
+ * query and variables from the cache without calling any data fetchers.
+ * <p>
+ * A result is only cached when it has no errors and every one of its top level fields was given a hint with a max age.
+ * It is then kept for the smallest max age of all its hints.  Results with a {@link CacheControl.Scope#PRIVATE} hint
+ * are only cached when a private cache key, for example the id of the user, can be derived from the
+ * {@link ExecutionInput} and are then only served to requests with that same key.
+ * <p>
+ * The hints of a cached result are recorded into the {@link CacheControl} of the requests it is served to, so
+ * {@link CacheControl#addTo(ExecutionResult)} works the same for cached and executed results.
+ * <p>
+ * The data of a cached result is shared by all the requests it is served to, so it must not be modified.
+ *
+ * <pre>
+ * {@code
+ *     GraphQL graphQL = GraphQL.newGraphQL(schema)
+ *             .instrumentation(ResultCacheInstrumentation.newResultCacheInstrumentation()
+ *                     .privateCacheKey(executionInput -> ((UserContext) executionInput.getContext()).getUserId())
+ *                     .build())
+ *             .build();
+ * }
+ * </pre>
+ */
+@PublicApi
+public class ResultCacheInstrumentation extends SimpleInstrumentation {
+
+    /**
+     * The default maximum number of cached results
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private final Function<ExecutionInput, Object> privateCacheKey;
+    private final Clock clock;
+
+    private final BoundedCache<Key, Entry> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private ResultCacheInstrumentation(Builder builder) {
+        this.privateCacheKey = builder.privateCacheKey;
+        this.clock = builder.clock;
+        this.entries = BoundedCache.newBoundedCache(builder.maximumSize);
+    }
+
+    private static class ResultCacheState implements InstrumentationState {
+        private Key publicKey;
+        private Key privateKey;
+        private Entry hit;
+    }
+
+    @Override
+    public InstrumentationState createState() {
+        return new ResultCacheState();
+    }
+
+    @Override
+    public ExecutionContext instrumentExecutionContext(ExecutionContext executionContext, InstrumentationExecutionParameters parameters) {
+        OperationDefinition operationDefinition = executionContext.getOperationDefinition();
+        if (operationDefinition.getOperation() != OperationDefinition.Operation.QUERY) {
+            return executionContext;
+        }
+        ResultCacheState state = parameters.getInstrumentationState();
+        ExecutionInput executionInput = parameters.getExecutionInput();
+        state.publicKey = new Key(executionContext.getGraphQLSchema(), executionInput.getQuery(), executionInput.getOperationName(), executionContext.getVariables(), null);
+        Object callerKey = privateCacheKey.apply(executionInput);
+        if (callerKey != null) {
+            state.privateKey = new Key(executionContext.getGraphQLSchema(), executionInput.getQuery(), executionInput.getOperationName(), executionContext.getVariables(), callerKey);
+        }
+
+        Entry entry = getEntry(state.publicKey);
+        if (entry == null && state.privateKey != null) {
+            entry = getEntry(state.privateKey);
+        }
+        if (entry == null) {
+            missCount.increment();
+            return executionContext;
+        }
+        hitCount.increment();
+        state.hit = entry;
+        // the operation is executed without any fields and the cached data is put into the result
+        OperationDefinition emptyOperation = operationDefinition.transform(builder -> builder.selectionSet(SelectionSet.newSelectionSet().build()));
+        return executionContext.transform(builder -> builder.operationDefinition(emptyOperation));
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+        ResultCacheState state = parameters.getInstrumentationState();
+        CacheControl cacheControl = parameters.getExecutionInput().getCacheControl();
+        if (state.hit != null) {
+            cacheControl.addHints(state.hit.hints);
+            return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult().from(executionResult).data(state.hit.data).build());
+        }
+        if (state.publicKey != null && isCacheable(executionResult)) {
+            cache(state, executionResult, cacheControl.getHints());
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    private boolean isCacheable(ExecutionResult executionResult) {
+        if (!executionResult.getErrors().isEmpty() || !(executionResult.getData() instanceof Map)) {
+            return false;
+        }
+        Map<Object, Object> extensions = executionResult.getExtensions();
+        return extensions == null || !extensions.containsKey(GraphQL.DEFERRED_RESULTS);
+    }
+
+    private void cache(ResultCacheState state, ExecutionResult executionResult, List<CacheControl.Hint> hints) {
+        Integer maxAge = null;
+        boolean privateScope = false;
+        for (CacheControl.Hint hint : hints) {
+            if (hint.getMaxAge() != null) {
+                maxAge = maxAge == null ? hint.getMaxAge() : Math.min(maxAge, hint.getMaxAge());
+            }
+            privateScope |= hint.getScope() == CacheControl.Scope.PRIVATE;
+        }
+        if (maxAge == null || maxAge <= 0 || !allTopLevelFieldsHaveMaxAge(executionResult.getData(), hints)) {
+            return;
+        }
+        Key key = privateScope ? state.privateKey : state.publicKey;
+        if (key == null) {
+            return;
+        }
+        Entry entry = new Entry(executionResult.getData(), hints, clock.millis() + maxAge * 1000L);
+        entries.put(key, entry);
+    }
+
+    private boolean allTopLevelFieldsHaveMaxAge(Map<String, Object> data, List<CacheControl.Hint> hints) {
+        for (String resultKey : data.keySet()) {
+            boolean hinted = false;
+            for (CacheControl.Hint hint : hints) {
+                if (hint.getMaxAge() != null && hint.getPath().size() == 1 && resultKey.equals(hint.getPath().get(0))) {
+                    hinted = true;
+                    break;
+                }
+            }
+            if (!hinted) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Entry getEntry(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= clock.millis()) {
+            // unless it has been replaced by a fresh result in the meantime
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Removes all the cached results, for example when the data they were made from has changed
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of query operations that were served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of query operations that were executed because their result was not in the cache
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of cached results, including the ones that have expired but have not been evicted yet
+     */
+    public int getSize() {
+        return (int) entries.size();
+    }
+
+    private static class Entry {
+        private final Object data;
+        private final List<CacheControl.Hint> hints;
+        private final long expiresAt;
+
+        Entry(Object data, List<CacheControl.Hint> hints, long expiresAt) {
+            this.data = data;
+            this.hints = hints;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class Key {
+        private final GraphQLSchema schema;
+        private final String query;
+        private final String operationName;
+        private final Map<String, Object> variables;
+        private final Object privateCacheKey;
+        private final int hashCode;
+
+        Key(GraphQLSchema schema, String query, String operationName, Map<String, Object> variables, Object privateCacheKey) {
+            this.schema = schema;
+            this.query = query;
+            this.operationName = operationName;
+            this.variables = variables;
+            this.privateCacheKey = privateCacheKey;
+            this.hashCode = 31 * System.identityHashCode(schema) + Objects.hash(query, operationName, variables, privateCacheKey);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return schema == key.schema
+                    && query.equals(key.query)
+                    && Objects.equals(operationName, key.operationName)
+                    && Objects.equals(variables, key.variables)
+                    && Objects.equals(privateCacheKey, key.privateCacheKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static Builder newResultCacheInstrumentation() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Function<ExecutionInput, Object> privateCacheKey = executionInput -> null;
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * The maximum number of cached results
+         *
+         * @param maximumSize the maximum number of entries
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            assertTrue(maximumSize > 0, "The maximum size must be positive");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * The function that derives the key of the caller, such as a user id, from the execution input.  Results with a
+         * {@link CacheControl.Scope#PRIVATE} hint are cached per caller key and are not cached at all when the function
+         * returns null, which it always does by default.
+         *
+         * @param privateCacheKey the function returning the caller key or null
+         *
+         * @return this builder
+         */
+        public Builder privateCacheKey(Function<ExecutionInput, Object> privateCacheKey) {
+            this.privateCacheKey = assertNotNull(privateCacheKey);
+            return this;
+        }
+
+        /**
+         * The clock the max ages of the cached results are measured with
+         *
+         * @param clock the clock
+         *
+         * @return this builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = assertNotNull(clock);
+            return this;
+        }
+
+        public ResultCacheInstrumentation build() {
+            return new ResultCacheInstrumentation(this);
+        }
+    }
+}
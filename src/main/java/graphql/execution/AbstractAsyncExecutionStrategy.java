@@ -25,7 +25,8 @@ public abstract class AbstractAsyncExecutionStrategy extends ExecutionStrategy {
                 handleNonNullException(executionContext, overallResult, exception);
                 return;
             }
-            Map<String, Object> resolvedValuesByField = new LinkedHashMap<>();
+            // sized up front since result objects can be numerous in large responses
+            Map<String, Object> resolvedValuesByField = new LinkedHashMap<>((int) (results.size() / 0.75f) + 1);
             int ix = 0;
             for (ExecutionResult executionResult : results) {
 
@@ -24,6 +24,10 @@ public class Async {
     }
 
     public static <U> CompletableFuture<List<U>> each(List<CompletableFuture<U>> futures) {
+        List<U> completedResults = completedResults(futures);
+        if (completedResults != null) {
+            return CompletableFuture.completedFuture(completedResults);
+        }
         CompletableFuture<List<U>> overallResult = new CompletableFuture<>();
 
         CompletableFuture
@@ -42,6 +46,34 @@ public class Async {
         return overallResult;
     }
 
+    /*
+     * When every future has already completed normally, which is the common case for values that are available
+     * synchronously, the results are gathered right away rather than via CompletableFuture.allOf
+     */
+    private static <U> List<U> completedResults(List<CompletableFuture<U>> futures) {
+        for (CompletableFuture<U> future : futures) {
+            if (!isCompletedNormally(future)) {
+                return null;
+            }
+        }
+        List<U> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<U> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Returns true if the future has completed and did so without an exception, in which case its value is available right away
+     *
+     * @param future the future to check
+     *
+     * @return true if the future has completed normally
+     */
+    public static boolean isCompletedNormally(CompletableFuture<?> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
     public static <T, U> CompletableFuture<List<U>> each(Iterable<T> list, BiFunction<T, Integer, CompletableFuture<U>> cfFactory) {
         List<CompletableFuture<U>> futures = new ArrayList<>();
         int index = 0;
@@ -8,6 +8,7 @@ import graphql.ExecutionResultImpl;
 import graphql.GraphQL;
 import graphql.GraphQLError;
 import graphql.Internal;
+import graphql.execution.defer.DeferOptions;
 import graphql.execution.defer.DeferSupport;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
@@ -49,15 +50,25 @@ public class Execution {
     private final ExecutionStrategy mutationStrategy;
     private final ExecutionStrategy subscriptionStrategy;
     private final Instrumentation instrumentation;
+    private final DeferOptions deferOptions;
 
     public Execution(ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy, ExecutionStrategy subscriptionStrategy, Instrumentation instrumentation) {
+        this(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, DeferOptions.defaultDeferOptions());
+    }
+
+    public Execution(ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy, ExecutionStrategy subscriptionStrategy, Instrumentation instrumentation, DeferOptions deferOptions) {
         this.queryStrategy = queryStrategy != null ? queryStrategy : new AsyncExecutionStrategy();
         this.mutationStrategy = mutationStrategy != null ? mutationStrategy : new AsyncSerialExecutionStrategy();
         this.subscriptionStrategy = subscriptionStrategy != null ? subscriptionStrategy : new AsyncExecutionStrategy();
         this.instrumentation = instrumentation;
+        this.deferOptions = deferOptions;
     }
 
     public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState) {
+        return execute(document, graphQLSchema, executionId, executionInput, instrumentationState, null);
+    }
+
+    public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState, ExecutionPlan executionPlan) {
 
         NodeUtil.GetOperationResult getOperationResult = NodeUtil.getOperation(document, executionInput.getOperationName());
         Map<String, FragmentDefinition> fragmentsByName = getOperationResult.fragmentsByName;
@@ -93,6 +104,8 @@ public class Execution {
                 .dataLoaderRegistry(executionInput.getDataLoaderRegistry())
                 .cacheControl(executionInput.getCacheControl())
                 .locale(executionInput.getLocale())
+                .executionPlan(executionPlan)
+                .deferOptions(deferOptions)
                 .build();
 
 
@@ -133,7 +146,7 @@ public class Execution {
                 .variables(executionContext.getVariables())
                 .build();
 
-        MergedSelectionSet fields = fieldCollector.collectFields(collectorParameters, operationDefinition.getSelectionSet());
+        MergedSelectionSet fields = collectRootFields(executionContext, collectorParameters, operationRootType, operationDefinition);
 
         ExecutionPath path = ExecutionPath.rootPath();
         ExecutionStepInfo executionStepInfo = newExecutionStepInfo().type(operationRootType).path(path).build();
@@ -179,6 +192,15 @@ public class Execution {
         return deferSupport(executionContext, result);
     }
 
+    private MergedSelectionSet collectRootFields(ExecutionContext executionContext, FieldCollectorParameters collectorParameters, GraphQLObjectType operationRootType, OperationDefinition operationDefinition) {
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan == null || !executionPlan.isPlanFor(executionContext.getGraphQLSchema())) {
+            return fieldCollector.collectFields(collectorParameters, operationDefinition.getSelectionSet());
+        }
+        return executionPlan.getMergedSelectionSet(operationRootType, operationDefinition.getSelectionSet(), executionContext.getVariables(),
+                () -> fieldCollector.collectFields(collectorParameters, operationDefinition.getSelectionSet()));
+    }
+
     /*
      * Adds the deferred publisher if its needed at the end of the query.  This is also a good time for the deferred code to start running
      */
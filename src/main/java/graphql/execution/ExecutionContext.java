@@ -5,6 +5,7 @@ import graphql.GraphQLError;
 import graphql.Internal;
 import graphql.PublicApi;
 import graphql.cachecontrol.CacheControl;
+import graphql.execution.defer.DeferOptions;
 import graphql.execution.defer.DeferSupport;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
@@ -45,10 +46,11 @@ public class ExecutionContext {
     private final DataLoaderRegistry dataLoaderRegistry;
     private final CacheControl cacheControl;
     private final Locale locale;
-    private final DeferSupport deferSupport = new DeferSupport();
+    private final DeferSupport deferSupport;
+    private final ExecutionPlan executionPlan;
 
     @Internal
-    ExecutionContext(Instrumentation instrumentation, ExecutionId executionId, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState, ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy, ExecutionStrategy subscriptionStrategy, Map<String, FragmentDefinition> fragmentsByName, Document document, OperationDefinition operationDefinition, Map<String, Object> variables, Object context, Object root, DataLoaderRegistry dataLoaderRegistry, CacheControl cacheControl, Locale locale, List<GraphQLError> startingErrors) {
+    ExecutionContext(Instrumentation instrumentation, ExecutionId executionId, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState, ExecutionStrategy queryStrategy, ExecutionStrategy mutationStrategy, ExecutionStrategy subscriptionStrategy, Map<String, FragmentDefinition> fragmentsByName, Document document, OperationDefinition operationDefinition, Map<String, Object> variables, Object context, Object root, DataLoaderRegistry dataLoaderRegistry, CacheControl cacheControl, Locale locale, List<GraphQLError> startingErrors, ExecutionPlan executionPlan, DeferOptions deferOptions) {
         this.graphQLSchema = graphQLSchema;
         this.executionId = executionId;
         this.instrumentationState = instrumentationState;
@@ -66,6 +68,8 @@ public class ExecutionContext {
         this.cacheControl = cacheControl;
         this.locale = locale;
         this.errors.addAll(startingErrors);
+        this.executionPlan = executionPlan;
+        this.deferSupport = new DeferSupport(deferOptions != null ? deferOptions : DeferOptions.defaultDeferOptions());
     }
 
 
@@ -184,6 +188,14 @@ public class ExecutionContext {
         return deferSupport;
     }
 
+    /**
+     * @return the execution plan of the document being executed or null if there is not one
+     */
+    @Internal
+    public ExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
     /**
      * This helps you transform the current ExecutionContext object into another one by starting a builder with all
      * the current values and allows you to transform it how you want.
@@ -4,6 +4,7 @@ import graphql.GraphQLError;
 import graphql.Internal;
 import graphql.PublicApi;
 import graphql.cachecontrol.CacheControl;
+import graphql.execution.defer.DeferOptions;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.language.Document;
@@ -40,6 +41,8 @@ public class ExecutionContextBuilder {
     private CacheControl cacheControl;
     private Locale locale;
     private List<GraphQLError> errors = new ArrayList<>();
+    private ExecutionPlan executionPlan;
+    private DeferOptions deferOptions = DeferOptions.defaultDeferOptions();
 
     /**
      * @return a new builder of {@link graphql.execution.ExecutionContext}s
@@ -82,6 +85,8 @@ public class ExecutionContextBuilder {
         cacheControl = other.getCacheControl();
         locale = other.getLocale();
         errors = new ArrayList<>(other.getErrors());
+        executionPlan = other.getExecutionPlan();
+        deferOptions = other.getDeferSupport().getDeferOptions();
     }
 
     public ExecutionContextBuilder instrumentation(Instrumentation instrumentation) {
@@ -164,6 +169,17 @@ public class ExecutionContextBuilder {
         return this;
     }
 
+    @Internal
+    public ExecutionContextBuilder executionPlan(ExecutionPlan executionPlan) {
+        this.executionPlan = executionPlan;
+        return this;
+    }
+
+    public ExecutionContextBuilder deferOptions(DeferOptions deferOptions) {
+        this.deferOptions = assertNotNull(deferOptions);
+        return this;
+    }
+
     public ExecutionContext build() {
         // preconditions
         assertNotNull(executionId, "You must provide a query identifier");
@@ -185,7 +201,9 @@ public class ExecutionContextBuilder {
                 dataLoaderRegistry,
                 cacheControl,
                 locale,
-                errors
+                errors,
+                executionPlan,
+                deferOptions
         );
     }
 
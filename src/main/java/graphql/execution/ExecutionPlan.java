@@ -0,0 +1,358 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.Node;
+import graphql.language.NodeTraverser;
+import graphql.language.NodeVisitorStub;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Directives.IncludeDirective;
+import static graphql.Directives.SkipDirective;
+
+/**
+ * An execution plan memoizes the planning work that an {@link ExecutionStrategy} performs for a given document, namely
+ * the merged selection sets per (object type, selection set) and the field definitions per (object type, field name).
+ * <p>
+ * The plan is compiled lazily as the document is executed and is kept alongside the document in a
+ * {@link graphql.execution.preparsed.PreparsedDocumentEntry} so that cached documents reuse this work across executions.  A
+ * document that is parsed for a single execution is executed without a plan, since building one costs more than it saves.
+ * <p>
+ * A plan is bound to the {@link GraphQLSchema} it was compiled against and is ignored when executed against another schema.
+ * The only variable dependent part of field collection are the `@skip` and `@include` directives and hence the values of
+ * the variables they reference form part of the merged selection set keys.
+ * <p>
+ * The plan also keeps the coerced argument values of fields whose arguments are made up of literals only, since these are
+ * the same for every execution of the document.  Every fetch is given its own copy of them, so that the arguments a
+ * data fetcher sees behave the same whether or not the document has a plan.
+ */
+@Internal
+public class ExecutionPlan {
+
+    private final GraphQLSchema graphQLSchema;
+    private final List<String> conditionalVariableNames;
+    private final ConcurrentMap<SelectionKey, MergedSelectionSet> mergedSelectionSets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<GraphQLObjectType, ConcurrentMap<String, GraphQLFieldDefinition>> fieldDefinitions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ArgumentsKey, Map<String, Object>> argumentValues = new ConcurrentHashMap<>();
+
+    // marks fields whose argument values can't be kept in the plan
+    private static final Map<String, Object> NOT_PLANNED = Collections.unmodifiableMap(new HashMap<>());
+
+    private static final Set<Class<?>> IMMUTABLE_VALUE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class));
+
+    public ExecutionPlan(GraphQLSchema graphQLSchema, Document document) {
+        this.graphQLSchema = assertNotNull(graphQLSchema);
+        this.conditionalVariableNames = conditionalVariableNames(assertNotNull(document));
+    }
+
+    public GraphQLSchema getGraphQLSchema() {
+        return graphQLSchema;
+    }
+
+    /**
+     * @param graphQLSchema the schema in play
+     *
+     * @return true if this plan was compiled against the specified schema
+     */
+    public boolean isPlanFor(GraphQLSchema graphQLSchema) {
+        return this.graphQLSchema == graphQLSchema;
+    }
+
+    /**
+     * Returns the planned merged selection set for the specified object type and selection, compiling it via the collector
+     * if it has not been seen before.
+     *
+     * @param objectType the object type the fields are being collected for
+     * @param selection  the selection being collected, either a {@link MergedField} or a {@link graphql.language.SelectionSet}
+     * @param variables  the coerced variables of the current execution
+     * @param collector  the code that collects the fields if the plan does not contain them yet
+     *
+     * @return the merged selection set
+     */
+    public MergedSelectionSet getMergedSelectionSet(GraphQLObjectType objectType, Object selection, Map<String, Object> variables, Supplier<MergedSelectionSet> collector) {
+        Object selectionKey = selection instanceof MergedField ? ((MergedField) selection).getFields() : selection;
+        SelectionKey key = new SelectionKey(objectType, selectionKey, conditionalValues(variables));
+        MergedSelectionSet mergedSelectionSet = mergedSelectionSets.get(key);
+        if (mergedSelectionSet == null) {
+            mergedSelectionSet = collector.get();
+            MergedSelectionSet existing = mergedSelectionSets.putIfAbsent(key, mergedSelectionSet);
+            if (existing != null) {
+                mergedSelectionSet = existing;
+            }
+        }
+        return mergedSelectionSet;
+    }
+
+    /**
+     * Returns the planned field definition for the specified parent type and field name, resolving it via the resolver
+     * if it has not been seen before.
+     *
+     * @param parentType the parent type of the field
+     * @param fieldName  the name of the field
+     * @param resolver   the code that resolves the field definition if the plan does not contain it yet
+     *
+     * @return the field definition
+     */
+    public GraphQLFieldDefinition getFieldDefinition(GraphQLObjectType parentType, String fieldName, Supplier<GraphQLFieldDefinition> resolver) {
+        ConcurrentMap<String, GraphQLFieldDefinition> fieldsOfType = fieldDefinitions.get(parentType);
+        if (fieldsOfType == null) {
+            fieldsOfType = fieldDefinitions.computeIfAbsent(parentType, k -> new ConcurrentHashMap<>());
+        }
+        GraphQLFieldDefinition fieldDefinition = fieldsOfType.get(fieldName);
+        if (fieldDefinition == null) {
+            fieldDefinition = resolver.get();
+            fieldsOfType.putIfAbsent(fieldName, fieldDefinition);
+        }
+        return fieldDefinition;
+    }
+
+    /**
+     * Returns the planned argument values for the specified field, coercing them via the coercer if they have not been seen
+     * before.  Only fields whose arguments are all literals and whose coerced values are made of maps, lists and
+     * immutable scalar values, such as strings, numbers and enums, are kept in the plan.  The arguments of all other
+     * fields are coerced each time.
+     *
+     * @param fieldDefinition the field definition the arguments are coerced against
+     * @param field           the field in the document
+     * @param coercer         the code that coerces the argument values
+     *
+     * @return the argument values, which are a copy of the planned ones so that every fetch can change its own
+     */
+    public Map<String, Object> getArgumentValues(GraphQLFieldDefinition fieldDefinition, Field field, Supplier<Map<String, Object>> coercer) {
+        ArgumentsKey key = new ArgumentsKey(fieldDefinition, field);
+        Map<String, Object> values = argumentValues.get(key);
+        if (values == NOT_PLANNED) {
+            return coercer.get();
+        }
+        if (values == null) {
+            Map<String, Object> coercedValues = coercer.get();
+            boolean planned = isLiteralsOnly(field.getArguments()) && isImmutable(coercedValues);
+            argumentValues.putIfAbsent(key, planned ? freezeMap(coercedValues) : NOT_PLANNED);
+            // the plan keeps its own copy so the coerced values belong to this fetch
+            return coercedValues;
+        }
+        return copyMap(values);
+    }
+
+    private static boolean isLiteralsOnly(List<Argument> arguments) {
+        for (Argument argument : arguments) {
+            if (!isLiteral(argument.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * the values of custom scalars can be anything, so they are only planned when they can't be changed
+     */
+    private static boolean isImmutable(Object value) {
+        if (value instanceof Map) {
+            for (Object entryValue : ((Map<?, ?>) value).values()) {
+                if (!isImmutable(entryValue)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                if (!isImmutable(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return value == null || value instanceof Enum || IMMUTABLE_VALUE_TYPES.contains(value.getClass());
+    }
+
+    /*
+     * input object and list values are frozen too, since the planned values are shared by every execution
+     */
+    private static Map<String, Object> freezeMap(Map<String, Object> map) {
+        Map<String, Object> frozen = new LinkedHashMap<>(map.size());
+        map.forEach((name, value) -> frozen.put(name, freeze(value)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object value) {
+        if (value instanceof Map) {
+            return freezeMap((Map<String, Object>) value);
+        }
+        if (value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            List<Object> frozen = new ArrayList<>(list.size());
+            for (Object item : list) {
+                frozen.add(freeze(item));
+            }
+            return Collections.unmodifiableList(frozen);
+        }
+        return value;
+    }
+
+    private static Map<String, Object> copyMap(Map<String, Object> map) {
+        Map<String, Object> copy = new LinkedHashMap<>(map.size());
+        map.forEach((name, value) -> copy.put(name, copy(value)));
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            return copyMap((Map<String, Object>) value);
+        }
+        if (value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) {
+                copy.add(copy(item));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static boolean isLiteral(Value value) {
+        if (value instanceof VariableReference) {
+            return false;
+        }
+        if (value instanceof ArrayValue) {
+            for (Value item : ((ArrayValue) value).getValues()) {
+                if (!isLiteral(item)) {
+                    return false;
+                }
+            }
+        }
+        if (value instanceof ObjectValue) {
+            for (ObjectField objectField : ((ObjectValue) value).getObjectFields()) {
+                if (!isLiteral(objectField.getValue())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private List<Object> conditionalValues(Map<String, Object> variables) {
+        if (conditionalVariableNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> values = new ArrayList<>(conditionalVariableNames.size());
+        for (String variableName : conditionalVariableNames) {
+            values.add(variables.get(variableName));
+        }
+        return values;
+    }
+
+    private static List<String> conditionalVariableNames(Document document) {
+        Set<String> variableNames = new LinkedHashSet<>();
+        NodeVisitorStub visitor = new NodeVisitorStub() {
+            @Override
+            public TraversalControl visitDirective(Directive node, TraverserContext<Node> context) {
+                if (SkipDirective.getName().equals(node.getName()) || IncludeDirective.getName().equals(node.getName())) {
+                    for (Argument argument : node.getArguments()) {
+                        if (argument.getValue() instanceof VariableReference) {
+                            variableNames.add(((VariableReference) argument.getValue()).getName());
+                        }
+                    }
+                }
+                return TraversalControl.CONTINUE;
+            }
+        };
+        new NodeTraverser().depthFirst(visitor, document);
+        return new ArrayList<>(variableNames);
+    }
+
+    private static class ArgumentsKey {
+        private final GraphQLFieldDefinition fieldDefinition;
+        private final Field field;
+
+        private ArgumentsKey(GraphQLFieldDefinition fieldDefinition, Field field) {
+            this.fieldDefinition = fieldDefinition;
+            this.field = field;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ArgumentsKey that = (ArgumentsKey) o;
+            return fieldDefinition == that.fieldDefinition && field == that.field;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(fieldDefinition) + System.identityHashCode(field);
+        }
+    }
+
+    private static class SelectionKey {
+        private final GraphQLObjectType objectType;
+        private final Object selection;
+        private final List<Object> conditionalValues;
+        private final int hashCode;
+
+        private SelectionKey(GraphQLObjectType objectType, Object selection, List<Object> conditionalValues) {
+            this.objectType = objectType;
+            this.selection = selection;
+            this.conditionalValues = conditionalValues;
+            this.hashCode = Objects.hash(objectType, selection, conditionalValues);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SelectionKey that = (SelectionKey) o;
+            return objectType == that.objectType &&
+                    selection.equals(that.selection) &&
+                    conditionalValues.equals(that.conditionalValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -43,6 +43,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import static graphql.execution.Async.exceptionallyCompletedFuture;
 import static graphql.execution.ExecutionStepInfo.newExecutionStepInfo;
@@ -123,6 +124,8 @@ public abstract class ExecutionStrategy {
 
     protected final DataFetcherExceptionHandler dataFetcherExceptionHandler;
 
+    private volatile boolean completeAvailableValuesSynchronously;
+
     /**
      * The default execution strategy constructor uses the {@link SimpleDataFetcherExceptionHandler}
      * for data fetching errors.
@@ -141,6 +144,29 @@ public abstract class ExecutionStrategy {
         this.dataFetcherExceptionHandler = dataFetcherExceptionHandler;
     }
 
+    /**
+     * When this is on, values that are available when they are fetched, such as the plain values of a
+     * {@link graphql.schema.TrivialDataFetcher}, are unboxed and completed right away rather than through a chain of
+     * dependent futures.  The chained path is still taken for every value that is a pending {@link java.util.concurrent.CompletionStage}.
+     * <p>
+     * It is off by default, in which case every field is completed through dependent futures as it always has been.
+     * The fields complete with the same results either way.
+     *
+     * @param completeAvailableValuesSynchronously the switch to follow
+     */
+    public void setCompleteAvailableValuesSynchronously(boolean completeAvailableValuesSynchronously) {
+        this.completeAvailableValuesSynchronously = completeAvailableValuesSynchronously;
+    }
+
+    /**
+     * @return true if available values are completed right away
+     *
+     * @see #setCompleteAvailableValuesSynchronously(boolean)
+     */
+    public boolean isCompleteAvailableValuesSynchronously() {
+        return completeAvailableValuesSynchronously;
+    }
+
     /**
      * This is the entry point to an execution strategy.  It will be passed the fields to execute and get values for.
      *
@@ -198,16 +224,36 @@ public abstract class ExecutionStrategy {
         );
 
         CompletableFuture<FetchedValue> fetchFieldFuture = fetchField(executionContext, parameters);
-        CompletableFuture<FieldValueInfo> result = fetchFieldFuture.thenApply((fetchedValue) ->
-                completeField(executionContext, parameters, fetchedValue));
+        CompletableFuture<FieldValueInfo> result;
+        if (completeAvailableValuesSynchronously && Async.isCompletedNormally(fetchFieldFuture)) {
+            // the fetched value is already available so we complete the field right away rather than chaining futures
+            result = completeAvailableField(executionContext, parameters, fetchFieldFuture.join());
+        } else {
+            result = fetchFieldFuture.thenApply((fetchedValue) ->
+                    completeField(executionContext, parameters, fetchedValue));
+        }
 
-        CompletableFuture<ExecutionResult> executionResultFuture = result.thenCompose(FieldValueInfo::getFieldValue);
+        CompletableFuture<ExecutionResult> executionResultFuture;
+        if (completeAvailableValuesSynchronously && Async.isCompletedNormally(result)) {
+            executionResultFuture = result.join().getFieldValue();
+        } else {
+            executionResultFuture = result.thenCompose(FieldValueInfo::getFieldValue);
+        }
 
         fieldCtx.onDispatched(executionResultFuture);
         executionResultFuture.whenComplete(fieldCtx::onCompleted);
         return result;
     }
 
+    private CompletableFuture<FieldValueInfo> completeAvailableField(ExecutionContext executionContext, ExecutionStrategyParameters parameters, FetchedValue fetchedValue) {
+        try {
+            return completedFuture(completeField(executionContext, parameters, fetchedValue));
+        } catch (Exception e) {
+            // the same as if completion had run inside a chained future
+            return exceptionallyCompletedFuture(new CompletionException(e));
+        }
+    }
+
     protected CompletableFuture<FieldValueInfo> resolveFieldWithInfoToNull(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         FetchedValue fetchedValue = FetchedValue.newFetchedValue().build();
         FieldValueInfo fieldValueInfo = completeField(executionContext, parameters, fetchedValue);
@@ -232,16 +278,17 @@ public abstract class ExecutionStrategy {
     protected CompletableFuture<FetchedValue> fetchField(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         MergedField field = parameters.getField();
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
-        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field.getSingleField());
+        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parameters, field.getSingleField());
 
         GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        Map<String, Object> argumentValues = valuesResolver.getArgumentValues(codeRegistry, fieldDef.getArguments(), field.getArguments(), executionContext.getVariables());
+        ExecutionStepInfo executionStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, parentType);
+        // the step info has already coerced the arguments
+        Map<String, Object> argumentValues = executionStepInfo.getArguments();
 
         QueryDirectivesImpl queryDirectives = new QueryDirectivesImpl(field, executionContext.getGraphQLSchema(), executionContext.getVariables());
 
         GraphQLOutputType fieldType = fieldDef.getType();
         DataFetchingFieldSelectionSet fieldCollector = DataFetchingFieldSelectionSetImpl.newCollector(executionContext, fieldType, parameters.getField());
-        ExecutionStepInfo executionStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, parentType);
 
 
         DataFetchingEnvironment environment = newDataFetchingEnvironment(executionContext)
@@ -280,6 +327,10 @@ public abstract class ExecutionStrategy {
             fetchedValue.completeExceptionally(e);
         }
         fetchCtx.onDispatched(fetchedValue);
+        if (completeAvailableValuesSynchronously && Async.isCompletedNormally(fetchedValue)) {
+            // plain values, such as those from a TrivialDataFetcher, are available right away and need no further futures
+            return fetchAvailableValue(executionContext, parameters, executionStepInfo, fetchCtx, fetchedValue.join());
+        }
         return fetchedValue
                 .handle((result, exception) -> {
                     fetchCtx.onCompleted(result, exception);
@@ -290,12 +341,32 @@ public abstract class ExecutionStrategy {
                         return result;
                     }
                 })
-                .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, result));
+                .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, executionStepInfo, result));
+    }
+
+    private CompletableFuture<FetchedValue> fetchAvailableValue(ExecutionContext executionContext,
+                                                                ExecutionStrategyParameters parameters,
+                                                                ExecutionStepInfo executionStepInfo,
+                                                                InstrumentationContext<Object> fetchCtx,
+                                                                Object result) {
+        try {
+            fetchCtx.onCompleted(result, null);
+            return completedFuture(unboxPossibleDataFetcherResult(executionContext, parameters, executionStepInfo, result));
+        } catch (Exception e) {
+            return exceptionallyCompletedFuture(new CompletionException(e));
+        }
     }
 
     FetchedValue unboxPossibleDataFetcherResult(ExecutionContext executionContext,
                                                 ExecutionStrategyParameters parameters,
                                                 Object result) {
+        return unboxPossibleDataFetcherResult(executionContext, parameters, null, result);
+    }
+
+    private FetchedValue unboxPossibleDataFetcherResult(ExecutionContext executionContext,
+                                                        ExecutionStrategyParameters parameters,
+                                                        ExecutionStepInfo executionStepInfo,
+                                                        Object result) {
 
         if (result instanceof DataFetcherResult) {
             //noinspection unchecked
@@ -318,12 +389,14 @@ public abstract class ExecutionStrategy {
                     .rawFetchedValue(dataFetcherResult.getData())
                     .errors(dataFetcherResult.getErrors())
                     .localContext(localContext)
+                    .executionStepInfo(executionStepInfo)
                     .build();
         } else {
             return FetchedValue.newFetchedValue()
                     .fetchedValue(UnboxPossibleOptional.unboxPossibleOptional(result))
                     .rawFetchedValue(result)
                     .localContext(parameters.getLocalContext())
+                    .executionStepInfo(executionStepInfo)
                     .build();
         }
     }
@@ -363,8 +436,11 @@ public abstract class ExecutionStrategy {
     protected FieldValueInfo completeField(ExecutionContext executionContext, ExecutionStrategyParameters parameters, FetchedValue fetchedValue) {
         Field field = parameters.getField().getSingleField();
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
-        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field);
-        ExecutionStepInfo executionStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, parentType);
+        GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parameters, field);
+        ExecutionStepInfo executionStepInfo = fetchedValue.getExecutionStepInfo();
+        if (!isStepInfoFor(executionStepInfo, parameters, fieldDef)) {
+            executionStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, parentType);
+        }
 
         Instrumentation instrumentation = executionContext.getInstrumentation();
         InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, fieldDef, executionStepInfo, fetchedValue);
@@ -372,13 +448,13 @@ public abstract class ExecutionStrategy {
                 instrumentationParams
         );
 
-        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        Map<String, Object> argumentValues = valuesResolver.getArgumentValues(codeRegistry, fieldDef.getArguments(), field.getArguments(), executionContext.getVariables());
+        Map<String, Object> argumentValues = executionStepInfo.getArguments();
 
         NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, executionStepInfo);
 
+        ExecutionStepInfo fieldStepInfo = executionStepInfo;
         ExecutionStrategyParameters newParameters = parameters.transform(builder ->
-                builder.executionStepInfo(executionStepInfo)
+                builder.executionStepInfo(fieldStepInfo)
                         .arguments(argumentValues)
                         .source(fetchedValue.getFetchedValue())
                         .localContext(fetchedValue.getLocalContext())
@@ -396,6 +472,15 @@ public abstract class ExecutionStrategy {
     }
 
 
+    /*
+     * the step info that the value was fetched with can be reused as long as it is for this very field
+     */
+    private boolean isStepInfoFor(ExecutionStepInfo executionStepInfo, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDef) {
+        return executionStepInfo != null
+                && executionStepInfo.getFieldDefinition() == fieldDef
+                && executionStepInfo.getPath().equals(parameters.getPath());
+    }
+
     /**
      * Called to complete a value for a field based on the type of the field.
      * <p>
@@ -504,14 +589,15 @@ public abstract class ExecutionStrategy {
         GraphQLFieldDefinition fieldDef = parameters.getExecutionStepInfo().getFieldDefinition();
         GraphQLObjectType fieldContainer = parameters.getExecutionStepInfo().getFieldContainer();
 
-        InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, fieldDef, createExecutionStepInfo(executionContext, parameters, fieldDef, fieldContainer), values);
+        ExecutionStepInfo fieldStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, fieldContainer, executionStepInfo.getArguments());
+        InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, fieldDef, fieldStepInfo, values);
         Instrumentation instrumentation = executionContext.getInstrumentation();
 
         InstrumentationContext<ExecutionResult> completeListCtx = instrumentation.beginFieldListComplete(
                 instrumentationParams
         );
 
-        List<FieldValueInfo> fieldValueInfos = new ArrayList<>();
+        List<FieldValueInfo> fieldValueInfos = new ArrayList<>(values.size());
         int index = 0;
         for (Object item : values) {
             ExecutionPath indexedPath = parameters.getPath().segment(index);
@@ -547,7 +633,7 @@ public abstract class ExecutionStrategy {
                 completeListCtx.onCompleted(executionResult, exception);
                 return;
             }
-            List<Object> completedResults = new ArrayList<>();
+            List<Object> completedResults = new ArrayList<>(results.size());
             for (ExecutionResult completedValue : results) {
                 completedResults.add(completedValue.getData());
             }
@@ -632,14 +718,7 @@ public abstract class ExecutionStrategy {
     protected CompletableFuture<ExecutionResult> completeValueForObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType, Object result) {
         ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
 
-        FieldCollectorParameters collectorParameters = newParameters()
-                .schema(executionContext.getGraphQLSchema())
-                .objectType(resolvedObjectType)
-                .fragments(executionContext.getFragmentsByName())
-                .variables(executionContext.getVariables())
-                .build();
-
-        MergedSelectionSet subFields = fieldCollector.collectFields(collectorParameters, parameters.getField());
+        MergedSelectionSet subFields = collectSubFields(executionContext, parameters, resolvedObjectType);
 
         ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
         NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, newExecutionStepInfo);
@@ -656,6 +735,23 @@ public abstract class ExecutionStrategy {
         return executionContext.getQueryStrategy().execute(executionContext, newParameters);
     }
 
+    private MergedSelectionSet collectSubFields(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType) {
+        Supplier<MergedSelectionSet> collector = () -> {
+            FieldCollectorParameters collectorParameters = newParameters()
+                    .schema(executionContext.getGraphQLSchema())
+                    .objectType(resolvedObjectType)
+                    .fragments(executionContext.getFragmentsByName())
+                    .variables(executionContext.getVariables())
+                    .build();
+            return fieldCollector.collectFields(collectorParameters, parameters.getField());
+        };
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan == null || !executionPlan.isPlanFor(executionContext.getGraphQLSchema())) {
+            return collector.get();
+        }
+        return executionPlan.getMergedSelectionSet(resolvedObjectType, parameters.getField(), executionContext.getVariables(), collector);
+    }
+
     @SuppressWarnings("SameReturnValue")
     private Object handleCoercionProblem(ExecutionContext context, ExecutionStrategyParameters parameters, CoercingSerializeException e) {
         SerializationError error = new SerializationError(parameters.getPath(), e);
@@ -716,7 +812,12 @@ public abstract class ExecutionStrategy {
      */
     protected GraphQLFieldDefinition getFieldDef(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Field field) {
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
-        return getFieldDef(executionContext.getGraphQLSchema(), parentType, field);
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        if (executionPlan == null || !executionPlan.isPlanFor(schema)) {
+            return getFieldDef(schema, parentType, field);
+        }
+        return executionPlan.getFieldDefinition(parentType, field.getName(), () -> getFieldDef(schema, parentType, field));
     }
 
     /**
@@ -798,22 +899,39 @@ public abstract class ExecutionStrategy {
                                                         ExecutionStrategyParameters parameters,
                                                         GraphQLFieldDefinition fieldDefinition,
                                                         GraphQLObjectType fieldContainer) {
-        GraphQLOutputType fieldType = fieldDefinition.getType();
-        MergedField field = parameters.getField();
-        List<Argument> fieldArgs = field.getArguments();
-        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        Map<String, Object> argumentValues = valuesResolver.getArgumentValues(codeRegistry, fieldDefinition.getArguments(), fieldArgs, executionContext.getVariables());
+        Map<String, Object> argumentValues = getArgumentValues(executionContext, fieldDefinition, parameters.getField());
+        return createExecutionStepInfo(executionContext, parameters, fieldDefinition, fieldContainer, argumentValues);
+    }
 
+    private ExecutionStepInfo createExecutionStepInfo(ExecutionContext executionContext,
+                                                      ExecutionStrategyParameters parameters,
+                                                      GraphQLFieldDefinition fieldDefinition,
+                                                      GraphQLObjectType fieldContainer,
+                                                      Map<String, Object> argumentValues) {
         return newExecutionStepInfo()
-                .type(fieldType)
+                .type(fieldDefinition.getType())
                 .fieldDefinition(fieldDefinition)
                 .fieldContainer(fieldContainer)
-                .field(field)
+                .field(parameters.getField())
                 .path(parameters.getPath())
                 .parentInfo(parameters.getExecutionStepInfo())
                 .arguments(argumentValues)
                 .build();
+    }
+
+    /*
+     * Arguments made up of literals only are the same for every execution of a document and hence are kept in its plan
+     */
+    private Map<String, Object> getArgumentValues(ExecutionContext executionContext, GraphQLFieldDefinition fieldDefinition, MergedField field) {
+        List<Argument> fieldArgs = field.getArguments();
+        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
+        Supplier<Map<String, Object>> coercer = () -> valuesResolver.getArgumentValues(codeRegistry, fieldDefinition.getArguments(), fieldArgs, executionContext.getVariables());
 
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        if (fieldDefinition.getArguments().isEmpty() || executionPlan == null || !executionPlan.isPlanFor(executionContext.getGraphQLSchema())) {
+            return coercer.get();
+        }
+        return executionPlan.getArgumentValues(fieldDefinition, field.getSingleField(), coercer);
     }
 
 
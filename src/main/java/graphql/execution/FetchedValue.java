@@ -13,12 +13,14 @@ public class FetchedValue {
     private final Object rawFetchedValue;
     private final Object localContext;
     private final List<GraphQLError> errors;
+    private final ExecutionStepInfo executionStepInfo;
 
-    private FetchedValue(Object fetchedValue, Object rawFetchedValue, List<GraphQLError> errors, Object localContext) {
+    private FetchedValue(Object fetchedValue, Object rawFetchedValue, List<GraphQLError> errors, Object localContext, ExecutionStepInfo executionStepInfo) {
         this.fetchedValue = fetchedValue;
         this.rawFetchedValue = rawFetchedValue;
         this.errors = errors;
         this.localContext = localContext;
+        this.executionStepInfo = executionStepInfo;
     }
 
     /*
@@ -40,6 +42,14 @@ public class FetchedValue {
         return localContext;
     }
 
+    /*
+     * the step info the value was fetched with so that completing the field does not have to build it and coerce its
+     * arguments again, which can be null
+     */
+    public ExecutionStepInfo getExecutionStepInfo() {
+        return executionStepInfo;
+    }
+
     public FetchedValue transform(Consumer<Builder> builderConsumer) {
         Builder builder = newFetchedValue(this);
         builderConsumer.accept(builder);
@@ -66,6 +76,7 @@ public class FetchedValue {
                 .rawFetchedValue(otherValue.getRawFetchedValue())
                 .errors(otherValue.getErrors())
                 .localContext(otherValue.getLocalContext())
+                .executionStepInfo(otherValue.getExecutionStepInfo())
                 ;
     }
 
@@ -75,6 +86,7 @@ public class FetchedValue {
         private Object rawFetchedValue;
         private Object localContext;
         private List<GraphQLError> errors = new ArrayList<>();
+        private ExecutionStepInfo executionStepInfo;
 
         public Builder fetchedValue(Object fetchedValue) {
             this.fetchedValue = fetchedValue;
@@ -96,8 +108,13 @@ public class FetchedValue {
             return this;
         }
 
+        public Builder executionStepInfo(ExecutionStepInfo executionStepInfo) {
+            this.executionStepInfo = executionStepInfo;
+            return this;
+        }
+
         public FetchedValue build() {
-            return new FetchedValue(fetchedValue, rawFetchedValue, errors, localContext);
+            return new FetchedValue(fetchedValue, rawFetchedValue, errors, localContext, executionStepInfo);
         }
     }
 }
\ No newline at end of file
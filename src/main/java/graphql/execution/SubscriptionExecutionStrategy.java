@@ -3,11 +3,15 @@ package graphql.execution;
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.execution.reactive.CompletionStageMappingPublisher;
+import graphql.execution.reactive.OrderedCompletionStageMappingPublisher;
 import graphql.language.Field;
 import org.reactivestreams.Publisher;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
+import static graphql.Assert.assertNotNull;
 import static graphql.Assert.assertTrue;
 import static java.util.Collections.singletonMap;
 
@@ -18,22 +22,87 @@ import static java.util.Collections.singletonMap;
  * Afterwards each object delivered on that stream will be mapped via running the original selection set over that object and hence producing an ExecutionResult
  * just like a normal graphql query.
  *
+ * By default each event is executed as soon as it arrives and its result is published as soon as it is ready, so a
+ * fast event can overtake a slow one.  Given a maximum number of concurrent events, the results are instead published
+ * in the order of the source events and no more than that many events are executed at the same time.
+ *
+ * Given a {@link SubscriptionMultiplexer}, identical subscriptions share one source event stream and the result of
+ * each event is executed once and published to all of them.
+ *
  * See https://github.com/facebook/graphql/blob/master/spec/Section%206%20--%20Execution.md
  * See http://www.reactive-streams.org/
  */
 public class SubscriptionExecutionStrategy extends ExecutionStrategy {
 
+    // zero means the events are executed as they arrive, without any ordering or bound
+    private final int maxConcurrentEvents;
+    // null means every subscription is executed on its own
+    private final SubscriptionMultiplexer subscriptionMultiplexer;
+
     public SubscriptionExecutionStrategy() {
         super();
+        this.maxConcurrentEvents = 0;
+        this.subscriptionMultiplexer = null;
     }
 
     public SubscriptionExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler) {
         super(dataFetcherExceptionHandler);
+        this.maxConcurrentEvents = 0;
+        this.subscriptionMultiplexer = null;
+    }
+
+    /**
+     * Creates a strategy that shares the execution of identical subscriptions via the given multiplexer
+     *
+     * @param dataFetcherExceptionHandler the exception handler to use
+     * @param subscriptionMultiplexer     the multiplexer that groups identical subscriptions
+     */
+    public SubscriptionExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler, SubscriptionMultiplexer subscriptionMultiplexer) {
+        super(dataFetcherExceptionHandler);
+        this.maxConcurrentEvents = 0;
+        this.subscriptionMultiplexer = assertNotNull(subscriptionMultiplexer);
+    }
+
+    /**
+     * Creates a strategy that publishes the event results in the order of the source events and executes at most
+     * the given number of events at the same time.  More source events are only requested as the earlier ones are
+     * published.
+     *
+     * @param dataFetcherExceptionHandler the exception handler to use
+     * @param maxConcurrentEvents         the maximum number of subscription events that are executed at the same time
+     */
+    public SubscriptionExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler, int maxConcurrentEvents) {
+        super(dataFetcherExceptionHandler);
+        assertTrue(maxConcurrentEvents > 0, "The maximum number of concurrent events must be positive");
+        this.maxConcurrentEvents = maxConcurrentEvents;
+        this.subscriptionMultiplexer = null;
+    }
+
+    /**
+     * Creates a strategy that publishes the event results in order, executes at most the given number of events at
+     * the same time and shares the execution of identical subscriptions via the given multiplexer
+     *
+     * @param dataFetcherExceptionHandler the exception handler to use
+     * @param maxConcurrentEvents         the maximum number of subscription events that are executed at the same time
+     * @param subscriptionMultiplexer     the multiplexer that groups identical subscriptions
+     */
+    public SubscriptionExecutionStrategy(DataFetcherExceptionHandler dataFetcherExceptionHandler, int maxConcurrentEvents, SubscriptionMultiplexer subscriptionMultiplexer) {
+        super(dataFetcherExceptionHandler);
+        assertTrue(maxConcurrentEvents > 0, "The maximum number of concurrent events must be positive");
+        this.maxConcurrentEvents = maxConcurrentEvents;
+        this.subscriptionMultiplexer = assertNotNull(subscriptionMultiplexer);
     }
 
     @Override
     public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
+        if (subscriptionMultiplexer != null) {
+            // the events of a shared subscription are executed with the context of the first subscription
+            return subscriptionMultiplexer.execute(executionContext, () -> executeSubscription(executionContext, parameters));
+        }
+        return executeSubscription(executionContext, parameters);
+    }
 
+    private CompletableFuture<ExecutionResult> executeSubscription(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         CompletableFuture<Publisher<Object>> sourceEventStream = createSourceEventStream(executionContext, parameters);
 
         //
@@ -42,10 +111,10 @@ public class SubscriptionExecutionStrategy extends ExecutionStrategy {
             if (publisher == null) {
                 return new ExecutionResultImpl(null, executionContext.getErrors());
             }
-            CompletionStageMappingPublisher<ExecutionResult, Object> mapSourceToResponse = new CompletionStageMappingPublisher<>(
-                    publisher,
-                    eventPayload -> executeSubscriptionEvent(executionContext, parameters, eventPayload)
-            );
+            Function<Object, CompletionStage<ExecutionResult>> mapper = eventPayload -> executeSubscriptionEvent(executionContext, parameters, eventPayload);
+            Publisher<ExecutionResult> mapSourceToResponse = maxConcurrentEvents > 0
+                    ? new OrderedCompletionStageMappingPublisher<>(publisher, mapper, maxConcurrentEvents)
+                    : new CompletionStageMappingPublisher<>(publisher, mapper);
             return new ExecutionResultImpl(mapSourceToResponse, executionContext.getErrors());
         });
     }
@@ -0,0 +1,472 @@
+package graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQLError;
+import graphql.PublicApi;
+import graphql.execution.reactive.NonBlockingMutexExecutor;
+import graphql.language.AstPrinter;
+import graphql.schema.GraphQLSchema;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertNotNullWithNPE;
+import static graphql.Assert.assertTrue;
+
+/**
+ * This lets subscriptions that would produce the same results share one execution.  Subscriptions are grouped by
+ * their schema, document, operation name, variables and a key derived from their context.  Only the first
+ * subscription of a group is executed and each of its source events is executed once, after which the resulting
+ * {@link ExecutionResult} is published to every subscriber in the group.
+ * <p>
+ * It is used by giving it to a {@link SubscriptionExecutionStrategy}
+ *
+ * <pre>
+ * {@code
+ *     SubscriptionMultiplexer subscriptionMultiplexer = SubscriptionMultiplexer.newSubscriptionMultiplexer()
+ *             .contextKey(context -> ((UserContext) context).getTenantId())
+ *             .build();
+ *     GraphQL graphQL = GraphQL.newGraphQL(schema)
+ *             .subscriptionExecutionStrategy(new SubscriptionExecutionStrategy(new SimpleDataFetcherExceptionHandler(), subscriptionMultiplexer))
+ *             .build();
+ * }
+ * </pre>
+ * <p>
+ * The events of a group are executed with the context of the subscription that started the group, so the context
+ * key must tell apart any contexts that the data fetchers would give different results for, such as those of
+ * different users.  There is no default context key, since sharing the results made for one user with another
+ * has to be a deliberate choice.
+ * <p>
+ * A subscription is a member of its group from when it has been executed, and gets the events that arrive from then
+ * on.  Each member has its own buffer, so a slow subscriber doesn't hold back the others.  A member that falls more
+ * than {@link Builder#maxBufferedResults(int)} results behind is dropped from the group and its subscriber is given
+ * an {@link AbortExecutionException}.  The source event stream of a group is subscribed to when its first member
+ * subscribes, and cancelled when its last member cancels or is dropped.  The next subscription with the same key then
+ * starts a new group.
+ */
+@PublicApi
+public class SubscriptionMultiplexer {
+
+    /**
+     * The default maximum number of results buffered for a subscriber
+     */
+    public static final int DEFAULT_MAX_BUFFERED_RESULTS = 1_000;
+
+    private final Function<Object, Object> contextKey;
+    private final int maxBufferedResults;
+
+    private final Object lock = new Object();
+    private final Map<GroupKey, CompletableFuture<Group>> groups = new HashMap<>();
+
+    private SubscriptionMultiplexer(Builder builder) {
+        this.contextKey = builder.contextKey;
+        this.maxBufferedResults = builder.maxBufferedResults;
+    }
+
+    /**
+     * @return the number of groups of subscriptions that are currently sharing an execution
+     */
+    public int getGroupCount() {
+        synchronized (lock) {
+            return groups.size();
+        }
+    }
+
+    CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, Supplier<CompletableFuture<ExecutionResult>> subscriptionExecution) {
+        GroupKey key = new GroupKey(executionContext.getGraphQLSchema(),
+                AstPrinter.printAstCompact(executionContext.getDocument()),
+                executionContext.getOperationDefinition().getName(),
+                executionContext.getVariables(),
+                contextKey.apply(executionContext.getContext()));
+
+        CompletableFuture<Group> groupFuture;
+        boolean startsGroup = false;
+        synchronized (lock) {
+            groupFuture = groups.get(key);
+            if (groupFuture == null) {
+                groupFuture = new CompletableFuture<>();
+                groups.put(key, groupFuture);
+                startsGroup = true;
+            }
+        }
+        if (startsGroup) {
+            return startGroup(key, groupFuture, subscriptionExecution);
+        }
+        return groupFuture.thenCompose(group -> {
+            if (group == null) {
+                // the group could not be started, so the subscription is executed on its own
+                return subscriptionExecution.get();
+            }
+            return joinGroup(group, executionContext, subscriptionExecution);
+        });
+    }
+
+    private CompletableFuture<ExecutionResult> startGroup(GroupKey key, CompletableFuture<Group> groupFuture, Supplier<CompletableFuture<ExecutionResult>> subscriptionExecution) {
+        CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+        subscriptionExecution.get().whenComplete((executionResult, throwable) -> {
+            if (throwable == null && executionResult.getData() instanceof Publisher) {
+                Group group = new Group(key, groupFuture, executionResult.getData(), executionResult.getErrors());
+                groupFuture.complete(group);
+                // nothing can have subscribed yet so the group can't have ended
+                result.complete(group.join());
+                return;
+            }
+            synchronized (lock) {
+                groups.remove(key, groupFuture);
+            }
+            // the subscriptions that were waiting on this one will execute on their own
+            groupFuture.complete(null);
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(executionResult);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<ExecutionResult> joinGroup(Group group, ExecutionContext executionContext, Supplier<CompletableFuture<ExecutionResult>> subscriptionExecution) {
+        ExecutionResult executionResult = group.join();
+        if (executionResult == null) {
+            // the group ended in the meantime, so a new one is started
+            return execute(executionContext, subscriptionExecution);
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    private class Group implements Subscriber<ExecutionResult> {
+        private final GroupKey key;
+        private final CompletableFuture<Group> groupFuture;
+        private final Publisher<ExecutionResult> sourceResults;
+        private final List<GraphQLError> errors;
+        private final Set<Member> members = ConcurrentHashMap.newKeySet();
+        // these are guarded by the lock
+        private boolean connected;
+        private boolean ended;
+        private Subscription subscription;
+
+        Group(GroupKey key, CompletableFuture<Group> groupFuture, Publisher<ExecutionResult> sourceResults, List<GraphQLError> errors) {
+            this.key = key;
+            this.groupFuture = groupFuture;
+            this.sourceResults = sourceResults;
+            this.errors = errors;
+        }
+
+        /*
+         * the member is registered straight away, so that the group can't end between now and when it subscribes
+         */
+        ExecutionResult join() {
+            Member member = new Member(this);
+            synchronized (lock) {
+                if (ended) {
+                    return null;
+                }
+                members.add(member);
+            }
+            return new ExecutionResultImpl(member, errors);
+        }
+
+        private void connect() {
+            synchronized (lock) {
+                if (ended || connected) {
+                    return;
+                }
+                connected = true;
+            }
+            sourceResults.subscribe(this);
+        }
+
+        private void leave(Member member) {
+            Subscription subscriptionToCancel = null;
+            synchronized (lock) {
+                members.remove(member);
+                if (members.isEmpty() && !ended) {
+                    end();
+                    subscriptionToCancel = subscription;
+                }
+            }
+            if (subscriptionToCancel != null) {
+                subscriptionToCancel.cancel();
+            }
+        }
+
+        // called with the lock held
+        private void end() {
+            ended = true;
+            groups.remove(key, groupFuture);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            boolean cancelled;
+            synchronized (lock) {
+                this.subscription = subscription;
+                cancelled = ended;
+            }
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                // each member buffers a bounded number of results, so they are all taken as they come
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(ExecutionResult executionResult) {
+            for (Member member : members) {
+                member.offer(executionResult);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (lock) {
+                end();
+            }
+            for (Member member : members) {
+                member.fail(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (lock) {
+                end();
+            }
+            for (Member member : members) {
+                member.complete();
+            }
+        }
+    }
+
+    /*
+     * The publisher of the results of a group to one of its subscribers, with a bounded buffer
+     */
+    private class Member implements Publisher<ExecutionResult>, Subscription {
+        private final Group group;
+        private final NonBlockingMutexExecutor mutex = new NonBlockingMutexExecutor();
+        // these are only used within the mutex
+        private final Deque<ExecutionResult> buffer = new ArrayDeque<>();
+        private Subscriber<? super ExecutionResult> subscriber;
+        private boolean subscribed;
+        private long demand;
+        // no more results are taken once the member has left the group or the group has ended
+        private boolean left;
+        private boolean completed;
+        private Throwable error;
+
+        Member(Group group) {
+            this.group = group;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ExecutionResult> subscriber) {
+            assertNotNullWithNPE(subscriber, "Subscriber passed to subscribe must not be null");
+            mutex.execute(() -> {
+                if (subscribed) {
+                    subscriber.onSubscribe(new Subscription() {
+                        @Override
+                        public void request(long n) {
+                        }
+
+                        @Override
+                        public void cancel() {
+                        }
+                    });
+                    subscriber.onError(new IllegalStateException("This publisher only supports one subscriber"));
+                    return;
+                }
+                subscribed = true;
+                this.subscriber = subscriber;
+                subscriber.onSubscribe(this);
+                drain();
+            });
+            group.connect();
+        }
+
+        @Override
+        public void request(long n) {
+            mutex.execute(() -> {
+                if (subscriber == null) {
+                    return;
+                }
+                if (n <= 0) {
+                    leave(new IllegalArgumentException("Reactive streams 3.9 spec violation: non-positive subscription request"));
+                    return;
+                }
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                drain();
+            });
+        }
+
+        @Override
+        public void cancel() {
+            mutex.execute(() -> {
+                subscriber = null;
+                buffer.clear();
+                if (!left) {
+                    left = true;
+                    group.leave(this);
+                }
+            });
+        }
+
+        void offer(ExecutionResult executionResult) {
+            mutex.execute(() -> {
+                if (left) {
+                    return;
+                }
+                if (buffer.size() >= maxBufferedResults) {
+                    leave(new AbortExecutionException("The subscriber fell more than " + maxBufferedResults + " results behind the others and was dropped"));
+                    return;
+                }
+                buffer.add(executionResult);
+                drain();
+            });
+        }
+
+        void complete() {
+            mutex.execute(() -> {
+                if (!left) {
+                    left = true;
+                    completed = true;
+                    drain();
+                }
+            });
+        }
+
+        void fail(Throwable t) {
+            mutex.execute(() -> {
+                if (!left) {
+                    left = true;
+                    error = t;
+                    drain();
+                }
+            });
+        }
+
+        private void leave(Throwable t) {
+            left = true;
+            error = t;
+            buffer.clear();
+            group.leave(this);
+            drain();
+        }
+
+        private void drain() {
+            if (subscriber == null) {
+                return;
+            }
+            if (error != null) {
+                Subscriber<? super ExecutionResult> failed = subscriber;
+                subscriber = null;
+                failed.onError(error);
+                return;
+            }
+            while (demand > 0 && !buffer.isEmpty()) {
+                demand--;
+                subscriber.onNext(buffer.removeFirst());
+            }
+            if (completed && buffer.isEmpty()) {
+                Subscriber<? super ExecutionResult> finished = subscriber;
+                subscriber = null;
+                finished.onComplete();
+            }
+        }
+    }
+
+    private static class GroupKey {
+        private final GraphQLSchema schema;
+        private final String document;
+        private final String operationName;
+        private final Map<String, Object> variables;
+        private final Object contextKey;
+        private final int hashCode;
+
+        GroupKey(GraphQLSchema schema, String document, String operationName, Map<String, Object> variables, Object contextKey) {
+            this.schema = schema;
+            this.document = document;
+            this.operationName = operationName;
+            this.variables = variables;
+            this.contextKey = contextKey;
+            this.hashCode = 31 * System.identityHashCode(schema) + Objects.hash(document, operationName, variables, contextKey);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            GroupKey groupKey = (GroupKey) o;
+            return schema == groupKey.schema
+                    && document.equals(groupKey.document)
+                    && Objects.equals(operationName, groupKey.operationName)
+                    && Objects.equals(variables, groupKey.variables)
+                    && Objects.equals(contextKey, groupKey.contextKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static Builder newSubscriptionMultiplexer() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Function<Object, Object> contextKey;
+        private int maxBufferedResults = DEFAULT_MAX_BUFFERED_RESULTS;
+
+        /**
+         * The function that derives a key from the context of a subscription.  Only subscriptions with equal keys
+         * share an execution, so it must tell apart the contexts of different users unless their results can be
+         * shared.  It has to be given.
+         *
+         * @param contextKey the function returning the key of a context
+         *
+         * @return this builder
+         */
+        public Builder contextKey(Function<Object, Object> contextKey) {
+            this.contextKey = assertNotNull(contextKey);
+            return this;
+        }
+
+        /**
+         * The maximum number of results buffered for a subscriber that has not requested them yet, beyond which the
+         * subscriber is dropped from its group
+         *
+         * @param maxBufferedResults the maximum number of buffered results
+         *
+         * @return this builder
+         */
+        public Builder maxBufferedResults(int maxBufferedResults) {
+            assertTrue(maxBufferedResults > 0, "The maximum number of buffered results must be positive");
+            this.maxBufferedResults = maxBufferedResults;
+            return this;
+        }
+
+        public SubscriptionMultiplexer build() {
+            assertNotNull(contextKey, "A context key must be given, since subscriptions with the same key share the results made with one of their contexts");
+            return new SubscriptionMultiplexer(this);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package graphql.execution.defer;
+
+import graphql.PublicApi;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * Options that control how the results of @defer fields are delivered.
+ * <p>
+ * By default the deferred calls are made one after another and each result is published on its own, in the order
+ * the deferred fields were encountered.
+ */
+@PublicApi
+public class DeferOptions {
+
+    private static final DeferOptions DEFAULT = newDeferOptions().build();
+
+    private final int maxConcurrentCalls;
+    private final boolean batchResults;
+
+    private DeferOptions(Builder builder) {
+        this.maxConcurrentCalls = builder.maxConcurrentCalls;
+        this.batchResults = builder.batchResults;
+    }
+
+    /**
+     * @return the options that make the deferred calls one after another and publish each result on its own
+     */
+    public static DeferOptions defaultDeferOptions() {
+        return DEFAULT;
+    }
+
+    /**
+     * The number of deferred calls that are made at the same time.  This also bounds how many results are held
+     * while the subscriber hasn't asked for them, so no more calls are started until it does.
+     *
+     * @return the maximum number of deferred calls that are being made or waiting to be published
+     */
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * When results are batched, the results that are ready at the time the subscriber asks for the next one are
+     * published together as a {@link graphql.DeferredExecutionResultBatch}.
+     *
+     * @return true if the ready results are published together
+     */
+    public boolean isBatchResults() {
+        return batchResults;
+    }
+
+    public static Builder newDeferOptions() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxConcurrentCalls = 1;
+        private boolean batchResults = false;
+
+        public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+            assertTrue(maxConcurrentCalls > 0, "The maximum number of concurrent calls must be positive");
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        public Builder batchResults(boolean batchResults) {
+            this.batchResults = batchResults;
+            return this;
+        }
+
+        public DeferOptions build() {
+            return new DeferOptions(this);
+        }
+    }
+}
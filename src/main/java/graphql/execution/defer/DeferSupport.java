@@ -1,36 +1,67 @@
 package graphql.execution.defer;
 
 import graphql.DeferredExecutionResult;
-import graphql.Directives;
-import graphql.ExecutionResult;
+import graphql.DeferredExecutionResultBatch;
 import graphql.Internal;
 import graphql.execution.MergedField;
 import graphql.execution.ValuesResolver;
-import graphql.execution.reactive.SingleSubscriberPublisher;
+import graphql.execution.reactive.NonBlockingMutexExecutor;
 import graphql.language.Directive;
 import graphql.language.Field;
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertNotNullWithNPE;
 import static graphql.Directives.*;
 
 /**
  * This provides support for @defer directives on fields that mean that results will be sent AFTER
  * the main result is sent via a Publisher stream.
+ * <p>
+ * The deferred calls are made up to {@link DeferOptions#getMaxConcurrentCalls()} at a time and their results are
+ * published in the order the deferred fields were encountered.  A result that is ready waits for the ones before it,
+ * and a call is only started while fewer than the maximum number of calls are being made or waiting to be published,
+ * so a subscriber that doesn't ask for results holds back the calls rather than letting them pile up.
  */
 @Internal
 public class DeferSupport {
 
     private final AtomicBoolean deferDetected = new AtomicBoolean(false);
-    private final Deque<DeferredCall> deferredCalls = new ConcurrentLinkedDeque<>();
-    private final SingleSubscriberPublisher<DeferredExecutionResult> publisher = new SingleSubscriberPublisher<>();
+    private final DeferOptions deferOptions;
     private final ValuesResolver valuesResolver = new ValuesResolver();
+    private final NonBlockingMutexExecutor mutex = new NonBlockingMutexExecutor();
+    private final Publisher<DeferredExecutionResult> publisher = this::subscribe;
+
+    // these are only changed inside the mutex
+    private final Deque<DeferredCall> deferredCalls = new ArrayDeque<>();
+    private final Deque<PendingResult> pendingResults = new ArrayDeque<>();
+    private boolean started;
+    private boolean subscribed;
+    private boolean terminated;
+    private Subscriber<? super DeferredExecutionResult> subscriber;
+    private long demand;
+
+    public DeferSupport() {
+        this(DeferOptions.defaultDeferOptions());
+    }
+
+    public DeferSupport(DeferOptions deferOptions) {
+        this.deferOptions = assertNotNull(deferOptions);
+    }
+
+    public DeferOptions getDeferOptions() {
+        return deferOptions;
+    }
 
     public boolean checkForDeferDirective(MergedField currentField, Map<String,Object> variables) {
         for (Field field : currentField.getFields()) {
@@ -43,27 +74,144 @@ public class DeferSupport {
         return false;
     }
 
+    private static class PendingResult {
+        private boolean done;
+        private DeferredExecutionResult result;
+        private Throwable throwable;
+    }
+
     @SuppressWarnings("FutureReturnValueIgnored")
-    private void drainDeferredCalls() {
-        if (deferredCalls.isEmpty()) {
-            publisher.noMoreData();
+    private void startDeferredCallsInMutex() {
+        while (started && !terminated && !deferredCalls.isEmpty() && pendingResults.size() < deferOptions.getMaxConcurrentCalls()) {
+            DeferredCall deferredCall = deferredCalls.pop();
+            PendingResult pendingResult = new PendingResult();
+            pendingResults.addLast(pendingResult);
+            //
+            // any calls this one enqueues or its completion are run by the mutex after this
+            CompletableFuture<DeferredExecutionResult> future;
+            try {
+                future = deferredCall.invoke();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((executionResult, exception) -> mutex.execute(() -> {
+                pendingResult.done = true;
+                pendingResult.result = executionResult;
+                pendingResult.throwable = exception;
+                publishInMutex();
+            }));
+        }
+    }
+
+    private void publishInMutex() {
+        while (subscriber != null && !pendingResults.isEmpty() && pendingResults.peekFirst().done) {
+            if (pendingResults.peekFirst().throwable != null) {
+                terminate(pendingResults.peekFirst().throwable);
+                return;
+            }
+            if (demand == 0) {
+                break;
+            }
+            DeferredExecutionResult result = pendingResults.removeFirst().result;
+            if (deferOptions.isBatchResults()) {
+                result = batchReadyResults(result);
+            }
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            subscriber.onNext(result);
+        }
+        if (subscriber != null && pendingResults.isEmpty() && deferredCalls.isEmpty()) {
+            Subscriber<? super DeferredExecutionResult> completedSubscriber = subscriber;
+            terminated = true;
+            subscriber = null;
+            completedSubscriber.onComplete();
             return;
         }
-        DeferredCall deferredCall = deferredCalls.pop();
-        CompletableFuture<DeferredExecutionResult> future = deferredCall.invoke();
-        future.whenComplete((executionResult, exception) -> {
-            if (exception != null) {
-                publisher.offerError(exception);
+        startDeferredCallsInMutex();
+    }
+
+    private DeferredExecutionResult batchReadyResults(DeferredExecutionResult first) {
+        List<DeferredExecutionResult> results = new ArrayList<>();
+        results.add(first);
+        // a failed result ends the batch and is signalled after it
+        while (!pendingResults.isEmpty() && pendingResults.peekFirst().done && pendingResults.peekFirst().throwable == null) {
+            results.add(pendingResults.removeFirst().result);
+        }
+        return results.size() == 1 ? first : new DeferredExecutionResultBatch(results);
+    }
+
+    private void terminate(Throwable throwable) {
+        Subscriber<? super DeferredExecutionResult> failedSubscriber = subscriber;
+        terminated = true;
+        subscriber = null;
+        deferredCalls.clear();
+        pendingResults.clear();
+        failedSubscriber.onError(throwable);
+    }
+
+    private void subscribe(Subscriber<? super DeferredExecutionResult> subscriber) {
+        assertNotNullWithNPE(subscriber, "Subscriber passed to subscribe must not be null");
+        mutex.execute(() -> {
+            if (subscribed) {
+                // spec says handle this in tis manner
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("This publisher only supports one subscriber"));
                 return;
             }
-            publisher.offer(executionResult);
-            drainDeferredCalls();
+            subscribed = true;
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new DeferredSubscription());
+            // a failure or the end of the results can be signalled without any demand
+            publishInMutex();
         });
     }
 
+    private class DeferredSubscription implements Subscription {
+
+        @Override
+        public void request(long n) {
+            mutex.execute(() -> {
+                if (subscriber == null) {
+                    return;
+                }
+                if (n <= 0) {
+                    terminate(new IllegalArgumentException("Reactive streams 3.9 spec violation: non-positive subscription request"));
+                    return;
+                }
+                demand = (demand + n) < 0 ? Long.MAX_VALUE : (demand + n); // Overflow protection
+                publishInMutex();
+            });
+        }
+
+        @Override
+        public void cancel() {
+            mutex.execute(() -> {
+                if (subscriber != null) {
+                    terminated = true;
+                    subscriber = null;
+                    deferredCalls.clear();
+                    pendingResults.clear();
+                }
+            });
+        }
+    }
+
     public void enqueue(DeferredCall deferredCall) {
         deferDetected.set(true);
-        deferredCalls.offer(deferredCall);
+        mutex.execute(() -> {
+            deferredCalls.offer(deferredCall);
+            startDeferredCallsInMutex();
+        });
     }
 
     public boolean isDeferDetected() {
@@ -76,7 +224,10 @@ public class DeferSupport {
      * @return the publisher of deferred results
      */
     public Publisher<DeferredExecutionResult> startDeferredCalls() {
-        drainDeferredCalls();
+        mutex.execute(() -> {
+            started = true;
+            startDeferredCallsInMutex();
+        });
         return publisher;
     }
 }
@@ -3,7 +3,6 @@ package graphql.execution.instrumentation;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.PublicApi;
-import graphql.execution.Async;
 import graphql.execution.ExecutionContext;
 import graphql.execution.FieldValueInfo;
 import graphql.execution.MergedField;
@@ -22,19 +21,21 @@ import graphql.schema.GraphQLSchema;
 import graphql.validation.ValidationError;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import static graphql.Assert.assertNotNull;
-import static java.util.stream.Collectors.toList;
 
 /**
  * This allows you to chain together a number of {@link graphql.execution.instrumentation.Instrumentation} implementations
  * and run them in sequence.  The list order of instrumentation objects is always guaranteed to be followed and
  * the {@link graphql.execution.instrumentation.InstrumentationState} objects they create will be passed back to the originating
  * implementation.
+ * <p>
+ * Many instrumentations extend {@link SimpleInstrumentation} and only override a few of its methods, so the chain works
+ * out up front which instrumentations override each method and only calls those.  The others would do nothing anyway.
  *
  * @see graphql.execution.instrumentation.Instrumentation
  */
@@ -43,10 +44,105 @@ public class ChainedInstrumentation implements Instrumentation {
 
     // This class is inspired from https://github.com/leangen/graphql-spqr/blob/master/src/main/java/io/leangen/graphql/GraphQLRuntime.java#L80
 
+    private enum Callback {
+        BEGIN_EXECUTION("beginExecution", InstrumentationExecutionParameters.class),
+        BEGIN_PARSE("beginParse", InstrumentationExecutionParameters.class),
+        BEGIN_VALIDATION("beginValidation", InstrumentationValidationParameters.class),
+        BEGIN_EXECUTE_OPERATION("beginExecuteOperation", InstrumentationExecuteOperationParameters.class),
+        BEGIN_EXECUTION_STRATEGY("beginExecutionStrategy", InstrumentationExecutionStrategyParameters.class),
+        BEGIN_DEFERRED_FIELD("beginDeferredField", InstrumentationDeferredFieldParameters.class),
+        BEGIN_FIELD("beginField", InstrumentationFieldParameters.class),
+        BEGIN_FIELD_FETCH("beginFieldFetch", InstrumentationFieldFetchParameters.class),
+        BEGIN_FIELD_COMPLETE("beginFieldComplete", InstrumentationFieldCompleteParameters.class),
+        BEGIN_FIELD_LIST_COMPLETE("beginFieldListComplete", InstrumentationFieldCompleteParameters.class),
+        INSTRUMENT_EXECUTION_INPUT("instrumentExecutionInput", ExecutionInput.class, InstrumentationExecutionParameters.class),
+        INSTRUMENT_DOCUMENT_AND_VARIABLES("instrumentDocumentAndVariables", DocumentAndVariables.class, InstrumentationExecutionParameters.class),
+        INSTRUMENT_SCHEMA("instrumentSchema", GraphQLSchema.class, InstrumentationExecutionParameters.class),
+        INSTRUMENT_EXECUTION_CONTEXT("instrumentExecutionContext", ExecutionContext.class, InstrumentationExecutionParameters.class),
+        INSTRUMENT_DATA_FETCHER("instrumentDataFetcher", DataFetcher.class, InstrumentationFieldFetchParameters.class),
+        INSTRUMENT_EXECUTION_RESULT("instrumentExecutionResult", ExecutionResult.class, InstrumentationExecutionParameters.class);
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+
+        Callback(String methodName, Class<?>... parameterTypes) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        boolean isOverriddenBy(Class<?> instrumentationClass) {
+            try {
+                Class<?> declaringClass = instrumentationClass.getMethod(methodName, parameterTypes).getDeclaringClass();
+                return declaringClass != SimpleInstrumentation.class && declaringClass != Instrumentation.class;
+            } catch (NoSuchMethodException e) {
+                // we can't tell, so the instrumentation is always called
+                return true;
+            }
+        }
+    }
+
+    private static final ClassValue<Set<Callback>> OVERRIDDEN_CALLBACKS = new ClassValue<Set<Callback>>() {
+        @Override
+        protected Set<Callback> computeValue(Class<?> instrumentationClass) {
+            Set<Callback> callbacks = EnumSet.noneOf(Callback.class);
+            for (Callback callback : Callback.values()) {
+                if (callback.isOverriddenBy(instrumentationClass)) {
+                    callbacks.add(callback);
+                }
+            }
+            return callbacks;
+        }
+    };
+
+    private static final InstrumentationContext<Object> NO_OP_CONTEXT = new SimpleInstrumentationContext<>();
+
+    private static final ExecutionStrategyInstrumentationContext NO_OP_EXECUTION_STRATEGY_CONTEXT = new ExecutionStrategyInstrumentationContext() {
+        @Override
+        public void onDispatched(CompletableFuture<ExecutionResult> result) {
+        }
+
+        @Override
+        public void onCompleted(ExecutionResult result, Throwable t) {
+        }
+    };
+
+    private static final DeferredFieldInstrumentationContext NO_OP_DEFERRED_FIELD_CONTEXT = new DeferredFieldInstrumentationContext() {
+        @Override
+        public void onDispatched(CompletableFuture<ExecutionResult> result) {
+        }
+
+        @Override
+        public void onCompleted(ExecutionResult result, Throwable t) {
+        }
+    };
+
     private final List<Instrumentation> instrumentations;
+    private final Instrumentation[] instrumentationArray;
+    // the indexes of the instrumentations that override each callback, in list order
+    private final int[][] participantsByCallback;
 
     public ChainedInstrumentation(List<Instrumentation> instrumentations) {
         this.instrumentations = Collections.unmodifiableList(assertNotNull(instrumentations));
+        this.instrumentationArray = instrumentations.toArray(new Instrumentation[0]);
+        this.participantsByCallback = buildParticipants(instrumentationArray);
+    }
+
+    private static int[][] buildParticipants(Instrumentation[] instrumentations) {
+        Callback[] callbacks = Callback.values();
+        int[][] participantsByCallback = new int[callbacks.length][];
+        for (Callback callback : callbacks) {
+            int count = 0;
+            int[] participants = new int[instrumentations.length];
+            for (int i = 0; i < instrumentations.length; i++) {
+                if (OVERRIDDEN_CALLBACKS.get(instrumentations[i].getClass()).contains(callback)) {
+                    participants[count++] = i;
+                }
+            }
+            int[] trimmed = new int[count];
+            System.arraycopy(participants, 0, trimmed, 0, count);
+            participantsByCallback[callback.ordinal()] = trimmed;
+        }
+        return participantsByCallback;
     }
 
     /**
@@ -56,256 +152,277 @@ public class ChainedInstrumentation implements Instrumentation {
         return instrumentations;
     }
 
-    private InstrumentationState getState(Instrumentation instrumentation, InstrumentationState parametersInstrumentationState) {
+    private static InstrumentationState getState(InstrumentationState parametersInstrumentationState, int index) {
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) parametersInstrumentationState;
-        return chainedInstrumentationState.getState(instrumentation);
+        return chainedInstrumentationState.getState(index);
+    }
+
+    private interface ContextFactory<P, C> {
+        C begin(Instrumentation instrumentation, P parameters, InstrumentationState state);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <P, T> InstrumentationContext<T> chainContexts(Callback callback, P parameters, InstrumentationState chainedState, ContextFactory<P, InstrumentationContext<T>> contextFactory) {
+        int[] participants = participantsByCallback[callback.ordinal()];
+        if (participants.length == 0) {
+            return (InstrumentationContext<T>) NO_OP_CONTEXT;
+        }
+        if (participants.length == 1) {
+            int index = participants[0];
+            return contextFactory.begin(instrumentationArray[index], parameters, getState(chainedState, index));
+        }
+        InstrumentationContext<T>[] contexts = new InstrumentationContext[participants.length];
+        for (int i = 0; i < participants.length; i++) {
+            int index = participants[i];
+            contexts[i] = contextFactory.begin(instrumentationArray[index], parameters, getState(chainedState, index));
+        }
+        return new ChainedInstrumentationContext<>(contexts);
     }
 
     @Override
     public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
-        return new ChainedInstrumentationState(instrumentations, parameters);
+        return new ChainedInstrumentationState(instrumentationArray, parameters);
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginExecution(final InstrumentationExecutionParameters parameters) {
-        return new ChainedInstrumentationContext<>(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginExecution(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        return chainContexts(Callback.BEGIN_EXECUTION, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginExecution(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters) {
-        return new ChainedInstrumentationContext<>(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginParse(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        return chainContexts(Callback.BEGIN_PARSE, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginParse(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters) {
-        return new ChainedInstrumentationContext<>(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginValidation(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        return chainContexts(Callback.BEGIN_VALIDATION, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginValidation(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
-        return new ChainedInstrumentationContext<>(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginExecuteOperation(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        return chainContexts(Callback.BEGIN_EXECUTE_OPERATION, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginExecuteOperation(params.withNewState(state)));
     }
 
     @Override
     public ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters) {
-        return new ChainedExecutionStrategyInstrumentationContext(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginExecutionStrategy(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        int[] participants = participantsByCallback[Callback.BEGIN_EXECUTION_STRATEGY.ordinal()];
+        if (participants.length == 0) {
+            return NO_OP_EXECUTION_STRATEGY_CONTEXT;
+        }
+        ExecutionStrategyInstrumentationContext[] contexts = new ExecutionStrategyInstrumentationContext[participants.length];
+        for (int i = 0; i < participants.length; i++) {
+            int index = participants[i];
+            InstrumentationState state = getState(parameters.getInstrumentationState(), index);
+            contexts[i] = instrumentationArray[index].beginExecutionStrategy(parameters.withNewState(state));
+        }
+        return contexts.length == 1 ? contexts[0] : new ChainedExecutionStrategyInstrumentationContext(contexts);
     }
 
     @Override
     public DeferredFieldInstrumentationContext beginDeferredField(InstrumentationDeferredFieldParameters parameters) {
-        return new ChainedDeferredExecutionStrategyInstrumentationContext(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginDeferredField(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        int[] participants = participantsByCallback[Callback.BEGIN_DEFERRED_FIELD.ordinal()];
+        if (participants.length == 0) {
+            return NO_OP_DEFERRED_FIELD_CONTEXT;
+        }
+        DeferredFieldInstrumentationContext[] contexts = new DeferredFieldInstrumentationContext[participants.length];
+        for (int i = 0; i < participants.length; i++) {
+            int index = participants[i];
+            InstrumentationState state = getState(parameters.getInstrumentationState(), index);
+            contexts[i] = instrumentationArray[index].beginDeferredField(parameters.withNewState(state));
+        }
+        return contexts.length == 1 ? contexts[0] : new ChainedDeferredExecutionStrategyInstrumentationContext(contexts);
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginField(InstrumentationFieldParameters parameters) {
-        return new ChainedInstrumentationContext<>(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginField(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        return chainContexts(Callback.BEGIN_FIELD, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginField(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
-        return new ChainedInstrumentationContext<>(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginFieldFetch(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        return chainContexts(Callback.BEGIN_FIELD_FETCH, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginFieldFetch(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginFieldComplete(InstrumentationFieldCompleteParameters parameters) {
-        return new ChainedInstrumentationContext<>(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginFieldComplete(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        return chainContexts(Callback.BEGIN_FIELD_COMPLETE, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginFieldComplete(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginFieldListComplete(InstrumentationFieldCompleteParameters parameters) {
-        return new ChainedInstrumentationContext<>(instrumentations.stream()
-                .map(instrumentation -> {
-                    InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-                    return instrumentation.beginFieldListComplete(parameters.withNewState(state));
-                })
-                .collect(toList()));
+        return chainContexts(Callback.BEGIN_FIELD_LIST_COMPLETE, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginFieldListComplete(params.withNewState(state)));
     }
 
     @Override
     public ExecutionInput instrumentExecutionInput(ExecutionInput executionInput, InstrumentationExecutionParameters parameters) {
-        for (Instrumentation instrumentation : instrumentations) {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            executionInput = instrumentation.instrumentExecutionInput(executionInput, parameters.withNewState(state));
+        for (int index : participantsByCallback[Callback.INSTRUMENT_EXECUTION_INPUT.ordinal()]) {
+            InstrumentationState state = getState(parameters.getInstrumentationState(), index);
+            executionInput = instrumentationArray[index].instrumentExecutionInput(executionInput, parameters.withNewState(state));
         }
         return executionInput;
     }
 
     @Override
     public DocumentAndVariables instrumentDocumentAndVariables(DocumentAndVariables documentAndVariables, InstrumentationExecutionParameters parameters) {
-        for (Instrumentation instrumentation : instrumentations) {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            documentAndVariables = instrumentation.instrumentDocumentAndVariables(documentAndVariables, parameters.withNewState(state));
+        for (int index : participantsByCallback[Callback.INSTRUMENT_DOCUMENT_AND_VARIABLES.ordinal()]) {
+            InstrumentationState state = getState(parameters.getInstrumentationState(), index);
+            documentAndVariables = instrumentationArray[index].instrumentDocumentAndVariables(documentAndVariables, parameters.withNewState(state));
         }
         return documentAndVariables;
     }
 
     @Override
     public GraphQLSchema instrumentSchema(GraphQLSchema schema, InstrumentationExecutionParameters parameters) {
-        for (Instrumentation instrumentation : instrumentations) {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            schema = instrumentation.instrumentSchema(schema, parameters.withNewState(state));
+        for (int index : participantsByCallback[Callback.INSTRUMENT_SCHEMA.ordinal()]) {
+            InstrumentationState state = getState(parameters.getInstrumentationState(), index);
+            schema = instrumentationArray[index].instrumentSchema(schema, parameters.withNewState(state));
         }
         return schema;
     }
 
     @Override
     public ExecutionContext instrumentExecutionContext(ExecutionContext executionContext, InstrumentationExecutionParameters parameters) {
-        for (Instrumentation instrumentation : instrumentations) {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            executionContext = instrumentation.instrumentExecutionContext(executionContext, parameters.withNewState(state));
+        for (int index : participantsByCallback[Callback.INSTRUMENT_EXECUTION_CONTEXT.ordinal()]) {
+            InstrumentationState state = getState(parameters.getInstrumentationState(), index);
+            executionContext = instrumentationArray[index].instrumentExecutionContext(executionContext, parameters.withNewState(state));
         }
         return executionContext;
     }
 
     @Override
     public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters) {
-        for (Instrumentation instrumentation : instrumentations) {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            dataFetcher = instrumentation.instrumentDataFetcher(dataFetcher, parameters.withNewState(state));
+        for (int index : participantsByCallback[Callback.INSTRUMENT_DATA_FETCHER.ordinal()]) {
+            InstrumentationState state = getState(parameters.getInstrumentationState(), index);
+            dataFetcher = instrumentationArray[index].instrumentDataFetcher(dataFetcher, parameters.withNewState(state));
         }
         return dataFetcher;
     }
 
     @Override
     public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
-        CompletableFuture<List<ExecutionResult>> resultsFuture = Async.eachSequentially(instrumentations, (instrumentation, index, prevResults) -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            ExecutionResult lastResult = prevResults.size() > 0 ? prevResults.get(prevResults.size() - 1) : executionResult;
-            return instrumentation.instrumentExecutionResult(lastResult, parameters.withNewState(state));
-        });
-        return resultsFuture.thenApply((results) -> results.isEmpty() ? executionResult : results.get(results.size() - 1));
+        CompletableFuture<ExecutionResult> resultFuture = CompletableFuture.completedFuture(executionResult);
+        for (int index : participantsByCallback[Callback.INSTRUMENT_EXECUTION_RESULT.ordinal()]) {
+            Instrumentation instrumentation = instrumentationArray[index];
+            InstrumentationState state = getState(parameters.getInstrumentationState(), index);
+            resultFuture = resultFuture.thenCompose(result -> instrumentation.instrumentExecutionResult(result, parameters.withNewState(state)));
+        }
+        return resultFuture;
     }
 
     private static class ChainedInstrumentationState implements InstrumentationState {
-        private final Map<Instrumentation, InstrumentationState> instrumentationStates;
+        // the states are held in the same order as the instrumentations
+        private final InstrumentationState[] instrumentationStates;
 
 
-        private ChainedInstrumentationState(List<Instrumentation> instrumentations, InstrumentationCreateStateParameters parameters) {
-            instrumentationStates = new LinkedHashMap<>(instrumentations.size());
-            instrumentations.forEach(i -> instrumentationStates.put(i, i.createState(parameters)));
+        private ChainedInstrumentationState(Instrumentation[] instrumentations, InstrumentationCreateStateParameters parameters) {
+            instrumentationStates = new InstrumentationState[instrumentations.length];
+            for (int i = 0; i < instrumentations.length; i++) {
+                instrumentationStates[i] = instrumentations[i].createState(parameters);
+            }
         }
 
-        private InstrumentationState getState(Instrumentation instrumentation) {
-            return instrumentationStates.get(instrumentation);
+        private InstrumentationState getState(int index) {
+            return instrumentationStates[index];
         }
 
     }
 
     private static class ChainedInstrumentationContext<T> implements InstrumentationContext<T> {
 
-        private final List<InstrumentationContext<T>> contexts;
+        private final InstrumentationContext<T>[] contexts;
 
-        ChainedInstrumentationContext(List<InstrumentationContext<T>> contexts) {
-            this.contexts = Collections.unmodifiableList(contexts);
+        ChainedInstrumentationContext(InstrumentationContext<T>[] contexts) {
+            this.contexts = contexts;
         }
 
         @Override
         public void onDispatched(CompletableFuture<T> result) {
-            contexts.forEach(context -> context.onDispatched(result));
+            for (InstrumentationContext<T> context : contexts) {
+                context.onDispatched(result);
+            }
         }
 
         @Override
         public void onCompleted(T result, Throwable t) {
-            contexts.forEach(context -> context.onCompleted(result, t));
+            for (InstrumentationContext<T> context : contexts) {
+                context.onCompleted(result, t);
+            }
         }
     }
 
     private static class ChainedExecutionStrategyInstrumentationContext implements ExecutionStrategyInstrumentationContext {
 
-        private final List<ExecutionStrategyInstrumentationContext> contexts;
+        private final ExecutionStrategyInstrumentationContext[] contexts;
 
-        ChainedExecutionStrategyInstrumentationContext(List<ExecutionStrategyInstrumentationContext> contexts) {
-            this.contexts = Collections.unmodifiableList(contexts);
+        ChainedExecutionStrategyInstrumentationContext(ExecutionStrategyInstrumentationContext[] contexts) {
+            this.contexts = contexts;
         }
 
         @Override
         public void onDispatched(CompletableFuture<ExecutionResult> result) {
-            contexts.forEach(context -> context.onDispatched(result));
+            for (ExecutionStrategyInstrumentationContext context : contexts) {
+                context.onDispatched(result);
+            }
         }
 
         @Override
         public void onCompleted(ExecutionResult result, Throwable t) {
-            contexts.forEach(context -> context.onCompleted(result, t));
+            for (ExecutionStrategyInstrumentationContext context : contexts) {
+                context.onCompleted(result, t);
+            }
         }
 
         @Override
         public void onFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList) {
-            contexts.forEach(context -> context.onFieldValuesInfo(fieldValueInfoList));
+            for (ExecutionStrategyInstrumentationContext context : contexts) {
+                context.onFieldValuesInfo(fieldValueInfoList);
+            }
         }
 
         @Override
         public void onDeferredField(MergedField field) {
-            contexts.forEach(context -> context.onDeferredField(field));
+            for (ExecutionStrategyInstrumentationContext context : contexts) {
+                context.onDeferredField(field);
+            }
         }
     }
 
     private static class ChainedDeferredExecutionStrategyInstrumentationContext implements DeferredFieldInstrumentationContext {
 
-        private final List<DeferredFieldInstrumentationContext> contexts;
+        private final DeferredFieldInstrumentationContext[] contexts;
 
-        ChainedDeferredExecutionStrategyInstrumentationContext(List<DeferredFieldInstrumentationContext> contexts) {
-            this.contexts = Collections.unmodifiableList(contexts);
+        ChainedDeferredExecutionStrategyInstrumentationContext(DeferredFieldInstrumentationContext[] contexts) {
+            this.contexts = contexts;
         }
 
         @Override
         public void onDispatched(CompletableFuture<ExecutionResult> result) {
-            contexts.forEach(context -> context.onDispatched(result));
+            for (DeferredFieldInstrumentationContext context : contexts) {
+                context.onDispatched(result);
+            }
         }
 
         @Override
         public void onCompleted(ExecutionResult result, Throwable t) {
-            contexts.forEach(context -> context.onCompleted(result, t));
+            for (DeferredFieldInstrumentationContext context : contexts) {
+                context.onCompleted(result, t);
+            }
         }
 
         @Override
         public void onFieldValueInfo(FieldValueInfo fieldValueInfo) {
-            contexts.forEach(context -> context.onFieldValueInfo(fieldValueInfo));
+            for (DeferredFieldInstrumentationContext context : contexts) {
+                context.onFieldValueInfo(fieldValueInfo);
+            }
         }
     }
 }
-
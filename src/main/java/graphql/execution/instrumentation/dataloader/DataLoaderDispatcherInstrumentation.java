@@ -16,6 +16,7 @@ import graphql.execution.instrumentation.parameters.InstrumentationDeferredField
 import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
 import graphql.language.OperationDefinition;
 import graphql.schema.DataFetcher;
@@ -38,6 +39,9 @@ import java.util.concurrent.CompletableFuture;
  * This allows you to use {@link org.dataloader.DataLoader}s in your {@link graphql.schema.DataFetcher}s
  * to optimal loading of data.
  * <p>
+ * Alternatively {@link DataLoaderDispatcherInstrumentationOptions#eagerDispatch(boolean)} dispatches the data loaders
+ * whenever the query has no more synchronous work to do, which stops slow fields from holding back other branches.
+ * <p>
  * A DataLoaderDispatcherInstrumentation will be automatically added to the {@link graphql.GraphQL}
  * instrumentation list if one is not present.
  *
@@ -69,7 +73,7 @@ public class DataLoaderDispatcherInstrumentation extends SimpleInstrumentation {
 
     @Override
     public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
-        return new DataLoaderDispatcherInstrumentationState(log, parameters.getExecutionInput().getDataLoaderRegistry());
+        return new DataLoaderDispatcherInstrumentationState(log, parameters.getExecutionInput().getDataLoaderRegistry(), options);
     }
 
     @Override
@@ -170,6 +174,18 @@ public class DataLoaderDispatcherInstrumentation extends SimpleInstrumentation {
         return state.getApproach().beginFieldFetch(parameters.withNewState(state.getState()));
     }
 
+    @Override
+    public InstrumentationContext<ExecutionResult> beginFieldComplete(InstrumentationFieldCompleteParameters parameters) {
+        DataLoaderDispatcherInstrumentationState state = parameters.getInstrumentationState();
+        //
+        // if there are no data loaders, there is nothing to do
+        //
+        if (state.hasNoDataLoaders()) {
+            return new SimpleInstrumentationContext<>();
+        }
+        return state.getApproach().beginFieldComplete(parameters.withNewState(state.getState()));
+    }
+
     @Override
     public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
         if (!options.isIncludeStatistics()) {
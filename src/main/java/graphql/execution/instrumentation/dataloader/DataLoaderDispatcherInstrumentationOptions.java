@@ -1,18 +1,39 @@
 package graphql.execution.instrumentation.dataloader;
 
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
 /**
  * The options that control the operation of {@link graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation}
  */
 public class DataLoaderDispatcherInstrumentationOptions {
 
     private final boolean includeStatistics;
+    private final boolean lockFreeLevelTracking;
+    private final boolean eagerDispatch;
+    private final ScheduledExecutorService batchWindowScheduler;
+    private final Duration batchWindowDelay;
+    private final int batchWindowMaxKeyCount;
 
-    private DataLoaderDispatcherInstrumentationOptions(boolean includeStatistics) {
+    private DataLoaderDispatcherInstrumentationOptions(boolean includeStatistics,
+                                                       boolean lockFreeLevelTracking,
+                                                       boolean eagerDispatch,
+                                                       ScheduledExecutorService batchWindowScheduler,
+                                                       Duration batchWindowDelay,
+                                                       int batchWindowMaxKeyCount) {
         this.includeStatistics = includeStatistics;
+        this.lockFreeLevelTracking = lockFreeLevelTracking;
+        this.eagerDispatch = eagerDispatch;
+        this.batchWindowScheduler = batchWindowScheduler;
+        this.batchWindowDelay = batchWindowDelay;
+        this.batchWindowMaxKeyCount = batchWindowMaxKeyCount;
     }
 
     public static DataLoaderDispatcherInstrumentationOptions newOptions() {
-        return new DataLoaderDispatcherInstrumentationOptions(false);
+        return new DataLoaderDispatcherInstrumentationOptions(false, false, false, null, null, 0);
     }
 
     /**
@@ -24,7 +45,53 @@ public class DataLoaderDispatcherInstrumentationOptions {
      * @return a new options object
      */
     public DataLoaderDispatcherInstrumentationOptions includeStatistics(boolean flag) {
-        return new DataLoaderDispatcherInstrumentationOptions(flag);
+        return new DataLoaderDispatcherInstrumentationOptions(flag, lockFreeLevelTracking, eagerDispatch, batchWindowScheduler, batchWindowDelay, batchWindowMaxKeyCount);
+    }
+
+    /**
+     * This will toggle tracking the fetched fields of each level via atomic counters rather than under a lock.  This
+     * avoids contention when many data fetchers of a query complete on different threads at the same time.
+     *
+     * @param flag the switch to follow
+     *
+     * @return a new options object
+     */
+    public DataLoaderDispatcherInstrumentationOptions lockFreeLevelTracking(boolean flag) {
+        return new DataLoaderDispatcherInstrumentationOptions(includeStatistics, flag, eagerDispatch, batchWindowScheduler, batchWindowDelay, batchWindowMaxKeyCount);
+    }
+
+    /**
+     * This will toggle dispatching the data loaders as soon as the execution has no more synchronous work to do rather than
+     * waiting for every field of a level to be fetched.  A slow field then no longer holds back the batches of unrelated
+     * fields at deeper levels, at the cost of possibly smaller batches.
+     * <p>
+     * This takes precedence over {@link #lockFreeLevelTracking(boolean)} since no levels are tracked.
+     *
+     * @param flag the switch to follow
+     *
+     * @return a new options object
+     *
+     * @see #eagerDispatchBatchWindow(ScheduledExecutorService, Duration, int)
+     */
+    public DataLoaderDispatcherInstrumentationOptions eagerDispatch(boolean flag) {
+        return new DataLoaderDispatcherInstrumentationOptions(includeStatistics, lockFreeLevelTracking, flag, batchWindowScheduler, batchWindowDelay, batchWindowMaxKeyCount);
+    }
+
+    /**
+     * When {@link #eagerDispatch(boolean)} is on, this will hold back a dispatch for up to the specified delay so that
+     * more keys can be batched together, unless at least the specified number of keys are already waiting to be dispatched.
+     *
+     * @param scheduler   the scheduler used to run the delayed dispatches
+     * @param maxDelay    the longest time a dispatch is held back
+     * @param maxKeyCount the number of waiting keys that causes a dispatch right away
+     *
+     * @return a new options object
+     */
+    public DataLoaderDispatcherInstrumentationOptions eagerDispatchBatchWindow(ScheduledExecutorService scheduler, Duration maxDelay, int maxKeyCount) {
+        assertNotNull(scheduler, "scheduler can't be null");
+        assertNotNull(maxDelay, "maxDelay can't be null");
+        assertTrue(maxKeyCount > 0, "maxKeyCount must be positive");
+        return new DataLoaderDispatcherInstrumentationOptions(includeStatistics, lockFreeLevelTracking, eagerDispatch, scheduler, maxDelay, maxKeyCount);
     }
 
 
@@ -32,4 +99,24 @@ public class DataLoaderDispatcherInstrumentationOptions {
         return includeStatistics;
     }
 
+    public boolean isLockFreeLevelTracking() {
+        return lockFreeLevelTracking;
+    }
+
+    public boolean isEagerDispatch() {
+        return eagerDispatch;
+    }
+
+    public ScheduledExecutorService getBatchWindowScheduler() {
+        return batchWindowScheduler;
+    }
+
+    public Duration getBatchWindowDelay() {
+        return batchWindowDelay;
+    }
+
+    public int getBatchWindowMaxKeyCount() {
+        return batchWindowMaxKeyCount;
+    }
+
 }
@@ -27,9 +27,13 @@ public class DataLoaderDispatcherInstrumentationState implements Instrumentation
     private boolean aggressivelyBatching = true;
 
     public DataLoaderDispatcherInstrumentationState(Logger log, DataLoaderRegistry dataLoaderRegistry) {
+        this(log, dataLoaderRegistry, DataLoaderDispatcherInstrumentationOptions.newOptions());
+    }
+
+    public DataLoaderDispatcherInstrumentationState(Logger log, DataLoaderRegistry dataLoaderRegistry, DataLoaderDispatcherInstrumentationOptions options) {
 
         this.dataLoaderRegistry = dataLoaderRegistry;
-        this.approach = new FieldLevelTrackingApproach(log, dataLoaderRegistry);
+        this.approach = createApproach(log, dataLoaderRegistry, options);
         this.state = approach.createState();
         //
         // if they have never set a dataloader into the execution input then we can optimize
@@ -38,6 +42,16 @@ public class DataLoaderDispatcherInstrumentationState implements Instrumentation
         hasNoDataLoaders = dataLoaderRegistry == EMPTY_DATALOADER_REGISTRY;
     }
 
+    private static FieldLevelTrackingApproach createApproach(Logger log, DataLoaderRegistry dataLoaderRegistry, DataLoaderDispatcherInstrumentationOptions options) {
+        if (options.isEagerDispatch()) {
+            return new EagerDispatchTrackingApproach(log, dataLoaderRegistry, options);
+        }
+        if (options.isLockFreeLevelTracking()) {
+            return new LockFreeFieldLevelTrackingApproach(log, dataLoaderRegistry);
+        }
+        return new FieldLevelTrackingApproach(log, dataLoaderRegistry);
+    }
+
     boolean isAggressivelyBatching() {
         return aggressivelyBatching;
     }
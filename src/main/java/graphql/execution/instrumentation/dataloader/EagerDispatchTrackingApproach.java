@@ -0,0 +1,178 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.ExecutionResult;
+import graphql.Internal;
+import graphql.execution.instrumentation.DeferredFieldInstrumentationContext;
+import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.parameters.InstrumentationDeferredFieldParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This approach dispatches the data loaders as soon as the execution runs out of synchronous work rather than waiting for
+ * all the fields of a level to be fetched.
+ * <p>
+ * Keys are only ever enqueued by data fetchers, and data fetchers are only ever called while an execution strategy is
+ * dispatching its fields or while a field is being completed.  The approach counts these units of work and once none are
+ * in progress no more keys can be enqueued until some outstanding value arrives, so whatever is waiting is dispatched right
+ * away.  A slow field therefore does not hold back the batches of the other branches of the query.
+ * <p>
+ * Since values that arrive asynchronously are completed one at a time, this can lead to smaller batches than level tracking.
+ * An optional batch window holds back a dispatch for a little while, unless enough keys are already waiting.
+ */
+@Internal
+public class EagerDispatchTrackingApproach extends FieldLevelTrackingApproach {
+
+    private final DataLoaderRegistry dataLoaderRegistry;
+    private final DataLoaderDispatcherInstrumentationOptions options;
+
+    private static class WorkInProgress implements InstrumentationState {
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+        @Override
+        public String toString() {
+            return "WorkInProgress{" +
+                    "count=" + count +
+                    ", dispatchScheduled=" + dispatchScheduled +
+                    '}';
+        }
+    }
+
+    public EagerDispatchTrackingApproach(Logger log, DataLoaderRegistry dataLoaderRegistry, DataLoaderDispatcherInstrumentationOptions options) {
+        super(log, dataLoaderRegistry);
+        this.dataLoaderRegistry = dataLoaderRegistry;
+        this.options = options;
+    }
+
+    @Override
+    public InstrumentationState createState() {
+        return new WorkInProgress();
+    }
+
+    @Override
+    ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters) {
+        WorkInProgress workInProgress = parameters.getInstrumentationState();
+        workStarted(workInProgress);
+        return new ExecutionStrategyInstrumentationContext() {
+            @Override
+            public void onDispatched(CompletableFuture<ExecutionResult> result) {
+                // every field of the strategy has been fetched or is waiting for its value
+                workFinished(workInProgress);
+            }
+
+            @Override
+            public void onCompleted(ExecutionResult result, Throwable t) {
+
+            }
+        };
+    }
+
+    @Override
+    InstrumentationContext<ExecutionResult> beginFieldComplete(InstrumentationFieldCompleteParameters parameters) {
+        WorkInProgress workInProgress = parameters.getInstrumentationState();
+        workStarted(workInProgress);
+        return new InstrumentationContext<ExecutionResult>() {
+            @Override
+            public void onDispatched(CompletableFuture<ExecutionResult> result) {
+                workFinished(workInProgress);
+            }
+
+            @Override
+            public void onCompleted(ExecutionResult result, Throwable t) {
+
+            }
+        };
+    }
+
+    @Override
+    DeferredFieldInstrumentationContext beginDeferredField(InstrumentationDeferredFieldParameters parameters) {
+        return new DeferredFieldInstrumentationContext() {
+            @Override
+            public void onDispatched(CompletableFuture<ExecutionResult> result) {
+
+            }
+
+            @Override
+            public void onCompleted(ExecutionResult result, Throwable t) {
+
+            }
+        };
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+        WorkInProgress workInProgress = parameters.getInstrumentationState();
+        return new InstrumentationContext<Object>() {
+            @Override
+            public void onDispatched(CompletableFuture<Object> result) {
+                // deferred fields are fetched outside of any strategy and so are dispatched on their own
+                if (workInProgress.count.get() == 0) {
+                    dispatchIfNeeded(workInProgress);
+                }
+            }
+
+            @Override
+            public void onCompleted(Object result, Throwable t) {
+
+            }
+        };
+    }
+
+    private void workStarted(WorkInProgress workInProgress) {
+        workInProgress.count.incrementAndGet();
+    }
+
+    private void workFinished(WorkInProgress workInProgress) {
+        if (workInProgress.count.decrementAndGet() == 0) {
+            dispatchIfNeeded(workInProgress);
+        }
+    }
+
+    private void dispatchIfNeeded(WorkInProgress workInProgress) {
+        int waitingKeys = 0;
+        for (DataLoader<?, ?> dataLoader : dataLoaderRegistry.getDataLoaders()) {
+            waitingKeys += dataLoader.dispatchDepth();
+        }
+        if (waitingKeys == 0) {
+            return;
+        }
+        if (options.getBatchWindowScheduler() != null && waitingKeys < options.getBatchWindowMaxKeyCount()) {
+            scheduleDispatch(workInProgress);
+            return;
+        }
+        dispatchNow(workInProgress);
+    }
+
+    private void scheduleDispatch(WorkInProgress workInProgress) {
+        if (workInProgress.dispatchScheduled.compareAndSet(false, true)) {
+            long delay = options.getBatchWindowDelay().toNanos();
+            options.getBatchWindowScheduler().schedule(() -> {
+                workInProgress.dispatchScheduled.set(false);
+                dispatchNow(workInProgress);
+            }, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void dispatchNow(WorkInProgress workInProgress) {
+        // values completed synchronously by the dispatch are part of this unit of work so that the keys
+        // they enqueue are batched together once the dispatch returns
+        workStarted(workInProgress);
+        try {
+            dispatch();
+        } finally {
+            workFinished(workInProgress);
+        }
+    }
+}
@@ -10,8 +10,10 @@ import graphql.execution.instrumentation.DeferredFieldInstrumentationContext;
 import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
 import graphql.execution.instrumentation.parameters.InstrumentationDeferredFieldParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
 import org.dataloader.DataLoaderRegistry;
 import org.slf4j.Logger;
@@ -192,7 +194,7 @@ public class FieldLevelTrackingApproach {
         return dispatchIfNeeded(callStack, curLevel + 1);
     }
 
-    private int getCountForList(FieldValueInfo fieldValueInfo) {
+    int getCountForList(FieldValueInfo fieldValueInfo) {
         int result = 0;
         for (FieldValueInfo cvi : fieldValueInfo.getFieldValueInfos()) {
             if (cvi.getCompleteValueType() == FieldValueInfo.CompleteValueType.OBJECT) {
@@ -260,6 +262,12 @@ public class FieldLevelTrackingApproach {
     }
 
 
+    InstrumentationContext<ExecutionResult> beginFieldComplete(InstrumentationFieldCompleteParameters parameters) {
+        // field completion is already tracked via the strategy and field value calls
+        return new SimpleInstrumentationContext<>();
+    }
+
+
     //
     // thread safety : called with synchronised(callStack)
     //
@@ -0,0 +1,274 @@
+package graphql.execution.instrumentation.dataloader;
+
+import graphql.ExecutionResult;
+import graphql.Internal;
+import graphql.execution.ExecutionPath;
+import graphql.execution.FieldValueInfo;
+import graphql.execution.MergedField;
+import graphql.execution.instrumentation.DeferredFieldInstrumentationContext;
+import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.parameters.InstrumentationDeferredFieldParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import org.dataloader.DataLoaderRegistry;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * This is the same field level tracking as {@link FieldLevelTrackingApproach} however the per level counters are kept in
+ * atomic arrays indexed by level and the decision to dispatch a level is made via compare and set rather than under a
+ * lock on the call stack.
+ * <p>
+ * Correctness relies on the order of the updates : the expected counts of a level are always increased before the
+ * matching happened counts so that once the happened counts of a level catch up with the expected counts, the expected
+ * counts are final.  The readiness of a level is then checked from the top level down and the last thread to make a level
+ * ready is guaranteed to see it as ready.
+ */
+@Internal
+public class LockFreeFieldLevelTrackingApproach extends FieldLevelTrackingApproach {
+
+    private static class CallStack implements InstrumentationState {
+
+        private volatile LevelCounters counters = new LevelCounters();
+
+        CallStack() {
+            counters.add(1, LevelCounters.EXPECTED_STRATEGY_CALLS, 1);
+        }
+
+        LevelCounters getCounters() {
+            return counters;
+        }
+
+        void clearAndMarkCurrentLevelAsReady(int level) {
+            LevelCounters newCounters = new LevelCounters();
+            // make sure the level is ready
+            newCounters.add(level, LevelCounters.EXPECTED_FETCH_COUNT, 1);
+            newCounters.add(level, LevelCounters.EXPECTED_STRATEGY_CALLS, 1);
+            newCounters.add(level, LevelCounters.HAPPENED_STRATEGY_CALLS, 1);
+            counters = newCounters;
+        }
+
+        @Override
+        public String toString() {
+            return "CallStack{" +
+                    "counters=" + counters +
+                    '}';
+        }
+    }
+
+    /*
+     * The counters of each level are kept next to each other in fixed size segments of atomic integers.  When a deeper level
+     * is reached a new segment is added however existing segments are never copied, so no update can be lost while growing.
+     */
+    private static class LevelCounters {
+
+        static final int EXPECTED_FETCH_COUNT = 0;
+        static final int FETCH_COUNT = 1;
+        static final int EXPECTED_STRATEGY_CALLS = 2;
+        static final int HAPPENED_STRATEGY_CALLS = 3;
+        static final int HAPPENED_ON_FIELD_VALUE_CALLS = 4;
+        static final int DISPATCHED = 5;
+
+        private static final int COUNTERS_PER_LEVEL = 6;
+        private static final int LEVELS_PER_SEGMENT = 16;
+
+        private volatile AtomicIntegerArray[] segments = new AtomicIntegerArray[]{newSegment()};
+
+        private static AtomicIntegerArray newSegment() {
+            return new AtomicIntegerArray(LEVELS_PER_SEGMENT * COUNTERS_PER_LEVEL);
+        }
+
+        private AtomicIntegerArray segmentFor(int level) {
+            int segmentIndex = level / LEVELS_PER_SEGMENT;
+            AtomicIntegerArray[] currentSegments = segments;
+            if (segmentIndex < currentSegments.length) {
+                return currentSegments[segmentIndex];
+            }
+            return grow(segmentIndex);
+        }
+
+        private synchronized AtomicIntegerArray grow(int segmentIndex) {
+            AtomicIntegerArray[] currentSegments = segments;
+            if (segmentIndex >= currentSegments.length) {
+                AtomicIntegerArray[] newSegments = Arrays.copyOf(currentSegments, segmentIndex + 1);
+                for (int i = currentSegments.length; i < newSegments.length; i++) {
+                    newSegments[i] = newSegment();
+                }
+                segments = newSegments;
+                currentSegments = newSegments;
+            }
+            return currentSegments[segmentIndex];
+        }
+
+        private static int index(int level, int counter) {
+            return (level % LEVELS_PER_SEGMENT) * COUNTERS_PER_LEVEL + counter;
+        }
+
+        void add(int level, int counter, int delta) {
+            segmentFor(level).addAndGet(index(level, counter), delta);
+        }
+
+        int get(int level, int counter) {
+            return segmentFor(level).get(index(level, counter));
+        }
+
+        boolean allStrategyCallsHappened(int level) {
+            return get(level, HAPPENED_STRATEGY_CALLS) == get(level, EXPECTED_STRATEGY_CALLS);
+        }
+
+        boolean allOnFieldCallsHappened(int level) {
+            return get(level, HAPPENED_ON_FIELD_VALUE_CALLS) == get(level, EXPECTED_STRATEGY_CALLS);
+        }
+
+        boolean allFetchesHappened(int level) {
+            return get(level, FETCH_COUNT) == get(level, EXPECTED_FETCH_COUNT);
+        }
+
+        boolean dispatchIfNotDispatchedBefore(int level) {
+            return segmentFor(level).compareAndSet(index(level, DISPATCHED), 0, 1);
+        }
+
+        @Override
+        public String toString() {
+            return "LevelCounters{" +
+                    "segments=" + Arrays.toString(segments) +
+                    '}';
+        }
+    }
+
+    public LockFreeFieldLevelTrackingApproach(Logger log, DataLoaderRegistry dataLoaderRegistry) {
+        super(log, dataLoaderRegistry);
+    }
+
+    @Override
+    public InstrumentationState createState() {
+        return new CallStack();
+    }
+
+    @Override
+    ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters) {
+        CallStack callStack = parameters.getInstrumentationState();
+        ExecutionPath path = parameters.getExecutionStrategyParameters().getPath();
+        int parentLevel = path.getLevel();
+        int curLevel = parentLevel + 1;
+        int fieldCount = parameters.getExecutionStrategyParameters().getFields().size();
+
+        LevelCounters counters = callStack.getCounters();
+        counters.add(curLevel, LevelCounters.EXPECTED_FETCH_COUNT, fieldCount);
+        counters.add(curLevel, LevelCounters.HAPPENED_STRATEGY_CALLS, 1);
+
+        return new ExecutionStrategyInstrumentationContext() {
+            @Override
+            public void onDispatched(CompletableFuture<ExecutionResult> result) {
+
+            }
+
+            @Override
+            public void onCompleted(ExecutionResult result, Throwable t) {
+
+            }
+
+            @Override
+            public void onFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList) {
+                if (handleOnFieldValuesInfo(fieldValueInfoList, callStack.getCounters(), curLevel)) {
+                    dispatch();
+                }
+            }
+
+            @Override
+            public void onDeferredField(MergedField field) {
+                // fake fetch count for this field
+                LevelCounters counters = callStack.getCounters();
+                counters.add(curLevel, LevelCounters.FETCH_COUNT, 1);
+                if (dispatchIfNeeded(counters, curLevel)) {
+                    dispatch();
+                }
+            }
+        };
+    }
+
+    private boolean handleOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList, LevelCounters counters, int curLevel) {
+        int expectedStrategyCalls = 0;
+        for (FieldValueInfo fieldValueInfo : fieldValueInfoList) {
+            if (fieldValueInfo.getCompleteValueType() == FieldValueInfo.CompleteValueType.OBJECT) {
+                expectedStrategyCalls++;
+            } else if (fieldValueInfo.getCompleteValueType() == FieldValueInfo.CompleteValueType.LIST) {
+                expectedStrategyCalls += getCountForList(fieldValueInfo);
+            }
+        }
+        // the expected calls of the next level must be known before this level counts as having happened
+        counters.add(curLevel + 1, LevelCounters.EXPECTED_STRATEGY_CALLS, expectedStrategyCalls);
+        counters.add(curLevel, LevelCounters.HAPPENED_ON_FIELD_VALUE_CALLS, 1);
+        return dispatchIfNeeded(counters, curLevel + 1);
+    }
+
+    @Override
+    DeferredFieldInstrumentationContext beginDeferredField(InstrumentationDeferredFieldParameters parameters) {
+        CallStack callStack = parameters.getInstrumentationState();
+        int level = parameters.getExecutionStrategyParameters().getPath().getLevel();
+        callStack.clearAndMarkCurrentLevelAsReady(level);
+
+        return new DeferredFieldInstrumentationContext() {
+            @Override
+            public void onDispatched(CompletableFuture<ExecutionResult> result) {
+
+            }
+
+            @Override
+            public void onCompleted(ExecutionResult result, Throwable t) {
+            }
+
+            @Override
+            public void onFieldValueInfo(FieldValueInfo fieldValueInfo) {
+                if (handleOnFieldValuesInfo(Collections.singletonList(fieldValueInfo), callStack.getCounters(), level)) {
+                    dispatch();
+                }
+            }
+        };
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+        CallStack callStack = parameters.getInstrumentationState();
+        ExecutionPath path = parameters.getEnvironment().getExecutionStepInfo().getPath();
+        int level = path.getLevel();
+        return new InstrumentationContext<Object>() {
+
+            @Override
+            public void onDispatched(CompletableFuture result) {
+                LevelCounters counters = callStack.getCounters();
+                counters.add(level, LevelCounters.FETCH_COUNT, 1);
+                if (dispatchIfNeeded(counters, level)) {
+                    dispatch();
+                }
+            }
+
+            @Override
+            public void onCompleted(Object result, Throwable t) {
+            }
+        };
+    }
+
+    private boolean dispatchIfNeeded(LevelCounters counters, int level) {
+        if (levelReady(counters, level)) {
+            return counters.dispatchIfNotDispatchedBefore(level);
+        }
+        return false;
+    }
+
+    private boolean levelReady(LevelCounters counters, int level) {
+        if (level == 1) {
+            // level 1 is special: there is only one strategy call and that's it
+            return counters.allFetchesHappened(1);
+        }
+        return levelReady(counters, level - 1) && counters.allOnFieldCallsHappened(level - 1)
+                && counters.allStrategyCallsHappened(level) && counters.allFetchesHappened(level);
+    }
+}
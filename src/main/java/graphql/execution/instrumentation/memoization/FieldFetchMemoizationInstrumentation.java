@@ -0,0 +1,146 @@
+package graphql.execution.instrumentation.memoization;
+
+import graphql.PublicApi;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldsContainer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * This {@link graphql.execution.instrumentation.Instrumentation} makes sure a {@link DataFetcher} is only called once
+ * per request for the same field, arguments and source object.  When aliases or fragments ask for the same field
+ * in different places of the query, the later fetches are given the value, or the still running future, of the
+ * first one.  The errors of a {@link DataFetcherResult} are only reported for the first fetch, the later ones are
+ * given its data and local context without the errors.
+ * <p>
+ * The fetched values are only remembered for the one execution, so nothing is shared between requests.  Data fetchers
+ * that return different values depending on the sub selection or the path of the field, rather than just on their
+ * source object and arguments, should not be used with this instrumentation.
+ * <p>
+ * Trivial data fetchers, such as the default {@link graphql.schema.PropertyDataFetcher}, are cheaper to call than
+ * to remember and are always called.  The top level fields of a mutation are also always called, since each of them
+ * is a separate side effect.
+ */
+@PublicApi
+public class FieldFetchMemoizationInstrumentation extends SimpleInstrumentation {
+
+    private static class FieldFetchMemoizationState implements InstrumentationState {
+        private final Map<FetchKey, CompletableFuture<Object>> fetches = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public InstrumentationState createState() {
+        return new FieldFetchMemoizationState();
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters) {
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        GraphQLFieldsContainer parentType = (GraphQLFieldsContainer) environment.getParentType();
+        if (parameters.isTrivialDataFetcher() || isMutationField(parameters.getExecutionContext(), parentType)) {
+            return dataFetcher;
+        }
+        FieldFetchMemoizationState state = parameters.getInstrumentationState();
+        FetchKey key = new FetchKey(environment.getSource(), coordinates(parentType, environment.getFieldDefinition()), environment.getArguments());
+        return env -> fetch(state, key, dataFetcher, env);
+    }
+
+    private boolean isMutationField(ExecutionContext executionContext, GraphQLFieldsContainer parentType) {
+        return executionContext.getOperationDefinition().getOperation() == OperationDefinition.Operation.MUTATION
+                && parentType == executionContext.getGraphQLSchema().getMutationType();
+    }
+
+    private Object fetch(FieldFetchMemoizationState state, FetchKey key, DataFetcher<?> dataFetcher, DataFetchingEnvironment environment) throws Exception {
+        CompletableFuture<Object> fetch = new CompletableFuture<>();
+        CompletableFuture<Object> memoizedFetch = state.fetches.putIfAbsent(key, fetch);
+        if (memoizedFetch != null) {
+            return memoizedFetch;
+        }
+        Object value;
+        try {
+            value = dataFetcher.get(environment);
+        } catch (Exception e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        }
+        // the first fetch gets the value as is and the later ones get it via the future
+        if (value instanceof CompletionStage) {
+            //noinspection unchecked
+            ((CompletionStage<Object>) value).whenComplete((result, exception) -> {
+                if (exception != null) {
+                    fetch.completeExceptionally(exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception);
+                } else {
+                    fetch.complete(withoutErrors(result));
+                }
+            });
+        } else {
+            fetch.complete(withoutErrors(value));
+        }
+        return value;
+    }
+
+    /*
+     * the errors have been added to the execution by the first fetch, so adding them again for every later fetch
+     * would report them once per alias
+     */
+    private static Object withoutErrors(Object value) {
+        if (!(value instanceof DataFetcherResult) || !((DataFetcherResult<?>) value).hasErrors()) {
+            return value;
+        }
+        DataFetcherResult<?> dataFetcherResult = (DataFetcherResult<?>) value;
+        return DataFetcherResult.newResult()
+                .data(dataFetcherResult.getData())
+                .localContext(dataFetcherResult.getLocalContext())
+                .mapRelativeErrors(dataFetcherResult.isMapRelativeErrors())
+                .build();
+    }
+
+    private static class FetchKey {
+        private final Object source;
+        private final FieldCoordinates fieldCoordinates;
+        private final Map<String, Object> arguments;
+        private final int hashCode;
+
+        FetchKey(Object source, FieldCoordinates fieldCoordinates, Map<String, Object> arguments) {
+            this.source = source;
+            this.fieldCoordinates = fieldCoordinates;
+            this.arguments = arguments;
+            this.hashCode = 31 * System.identityHashCode(source) + Objects.hash(fieldCoordinates, arguments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FetchKey fetchKey = (FetchKey) o;
+            // source objects are compared by identity, which is cheap and never mixes up objects with a loose equals
+            return source == fetchKey.source
+                    && fieldCoordinates.equals(fetchKey.fieldCoordinates)
+                    && Objects.equals(arguments, fetchKey.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
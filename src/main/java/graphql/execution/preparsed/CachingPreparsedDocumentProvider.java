@@ -0,0 +1,253 @@
+package graphql.execution.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.PublicApi;
+import graphql.language.Node;
+import graphql.util.BoundedCache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link PreparsedDocumentProvider} that keeps the parsed and validated documents of queries in memory so that
+ * repeated queries are not parsed and validated again.
+ * <p>
+ * Entries are keyed by the query text and optionally by the operation name.  The cache is bounded by the total
+ * estimated weight of its entries and the least recently used entries are evicted first.  By default the weight of
+ * an entry is the number of nodes of its document, or the number of errors if the query is not valid.  Large caches
+ * are split into segments with their own locks, so that cache hits don't contend with each other, and then the least
+ * recently used order is kept per segment.
+ * <p>
+ * Concurrent requests for the same query that is not yet cached will only parse and validate it once, the other
+ * requests wait for that result.  Should parsing and validating fail for the request that does it, the waiting
+ * requests each parse and validate the query themselves rather than failing with another request's exception.
+ *
+ * <pre>
+ * {@code
+ *     CachingPreparsedDocumentProvider provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+ *             .maximumWeight(500_000)
+ *             .build();
+ *
+ *     GraphQL graphQL = GraphQL.newGraphQL(schema)
+ *             .preparsedDocumentProvider(provider)
+ *             .build();
+ * }
+ * </pre>
+ */
+@PublicApi
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    /**
+     * The default maximum weight, which allows for several thousand documents of a typical size
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 1_000_000;
+
+    private final boolean keyByOperationName;
+    private final BoundedCache<Key, PreparsedDocumentEntry> entries;
+
+    private final ConcurrentMap<Key, CompletableFuture<PreparsedDocumentEntry>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+
+    private CachingPreparsedDocumentProvider(Builder builder) {
+        this.keyByOperationName = builder.keyByOperationName;
+        this.entries = BoundedCache.newWeightedBoundedCache(builder.maximumWeight, builder.weigher);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+        Key key = new Key(executionInput.getQuery(), keyByOperationName ? executionInput.getOperationName() : null);
+        PreparsedDocumentEntry entry = entries.get(key);
+        if (entry != null) {
+            hitCount.increment();
+            return entry;
+        }
+
+        CompletableFuture<PreparsedDocumentEntry> load = new CompletableFuture<>();
+        CompletableFuture<PreparsedDocumentEntry> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            entry = awaitLoad(inFlight);
+            if (entry != null) {
+                hitCount.increment();
+                return entry;
+            }
+            // the failure belongs to the request that made the load, for example its instrumentation aborted it,
+            // so this request makes its own
+            return compute(key, executionInput, computeFunction);
+        }
+        try {
+            // the entry may have been loaded by another request in the meantime
+            entry = entries.get(key);
+            if (entry != null) {
+                hitCount.increment();
+                load.complete(entry);
+                return entry;
+            }
+            entry = compute(key, executionInput, computeFunction);
+            load.complete(entry);
+            return entry;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    private PreparsedDocumentEntry compute(Key key, ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+        missCount.increment();
+        PreparsedDocumentEntry entry;
+        try {
+            entry = assertNotNull(computeFunction.apply(executionInput), "The compute function must return a preparsed document entry");
+        } catch (RuntimeException | Error e) {
+            loadFailureCount.increment();
+            throw e;
+        }
+        loadCount.increment();
+        // the entry is put into the cache before the load is removed so that there is no window where it can't be found
+        entries.put(key, entry);
+        return entry;
+    }
+
+    private PreparsedDocumentEntry awaitLoad(CompletableFuture<PreparsedDocumentEntry> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes all the entries from the cache.  The statistics are kept.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        return new PreparsedDocumentCacheStats(hitCount.sum(), missCount.sum(), loadCount.sum(), loadFailureCount.sum(), entries.evictionCount(), entries.size(), entries.weight());
+    }
+
+    /*
+     * The number of nodes is a fair estimate of the memory a document retains since every node has a similar
+     * amount of state.  Error entries are small and weighted by their number of errors.
+     */
+    private static long estimateWeight(PreparsedDocumentEntry entry) {
+        if (entry.getDocument() == null) {
+            return entry.getErrors().size();
+        }
+        long nodeCount = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(entry.getDocument());
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            nodeCount++;
+            for (Node child : (Iterable<Node>) node.getChildren()) {
+                if (child != null) {
+                    stack.push(child);
+                }
+            }
+        }
+        return nodeCount;
+    }
+
+    private static class Key {
+        private final String query;
+        private final String operationName;
+        private final int hashCode;
+
+        Key(String query, String operationName) {
+            this.query = query;
+            this.operationName = operationName;
+            this.hashCode = Objects.hash(query, operationName);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(query, key.query) && Objects.equals(operationName, key.operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static Builder newCachingPreparsedDocumentProvider() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+        private boolean keyByOperationName = false;
+        private ToLongFunction<PreparsedDocumentEntry> weigher = CachingPreparsedDocumentProvider::estimateWeight;
+
+        /**
+         * The maximum total weight of the cached entries.  A large cache is split into segments that each hold an equal
+         * share of the maximum weight, and an entry that weighs more than that share is not cached.
+         *
+         * @param maximumWeight the maximum weight
+         *
+         * @return this builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            assertTrue(maximumWeight > 0, "The maximum weight must be positive");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Whether the operation name is part of the cache key.  This is only needed when the preparsed document
+         * depends on the operation that is executed, for example when only the executed operation is validated.
+         *
+         * @param keyByOperationName the switch to follow
+         *
+         * @return this builder
+         */
+        public Builder keyByOperationName(boolean keyByOperationName) {
+            this.keyByOperationName = keyByOperationName;
+            return this;
+        }
+
+        /**
+         * The function that estimates the weight of an entry, which by default is the number of nodes of its document
+         *
+         * @param weigher the weight function
+         *
+         * @return this builder
+         */
+        public Builder weigher(ToLongFunction<PreparsedDocumentEntry> weigher) {
+            this.weigher = assertNotNull(weigher);
+            return this;
+        }
+
+        public CachingPreparsedDocumentProvider build() {
+            return new CachingPreparsedDocumentProvider(this);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package graphql.execution.preparsed;
+
+import graphql.PublicApi;
+
+/**
+ * A point in time snapshot of the statistics of a {@link CachingPreparsedDocumentProvider}
+ */
+@PublicApi
+public class PreparsedDocumentCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long loadFailureCount;
+    private final long evictionCount;
+    private final long size;
+    private final long weight;
+
+    PreparsedDocumentCacheStats(long hitCount, long missCount, long loadCount, long loadFailureCount, long evictionCount, long size, long weight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.loadFailureCount = loadFailureCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the number of times a document was found in the cache, including the times a request waited on another
+     * request that was parsing and validating the same query
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times a document was not found in the cache
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of times a query was actually parsed and validated
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * @return the number of times parsing and validating a query threw an exception
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return the number of entries that were evicted to stay within the maximum weight
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of entries in the cache
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the total estimated weight of the entries in the cache
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the ratio of hits to requests or 1.0 if there have been no requests
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparsedDocumentCacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadCount=" + loadCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                ", weight=" + weight +
+                '}';
+    }
+}
@@ -1,8 +1,11 @@
 package graphql.execution.preparsed;
 
 import graphql.GraphQLError;
+import graphql.Internal;
 import graphql.PublicApi;
+import graphql.execution.ExecutionPlan;
 import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
 
 import java.io.Serializable;
 import java.util.List;
@@ -23,6 +26,7 @@ import static java.util.Collections.singletonList;
 public class PreparsedDocumentEntry implements Serializable {
     private final Document document;
     private final List<? extends GraphQLError> errors;
+    private transient volatile ExecutionPlan executionPlan;
 
     public PreparsedDocumentEntry(Document document) {
         assertNotNull(document);
@@ -51,4 +55,25 @@ public class PreparsedDocumentEntry implements Serializable {
     public boolean hasErrors() {
         return errors != null && !errors.isEmpty();
     }
+
+    /**
+     * The execution plan memoizes the per field planning work for this document so that cached entries do not repeat
+     * it on each execution.  The plan is not serialised and is compiled again on demand, as it is if the schema changes.
+     *
+     * @param graphQLSchema the schema the document is to be executed against
+     *
+     * @return the execution plan of this document for the schema or null if this entry has errors
+     */
+    @Internal
+    public ExecutionPlan getExecutionPlan(GraphQLSchema graphQLSchema) {
+        if (document == null) {
+            return null;
+        }
+        ExecutionPlan plan = executionPlan;
+        if (plan == null || !plan.isPlanFor(graphQLSchema)) {
+            plan = new ExecutionPlan(graphQLSchema, document);
+            executionPlan = plan;
+        }
+        return plan;
+    }
 }
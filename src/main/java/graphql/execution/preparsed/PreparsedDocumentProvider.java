@@ -4,6 +4,7 @@ package graphql.execution.preparsed;
 import graphql.ExecutionInput;
 import graphql.PublicSpi;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 /**
@@ -21,6 +22,23 @@ public interface PreparsedDocumentProvider {
      * @return an instance of {@link PreparsedDocumentEntry}
      */
     PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> computeFunction);
+
+    /**
+     * This is called by {@link graphql.GraphQL#executeAsync(ExecutionInput)} to get a "cached" pre-parsed query without
+     * blocking, so a provider backed by a remote or shared cache can look up the document asynchronously.  If the query
+     * is not present, the computeFunction can be called to parse and validate it.
+     * <p>
+     * By default this calls {@link #getDocument(ExecutionInput, Function)}, and a provider that overrides this
+     * can implement that method by joining the result of this one.
+     *
+     * @param executionInput  The {@link graphql.ExecutionInput} containing the query
+     * @param computeFunction If the query has not be pre-parsed, this function can be called to parse it
+     *
+     * @return a promise to an instance of {@link PreparsedDocumentEntry}
+     */
+    default CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+        return CompletableFuture.completedFuture(getDocument(executionInput, computeFunction));
+    }
 }
 
 
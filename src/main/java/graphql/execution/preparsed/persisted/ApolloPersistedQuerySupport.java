@@ -0,0 +1,76 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.ExecutionInput;
+import graphql.PublicApi;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This supports the automatic persisted queries of the Apollo clients, where the id of a query is the hex encoded sha256
+ * hash of its query text and is sent in the extensions of the request as
+ *
+ * <pre>
+ * {@code
+ *     "extensions" : {
+ *         "persistedQuery" : {
+ *             "version" : 1,
+ *             "sha256Hash" : "ecf4edb46db40b5132295c0291d62fb65d6759a9eedfa4d5d612dd5ec54a6b38"
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * The hash is checked against the query text before a query is cached under it.
+ */
+@PublicApi
+public class ApolloPersistedQuerySupport extends PersistedQuerySupport {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    public ApolloPersistedQuerySupport(PersistedQueryCache persistedQueryCache) {
+        super(persistedQueryCache);
+    }
+
+    @Override
+    protected Optional<Object> getPersistedQueryId(ExecutionInput executionInput) {
+        Object persistedQuery = executionInput.getExtensions().get("persistedQuery");
+        if (persistedQuery instanceof Map) {
+            Object sha256Hash = ((Map<?, ?>) persistedQuery).get("sha256Hash");
+            return Optional.ofNullable(sha256Hash);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    protected boolean persistedQueryIdIsInvalid(Object persistedQueryId, String queryText) {
+        return !sha256Hex(queryText).equalsIgnoreCase(String.valueOf(persistedQueryId));
+    }
+
+    /**
+     * @param queryText the query text
+     *
+     * @return the hex encoded sha256 hash of the query text, which is its persisted query id
+     */
+    public static String sha256Hex(String queryText) {
+        byte[] hash = newSha256().digest(queryText.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
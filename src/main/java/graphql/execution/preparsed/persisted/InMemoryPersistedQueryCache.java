@@ -0,0 +1,108 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.ExecutionInput;
+import graphql.PublicApi;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.util.BoundedCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link PersistedQueryCache} that keeps the documents of persisted queries in memory.  Queries can be registered
+ * up front so that clients can execute them by id without ever sending the query text.
+ * <p>
+ * The ids of persisted queries are chosen by clients, so the parsed documents are kept in a cache of bounded size
+ * that evicts the least recently used documents.  The registered query texts are never evicted.
+ */
+@PublicApi
+public class InMemoryPersistedQueryCache implements PersistedQueryCache {
+
+    /**
+     * The default maximum number of cached documents
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private final BoundedCache<Object, PreparsedDocumentEntry> cache;
+    private final Map<Object, String> knownQueries;
+
+    public InMemoryPersistedQueryCache(Map<Object, String> knownQueries) {
+        this(knownQueries, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public InMemoryPersistedQueryCache(Map<Object, String> knownQueries, long maximumSize) {
+        assertTrue(maximumSize > 0, "The maximum size must be positive");
+        this.knownQueries = new ConcurrentHashMap<>(assertNotNull(knownQueries));
+        this.cache = BoundedCache.newBoundedCache(maximumSize);
+    }
+
+    /**
+     * @return the query texts that are registered by id
+     */
+    public Map<Object, String> getKnownQueries() {
+        return knownQueries;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+        PreparsedDocumentEntry entry = cache.get(persistedQueryId);
+        if (entry != null) {
+            return entry;
+        }
+        String queryText = executionInput.getQuery();
+        if (PersistedQuerySupport.isQueryTextMissing(queryText)) {
+            queryText = knownQueries.get(persistedQueryId);
+            if (queryText == null) {
+                throw new PersistedQueryNotFound(persistedQueryId);
+            }
+        }
+        // parsing and validating happens outside the cache so that it doesn't block other ids, concurrent misses on
+        // the same id may both do it but they all get the entry that was cached first
+        entry = onCacheMiss.apply(queryText);
+        PreparsedDocumentEntry cachedEntry = cache.putIfAbsent(persistedQueryId, entry);
+        return cachedEntry != null ? cachedEntry : entry;
+    }
+
+    public static Builder newInMemoryPersistedQueryCache() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final Map<Object, String> knownQueries = new LinkedHashMap<>();
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+        /**
+         * Registers a query so that it can be executed by id
+         *
+         * @param persistedQueryId the id of the query, which for {@link ApolloPersistedQuerySupport} is the sha256 hash of the query text
+         * @param queryText        the query text
+         *
+         * @return this builder
+         */
+        public Builder addQuery(Object persistedQueryId, String queryText) {
+            this.knownQueries.put(assertNotNull(persistedQueryId), assertNotNull(queryText));
+            return this;
+        }
+
+        /**
+         * The maximum number of parsed documents to keep, after which the least recently used documents are evicted
+         *
+         * @param maximumSize the maximum number of documents
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            assertTrue(maximumSize > 0, "The maximum size must be positive");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public InMemoryPersistedQueryCache build() {
+            return new InMemoryPersistedQueryCache(knownQueries, maximumSize);
+        }
+    }
+}
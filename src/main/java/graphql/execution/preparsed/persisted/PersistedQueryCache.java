@@ -0,0 +1,29 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.ExecutionInput;
+import graphql.PublicSpi;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+
+/**
+ * This is the storage of the documents of persisted queries, for example an in memory map or a distributed cache
+ *
+ * @see InMemoryPersistedQueryCache
+ */
+@PublicSpi
+public interface PersistedQueryCache {
+
+    /**
+     * This is called to get the document of a persisted query.  If the cache does not have it, then it should call the
+     * onCacheMiss call back with the query text, which is either the query text of the execution input or the query text
+     * the cache knows for the id, and store the result.
+     *
+     * @param persistedQueryId the id of the persisted query
+     * @param executionInput   the execution input
+     * @param onCacheMiss      the call back that parses and validates the query text
+     *
+     * @return the document of the persisted query
+     *
+     * @throws PersistedQueryNotFound if the query is not known and the execution input has no query text
+     */
+    PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound;
+}
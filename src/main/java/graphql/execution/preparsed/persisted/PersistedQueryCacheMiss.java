@@ -0,0 +1,26 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.PublicApi;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+
+import java.util.function.Function;
+
+/**
+ * The call back a {@link PersistedQueryCache} makes when it does not have the document of a persisted query
+ */
+@PublicApi
+public interface PersistedQueryCacheMiss extends Function<String, PreparsedDocumentEntry> {
+
+    /**
+     * Parses and validates the query text of a persisted query
+     *
+     * @param queryToBeParsedAndValidated the query text of the persisted query
+     *
+     * @return the parsed and validated document to cache
+     *
+     * @throws PersistedQueryNotFound  if there is no query text
+     * @throws PersistedQueryIdInvalid if the id of the persisted query does not match the query text
+     */
+    @Override
+    PreparsedDocumentEntry apply(String queryToBeParsedAndValidated);
+}
@@ -0,0 +1,69 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.ErrorType;
+import graphql.GraphQLError;
+import graphql.PublicApi;
+import graphql.language.SourceLocation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The base class of the errors of persisted queries.  The message of these errors is their classification, for example
+ * "PersistedQueryNotFound", since this is what clients of persisted queries look for.
+ */
+@PublicApi
+public abstract class PersistedQueryError extends RuntimeException implements GraphQLError {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object persistedQueryId;
+
+    protected PersistedQueryError(Object persistedQueryId) {
+        this.persistedQueryId = persistedQueryId;
+    }
+
+    /**
+     * @return the id of the persisted query that was asked for
+     */
+    public Object getPersistedQueryId() {
+        return persistedQueryId;
+    }
+
+    @Override
+    public String getMessage() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public List<SourceLocation> getLocations() {
+        return null;
+    }
+
+    @Override
+    public ErrorType getErrorType() {
+        return ErrorType.ExecutionAborted;
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        Map<String, Object> extensions = new LinkedHashMap<>();
+        extensions.put("classification", getMessage());
+        extensions.put("persistedQueryId", String.valueOf(persistedQueryId));
+        return extensions;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // these are expected during normal operation and the stack trace is of no use
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return getMessage() + "{" +
+                "persistedQueryId=" + persistedQueryId +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.PublicApi;
+
+/**
+ * The id of the persisted query does not match the query text that was sent with it
+ */
+@PublicApi
+public class PersistedQueryIdInvalid extends PersistedQueryError {
+
+    private static final long serialVersionUID = 1L;
+
+    public PersistedQueryIdInvalid(Object persistedQueryId) {
+        super(persistedQueryId);
+    }
+}
@@ -0,0 +1,17 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.PublicApi;
+
+/**
+ * The persisted query is not known and the request did not contain the query text, so the client should send the
+ * request again with the query text
+ */
+@PublicApi
+public class PersistedQueryNotFound extends PersistedQueryError {
+
+    private static final long serialVersionUID = 1L;
+
+    public PersistedQueryNotFound(Object persistedQueryId) {
+        super(persistedQueryId);
+    }
+}
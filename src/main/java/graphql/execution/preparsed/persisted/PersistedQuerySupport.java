@@ -0,0 +1,85 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.ExecutionInput;
+import graphql.PublicSpi;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * This {@link PreparsedDocumentProvider} executes queries by an id, which saves the clients from sending the query text
+ * on every request and the server from parsing and validating it.
+ * <p>
+ * If the execution input names a persisted query that is not known and has no query text then a
+ * {@link PersistedQueryNotFound} error is returned, after which the client is expected to send the id and the query text
+ * together.  Requests that don't name a persisted query are parsed and validated as normal.
+ * <p>
+ * Since the query text of an execution input can't be null, requests that only send an id should use the empty string
+ * or {@link #PERSISTED_QUERY_MARKER} as their query.
+ */
+@PublicSpi
+public abstract class PersistedQuerySupport implements PreparsedDocumentProvider {
+
+    /**
+     * The query text to use for requests that only send the id of a persisted query
+     */
+    public static final String PERSISTED_QUERY_MARKER = "PersistedQueryMarker";
+
+    private final PersistedQueryCache persistedQueryCache;
+
+    protected PersistedQuerySupport(PersistedQueryCache persistedQueryCache) {
+        this.persistedQueryCache = assertNotNull(persistedQueryCache);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+        Optional<Object> persistedQueryId = getPersistedQueryId(executionInput);
+        if (!persistedQueryId.isPresent()) {
+            return computeFunction.apply(executionInput);
+        }
+        Object queryId = persistedQueryId.get();
+        try {
+            return persistedQueryCache.getPersistedQueryDocument(queryId, executionInput, queryText -> {
+                if (isQueryTextMissing(queryText)) {
+                    throw new PersistedQueryNotFound(queryId);
+                }
+                if (persistedQueryIdIsInvalid(queryId, queryText)) {
+                    throw new PersistedQueryIdInvalid(queryId);
+                }
+                ExecutionInput newExecutionInput = executionInput.transform(builder -> builder.query(queryText));
+                return computeFunction.apply(newExecutionInput);
+            });
+        } catch (PersistedQueryError e) {
+            return new PreparsedDocumentEntry(e);
+        }
+    }
+
+    /**
+     * This finds the id of the persisted query in the execution input, typically in its extensions
+     *
+     * @param executionInput the execution input
+     *
+     * @return the id of the persisted query or empty if the request does not name one
+     */
+    protected abstract Optional<Object> getPersistedQueryId(ExecutionInput executionInput);
+
+    /**
+     * This checks that the id of a persisted query matches its query text before it is cached under that id
+     *
+     * @param persistedQueryId the id of the persisted query
+     * @param queryText        the query text
+     *
+     * @return true if the id does not match the query text
+     */
+    protected boolean persistedQueryIdIsInvalid(Object persistedQueryId, String queryText) {
+        return false;
+    }
+
+    static boolean isQueryTextMissing(String queryText) {
+        return queryText == null || PERSISTED_QUERY_MARKER.equals(queryText) || queryText.trim().isEmpty();
+    }
+}
@@ -32,7 +32,7 @@ import static graphql.Assert.assertNotNull;
  * https://github.com/jroper/reactive-streams-servlet/tree/master/reactive-streams-servlet/src/main/java/org/reactivestreams/servlet
  */
 @Internal
-class NonBlockingMutexExecutor implements Executor {
+public class NonBlockingMutexExecutor implements Executor {
     private final AtomicReference<RunNode> last = new AtomicReference<>();
 
     @Override
@@ -0,0 +1,202 @@
+package graphql.execution.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A reactive Publisher that bridges over another Publisher of `U` and maps the results to type `D` via a CompletionStage,
+ * like {@link CompletionStageMappingPublisher}, but publishes the mapped results in the order of the upstream items
+ * and only maps a bounded number of items at a time.
+ * <p>
+ * An item that is mapped quickly waits for the items before it, so a slow item is never overtaken.  Items are only
+ * requested from the upstream publisher while fewer than the maximum number are being mapped or waiting to be
+ * published, and never more than the downstream subscriber has asked for, so a burst of upstream items can't pile up
+ * unbounded work.
+ *
+ * @param <D> the down stream type
+ * @param <U> the up stream type to be mapped to
+ */
+public class OrderedCompletionStageMappingPublisher<D, U> implements Publisher<D> {
+    private final Publisher<U> upstreamPublisher;
+    private final Function<U, CompletionStage<D>> mapper;
+    private final int maxConcurrency;
+
+    /**
+     * You need the following :
+     *
+     * @param upstreamPublisher an upstream source of data
+     * @param mapper            a mapper function that turns upstream data into a promise of mapped D downstream data
+     * @param maxConcurrency    the maximum number of upstream items that are mapped at the same time
+     */
+    public OrderedCompletionStageMappingPublisher(Publisher<U> upstreamPublisher, Function<U, CompletionStage<D>> mapper, int maxConcurrency) {
+        assertTrue(maxConcurrency > 0, "The maximum concurrency must be positive");
+        this.upstreamPublisher = assertNotNull(upstreamPublisher);
+        this.mapper = assertNotNull(mapper);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super D> downstreamSubscriber) {
+        upstreamPublisher.subscribe(new OrderedMappingSubscriber(downstreamSubscriber));
+    }
+
+    private static class MappedItem<D> {
+        private boolean done;
+        private D value;
+        private Throwable throwable;
+    }
+
+    /**
+     * All the state is only changed inside the mutex, so the upstream items, the downstream requests and the mapped
+     * results can all arrive on different threads.
+     */
+    private class OrderedMappingSubscriber implements Subscriber<U> {
+        private final Subscriber<? super D> downstreamSubscriber;
+        private final NonBlockingMutexExecutor mutex = new NonBlockingMutexExecutor();
+        // the items being mapped or waiting to be published, in upstream order
+        private final Deque<MappedItem<D>> mappedItems = new ArrayDeque<>();
+        private Subscription upstreamSubscription;
+        private long demand;
+        private long requestedFromUpstream;
+        private boolean upstreamCompleted;
+        private boolean terminated;
+
+        OrderedMappingSubscriber(Subscriber<? super D> downstreamSubscriber) {
+            this.downstreamSubscriber = downstreamSubscriber;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstreamSubscription = subscription;
+            downstreamSubscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    mutex.execute(() -> {
+                        if (terminated) {
+                            return;
+                        }
+                        if (n <= 0) {
+                            terminate(new IllegalArgumentException("Reactive streams 3.9 spec violation: non-positive subscription request"));
+                            return;
+                        }
+                        demand = (demand + n) < 0 ? Long.MAX_VALUE : (demand + n); // Overflow protection
+                        publishInMutex();
+                    });
+                }
+
+                @Override
+                public void cancel() {
+                    mutex.execute(() -> {
+                        if (!terminated) {
+                            terminated = true;
+                            mappedItems.clear();
+                            upstreamSubscription.cancel();
+                        }
+                    });
+                }
+            });
+        }
+
+        @Override
+        public void onNext(U u) {
+            MappedItem<D> mappedItem = new MappedItem<>();
+            mutex.execute(() -> {
+                requestedFromUpstream--;
+                if (!terminated) {
+                    mappedItems.addLast(mappedItem);
+                }
+            });
+            // the mapping is started outside of the mutex since it can run a lot of code before it returns
+            try {
+                mapper.apply(u).whenComplete((d, throwable) -> mutex.execute(() -> {
+                    mappedItem.done = true;
+                    mappedItem.value = d;
+                    mappedItem.throwable = throwable;
+                    publishInMutex();
+                }));
+            } catch (RuntimeException throwable) {
+                mutex.execute(() -> {
+                    mappedItem.done = true;
+                    mappedItem.throwable = throwable;
+                    publishInMutex();
+                });
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            mutex.execute(() -> {
+                if (!terminated) {
+                    terminated = true;
+                    mappedItems.clear();
+                    downstreamSubscriber.onError(t);
+                }
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            mutex.execute(() -> {
+                upstreamCompleted = true;
+                publishInMutex();
+            });
+        }
+
+        private void publishInMutex() {
+            while (!terminated && !mappedItems.isEmpty() && mappedItems.peekFirst().done) {
+                if (mappedItems.peekFirst().throwable != null) {
+                    //
+                    // as with CompletionStageMappingPublisher, no more messages flow once a mapping has failed,
+                    // so the upstream publisher is cancelled too
+                    //
+                    terminate(mappedItems.peekFirst().throwable);
+                    return;
+                }
+                if (demand == 0) {
+                    return;
+                }
+                MappedItem<D> mappedItem = mappedItems.removeFirst();
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                downstreamSubscriber.onNext(mappedItem.value);
+            }
+            if (terminated) {
+                return;
+            }
+            if (upstreamCompleted) {
+                if (mappedItems.isEmpty()) {
+                    terminated = true;
+                    downstreamSubscriber.onComplete();
+                }
+                return;
+            }
+            requestMoreInMutex();
+        }
+
+        private void requestMoreInMutex() {
+            long inFlight = requestedFromUpstream + mappedItems.size();
+            long wanted = Math.min(maxConcurrency, demand) - inFlight;
+            if (wanted > 0) {
+                requestedFromUpstream += wanted;
+                upstreamSubscription.request(wanted);
+            }
+        }
+
+        private void terminate(Throwable throwable) {
+            terminated = true;
+            mappedItems.clear();
+            upstreamSubscription.cancel();
+            downstreamSubscriber.onError(throwable);
+        }
+    }
+}
@@ -29,6 +29,7 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
     private final Deque<T> dataQ = new ConcurrentLinkedDeque<>();
     private final NonBlockingMutexExecutor mutex = new NonBlockingMutexExecutor();
     private final OnSubscriptionCallback subscriptionCallback;
+    private final OnCancellationCallback cancellationCallback;
 
     private Subscriber<? super T> subscriber;
     private Throwable pendingThrowable = null;
@@ -50,7 +51,19 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
      * @param subscriptionCallback the callback when some ones
      */
     public SingleSubscriberPublisher(OnSubscriptionCallback subscriptionCallback) {
+        this(subscriptionCallback, () -> {
+        });
+    }
+
+    /**
+     * The producing code can provide callbacks to know when the subscriber attaches and when it cancels
+     *
+     * @param subscriptionCallback the callback when some one subscribes
+     * @param cancellationCallback the callback when the subscriber cancels its subscription
+     */
+    public SingleSubscriberPublisher(OnSubscriptionCallback subscriptionCallback, OnCancellationCallback cancellationCallback) {
         this.subscriptionCallback = assertNotNull(subscriptionCallback);
+        this.cancellationCallback = assertNotNull(cancellationCallback);
     }
 
 
@@ -176,6 +189,7 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
                 if (running) {
                     subscriber = null;
                     running = false;
+                    cancellationCallback.onCancellation();
                 }
             });
         }
@@ -191,4 +205,15 @@ public class SingleSubscriberPublisher<T> implements Publisher<T> {
          */
         void onSubscription();
     }
+
+    /**
+     * This is called when the subscriber cancels its subscription to the publisher
+     */
+    public interface OnCancellationCallback {
+        /**
+         * The call back when the subscriber has cancelled.  Its perhaps a good time to stop
+         * producing data
+         */
+        void onCancellation();
+    }
 }
@@ -24,8 +24,11 @@ import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.language.Document;
 import graphql.parser.InvalidSyntaxException;
 import graphql.parser.Parser;
+import graphql.parser.ParserOptions;
 import graphql.schema.GraphQLSchema;
 import graphql.util.LogKit;
+import graphql.validation.NoOpValidationCache;
+import graphql.validation.ValidationCache;
 import graphql.validation.ValidationError;
 import graphql.validation.Validator;
 import org.slf4j.Logger;
@@ -52,6 +55,7 @@ public class GraphQL {
     private final ExecutionIdProvider idProvider;
     private final Instrumentation instrumentation;
     private final PreparsedDocumentProvider preparsedDocumentProvider;
+    private final ValidationCache validationCache;
 
     public GraphQL(Builder builder) {
         this.graphQLSchema = builder.graphQLSchema;
@@ -59,6 +63,7 @@ public class GraphQL {
         this.idProvider = builder.idProvider;
         this.preparsedDocumentProvider = builder.preparsedDocumentProvider;
         this.instrumentation = builder.instrumentation;
+        this.validationCache = builder.validationCache;
     }
 
     /**
@@ -206,7 +211,7 @@ public class GraphQL {
             final Document document = parseResult.getDocument();
 
             logNotSafe.debug("Validating query: '{}'", executionInput.getQuery());
-            final List<ValidationError> errors = validate(executionInput, document, graphQLSchema, instrumentationState);
+            final List<ValidationError> errors = validate(executionInput, parseResult, graphQLSchema, instrumentationState);
             if (!errors.isEmpty()) {
                 logNotSafe.warn("Query failed to validate : '{}'", executionInput.getQuery());
                 return new PreparsedDocumentEntry(errors);
@@ -224,7 +229,7 @@ public class GraphQL {
         Document document;
         DocumentAndVariables documentAndVariables;
         try {
-            document = parser.parseDocument(executionInput.getQuery());
+            document = parser.parseDocument(executionInput.getQuery(), null, ParserOptions.getDefaultOperationParserOptions());
             documentAndVariables = newDocumentAndVariables()
                     .document(document).variables(executionInput.getVariables()).build();
             documentAndVariables = instrumentation.instrumentDocumentAndVariables(documentAndVariables, parameters);
@@ -234,14 +239,21 @@ public class GraphQL {
         }
 
         parseInstrumentation.onCompleted(documentAndVariables.getDocument(), null);
-        return ParseResult.of(documentAndVariables);
+        return ParseResult.of(documentAndVariables, documentAndVariables.getDocument() == document);
     }
 
-    private List<ValidationError> validate(ExecutionInput executionInput, Document document, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+    private List<ValidationError> validate(ExecutionInput executionInput, ParseResult parseResult, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+        Document document = parseResult.getDocument();
         InstrumentationContext<List<ValidationError>> validationCtx = instrumentation.beginValidation(new InstrumentationValidationParameters(executionInput, document, graphQLSchema, instrumentationState));
 
         Validator validator = new Validator();
-        List<ValidationError> validationErrors = validator.validateDocument(graphQLSchema, document);
+        List<ValidationError> validationErrors;
+        if (parseResult.isDocumentOfQuery()) {
+            validationErrors = validationCache.getValidationErrors(graphQLSchema, executionInput.getQuery(), () -> validator.validateDocument(graphQLSchema, document));
+        } else {
+            // a document replaced by instrumentation doesn't match the query text the cache is keyed by
+            validationErrors = validator.validateDocument(graphQLSchema, document);
+        }
 
         validationCtx.onCompleted(validationErrors, null);
         return validationErrors;
@@ -305,6 +317,7 @@ public class GraphQL {
         private Instrumentation instrumentation = new Instrumentation() {
         };
         private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
+        private ValidationCache validationCache = NoOpValidationCache.INSTANCE;
 
 
         public Builder(GraphQLSchema graphQLSchema) {
@@ -316,6 +329,7 @@ public class GraphQL {
             this.executionStrategy = graphQL.executionStrategy;
             this.idProvider = graphQL.idProvider;
             this.instrumentation = graphQL.instrumentation;
+            this.validationCache = graphQL.validationCache;
         }
 
         public Builder schema(GraphQLSchema graphQLSchema) {
@@ -338,6 +352,11 @@ public class GraphQL {
             return this;
         }
 
+        public Builder validationCache(ValidationCache validationCache) {
+            this.validationCache = assertNotNull(validationCache, "ValidationCache must be non null");
+            return this;
+        }
+
         public Builder executionIdProvider(ExecutionIdProvider executionIdProvider) {
             this.idProvider = assertNotNull(executionIdProvider, "ExecutionIdProvider must be non null");
             return this;
@@ -0,0 +1,396 @@
+package graphql.parser;
+
+import graphql.Internal;
+
+import java.util.Arrays;
+
+/**
+ * This splits a document into the same tokens as the ANTLR generated lexer, including the comments and ignored
+ * characters that are on the hidden channels, however the tokens are kept in parallel arrays rather than as objects.
+ * <p>
+ * Like ANTLR, lines are counted by line feeds only and columns are counted in code points from zero.  Tokens are
+ * produced on demand so that lexer errors surface at the same point of the parse as they do with ANTLR.
+ */
+@Internal
+class GraphqlTokenizer {
+
+    // the kinds of the tokens on the default channel, punctuators use their first character as their kind
+    static final int EOF = 0;
+    static final int NAME = 1;
+    static final int INT = 2;
+    static final int FLOAT = 3;
+    static final int STRING = 4;
+    static final int BLOCK_STRING = 5;
+    // tokens that the lexer accepts but that never appear in a valid document, like a lonely '-' sign
+    static final int UNEXPECTED = 6;
+
+    // the kinds of the tokens on the hidden channels
+    static final int COMMENT = 7;
+    static final int LF = 8;
+    static final int CR = 9;
+    static final int LINE_TERMINATOR = 10;
+    static final int SPACE = 11;
+    static final int TAB = 12;
+    static final int COMMA = 13;
+    static final int BOM = 14;
+
+    static final int SPREAD = '.';
+
+    private final String source;
+    private final int length;
+    private final MultiSourceReader multiSourceReader;
+    private final ParserLimits parserLimits;
+
+    private int position;
+    private int line = 1;
+    private int column;
+
+    private int count;
+    private int[] kinds = new int[64];
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int[] lines = new int[64];
+    private int[] columns = new int[64];
+
+    GraphqlTokenizer(String source, MultiSourceReader multiSourceReader, ParserLimits parserLimits) {
+        this.source = source;
+        this.length = source.length();
+        this.multiSourceReader = multiSourceReader;
+        this.parserLimits = parserLimits;
+    }
+
+    static boolean isHidden(int kind) {
+        return kind >= COMMENT && kind <= BOM;
+    }
+
+    int kind(int token) {
+        return kinds[token];
+    }
+
+    int line(int token) {
+        return lines[token];
+    }
+
+    int column(int token) {
+        return columns[token];
+    }
+
+    String text(int token) {
+        if (kinds[token] == EOF) {
+            return "<EOF>";
+        }
+        return source.substring(starts[token], ends[token]);
+    }
+
+    boolean textEquals(int token, String text) {
+        int start = starts[token];
+        return ends[token] - start == text.length() && source.regionMatches(start, text, 0, text.length());
+    }
+
+    /**
+     * Lexes the tokens up to and including the next token on the default channel
+     *
+     * @return the index of the next token on the default channel
+     */
+    int nextDefaultToken() {
+        if (count > 0 && kinds[count - 1] == EOF) {
+            return count - 1;
+        }
+        while (true) {
+            int token = nextToken();
+            if (!isHidden(kinds[token])) {
+                return token;
+            }
+        }
+    }
+
+    private int nextToken() {
+        int start = position;
+        if (start >= length) {
+            return add(EOF, start, start);
+        }
+        char c = source.charAt(start);
+        switch (c) {
+            case '\n':
+                return add(LF, start, start + 1);
+            case '\r':
+                return add(CR, start, start + 1);
+            case '\u2028':
+            case '\u2029':
+                return add(LINE_TERMINATOR, start, start + 1);
+            case ' ':
+                return add(SPACE, start, start + 1);
+            case '\t':
+                return add(TAB, start, start + 1);
+            case ',':
+                return add(COMMA, start, start + 1);
+            case '\ufeff':
+                return add(BOM, start, start + 1);
+            case '!':
+            case '$':
+            case '&':
+            case '(':
+            case ')':
+            case ':':
+            case '=':
+            case '@':
+            case '[':
+            case ']':
+            case '{':
+            case '|':
+            case '}':
+                return add(c, start, start + 1);
+            case '.':
+                for (int i = start + 1; i < start + 3; i++) {
+                    if (i >= length || source.charAt(i) != '.') {
+                        throw recognitionError(start, i);
+                    }
+                }
+                return add(SPREAD, start, start + 3);
+            case '#':
+                return add(COMMENT, start, commentEnd(start + 1));
+            case '"':
+                return lexString(start);
+            case '-':
+                if (start + 1 >= length || !isDigit(source.charAt(start + 1))) {
+                    // the lexer has a token for a sign on its own
+                    return add(UNEXPECTED, start, start + 1);
+                }
+                return lexNumber(start, start + 1);
+            default:
+                if (isDigit(c)) {
+                    return lexNumber(start, start);
+                }
+                if (isNameStart(c)) {
+                    return lexName(start);
+                }
+                int end = Character.isHighSurrogate(c) && start + 1 < length && Character.isLowSurrogate(source.charAt(start + 1)) ? start + 1 : start;
+                throw recognitionError(start, end);
+        }
+    }
+
+    private int commentEnd(int from) {
+        int i = from;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '\n' || (c < ' ' && c != '\t' && c != '\r')) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int lexNumber(int start, int integerStart) {
+        int i = integerStart;
+        if (source.charAt(i) == '0') {
+            i++;
+        } else {
+            i = skipDigits(i + 1);
+        }
+        int kind = INT;
+        if (i + 1 < length && source.charAt(i) == '.' && isDigit(source.charAt(i + 1))) {
+            i = skipDigits(i + 2);
+            kind = FLOAT;
+        }
+        int exponentEnd = exponentEnd(i);
+        if (exponentEnd > i) {
+            i = exponentEnd;
+            kind = FLOAT;
+        }
+        return add(kind, start, i);
+    }
+
+    private int exponentEnd(int from) {
+        if (from >= length || (source.charAt(from) != 'e' && source.charAt(from) != 'E')) {
+            return from;
+        }
+        int i = from + 1;
+        if (i < length && (source.charAt(i) == '+' || source.charAt(i) == '-')) {
+            i++;
+        }
+        if (i < length && isDigit(source.charAt(i))) {
+            return skipDigits(i + 1);
+        }
+        return from;
+    }
+
+    private int skipDigits(int from) {
+        int i = from;
+        while (i < length && isDigit(source.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int lexName(int start) {
+        int i = start + 1;
+        while (i < length && isNamePart(source.charAt(i))) {
+            i++;
+        }
+        if (i == start + 1) {
+            // an exponent on its own, like 'e+1', is a longer match than the name 'e'
+            int exponentEnd = exponentEnd(start);
+            if (exponentEnd > i) {
+                return add(UNEXPECTED, start, exponentEnd);
+            }
+        }
+        return add(NAME, start, i);
+    }
+
+    private int lexString(int start) {
+        if (start + 2 < length && source.charAt(start + 1) == '"' && source.charAt(start + 2) == '"') {
+            int end = blockStringEnd(start + 3);
+            if (end > 0) {
+                return add(BLOCK_STRING, start, end);
+            }
+            // like the lexer we fall back to the longest token that did match, which is the empty string
+            return add(STRING, start, start + 2);
+        }
+        int i = start + 1;
+        while (true) {
+            if (i >= length) {
+                throw recognitionError(start, i);
+            }
+            char c = source.charAt(i);
+            if (c == '"') {
+                return add(STRING, start, i + 1);
+            }
+            if (c == '\\') {
+                i = escapeEnd(start, i + 1);
+            } else if (c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029') {
+                throw recognitionError(start, i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private int escapeEnd(int start, int from) {
+        if (from >= length) {
+            throw recognitionError(start, from);
+        }
+        char c = source.charAt(from);
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return from + 1;
+            case 'u':
+                for (int i = from + 1; i < from + 5; i++) {
+                    if (i >= length || Character.digit(source.charAt(i), 16) < 0) {
+                        throw recognitionError(start, i);
+                    }
+                }
+                return from + 5;
+            default:
+                throw recognitionError(start, from);
+        }
+    }
+
+    /*
+     * returns the end of the block string or -1 if it is not terminated or contains a character that is not allowed
+     */
+    private int blockStringEnd(int from) {
+        int i = from;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '\\' && source.startsWith("\"\"\"", i + 1)) {
+                i += 4;
+            } else if (c == '"' && source.startsWith("\"\"\"", i)) {
+                return i + 3;
+            } else if (c < ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return -1;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    private int add(int kind, int start, int end) {
+        if (kind != EOF) {
+            parserLimits.tokenLexed(kind >= LF && kind <= BOM, source.charAt(start), line, column);
+        }
+        if (count == kinds.length) {
+            int newLength = count * 2;
+            kinds = Arrays.copyOf(kinds, newLength);
+            starts = Arrays.copyOf(starts, newLength);
+            ends = Arrays.copyOf(ends, newLength);
+            lines = Arrays.copyOf(lines, newLength);
+            columns = Arrays.copyOf(columns, newLength);
+        }
+        kinds[count] = kind;
+        starts[count] = start;
+        ends[count] = end;
+        lines[count] = line;
+        columns[count] = column;
+        advance(start, end);
+        return count++;
+    }
+
+    private void advance(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '\n') {
+                line++;
+                column = 0;
+            } else {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(source.charAt(i + 1))) {
+                    i++;
+                }
+                column++;
+            }
+        }
+        position = end;
+    }
+
+    /*
+     * the same error the lexer error listener of the ANTLR parser reports, where the text runs from the start of the
+     * token up to and including the character that could not be matched
+     */
+    private InvalidSyntaxException recognitionError(int start, int failedAt) {
+        String text = source.substring(start, Math.min(failedAt + 1, length));
+        String msg = "Invalid syntax: token recognition error at: '" + errorDisplay(text) + "'";
+        return new InvalidSyntaxException(AntlrHelper.createSourceLocation(multiSourceReader, line, column), msg,
+                AntlrHelper.createPreview(multiSourceReader, line), null, null);
+    }
+
+    private static String errorDisplay(String text) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNameStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isNamePart(char c) {
+        return isNameStart(c) || isDigit(c);
+    }
+}
@@ -22,6 +22,7 @@ import java.util.List;
 @Internal
 public class Parser {
 
+    private static final int CHANNEL_IGNORED_CHARS = 3;
 
     public static Document parse(String input) {
         return new Parser().parseDocument(input);
@@ -32,29 +33,77 @@ public class Parser {
     }
 
     public Document parseDocument(String input, String sourceName) throws InvalidSyntaxException {
+        return parseDocument(input, sourceName, ParserOptions.getDefaultParserOptions());
+    }
+
+    public Document parseDocument(String input, String sourceName, ParserOptions parserOptions) throws InvalidSyntaxException {
+        ParserLimits.checkCharacters(parserOptions, input.length());
         MultiSourceReader multiSourceReader = MultiSourceReader.newMultiSourceReader()
                 .string(input, sourceName)
-                .trackData(true)
+                .trackData(parserOptions.isTrackData())
                 .build();
-        return parseDocument(multiSourceReader);
+        return parseDocument(multiSourceReader, parserOptions);
     }
 
     public Document parseDocument(Reader reader) throws InvalidSyntaxException {
+        return parseDocument(reader, ParserOptions.getDefaultParserOptions());
+    }
+
+    public Document parseDocument(Reader reader, ParserOptions parserOptions) throws InvalidSyntaxException {
         MultiSourceReader multiSourceReader;
         if (reader instanceof MultiSourceReader) {
             multiSourceReader = (MultiSourceReader) reader;
         } else {
             multiSourceReader = MultiSourceReader.newMultiSourceReader()
-                    .reader(reader, null).build();
+                    .reader(reader, null)
+                    .trackData(parserOptions.isTrackData())
+                    .build();
         }
-        CodePointCharStream charStream;
+        if (parserOptions.isHandWrittenParser()) {
+            return parseWithHandWrittenParser(multiSourceReader, parserOptions);
+        }
+        return parseWithAntlr(multiSourceReader, parserOptions);
+    }
+
+    private Document parseWithHandWrittenParser(MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        String source = readFully(multiSourceReader, parserOptions);
+        GraphqlTokenizer tokenizer = new GraphqlTokenizer(source, multiSourceReader, new ParserLimits(parserOptions, multiSourceReader));
+        return new RecursiveDescentParser(tokenizer, multiSourceReader, parserOptions).parseDocument();
+    }
+
+    private String readFully(Reader reader, ParserOptions parserOptions) {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[4096];
         try {
-            charStream = CharStreams.fromReader(multiSourceReader);
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+                ParserLimits.checkCharacters(parserOptions, sb.length());
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        return sb.toString();
+    }
 
-        GraphqlLexer lexer = new GraphqlLexer(charStream);
+    private Document parseWithAntlr(MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        CodePointCharStream charStream = CharStreams.fromString(readFully(multiSourceReader, parserOptions));
+
+        ParserLimits parserLimits = new ParserLimits(parserOptions, multiSourceReader);
+        GraphqlLexer lexer = new GraphqlLexer(charStream) {
+            @Override
+            public Token nextToken() {
+                Token token = super.nextToken();
+                if (token.getType() != Token.EOF) {
+                    boolean ignoredChar = token.getChannel() == CHANNEL_IGNORED_CHARS;
+                    // only single character tokens can open or close a nesting level
+                    boolean singleChar = !ignoredChar && token.getStartIndex() == token.getStopIndex();
+                    char firstChar = singleChar ? token.getText().charAt(0) : ' ';
+                    parserLimits.tokenLexed(ignoredChar, firstChar, token.getLine(), token.getCharPositionInLine());
+                }
+                return token;
+            }
+        };
         lexer.removeErrorListeners();
         lexer.addErrorListener(new BaseErrorListener() {
             @Override
@@ -74,7 +123,7 @@ public class Parser {
         ExtendedBailStrategy bailStrategy = new ExtendedBailStrategy(multiSourceReader);
         parser.setErrorHandler(bailStrategy);
 
-        GraphqlAntlrToLanguage toLanguage = new GraphqlAntlrToLanguage(tokens, multiSourceReader);
+        GraphqlAntlrToLanguage toLanguage = new GraphqlAntlrToLanguage(tokens, multiSourceReader, parserOptions);
         GraphqlParser.DocumentContext documentContext = parser.document();
 
         Document doc = toLanguage.createDocument(documentContext);
@@ -0,0 +1,70 @@
+package graphql.parser;
+
+import graphql.Internal;
+import graphql.language.SourceLocation;
+
+/**
+ * Enforces the limits of the {@link ParserOptions} while a document is read and lexed, so that parsing is cancelled as soon
+ * as a limit is exceeded rather than after the whole document has been turned into an AST.
+ * <p>
+ * The nesting depth is the depth of the brackets, braces and parentheses, since every recursive rule of the grammar
+ * opens one of them.  It therefore also bounds how deep the parsers recurse.
+ */
+@Internal
+class ParserLimits {
+
+    private static final String CANCELLED = "To prevent Denial Of Service attacks, parsing has been cancelled.";
+
+    private final ParserOptions parserOptions;
+    private final MultiSourceReader multiSourceReader;
+
+    private int tokenCount;
+    private int whitespaceRunLength;
+    private int nestingDepth;
+
+    ParserLimits(ParserOptions parserOptions, MultiSourceReader multiSourceReader) {
+        this.parserOptions = parserOptions;
+        this.multiSourceReader = multiSourceReader;
+    }
+
+    static void checkCharacters(ParserOptions parserOptions, int characterCount) {
+        if (characterCount > parserOptions.getMaxCharacters()) {
+            String msg = String.format("More than %d characters have been presented. %s", parserOptions.getMaxCharacters(), CANCELLED);
+            throw new InvalidSyntaxException(null, msg, null, null, null);
+        }
+    }
+
+    /**
+     * Called for every token that is lexed, apart from the end of the input
+     *
+     * @param ignoredChar true if the token is an ignored char such as a space or a comma
+     * @param firstChar   the first character of the token
+     * @param antlrLine   the line of the token, counted from one
+     * @param column      the column of the token, counted from zero
+     */
+    void tokenLexed(boolean ignoredChar, char firstChar, int antlrLine, int column) {
+        if (ignoredChar) {
+            if (++whitespaceRunLength > parserOptions.getMaxWhitespaceRunLength()) {
+                throw limitExceeded(String.format("More than %d consecutive whitespace tokens have been presented.", parserOptions.getMaxWhitespaceRunLength()), antlrLine, column);
+            }
+            return;
+        }
+        whitespaceRunLength = 0;
+        if (++tokenCount > parserOptions.getMaxTokens()) {
+            throw limitExceeded(String.format("More than %d parse tokens have been presented.", parserOptions.getMaxTokens()), antlrLine, column);
+        }
+        if (firstChar == '{' || firstChar == '[' || firstChar == '(') {
+            if (++nestingDepth > parserOptions.getMaxNestingDepth()) {
+                throw limitExceeded(String.format("More than %d levels of nesting have been presented.", parserOptions.getMaxNestingDepth()), antlrLine, column);
+            }
+        } else if (firstChar == '}' || firstChar == ']' || firstChar == ')') {
+            nestingDepth--;
+        }
+    }
+
+    private InvalidSyntaxException limitExceeded(String msg, int antlrLine, int column) {
+        SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, antlrLine, column);
+        String preview = AntlrHelper.createPreview(multiSourceReader, antlrLine);
+        return new InvalidSyntaxException(sourceLocation, msg + " " + CANCELLED, preview, null, null);
+    }
+}
@@ -0,0 +1,300 @@
+package graphql.parser;
+
+import graphql.PublicApi;
+
+import java.util.function.Consumer;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * Options that control how the {@link Parser} behaves
+ */
+@PublicApi
+public class ParserOptions {
+
+    private static volatile ParserOptions defaultParserOptions = newParserOptions().build();
+
+    /**
+     * The recommended maximum number of characters of an operation that is executed, see {@link Builder#operationLimits()}
+     */
+    public static final int MAX_QUERY_CHARACTERS = 1024 * 1024;
+
+    /**
+     * The recommended maximum number of tokens of an operation that is executed, see {@link Builder#operationLimits()}
+     */
+    public static final int MAX_QUERY_TOKENS = 15_000;
+
+    /**
+     * The recommended maximum number of consecutive whitespace tokens of an operation that is executed, see {@link Builder#operationLimits()}
+     */
+    public static final int MAX_QUERY_WHITESPACE_RUN_LENGTH = 10_000;
+
+    /**
+     * The recommended maximum nesting depth of an operation that is executed, see {@link Builder#operationLimits()}
+     */
+    public static final int MAX_QUERY_NESTING_DEPTH = 200;
+
+    /*
+     * Documents that are executed rarely need their comments and ignored chars, which are by far the most numerous
+     * parts of a document, while cached documents retain them for as long as they are cached.  The size of executed
+     * documents is not limited by default so that existing applications keep accepting the queries they accept today.
+     */
+    private static volatile ParserOptions defaultOperationParserOptions = newParserOptions()
+            .captureLineComments(false)
+            .captureIgnoredChars(false)
+            .build();
+
+    private final boolean handWrittenParser;
+    private final boolean captureSourceLocation;
+    private final boolean captureLineComments;
+    private final boolean captureIgnoredChars;
+    private final boolean trackData;
+    private final int maxCharacters;
+    private final int maxTokens;
+    private final int maxWhitespaceRunLength;
+    private final int maxNestingDepth;
+
+    private ParserOptions(Builder builder) {
+        this.handWrittenParser = builder.handWrittenParser;
+        this.captureSourceLocation = builder.captureSourceLocation;
+        this.captureLineComments = builder.captureLineComments;
+        this.captureIgnoredChars = builder.captureIgnoredChars;
+        this.trackData = builder.trackData;
+        this.maxCharacters = builder.maxCharacters;
+        this.maxTokens = builder.maxTokens;
+        this.maxWhitespaceRunLength = builder.maxWhitespaceRunLength;
+        this.maxNestingDepth = builder.maxNestingDepth;
+    }
+
+    /**
+     * The options used by the parse methods that are not given options, which capture everything about the
+     * source and so suit tooling and schema parsing
+     *
+     * @return the default parser options
+     */
+    public static ParserOptions getDefaultParserOptions() {
+        return defaultParserOptions;
+    }
+
+    /**
+     * Changes the options used by the parse methods that are not given options.  This is JVM wide so it should be
+     * called once at application start.
+     *
+     * @param options the new default parser options
+     */
+    public static void setDefaultParserOptions(ParserOptions options) {
+        defaultParserOptions = assertNotNull(options);
+    }
+
+    /**
+     * The options used when {@link graphql.GraphQL} parses the query of an execution.  By default these don't capture
+     * comments and ignored chars, but do capture source locations since they are reported in errors.
+     * <p>
+     * They don't limit the size of the document.  Since the queries of executions usually come from clients, you can
+     * opt in to the recommended limits at application start with
+     * <pre>
+     * {@code
+     * ParserOptions.setDefaultOperationParserOptions(
+     *         ParserOptions.getDefaultOperationParserOptions().transform(ParserOptions.Builder::operationLimits));
+     * }
+     * </pre>
+     *
+     * @return the default parser options for operations that are executed
+     */
+    public static ParserOptions getDefaultOperationParserOptions() {
+        return defaultOperationParserOptions;
+    }
+
+    /**
+     * Changes the options used when {@link graphql.GraphQL} parses the query of an execution.  This is JVM wide so it
+     * should be called once at application start.
+     *
+     * @param options the new default parser options for operations that are executed
+     */
+    public static void setDefaultOperationParserOptions(ParserOptions options) {
+        defaultOperationParserOptions = assertNotNull(options);
+    }
+
+    /**
+     * The hand written parser builds the same documents as the ANTLR generated parser, including source locations,
+     * comments and ignored characters, and reports syntax errors at the same locations.  It does not build an
+     * intermediate parse tree and so it is faster and allocates less.
+     *
+     * @return true if documents are parsed with the hand written parser rather than the ANTLR generated parser
+     */
+    public boolean isHandWrittenParser() {
+        return handWrittenParser;
+    }
+
+    /**
+     * @return true if the nodes of the document have a {@link graphql.language.SourceLocation}
+     */
+    public boolean isCaptureSourceLocation() {
+        return captureSourceLocation;
+    }
+
+    /**
+     * @return true if the nodes of the document have the {@link graphql.language.Comment}s in front of them
+     */
+    public boolean isCaptureLineComments() {
+        return captureLineComments;
+    }
+
+    /**
+     * @return true if the nodes of the document have the {@link graphql.language.IgnoredChars} around them
+     */
+    public boolean isCaptureIgnoredChars() {
+        return captureIgnoredChars;
+    }
+
+    /**
+     * The parser keeps a copy of the input so that syntax errors can show a preview of the lines around the error.
+     *
+     * @return true if the input is copied for the source preview of syntax errors
+     */
+    public boolean isTrackData() {
+        return trackData;
+    }
+
+    /**
+     * Parsing is cancelled with an {@link InvalidSyntaxException} when the document has more characters than this,
+     * before it is lexed.
+     *
+     * @return the maximum number of characters of a document
+     */
+    public int getMaxCharacters() {
+        return maxCharacters;
+    }
+
+    /**
+     * Parsing is cancelled with an {@link InvalidSyntaxException} as soon as more tokens than this have been lexed.
+     * Whitespace and commas are not counted, while comments are.
+     *
+     * @return the maximum number of tokens of a document
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Parsing is cancelled with an {@link InvalidSyntaxException} as soon as more whitespace characters and commas
+     * than this have been lexed one after the other.
+     *
+     * @return the maximum number of consecutive whitespace tokens of a document
+     */
+    public int getMaxWhitespaceRunLength() {
+        return maxWhitespaceRunLength;
+    }
+
+    /**
+     * Parsing is cancelled with an {@link InvalidSyntaxException} as soon as more braces, brackets and parentheses
+     * than this are open at the same time, which bounds how deeply selection sets, values and types are nested.
+     *
+     * @return the maximum nesting depth of a document
+     */
+    public int getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+    public ParserOptions transform(Consumer<Builder> builderConsumer) {
+        Builder builder = new Builder(this);
+        builderConsumer.accept(builder);
+        return builder.build();
+    }
+
+    public static Builder newParserOptions() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private boolean handWrittenParser = false;
+        private boolean captureSourceLocation = true;
+        private boolean captureLineComments = true;
+        private boolean captureIgnoredChars = true;
+        private boolean trackData = true;
+        private int maxCharacters = Integer.MAX_VALUE;
+        private int maxTokens = Integer.MAX_VALUE;
+        private int maxWhitespaceRunLength = Integer.MAX_VALUE;
+        private int maxNestingDepth = Integer.MAX_VALUE;
+
+        Builder() {
+        }
+
+        Builder(ParserOptions parserOptions) {
+            this.handWrittenParser = parserOptions.handWrittenParser;
+            this.captureSourceLocation = parserOptions.captureSourceLocation;
+            this.captureLineComments = parserOptions.captureLineComments;
+            this.captureIgnoredChars = parserOptions.captureIgnoredChars;
+            this.trackData = parserOptions.trackData;
+            this.maxCharacters = parserOptions.maxCharacters;
+            this.maxTokens = parserOptions.maxTokens;
+            this.maxWhitespaceRunLength = parserOptions.maxWhitespaceRunLength;
+            this.maxNestingDepth = parserOptions.maxNestingDepth;
+        }
+
+        public Builder handWrittenParser(boolean handWrittenParser) {
+            this.handWrittenParser = handWrittenParser;
+            return this;
+        }
+
+        public Builder captureSourceLocation(boolean captureSourceLocation) {
+            this.captureSourceLocation = captureSourceLocation;
+            return this;
+        }
+
+        public Builder captureLineComments(boolean captureLineComments) {
+            this.captureLineComments = captureLineComments;
+            return this;
+        }
+
+        public Builder captureIgnoredChars(boolean captureIgnoredChars) {
+            this.captureIgnoredChars = captureIgnoredChars;
+            return this;
+        }
+
+        public Builder trackData(boolean trackData) {
+            this.trackData = trackData;
+            return this;
+        }
+
+        public Builder maxCharacters(int maxCharacters) {
+            this.maxCharacters = maxCharacters;
+            return this;
+        }
+
+        public Builder maxTokens(int maxTokens) {
+            this.maxTokens = maxTokens;
+            return this;
+        }
+
+        public Builder maxWhitespaceRunLength(int maxWhitespaceRunLength) {
+            this.maxWhitespaceRunLength = maxWhitespaceRunLength;
+            return this;
+        }
+
+        public Builder maxNestingDepth(int maxNestingDepth) {
+            this.maxNestingDepth = maxNestingDepth;
+            return this;
+        }
+
+        /**
+         * Limits documents to the recommended size of operations that are executed, see {@link ParserOptions#MAX_QUERY_CHARACTERS},
+         * {@link ParserOptions#MAX_QUERY_TOKENS}, {@link ParserOptions#MAX_QUERY_WHITESPACE_RUN_LENGTH} and
+         * {@link ParserOptions#MAX_QUERY_NESTING_DEPTH}
+         *
+         * @return this builder
+         */
+        public Builder operationLimits() {
+            this.maxCharacters = MAX_QUERY_CHARACTERS;
+            this.maxTokens = MAX_QUERY_TOKENS;
+            this.maxWhitespaceRunLength = MAX_QUERY_WHITESPACE_RUN_LENGTH;
+            this.maxNestingDepth = MAX_QUERY_NESTING_DEPTH;
+            return this;
+        }
+
+        public ParserOptions build() {
+            return new ParserOptions(this);
+        }
+    }
+}
@@ -0,0 +1,1347 @@
+package graphql.parser;
+
+import graphql.Internal;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Description;
+import graphql.language.Directive;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.language.Document;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.EnumTypeExtensionDefinition;
+import graphql.language.EnumValue;
+import graphql.language.EnumValueDefinition;
+import graphql.language.Field;
+import graphql.language.FieldDefinition;
+import graphql.language.FloatValue;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.IgnoredChar;
+import graphql.language.IgnoredChars;
+import graphql.language.InlineFragment;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputObjectTypeExtensionDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.IntValue;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.InterfaceTypeExtensionDefinition;
+import graphql.language.ListType;
+import graphql.language.NodeBuilder;
+import graphql.language.NonNullType;
+import graphql.language.ObjectField;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.ObjectTypeExtensionDefinition;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.OperationTypeDefinition;
+import graphql.language.SDLDefinition;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.ScalarTypeExtensionDefinition;
+import graphql.language.SchemaDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.SourceLocation;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeDefinition;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import graphql.language.UnionTypeExtensionDefinition;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static graphql.language.NullValue.Null;
+import static graphql.parser.GraphqlTokenizer.BLOCK_STRING;
+import static graphql.parser.GraphqlTokenizer.EOF;
+import static graphql.parser.GraphqlTokenizer.FLOAT;
+import static graphql.parser.GraphqlTokenizer.INT;
+import static graphql.parser.GraphqlTokenizer.NAME;
+import static graphql.parser.GraphqlTokenizer.SPREAD;
+import static graphql.parser.GraphqlTokenizer.STRING;
+import static graphql.parser.StringValueParsing.parseSingleQuotedString;
+import static graphql.parser.StringValueParsing.parseTripleQuotedString;
+
+/**
+ * A single pass parser that builds the {@link graphql.language} nodes straight from the tokens of a
+ * {@link GraphqlTokenizer}, without the intermediate parse tree of the ANTLR generated parser.
+ * <p>
+ * It follows the rules of the ANTLR grammar and builds the same nodes as {@link GraphqlAntlrToLanguage}, with the same
+ * source locations, comments and ignored characters.  Syntax errors are reported on the token that could not be matched,
+ * or like ANTLR on the first token of a decision that needs to look further ahead, such as the header of a type extension.
+ */
+@Internal
+class RecursiveDescentParser {
+
+    private final GraphqlTokenizer tokenizer;
+    private final MultiSourceReader multiSourceReader;
+    private final ParserOptions parserOptions;
+
+    // the tokenizer indexes of the tokens on the default channel, which is all the parser looks at
+    private int[] tokens = new int[64];
+    private int tokenCount;
+    // the position of the next token to match in the tokens above
+    private int current;
+    // while looking ahead to decide between alternatives, errors are reported on the token the decision started at
+    private int decisionStart = -1;
+    // while trying out an alternative, errors only record the position at which it failed
+    private boolean speculating;
+    private int failedAt;
+
+    RecursiveDescentParser(GraphqlTokenizer tokenizer, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        this.tokenizer = tokenizer;
+        this.multiSourceReader = multiSourceReader;
+        this.parserOptions = parserOptions;
+    }
+
+    Document parseDocument() {
+        fetch(0);
+        int start = current;
+        List<Definition> definitions = new ArrayList<>();
+        do {
+            definitions.add(definition());
+        } while (isDefinitionStart());
+
+        Document.Builder document = Document.newDocument();
+        addCommonData(document, start);
+        document.definitions(definitions);
+
+        if (kind(1) != EOF) {
+            int last = tokens[current];
+            throw new InvalidSyntaxException(sourceLocation(last),
+                    "There are more tokens in the query that have not been consumed",
+                    preview(last), tokenizer.text(last), null);
+        }
+        return document.build();
+    }
+
+    // operation definitions
+
+    private boolean isDefinitionStart() {
+        int kind = kind(1);
+        if (kind == '{' || kind == STRING || kind == BLOCK_STRING) {
+            return true;
+        }
+        return kind == NAME && (isOperationType(1) || isKeyword(1, "fragment") || isTypeSystemKeyword(1) || isKeyword(1, "extend"));
+    }
+
+    private Definition definition() {
+        int kind = kind(1);
+        if (kind == '{' || (kind == NAME && isOperationType(1))) {
+            return operationDefinition();
+        }
+        if (kind == NAME && isKeyword(1, "fragment")) {
+            return fragmentDefinition();
+        }
+        if (kind == STRING || kind == BLOCK_STRING || (kind == NAME && (isTypeSystemKeyword(1) || isKeyword(1, "extend")))) {
+            return typeSystemDefinition();
+        }
+        throw syntaxError();
+    }
+
+    private OperationDefinition operationDefinition() {
+        int start = current;
+        OperationDefinition.Operation operation = OperationDefinition.Operation.QUERY;
+        String name = null;
+        List<VariableDefinition> variableDefinitions = new ArrayList<>();
+        List<Directive> directives = new ArrayList<>();
+        if (kind(1) != '{') {
+            operation = operationType();
+            if (kind(1) == NAME) {
+                name = name();
+            }
+            if (kind(1) == '(') {
+                variableDefinitions = variableDefinitions();
+            }
+            directives = optionalDirectives();
+        }
+        SelectionSet selectionSet = selectionSet();
+
+        OperationDefinition.Builder operationDefinition = OperationDefinition.newOperationDefinition();
+        addCommonData(operationDefinition, start);
+        operationDefinition.operation(operation);
+        operationDefinition.name(name);
+        operationDefinition.variableDefinitions(variableDefinitions);
+        operationDefinition.selectionSet(selectionSet);
+        operationDefinition.directives(directives);
+        return operationDefinition.build();
+    }
+
+    private OperationDefinition.Operation operationType() {
+        if (isKeyword(1, "query")) {
+            consume();
+            return OperationDefinition.Operation.QUERY;
+        }
+        if (isKeyword(1, "mutation")) {
+            consume();
+            return OperationDefinition.Operation.MUTATION;
+        }
+        if (isKeyword(1, "subscription")) {
+            consume();
+            return OperationDefinition.Operation.SUBSCRIPTION;
+        }
+        throw syntaxError();
+    }
+
+    private List<VariableDefinition> variableDefinitions() {
+        expect('(');
+        List<VariableDefinition> variableDefinitions = new ArrayList<>();
+        do {
+            variableDefinitions.add(variableDefinition());
+        } while (kind(1) == '$');
+        expect(')');
+        return variableDefinitions;
+    }
+
+    private VariableDefinition variableDefinition() {
+        int start = current;
+        expect('$');
+        String name = name();
+        expect(':');
+        Type type = type();
+        Value defaultValue = null;
+        if (kind(1) == '=') {
+            consume();
+            defaultValue = value(true);
+        }
+
+        VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
+        addCommonData(variableDefinition, start);
+        variableDefinition.name(name);
+        if (defaultValue != null) {
+            variableDefinition.defaultValue(defaultValue);
+        }
+        variableDefinition.type(type);
+        return variableDefinition.build();
+    }
+
+    private FragmentDefinition fragmentDefinition() {
+        int start = current;
+        expectKeyword("fragment");
+        String name = fragmentName();
+        expectKeyword("on");
+        TypeName typeCondition = TypeName.newTypeName().name(name()).build();
+        List<Directive> directives = optionalDirectives();
+        SelectionSet selectionSet = selectionSet();
+
+        FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
+        addCommonData(fragmentDefinition, start);
+        fragmentDefinition.name(name);
+        fragmentDefinition.typeCondition(typeCondition);
+        fragmentDefinition.directives(directives);
+        fragmentDefinition.selectionSet(selectionSet);
+        return fragmentDefinition.build();
+    }
+
+    private String fragmentName() {
+        if (kind(1) != NAME || isKeyword(1, "on")) {
+            throw syntaxError();
+        }
+        return name();
+    }
+
+    private SelectionSet selectionSet() {
+        int start = current;
+        expect('{');
+        List<Selection> selections = new ArrayList<>();
+        do {
+            selections.add(selection());
+        } while (kind(1) == NAME || kind(1) == SPREAD);
+        expect('}');
+
+        SelectionSet.Builder selectionSet = SelectionSet.newSelectionSet();
+        addCommonData(selectionSet, start);
+        selectionSet.selections(selections);
+        return selectionSet.build();
+    }
+
+    private Selection selection() {
+        if (kind(1) == NAME) {
+            return field();
+        }
+        if (kind(1) == SPREAD) {
+            if (kind(2) == NAME && !isKeyword(2, "on")) {
+                return fragmentSpread();
+            }
+            if (kind(2) == NAME || kind(2) == '@' || kind(2) == '{') {
+                return inlineFragment();
+            }
+            throw syntaxError(1);
+        }
+        throw syntaxError();
+    }
+
+    private Field field() {
+        int start = current;
+        String alias = null;
+        String name = name();
+        if (kind(1) == ':') {
+            consume();
+            alias = name;
+            name = name();
+        }
+        List<Argument> arguments = kind(1) == '(' ? arguments() : new ArrayList<>();
+        List<Directive> directives = optionalDirectives();
+        SelectionSet selectionSet = kind(1) == '{' ? selectionSet() : null;
+
+        Field.Builder field = Field.newField();
+        addCommonData(field, start);
+        field.name(name);
+        if (alias != null) {
+            field.alias(alias);
+        }
+        field.directives(directives);
+        field.arguments(arguments);
+        field.selectionSet(selectionSet);
+        return field.build();
+    }
+
+    private FragmentSpread fragmentSpread() {
+        int start = current;
+        expect(SPREAD);
+        String name = fragmentName();
+        List<Directive> directives = optionalDirectives();
+
+        FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(name);
+        addCommonData(fragmentSpread, start);
+        fragmentSpread.directives(directives);
+        return fragmentSpread.build();
+    }
+
+    private InlineFragment inlineFragment() {
+        int start = current;
+        expect(SPREAD);
+        TypeName typeCondition = null;
+        if (isKeyword(1, "on")) {
+            consume();
+            typeCondition = typeName();
+        }
+        List<Directive> directives = optionalDirectives();
+        SelectionSet selectionSet = selectionSet();
+
+        InlineFragment.Builder inlineFragment = InlineFragment.newInlineFragment();
+        addCommonData(inlineFragment, start);
+        if (typeCondition != null) {
+            inlineFragment.typeCondition(typeCondition);
+        }
+        inlineFragment.directives(directives);
+        inlineFragment.selectionSet(selectionSet);
+        return inlineFragment.build();
+    }
+
+    // common rules
+
+    private List<Argument> arguments() {
+        expect('(');
+        List<Argument> arguments = new ArrayList<>();
+        do {
+            arguments.add(argument());
+        } while (kind(1) == NAME);
+        expect(')');
+        return arguments;
+    }
+
+    private Argument argument() {
+        int start = current;
+        String name = name();
+        expect(':');
+        Value value = value(false);
+
+        Argument.Builder argument = Argument.newArgument();
+        addCommonData(argument, start);
+        argument.name(name);
+        argument.value(value);
+        return argument.build();
+    }
+
+    private List<Directive> optionalDirectives() {
+        List<Directive> directives = new ArrayList<>();
+        while (kind(1) == '@') {
+            directives.add(directive());
+        }
+        return directives;
+    }
+
+    private Directive directive() {
+        int start = current;
+        expect('@');
+        String name = name();
+        List<Argument> arguments = kind(1) == '(' ? arguments() : new ArrayList<>();
+
+        Directive.Builder directive = Directive.newDirective();
+        directive.name(name);
+        addCommonData(directive, start);
+        directive.arguments(arguments);
+        return directive.build();
+    }
+
+    private Value value(boolean constant) {
+        int start = current;
+        switch (kind(1)) {
+            case INT: {
+                IntValue.Builder intValue = IntValue.newIntValue().value(new BigInteger(text(1)));
+                consume();
+                addCommonData(intValue, start);
+                return intValue.build();
+            }
+            case FLOAT: {
+                FloatValue.Builder floatValue = FloatValue.newFloatValue().value(new BigDecimal(text(1)));
+                consume();
+                addCommonData(floatValue, start);
+                return floatValue.build();
+            }
+            case STRING:
+            case BLOCK_STRING: {
+                StringValue.Builder stringValue = StringValue.newStringValue().value(quotedString());
+                addCommonData(stringValue, start);
+                return stringValue.build();
+            }
+            case NAME: {
+                if (isKeyword(1, "true") || isKeyword(1, "false")) {
+                    BooleanValue.Builder booleanValue = BooleanValue.newBooleanValue().value(isKeyword(1, "true"));
+                    consume();
+                    addCommonData(booleanValue, start);
+                    return booleanValue.build();
+                }
+                if (isKeyword(1, "null")) {
+                    consume();
+                    return Null;
+                }
+                EnumValue.Builder enumValue = EnumValue.newEnumValue().name(name());
+                addCommonData(enumValue, start);
+                return enumValue.build();
+            }
+            case '[': {
+                consume();
+                List<Value> values = new ArrayList<>();
+                while (isValueStart(constant)) {
+                    values.add(value(constant));
+                }
+                expect(']');
+                ArrayValue.Builder arrayValue = ArrayValue.newArrayValue();
+                addCommonData(arrayValue, start);
+                return arrayValue.values(values).build();
+            }
+            case '{': {
+                consume();
+                List<ObjectField> objectFields = new ArrayList<>();
+                while (kind(1) == NAME) {
+                    String name = name();
+                    expect(':');
+                    objectFields.add(ObjectField.newObjectField().name(name).value(value(constant)).build());
+                }
+                expect('}');
+                ObjectValue.Builder objectValue = ObjectValue.newObjectValue();
+                addCommonData(objectValue, start);
+                return objectValue.objectFields(objectFields).build();
+            }
+            case '$': {
+                if (constant) {
+                    throw syntaxError();
+                }
+                consume();
+                VariableReference.Builder variableReference = VariableReference.newVariableReference().name(name());
+                addCommonData(variableReference, start);
+                return variableReference.build();
+            }
+            default:
+                throw syntaxError();
+        }
+    }
+
+    private boolean isValueStart(boolean constant) {
+        switch (kind(1)) {
+            case INT:
+            case FLOAT:
+            case STRING:
+            case BLOCK_STRING:
+            case NAME:
+            case '[':
+            case '{':
+                return true;
+            case '$':
+                return !constant;
+            default:
+                return false;
+        }
+    }
+
+    private String quotedString() {
+        String text = text(1);
+        boolean multiLine = kind(1) == BLOCK_STRING;
+        consume();
+        return multiLine ? parseTripleQuotedString(text) : parseSingleQuotedString(text);
+    }
+
+    private Type type() {
+        int start = current;
+        Type type;
+        if (kind(1) == '[') {
+            // like ANTLR, a list type is looked at as a whole to decide whether it is non null
+            int outerDecision = decisionStart;
+            if (outerDecision < 0) {
+                decisionStart = start;
+            }
+            consume();
+            Type wrappedType = type();
+            expect(']');
+            decisionStart = outerDecision;
+
+            ListType.Builder listType = ListType.newListType();
+            addCommonData(listType, start);
+            listType.type(wrappedType);
+            type = listType.build();
+        } else if (kind(1) == NAME) {
+            type = typeName();
+        } else {
+            throw syntaxError();
+        }
+        if (kind(1) == '!') {
+            consume();
+            NonNullType.Builder nonNullType = NonNullType.newNonNullType();
+            addCommonData(nonNullType, start);
+            nonNullType.type(type);
+            return nonNullType.build();
+        }
+        return type;
+    }
+
+    private TypeName typeName() {
+        int start = current;
+        TypeName.Builder typeName = TypeName.newTypeName();
+        typeName.name(name());
+        addCommonData(typeName, start);
+        return typeName.build();
+    }
+
+    private String name() {
+        if (kind(1) != NAME) {
+            throw syntaxError();
+        }
+        String name = text(1);
+        consume();
+        return name;
+    }
+
+    // type system definitions
+
+    private SDLDefinition typeSystemDefinition() {
+        int kind = kind(1);
+        if (kind == STRING || kind == BLOCK_STRING) {
+            // the description belongs to the definition that follows it, which decides which definition this is
+            if (isKeyword(2, "schema") || isString(2)) {
+                // like ANTLR the description in front of the schema definition is skipped
+                consume();
+                return schemaDefinition();
+            }
+            if (isKeyword(2, "directive")) {
+                return directiveDefinition();
+            }
+            if (kind(2) == NAME && isTypeKeyword(2)) {
+                return typeDefinition(2);
+            }
+            throw syntaxError();
+        }
+        if (isKeyword(1, "schema")) {
+            return schemaDefinition();
+        }
+        if (isKeyword(1, "directive")) {
+            return directiveDefinition();
+        }
+        if (isKeyword(1, "extend")) {
+            return typeExtension();
+        }
+        return typeDefinition(1);
+    }
+
+    private TypeDefinition typeDefinition(int keywordAt) {
+        if (isKeyword(keywordAt, "scalar")) {
+            return scalarTypeDefinition();
+        }
+        if (isKeyword(keywordAt, "type")) {
+            return objectTypeDefinition();
+        }
+        if (isKeyword(keywordAt, "interface")) {
+            return interfaceTypeDefinition();
+        }
+        if (isKeyword(keywordAt, "union")) {
+            return unionTypeDefinition();
+        }
+        if (isKeyword(keywordAt, "enum")) {
+            return enumTypeDefinition();
+        }
+        if (isKeyword(keywordAt, "input")) {
+            return inputObjectTypeDefinition();
+        }
+        throw syntaxError();
+    }
+
+    private SchemaDefinition schemaDefinition() {
+        int start = current;
+        optionalDescription();
+        expectKeyword("schema");
+        List<Directive> directives = optionalDirectives();
+        expect('{');
+        List<OperationTypeDefinition> operationTypeDefinitions = new ArrayList<>();
+        do {
+            operationTypeDefinitions.add(operationTypeDefinition());
+        } while (isString(1) || (kind(1) == NAME && isOperationType(1)));
+        expect('}');
+
+        SchemaDefinition.Builder schemaDefinition = SchemaDefinition.newSchemaDefinition();
+        addCommonData(schemaDefinition, start);
+        schemaDefinition.directives(directives);
+        schemaDefinition.operationTypeDefinitions(operationTypeDefinitions);
+        return schemaDefinition.build();
+    }
+
+    private OperationTypeDefinition operationTypeDefinition() {
+        int start = current;
+        optionalDescription();
+        if (kind(1) != NAME || !isOperationType(1)) {
+            throw syntaxError();
+        }
+        String name = name();
+        expect(':');
+        TypeName typeName = typeName();
+
+        OperationTypeDefinition.Builder operationTypeDefinition = OperationTypeDefinition.newOperationTypeDefinition();
+        operationTypeDefinition.name(name);
+        operationTypeDefinition.typeName(typeName);
+        addCommonData(operationTypeDefinition, start);
+        return operationTypeDefinition.build();
+    }
+
+    private ScalarTypeDefinition scalarTypeDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        expectKeyword("scalar");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+
+        ScalarTypeDefinition.Builder scalarTypeDefinition = ScalarTypeDefinition.newScalarTypeDefinition();
+        scalarTypeDefinition.name(name);
+        addCommonData(scalarTypeDefinition, start);
+        scalarTypeDefinition.description(description);
+        scalarTypeDefinition.directives(directives);
+        return scalarTypeDefinition.build();
+    }
+
+    private ObjectTypeDefinition objectTypeDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        expectKeyword("type");
+        String name = name();
+        List<Type> implementz = isKeyword(1, "implements") ? implementsInterfaces() : new ArrayList<>();
+        List<Directive> directives = optionalDirectives();
+        List<FieldDefinition> fieldDefinitions = optionalBody(this::fieldsDefinition);
+
+        ObjectTypeDefinition.Builder objectTypeDefinition = ObjectTypeDefinition.newObjectTypeDefinition();
+        objectTypeDefinition.name(name);
+        addCommonData(objectTypeDefinition, start);
+        objectTypeDefinition.description(description);
+        objectTypeDefinition.directives(directives);
+        objectTypeDefinition.implementz(implementz);
+        if (fieldDefinitions != null) {
+            objectTypeDefinition.fieldDefinitions(fieldDefinitions);
+        }
+        return objectTypeDefinition.build();
+    }
+
+    private List<Type> implementsInterfaces() {
+        expectKeyword("implements");
+        if (kind(1) == '&') {
+            consume();
+        }
+        List<Type> implementz = new ArrayList<>();
+        do {
+            implementz.add(typeName());
+        } while (kind(1) == NAME);
+        while (kind(1) == '&') {
+            consume();
+            implementz.add(typeName());
+        }
+        return implementz;
+    }
+
+    private List<FieldDefinition> fieldsDefinition() {
+        expect('{');
+        List<FieldDefinition> fieldDefinitions = new ArrayList<>();
+        while (isString(1) || kind(1) == NAME) {
+            fieldDefinitions.add(fieldDefinition());
+        }
+        expect('}');
+        return fieldDefinitions;
+    }
+
+    private FieldDefinition fieldDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        String name = name();
+        List<InputValueDefinition> inputValueDefinitions = kind(1) == '(' ? argumentsDefinition() : null;
+        expect(':');
+        Type type = type();
+        List<Directive> directives = optionalDirectives();
+
+        FieldDefinition.Builder fieldDefinition = FieldDefinition.newFieldDefinition();
+        fieldDefinition.name(name);
+        fieldDefinition.type(type);
+        addCommonData(fieldDefinition, start);
+        fieldDefinition.description(description);
+        fieldDefinition.directives(directives);
+        if (inputValueDefinitions != null) {
+            fieldDefinition.inputValueDefinitions(inputValueDefinitions);
+        }
+        return fieldDefinition.build();
+    }
+
+    private List<InputValueDefinition> argumentsDefinition() {
+        expect('(');
+        List<InputValueDefinition> inputValueDefinitions = new ArrayList<>();
+        do {
+            inputValueDefinitions.add(inputValueDefinition());
+        } while (isString(1) || kind(1) == NAME);
+        expect(')');
+        return inputValueDefinitions;
+    }
+
+    private InputValueDefinition inputValueDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        String name = name();
+        expect(':');
+        Type type = type();
+        Value defaultValue = null;
+        if (kind(1) == '=') {
+            consume();
+            defaultValue = value(true);
+        }
+        List<Directive> directives = optionalDirectives();
+
+        InputValueDefinition.Builder inputValueDefinition = InputValueDefinition.newInputValueDefinition();
+        inputValueDefinition.name(name);
+        inputValueDefinition.type(type);
+        addCommonData(inputValueDefinition, start);
+        inputValueDefinition.description(description);
+        if (defaultValue != null) {
+            inputValueDefinition.defaultValue(defaultValue);
+        }
+        inputValueDefinition.directives(directives);
+        return inputValueDefinition.build();
+    }
+
+    private InterfaceTypeDefinition interfaceTypeDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        expectKeyword("interface");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+        List<FieldDefinition> fieldDefinitions = optionalBody(this::fieldsDefinition);
+
+        InterfaceTypeDefinition.Builder interfaceTypeDefinition = InterfaceTypeDefinition.newInterfaceTypeDefinition();
+        interfaceTypeDefinition.name(name);
+        addCommonData(interfaceTypeDefinition, start);
+        interfaceTypeDefinition.description(description);
+        interfaceTypeDefinition.directives(directives);
+        interfaceTypeDefinition.definitions(fieldDefinitions != null ? fieldDefinitions : new ArrayList<>());
+        return interfaceTypeDefinition.build();
+    }
+
+    private UnionTypeDefinition unionTypeDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        expectKeyword("union");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+        List<Type> memberTypes = kind(1) == '=' ? unionMembership() : new ArrayList<>();
+
+        UnionTypeDefinition.Builder unionTypeDefinition = UnionTypeDefinition.newUnionTypeDefinition();
+        unionTypeDefinition.name(name);
+        addCommonData(unionTypeDefinition, start);
+        unionTypeDefinition.description(description);
+        unionTypeDefinition.directives(directives);
+        unionTypeDefinition.memberTypes(memberTypes);
+        return unionTypeDefinition.build();
+    }
+
+    private List<Type> unionMembership() {
+        expect('=');
+        if (kind(1) == '|') {
+            consume();
+        }
+        List<Type> memberTypes = new ArrayList<>();
+        memberTypes.add(typeName());
+        while (kind(1) == '|') {
+            consume();
+            memberTypes.add(typeName());
+        }
+        return memberTypes;
+    }
+
+    private EnumTypeDefinition enumTypeDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        expectKeyword("enum");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+        List<EnumValueDefinition> enumValueDefinitions = optionalBody(this::enumValueDefinitions);
+
+        EnumTypeDefinition.Builder enumTypeDefinition = EnumTypeDefinition.newEnumTypeDefinition();
+        enumTypeDefinition.name(name);
+        addCommonData(enumTypeDefinition, start);
+        enumTypeDefinition.description(description);
+        enumTypeDefinition.directives(directives);
+        if (enumValueDefinitions != null) {
+            enumTypeDefinition.enumValueDefinitions(enumValueDefinitions);
+        }
+        return enumTypeDefinition.build();
+    }
+
+    private List<EnumValueDefinition> enumValueDefinitions() {
+        expect('{');
+        List<EnumValueDefinition> enumValueDefinitions = new ArrayList<>();
+        while (isEnumValueDefinitionStart()) {
+            enumValueDefinitions.add(enumValueDefinition());
+        }
+        expect('}');
+        return enumValueDefinitions;
+    }
+
+    private boolean isEnumValueDefinitionStart() {
+        return isString(1) || (kind(1) == NAME && !isKeyword(1, "true") && !isKeyword(1, "false") && !isKeyword(1, "null"));
+    }
+
+    private EnumValueDefinition enumValueDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        if (kind(1) != NAME || isKeyword(1, "true") || isKeyword(1, "false") || isKeyword(1, "null")) {
+            throw syntaxError();
+        }
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+
+        EnumValueDefinition.Builder enumValueDefinition = EnumValueDefinition.newEnumValueDefinition();
+        enumValueDefinition.name(name);
+        addCommonData(enumValueDefinition, start);
+        enumValueDefinition.description(description);
+        enumValueDefinition.directives(directives);
+        return enumValueDefinition.build();
+    }
+
+    private InputObjectTypeDefinition inputObjectTypeDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        expectKeyword("input");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+        List<InputValueDefinition> inputValueDefinitions = optionalBody(this::inputObjectValueDefinitions);
+
+        InputObjectTypeDefinition.Builder inputObjectTypeDefinition = InputObjectTypeDefinition.newInputObjectDefinition();
+        inputObjectTypeDefinition.name(name);
+        addCommonData(inputObjectTypeDefinition, start);
+        inputObjectTypeDefinition.description(description);
+        inputObjectTypeDefinition.directives(directives);
+        if (inputValueDefinitions != null) {
+            inputObjectTypeDefinition.inputValueDefinitions(inputValueDefinitions);
+        }
+        return inputObjectTypeDefinition.build();
+    }
+
+    private List<InputValueDefinition> inputObjectValueDefinitions() {
+        expect('{');
+        List<InputValueDefinition> inputValueDefinitions = new ArrayList<>();
+        while (isString(1) || kind(1) == NAME) {
+            inputValueDefinitions.add(inputValueDefinition());
+        }
+        expect('}');
+        return inputValueDefinitions;
+    }
+
+    private DirectiveDefinition directiveDefinition() {
+        int start = current;
+        Description description = optionalDescription();
+        expectKeyword("directive");
+        expect('@');
+        String name = name();
+        List<InputValueDefinition> inputValueDefinitions = kind(1) == '(' ? argumentsDefinition() : null;
+        expectKeyword("on");
+        List<DirectiveLocation> directiveLocations = new ArrayList<>();
+        directiveLocations.add(directiveLocation());
+        while (kind(1) == '|') {
+            consume();
+            directiveLocations.add(directiveLocation());
+        }
+
+        DirectiveDefinition.Builder directiveDefinition = DirectiveDefinition.newDirectiveDefinition();
+        directiveDefinition.name(name);
+        addCommonData(directiveDefinition, start);
+        directiveDefinition.description(description);
+        directiveDefinition.directiveLocations(directiveLocations);
+        if (inputValueDefinitions != null) {
+            directiveDefinition.inputValueDefinitions(inputValueDefinitions);
+        }
+        return directiveDefinition.build();
+    }
+
+    private DirectiveLocation directiveLocation() {
+        int start = current;
+        DirectiveLocation.Builder directiveLocation = DirectiveLocation.newDirectiveLocation();
+        directiveLocation.name(name());
+        addCommonData(directiveLocation, start);
+        return directiveLocation.build();
+    }
+
+    private Description optionalDescription() {
+        if (!isString(1)) {
+            return null;
+        }
+        SourceLocation sourceLocation = parserOptions.isCaptureSourceLocation() ? sourceLocation(tokens[current]) : null;
+        boolean multiLine = kind(1) == BLOCK_STRING;
+        return new Description(quotedString(), sourceLocation, multiLine);
+    }
+
+    // type extensions
+
+    /*
+     * The alternatives of a type extension can only be told apart after its header, so like ANTLR any error up to that
+     * point is reported on the 'extend' keyword.
+     */
+    private TypeDefinition typeExtension() {
+        int start = current;
+        decisionStart = start;
+        expectKeyword("extend");
+        TypeDefinition typeExtension;
+        if (isKeyword(1, "scalar")) {
+            decisionStart = -1;
+            typeExtension = scalarTypeExtensionDefinition(start);
+        } else if (isKeyword(1, "type")) {
+            typeExtension = objectTypeExtensionDefinition(start);
+        } else if (isKeyword(1, "interface")) {
+            typeExtension = interfaceTypeExtensionDefinition(start);
+        } else if (isKeyword(1, "union")) {
+            typeExtension = unionTypeExtensionDefinition(start);
+        } else if (isKeyword(1, "enum")) {
+            typeExtension = enumTypeExtensionDefinition(start);
+        } else if (isKeyword(1, "input")) {
+            typeExtension = inputObjectTypeExtensionDefinition(start);
+        } else {
+            throw syntaxError();
+        }
+        decisionStart = -1;
+        return typeExtension;
+    }
+
+    private ScalarTypeExtensionDefinition scalarTypeExtensionDefinition(int start) {
+        expectKeyword("scalar");
+        String name = name();
+        if (kind(1) != '@') {
+            throw syntaxError();
+        }
+        List<Directive> directives = optionalDirectives();
+
+        ScalarTypeExtensionDefinition.Builder scalarTypeExtensionDefinition = ScalarTypeExtensionDefinition.newScalarTypeExtensionDefinition();
+        scalarTypeExtensionDefinition.name(name);
+        addCommonData(scalarTypeExtensionDefinition, start);
+        scalarTypeExtensionDefinition.directives(directives);
+        return scalarTypeExtensionDefinition.build();
+    }
+
+    private ObjectTypeExtensionDefinition objectTypeExtensionDefinition(int start) {
+        expectKeyword("type");
+        String name = name();
+        List<Type> implementz = isKeyword(1, "implements") ? implementsInterfaces() : new ArrayList<>();
+        List<Directive> directives = optionalDirectives();
+        List<FieldDefinition> fieldDefinitions = extensionBody(!directives.isEmpty() || !implementz.isEmpty(), !directives.isEmpty(), () -> {
+            expect('{');
+            List<FieldDefinition> definitions = new ArrayList<>();
+            do {
+                definitions.add(fieldDefinition());
+            } while (isString(1) || kind(1) == NAME);
+            expect('}');
+            return definitions;
+        });
+
+        ObjectTypeExtensionDefinition.Builder objectTypeExtensionDefinition = ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition();
+        objectTypeExtensionDefinition.name(name);
+        addCommonData(objectTypeExtensionDefinition, start);
+        objectTypeExtensionDefinition.directives(directives);
+        objectTypeExtensionDefinition.implementz(implementz);
+        if (fieldDefinitions != null) {
+            objectTypeExtensionDefinition.fieldDefinitions(fieldDefinitions);
+        }
+        return objectTypeExtensionDefinition.build();
+    }
+
+    private InterfaceTypeExtensionDefinition interfaceTypeExtensionDefinition(int start) {
+        expectKeyword("interface");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+        List<FieldDefinition> fieldDefinitions = extensionBody(!directives.isEmpty(), !directives.isEmpty(), () -> {
+            expect('{');
+            List<FieldDefinition> definitions = new ArrayList<>();
+            do {
+                definitions.add(fieldDefinition());
+            } while (isString(1) || kind(1) == NAME);
+            expect('}');
+            return definitions;
+        });
+
+        InterfaceTypeExtensionDefinition.Builder interfaceTypeExtensionDefinition = InterfaceTypeExtensionDefinition.newInterfaceTypeExtensionDefinition();
+        interfaceTypeExtensionDefinition.name(name);
+        addCommonData(interfaceTypeExtensionDefinition, start);
+        interfaceTypeExtensionDefinition.directives(directives);
+        interfaceTypeExtensionDefinition.definitions(fieldDefinitions != null ? fieldDefinitions : new ArrayList<>());
+        return interfaceTypeExtensionDefinition.build();
+    }
+
+    private UnionTypeExtensionDefinition unionTypeExtensionDefinition(int start) {
+        expectKeyword("union");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+        List<Type> memberTypes = null;
+        if (kind(1) == '=') {
+            decisionStart = -1;
+            memberTypes = unionMembership();
+        } else if (directives.isEmpty()) {
+            throw syntaxError();
+        }
+
+        UnionTypeExtensionDefinition.Builder unionTypeExtensionDefinition = UnionTypeExtensionDefinition.newUnionTypeExtensionDefinition();
+        unionTypeExtensionDefinition.name(name);
+        addCommonData(unionTypeExtensionDefinition, start);
+        unionTypeExtensionDefinition.directives(directives);
+        if (memberTypes != null) {
+            unionTypeExtensionDefinition.memberTypes(memberTypes);
+        }
+        return unionTypeExtensionDefinition.build();
+    }
+
+    private EnumTypeExtensionDefinition enumTypeExtensionDefinition(int start) {
+        expectKeyword("enum");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+        List<EnumValueDefinition> enumValueDefinitions = extensionBody(!directives.isEmpty(), !directives.isEmpty(), () -> {
+            expect('{');
+            List<EnumValueDefinition> definitions = new ArrayList<>();
+            do {
+                definitions.add(enumValueDefinition());
+            } while (isEnumValueDefinitionStart());
+            expect('}');
+            return definitions;
+        });
+
+        EnumTypeExtensionDefinition.Builder enumTypeExtensionDefinition = EnumTypeExtensionDefinition.newEnumTypeExtensionDefinition();
+        enumTypeExtensionDefinition.name(name);
+        addCommonData(enumTypeExtensionDefinition, start);
+        enumTypeExtensionDefinition.directives(directives);
+        if (enumValueDefinitions != null) {
+            enumTypeExtensionDefinition.enumValueDefinitions(enumValueDefinitions);
+        }
+        return enumTypeExtensionDefinition.build();
+    }
+
+    private InputObjectTypeExtensionDefinition inputObjectTypeExtensionDefinition(int start) {
+        expectKeyword("input");
+        String name = name();
+        List<Directive> directives = optionalDirectives();
+        List<InputValueDefinition> inputValueDefinitions = extensionBody(!directives.isEmpty(), !directives.isEmpty(), () -> {
+            expect('{');
+            List<InputValueDefinition> definitions = new ArrayList<>();
+            do {
+                definitions.add(inputValueDefinition());
+            } while (isString(1) || kind(1) == NAME);
+            expect('}');
+            return definitions;
+        });
+
+        InputObjectTypeExtensionDefinition.Builder inputObjectTypeExtensionDefinition = InputObjectTypeExtensionDefinition.newInputObjectTypeExtensionDefinition();
+        inputObjectTypeExtensionDefinition.name(name);
+        addCommonData(inputObjectTypeExtensionDefinition, start);
+        inputObjectTypeExtensionDefinition.directives(directives);
+        if (inputValueDefinitions != null) {
+            inputObjectTypeExtensionDefinition.inputValueDefinitions(inputValueDefinitions);
+        }
+        return inputObjectTypeExtensionDefinition.build();
+    }
+
+    /*
+     * An extension without directives or interfaces must have definitions, and the decision is made on its opening brace.
+     * Otherwise the extension may also end after its header, or after empty braces if it has directives.
+     */
+    private <T> T extensionBody(boolean mayEnd, boolean hasDirectives, Supplier<T> definitions) {
+        if (!mayEnd) {
+            if (kind(1) != '{') {
+                throw syntaxError();
+            }
+            decisionStart = -1;
+            return definitions.get();
+        }
+        if (hasDirectives && kind(1) == '{' && kind(2) == '}') {
+            consume();
+            consume();
+            return null;
+        }
+        return optionalBody(definitions);
+    }
+
+    // token helpers
+
+    private boolean isOperationType(int k) {
+        return isKeyword(k, "query") || isKeyword(k, "mutation") || isKeyword(k, "subscription");
+    }
+
+    private boolean isTypeKeyword(int k) {
+        return isKeyword(k, "scalar") || isKeyword(k, "type") || isKeyword(k, "interface")
+                || isKeyword(k, "union") || isKeyword(k, "enum") || isKeyword(k, "input");
+    }
+
+    private boolean isTypeSystemKeyword(int k) {
+        return isKeyword(k, "schema") || isKeyword(k, "directive") || isTypeKeyword(k);
+    }
+
+    private boolean isKeyword(int k, String keyword) {
+        return kind(k) == NAME && tokenizer.textEquals(tokens[current + k - 1], keyword);
+    }
+
+    private boolean isString(int k) {
+        int kind = kind(k);
+        return kind == STRING || kind == BLOCK_STRING;
+    }
+
+    private int kind(int k) {
+        int position = current + k - 1;
+        fetch(position);
+        return tokenizer.kind(tokens[position]);
+    }
+
+    private String text(int k) {
+        return tokenizer.text(tokens[current + k - 1]);
+    }
+
+    private void fetch(int position) {
+        while (tokenCount <= position) {
+            if (tokenCount == tokens.length) {
+                tokens = Arrays.copyOf(tokens, tokenCount * 2);
+            }
+            tokens[tokenCount++] = tokenizer.nextDefaultToken();
+        }
+    }
+
+    private void consume() {
+        current++;
+        // like the ANTLR token stream, the next token is always lexed once a token is consumed
+        fetch(current);
+    }
+
+    private void expect(int kind) {
+        if (kind(1) != kind) {
+            throw mismatch();
+        }
+        consume();
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!isKeyword(1, keyword)) {
+            throw mismatch();
+        }
+        consume();
+    }
+
+    /*
+     * ANTLR decides whether braces after a definition belong to it by also trying them as the selection set of an anonymous
+     * query that could follow the definition.  The braces only belong to the definition if that query fails sooner, since
+     * when both fail at the same token ANTLR prefers the alternative that has already left the definition.
+     */
+    private <T> T optionalBody(Supplier<T> body) {
+        if (kind(1) != '{') {
+            return null;
+        }
+        decisionStart = -1;
+        int start = current;
+        boolean outerSpeculating = speculating;
+        speculating = true;
+        try {
+            return body.get();
+        } catch (SpeculationFailed e) {
+            int bodyFailedAt = failedAt;
+            current = start;
+            decisionStart = -1;
+            speculating = outerSpeculating;
+            if (speculate(this::selectionSet) < bodyFailedAt) {
+                // parsed again to report the error of the body
+                return body.get();
+            }
+            return null;
+        } finally {
+            speculating = outerSpeculating;
+        }
+    }
+
+    /*
+     * returns the position of the token at which the rule failed or Integer.MAX_VALUE if it matched, without consuming anything
+     */
+    private int speculate(Runnable rule) {
+        int start = current;
+        int outerDecision = decisionStart;
+        boolean outerSpeculating = speculating;
+        speculating = true;
+        try {
+            rule.run();
+            return Integer.MAX_VALUE;
+        } catch (SpeculationFailed e) {
+            return failedAt;
+        } finally {
+            speculating = outerSpeculating;
+            current = start;
+            decisionStart = outerDecision;
+        }
+    }
+
+    private InvalidSyntaxException syntaxError() {
+        return syntaxError(0);
+    }
+
+    /*
+     * lookahead is how far past the current token the parse could not continue, which only matters while speculating
+     * since errors are always reported on the current token or the start of the decision
+     */
+    private InvalidSyntaxException syntaxError(int lookahead) {
+        if (!speculating) {
+            // ANTLR reports no viable alternative with the text of the whole token stream, so the rest of the document
+            // is lexed first and a token recognition error anywhere after this point is reported instead
+            fetchAll();
+        }
+        return mismatch(lookahead);
+    }
+
+    /*
+     * a token that does not match the single token that has to come next, which ANTLR reports without lexing any further
+     */
+    private InvalidSyntaxException mismatch() {
+        return mismatch(0);
+    }
+
+    private InvalidSyntaxException mismatch(int lookahead) {
+        if (speculating) {
+            failedAt = current + lookahead;
+            throw SpeculationFailed.INSTANCE;
+        }
+        int token = tokens[decisionStart >= 0 ? decisionStart : current];
+        return new InvalidSyntaxException(sourceLocation(token), null, preview(token), tokenizer.text(token), null);
+    }
+
+    private void fetchAll() {
+        while (tokenizer.kind(tokens[tokenCount - 1]) != EOF) {
+            fetch(tokenCount);
+        }
+    }
+
+    // node data
+
+    private void addCommonData(NodeBuilder nodeBuilder, int start) {
+        if (parserOptions.isCaptureLineComments()) {
+            List<Comment> comments = getComments(start);
+            if (!comments.isEmpty()) {
+                nodeBuilder.comments(comments);
+            }
+        }
+        if (parserOptions.isCaptureSourceLocation()) {
+            nodeBuilder.sourceLocation(sourceLocation(tokens[start]));
+        }
+        if (parserOptions.isCaptureIgnoredChars()) {
+            int stop = current - 1;
+            nodeBuilder.ignoredChars(new IgnoredChars(ignoredChars(hiddenStart(start), tokens[start]), ignoredChars(tokens[stop] + 1, tokens[stop + 1])));
+        }
+    }
+
+    private int hiddenStart(int position) {
+        return position == 0 ? 0 : tokens[position - 1] + 1;
+    }
+
+    private List<Comment> getComments(int start) {
+        int to = tokens[start];
+        List<Comment> comments = null;
+        for (int token = hiddenStart(start); token < to; token++) {
+            if (tokenizer.kind(token) == GraphqlTokenizer.COMMENT) {
+                if (comments == null) {
+                    comments = new ArrayList<>();
+                }
+                comments.add(createComment(token));
+            }
+        }
+        return comments == null ? Collections.emptyList() : comments;
+    }
+
+    private Comment createComment(int token) {
+        // we strip the leading hash # character but we don't trim, like the ANTLR parser does
+        String text = tokenizer.text(token).substring(1);
+        // multi source reader lines are 0 based while token lines are 1 based
+        MultiSourceReader.SourceAndLine sourceAndLine = multiSourceReader.getSourceAndLineFromOverallLine(tokenizer.line(token) - 1);
+        int column = tokenizer.column(token);
+        int line = sourceAndLine.getLine() + 1;
+        return new Comment(text, new SourceLocation(line, column, sourceAndLine.getSourceName()));
+    }
+
+    private List<IgnoredChar> ignoredChars(int from, int to) {
+        List<IgnoredChar> ignoredChars = null;
+        for (int token = from; token < to; token++) {
+            IgnoredChar.IgnoredCharKind kind = ignoredCharKind(tokenizer.kind(token));
+            if (kind != null) {
+                if (ignoredChars == null) {
+                    ignoredChars = new ArrayList<>();
+                }
+                ignoredChars.add(new IgnoredChar(tokenizer.text(token), kind, sourceLocation(token)));
+            }
+        }
+        return ignoredChars == null ? Collections.emptyList() : ignoredChars;
+    }
+
+    private static IgnoredChar.IgnoredCharKind ignoredCharKind(int kind) {
+        switch (kind) {
+            case GraphqlTokenizer.CR:
+                return IgnoredChar.IgnoredCharKind.CR;
+            case GraphqlTokenizer.LF:
+                return IgnoredChar.IgnoredCharKind.LF;
+            case GraphqlTokenizer.TAB:
+                return IgnoredChar.IgnoredCharKind.TAB;
+            case GraphqlTokenizer.COMMA:
+                return IgnoredChar.IgnoredCharKind.COMMA;
+            case GraphqlTokenizer.SPACE:
+                return IgnoredChar.IgnoredCharKind.SPACE;
+            case GraphqlTokenizer.LINE_TERMINATOR:
+            case GraphqlTokenizer.BOM:
+                return IgnoredChar.IgnoredCharKind.OTHER;
+            default:
+                return null;
+        }
+    }
+
+    private SourceLocation sourceLocation(int token) {
+        return AntlrHelper.createSourceLocation(multiSourceReader, tokenizer.line(token), tokenizer.column(token));
+    }
+
+    private String preview(int token) {
+        return AntlrHelper.createPreview(multiSourceReader, tokenizer.line(token));
+    }
+
+    private static class SpeculationFailed extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private static final SpeculationFailed INSTANCE = new SpeculationFailed();
+
+        private SpeculationFailed() {
+            super(null, null, false, false);
+        }
+    }
+}
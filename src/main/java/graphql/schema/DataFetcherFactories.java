@@ -20,7 +20,7 @@ public class DataFetcherFactories {
      * @return a data fetcher factory that always returns the provided data fetcher
      */
     public static <T> DataFetcherFactory<T> useDataFetcher(DataFetcher<T> dataFetcher) {
-        return fieldDefinition -> dataFetcher;
+        return new StaticDataFetcherFactory<>(dataFetcher);
     }
 
     /**
@@ -44,4 +44,20 @@ public class DataFetcherFactories {
         };
     }
 
+    /**
+     * A factory that always returns the same data fetcher, which means the {@link graphql.schema.GraphQLCodeRegistry} can
+     * resolve it once and reuse it
+     */
+    static class StaticDataFetcherFactory<T> implements DataFetcherFactory<T> {
+        private final DataFetcher<T> dataFetcher;
+
+        StaticDataFetcherFactory(DataFetcher<T> dataFetcher) {
+            this.dataFetcher = dataFetcher;
+        }
+
+        @Override
+        public DataFetcher<T> get(DataFetcherFactoryEnvironment environment) {
+            return dataFetcher;
+        }
+    }
 }
@@ -6,6 +6,8 @@ import graphql.schema.visibility.GraphqlFieldVisibility;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
 import static graphql.Assert.assertNotNull;
@@ -31,6 +33,8 @@ public class GraphQLCodeRegistry {
     private final Map<String, DataFetcherFactory> systemDataFetcherMap;
     private final Map<String, TypeResolver> typeResolverMap;
     private final GraphqlFieldVisibility fieldVisibility;
+    // the data fetchers resolved from static factories, keyed by container and field definition identity
+    private final ConcurrentMap<GraphQLFieldsContainer, ConcurrentMap<GraphQLFieldDefinition, DataFetcher>> resolvedDataFetchers = new ConcurrentHashMap<>();
 
     private GraphQLCodeRegistry(Map<FieldCoordinates, DataFetcherFactory> dataFetcherMap, Map<String, DataFetcherFactory> systemDataFetcherMap, Map<String, TypeResolver> typeResolverMap, GraphqlFieldVisibility fieldVisibility) {
         this.dataFetcherMap = dataFetcherMap;
@@ -55,7 +59,22 @@ public class GraphQLCodeRegistry {
      * @return the DataFetcher associated with this field.  All fields have data fetchers
      */
     public DataFetcher getDataFetcher(GraphQLFieldsContainer parentType, GraphQLFieldDefinition fieldDefinition) {
-        return getDataFetcherImpl(FieldCoordinates.coordinates(parentType, fieldDefinition), fieldDefinition, dataFetcherMap, systemDataFetcherMap);
+        ConcurrentMap<GraphQLFieldDefinition, DataFetcher> fieldDataFetchers = resolvedDataFetchers.get(parentType);
+        if (fieldDataFetchers != null) {
+            DataFetcher dataFetcher = fieldDataFetchers.get(fieldDefinition);
+            if (dataFetcher != null) {
+                return dataFetcher;
+            }
+        }
+        //
+        // factories that always return the same data fetcher (including the default property data fetcher) are resolved once
+        // while other factories are asked each time since they may be binding data fetchers per request
+        DataFetcherFactory dataFetcherFactory = getDataFetcherFactory(FieldCoordinates.coordinates(parentType, fieldDefinition), fieldDefinition, dataFetcherMap, systemDataFetcherMap);
+        DataFetcher dataFetcher = getDataFetcher(dataFetcherFactory, fieldDefinition);
+        if (dataFetcherFactory instanceof DataFetcherFactories.StaticDataFetcherFactory) {
+            resolvedDataFetchers.computeIfAbsent(parentType, k -> new ConcurrentHashMap<>()).putIfAbsent(fieldDefinition, dataFetcher);
+        }
+        return dataFetcher;
     }
 
     /**
@@ -71,6 +90,11 @@ public class GraphQLCodeRegistry {
     }
 
     private static DataFetcher getDataFetcherImpl(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition, Map<FieldCoordinates, DataFetcherFactory> dataFetcherMap, Map<String, DataFetcherFactory> systemDataFetcherMap) {
+        DataFetcherFactory dataFetcherFactory = getDataFetcherFactory(coordinates, fieldDefinition, dataFetcherMap, systemDataFetcherMap);
+        return getDataFetcher(dataFetcherFactory, fieldDefinition);
+    }
+
+    private static DataFetcherFactory getDataFetcherFactory(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition, Map<FieldCoordinates, DataFetcherFactory> dataFetcherMap, Map<String, DataFetcherFactory> systemDataFetcherMap) {
         assertNotNull(coordinates);
         assertNotNull(fieldDefinition);
 
@@ -81,6 +105,10 @@ public class GraphQLCodeRegistry {
                 dataFetcherFactory = DataFetcherFactories.useDataFetcher(new PropertyDataFetcher<>(fieldDefinition.getName()));
             }
         }
+        return dataFetcherFactory;
+    }
+
+    private static DataFetcher getDataFetcher(DataFetcherFactory dataFetcherFactory, GraphQLFieldDefinition fieldDefinition) {
         return dataFetcherFactory.get(newDataFetchingFactoryEnvironment()
                 .fieldDefinition(fieldDefinition)
                 .build());
@@ -390,7 +418,8 @@ public class GraphQLCodeRegistry {
         }
 
         public GraphQLCodeRegistry build() {
-            return new GraphQLCodeRegistry(dataFetcherMap, systemDataFetcherMap, typeResolverMap, fieldVisibility);
+            // the maps are copied since the code registry memoizes the data fetchers it resolves from them
+            return new GraphQLCodeRegistry(new LinkedHashMap<>(dataFetcherMap), new LinkedHashMap<>(systemDataFetcherMap), new HashMap<>(typeResolverMap), fieldVisibility);
         }
     }
 }
@@ -0,0 +1,156 @@
+package graphql.schema;
+
+import graphql.Internal;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * This generates direct getter functions for POJO properties via {@link java.lang.invoke.LambdaMetafactory} so that
+ * {@link PropertyDataFetcher} can call a getter as a plain function rather than via reflection.
+ *
+ * Only public zero argument getters on public classes that are visible to graphql-java's class loader are
+ * supported.  In all other cases no getter function is returned and the reflective approach must be used.
+ */
+@Internal
+class LambdaFetchingSupport {
+
+    private static volatile ClassValue<ClassGetters> getterCache = newGetterCache();
+
+    /*
+     * The getters of a class by property name, kept apart for boolean properties so that a lookup needs no composite key
+     */
+    private static class ClassGetters {
+        private final ConcurrentMap<String, Optional<Function<Object, Object>>> getters = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Optional<Function<Object, Object>>> booleanGetters = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns a getter function for the property of the source class, trying the `is` prefix first for boolean properties
+     *
+     * @param sourceClass     the class of the source object
+     * @param propertyName    the name of the property
+     * @param booleanProperty whether the property is a boolean property
+     *
+     * @return a getter function or null if one can't be generated
+     */
+    static Function<Object, Object> getGetter(Class<?> sourceClass, String propertyName, boolean booleanProperty) {
+        ClassGetters classGetters = getterCache.get(sourceClass);
+        ConcurrentMap<String, Optional<Function<Object, Object>>> getters = booleanProperty ? classGetters.booleanGetters : classGetters.getters;
+        Optional<Function<Object, Object>> getter = getters.get(propertyName);
+        if (getter == null) {
+            getter = Optional.ofNullable(createGetter(sourceClass, propertyName, booleanProperty));
+            getters.putIfAbsent(propertyName, getter);
+        }
+        return getter.orElse(null);
+    }
+
+    static void clearGetterCache() {
+        getterCache = newGetterCache();
+    }
+
+    private static ClassValue<ClassGetters> newGetterCache() {
+        return new ClassValue<ClassGetters>() {
+            @Override
+            protected ClassGetters computeValue(Class<?> type) {
+                return new ClassGetters();
+            }
+        };
+    }
+
+    private static Function<Object, Object> createGetter(Class<?> sourceClass, String propertyName, boolean booleanProperty) {
+        Class<?> publicClass = findPublicClass(sourceClass);
+        if (publicClass == null) {
+            return null;
+        }
+        String suffix = propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
+        if (booleanProperty) {
+            String isGetterName = "is" + suffix;
+            if (hasMethod(publicClass, isGetterName)) {
+                return mkGetterFunction(publicClass, isGetterName);
+            }
+        }
+        return mkGetterFunction(publicClass, "get" + suffix);
+    }
+
+    /*
+     * This follows the same search as PropertyDataFetcher#findPubliclyAccessibleMethod, that is the getter is looked up
+     * on the first public class in the hierarchy
+     */
+    private static Class<?> findPublicClass(Class<?> sourceClass) {
+        Class<?> currentClass = sourceClass;
+        while (currentClass != null) {
+            if (Modifier.isPublic(currentClass.getModifiers())) {
+                return currentClass;
+            }
+            currentClass = currentClass.getSuperclass();
+        }
+        return null;
+    }
+
+    private static boolean hasMethod(Class<?> publicClass, String methodName) {
+        return getMethod(publicClass, methodName) != null || getMethod(publicClass, methodName, DataFetchingEnvironment.class) != null;
+    }
+
+    private static Method getMethod(Class<?> publicClass, String methodName, Class<?>... parameterTypes) {
+        try {
+            return publicClass.getMethod(methodName, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Function<Object, Object> mkGetterFunction(Class<?> publicClass, String getterName) {
+        // getters that take a DataFetchingEnvironment are preferred by PropertyDataFetcher and are left to it
+        if (getMethod(publicClass, getterName, DataFetchingEnvironment.class) != null) {
+            return null;
+        }
+        Method method = getMethod(publicClass, getterName);
+        if (method == null || Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) {
+            return null;
+        }
+        return mkGetterFunction(method);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> mkGetterFunction(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (!isVisibleToUs(declaringClass)) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle methodHandle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    methodHandle,
+                    methodHandle.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable ignored) {
+            // the getter can't be turned into a function so we use reflection instead
+            return null;
+        }
+    }
+
+    /*
+     * The generated function class lives in our class loader so the getter's class must be resolvable from it
+     */
+    private static boolean isVisibleToUs(Class<?> declaringClass) {
+        try {
+            return Class.forName(declaringClass.getName(), false, LambdaFetchingSupport.class.getClassLoader()) == declaringClass;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
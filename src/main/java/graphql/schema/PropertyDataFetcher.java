@@ -34,6 +34,7 @@ import static graphql.schema.GraphQLTypeUtil.unwrapOne;
  * <li>If the source is null, return null</li>
  * <li>If the source is a Map, return map.get(propertyName)</li>
  * <li>If a function is provided, it is used</li>
+ * <li>If enabled via {@link #setUseLambdaFactory(boolean)}, use a generated getter function for a public JavaBean getter method named `propertyName`</li>
  * <li>Find a public JavaBean getter method named `propertyName`</li>
  * <li>Find any getter method named `propertyName` and call method.setAccessible(true)</li>
  * <li>Find a public field named `propertyName`</li>
@@ -53,6 +54,7 @@ public class PropertyDataFetcher<T> implements DataFetcher<T>, TrivialDataFetche
     private final Function<Object, Object> function;
 
     private static final AtomicBoolean USE_SET_ACCESSIBLE = new AtomicBoolean(true);
+    private static final AtomicBoolean USE_LAMBDA_FACTORY = new AtomicBoolean(false);
     private static final ConcurrentMap<String, Method> METHOD_CACHE = new ConcurrentHashMap<>();
     private static final ConcurrentMap<String, Field> FIELD_CACHE = new ConcurrentHashMap<>();
 
@@ -143,7 +145,14 @@ public class PropertyDataFetcher<T> implements DataFetcher<T>, TrivialDataFetche
         if (source instanceof Map) {
             return (T) ((Map<?, ?>) source).get(propertyName);
         }
-        return (T) getPropertyViaGetter(source, environment.getFieldType(), environment);
+        GraphQLOutputType fieldType = environment.getFieldType();
+        if (USE_LAMBDA_FACTORY.get()) {
+            Function<Object, Object> getter = LambdaFetchingSupport.getGetter(source.getClass(), propertyName, isBooleanProperty(fieldType));
+            if (getter != null) {
+                return (T) getter.apply(source);
+            }
+        }
+        return (T) getPropertyViaGetter(source, fieldType, environment);
     }
 
     private Object getPropertyViaGetter(Object object, GraphQLOutputType outputType, DataFetchingEnvironment environment) {
@@ -211,6 +220,7 @@ public class PropertyDataFetcher<T> implements DataFetcher<T>, TrivialDataFetche
     public static void clearReflectionCache() {
         METHOD_CACHE.clear();
         FIELD_CACHE.clear();
+        LambdaFetchingSupport.clearGetterCache();
     }
 
     /**
@@ -225,6 +235,21 @@ public class PropertyDataFetcher<T> implements DataFetcher<T>, TrivialDataFetche
         return USE_SET_ACCESSIBLE.getAndSet(flag);
     }
 
+    /**
+     * This can be used to control whether PropertyDataFetcher will generate getter functions via {@link java.lang.invoke.LambdaMetafactory}
+     * for public getter methods, which makes fetching a POJO property a direct method call rather than a reflective one.  Getters that
+     * can't be turned into functions, for example non public ones or those in classes not visible to graphql-java's class loader, are still
+     * invoked via reflection.  Note that exceptions thrown by a getter function are not wrapped in a {@link graphql.GraphQLException}.
+     * By default PropertyDataFetcher will NOT use getter functions.
+     *
+     * @param flag whether to use generated getter functions
+     *
+     * @return the previous value of the flag
+     */
+    public static boolean setUseLambdaFactory(boolean flag) {
+        return USE_LAMBDA_FACTORY.getAndSet(flag);
+    }
+
     private String mkKey(Class clazz, String propertyName) {
         return clazz.getName() + "__" + propertyName;
     }
@@ -0,0 +1,241 @@
+package graphql.util;
+
+import graphql.Internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * An in memory cache that is bounded by the total weight of its values, which by default is their number, and evicts
+ * the least recently used values first.
+ * <p>
+ * The cache is split into segments by the hash of the keys, each with its own lock and an equal share of the maximum
+ * weight, so that requests for different keys don't contend on one lock.  Hence the least recently used order is kept
+ * per segment.  Small caches have a single segment and so evict in exact least recently used order.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+@Internal
+public class BoundedCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final long MIN_SEGMENT_WEIGHT = 64;
+
+    private final Segment<K, V>[] segments;
+    private final ToLongFunction<V> weigher;
+    private final LongAdder evictionCount = new LongAdder();
+
+    private BoundedCache(long maximumWeight, ToLongFunction<V> weigher) {
+        assertTrue(maximumWeight > 0, "The maximum weight must be positive");
+        this.weigher = assertNotNull(weigher);
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maximumWeight / (segmentCount * 2) >= MIN_SEGMENT_WEIGHT) {
+            segmentCount *= 2;
+        }
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maximumWeight / segmentCount);
+        }
+        this.segments = segments;
+    }
+
+    /**
+     * @param maximumSize the maximum number of values
+     * @param <K>         the type of the keys
+     * @param <V>         the type of the values
+     *
+     * @return a cache bounded by its number of values
+     */
+    public static <K, V> BoundedCache<K, V> newBoundedCache(long maximumSize) {
+        return new BoundedCache<>(maximumSize, value -> 1);
+    }
+
+    /**
+     * A value that weighs more than the share of a segment is not cached at all, since it would evict every other value
+     * of its segment.
+     *
+     * @param maximumWeight the maximum total weight of the values
+     * @param weigher       the function giving the weight of a value, which is at least one
+     * @param <K>           the type of the keys
+     * @param <V>           the type of the values
+     *
+     * @return a cache bounded by the total weight of its values
+     */
+    public static <K, V> BoundedCache<K, V> newWeightedBoundedCache(long maximumWeight, ToLongFunction<V> weigher) {
+        return new BoundedCache<>(maximumWeight, weigher);
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int hash = key.hashCode();
+        // spread the higher bits since keys often differ in them only
+        hash ^= hash >>> 16;
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * @param key the key
+     *
+     * @return the value of the key, which is then the most recently used one, or null if there is none
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Weighted<V> weighted = segment.entries.get(key);
+            return weighted == null ? null : weighted.value;
+        }
+    }
+
+    /**
+     * Puts the value of the key, evicting the least recently used values of its segment as needed
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        putInSegment(key, value, false);
+    }
+
+    /**
+     * Puts the value of the key unless the key already has one
+     *
+     * @param key   the key
+     * @param value the value
+     *
+     * @return the value the key already had or null if the value was put
+     */
+    public V putIfAbsent(K key, V value) {
+        return putInSegment(key, value, true);
+    }
+
+    private V putInSegment(K key, V value, boolean onlyIfAbsent) {
+        assertNotNull(value);
+        long weight = Math.max(1, weigher.applyAsLong(value));
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            if (onlyIfAbsent) {
+                Weighted<V> existing = segment.entries.get(key);
+                if (existing != null) {
+                    return existing.value;
+                }
+            }
+            if (weight > segment.maximumWeight) {
+                segment.remove(key);
+                return null;
+            }
+            Weighted<V> previous = segment.entries.put(key, new Weighted<>(value, weight));
+            if (previous != null) {
+                segment.totalWeight -= previous.weight;
+            }
+            segment.totalWeight += weight;
+            Iterator<Weighted<V>> leastRecentlyUsed = segment.entries.values().iterator();
+            while (segment.totalWeight > segment.maximumWeight && leastRecentlyUsed.hasNext()) {
+                Weighted<V> evicted = leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                segment.totalWeight -= evicted.weight;
+                evictionCount.increment();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes the value of the key if it is still the given value
+     *
+     * @param key   the key
+     * @param value the value expected for the key
+     *
+     * @return true if the value was removed
+     */
+    public boolean remove(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Weighted<V> weighted = segment.entries.get(key);
+            if (weighted == null || weighted.value != value) {
+                return false;
+            }
+            segment.remove(key);
+            return true;
+        }
+    }
+
+    /**
+     * Removes all the values
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+                segment.totalWeight = 0;
+            }
+        }
+    }
+
+    /**
+     * @return the number of values
+     */
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the total weight of the values
+     */
+    public long weight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                weight += segment.totalWeight;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * @return the number of values that were evicted to stay within the maximum weight
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    private static class Segment<K, V> {
+        private final long maximumWeight;
+        // these are guarded by the segment itself
+        private final LinkedHashMap<K, Weighted<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long totalWeight;
+
+        Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        // called with the segment locked
+        private void remove(Object key) {
+            Weighted<V> removed = entries.remove(key);
+            if (removed != null) {
+                totalWeight -= removed.weight;
+            }
+        }
+    }
+
+    private static class Weighted<V> {
+        private final V value;
+        private final long weight;
+
+        Weighted(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package graphql.validation;
+
+import graphql.PublicApi;
+import graphql.schema.GraphQLSchema;
+import graphql.util.BoundedCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link ValidationCache} that keeps the validation errors of queries in memory, keyed by the identity of the
+ * schema and the query text.
+ * <p>
+ * The cache is bounded by its number of entries and the least recently used entries are evicted first.  A large cache
+ * is split into segments with their own locks, so that concurrent requests don't contend, and then the least recently
+ * used order is kept per segment.  An entry only
+ * retains the query text and its validation errors, which are empty for valid queries, so entries are small.  The
+ * entries of a schema that is no longer used are evicted as they age.
+ *
+ * <pre>
+ * {@code
+ *     GraphQL graphQL = GraphQL.newGraphQL(schema)
+ *             .validationCache(InMemoryValidationCache.newInMemoryValidationCache().maximumSize(5_000).build())
+ *             .build();
+ * }
+ * </pre>
+ */
+@PublicApi
+public class InMemoryValidationCache implements ValidationCache {
+
+    /**
+     * The default maximum number of cached queries
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final BoundedCache<Key, List<ValidationError>> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private InMemoryValidationCache(Builder builder) {
+        this.entries = BoundedCache.newBoundedCache(builder.maximumSize);
+    }
+
+    @Override
+    public List<ValidationError> getValidationErrors(GraphQLSchema schema, String query, Supplier<List<ValidationError>> validateFunction) {
+        Key key = new Key(schema, query);
+        List<ValidationError> errors = entries.get(key);
+        if (errors != null) {
+            hitCount.increment();
+            return errors;
+        }
+        missCount.increment();
+        // concurrent misses on the same query each validate it, which is cheaper than making them wait
+        errors = Collections.unmodifiableList(new ArrayList<>(validateFunction.get()));
+        entries.put(key, errors);
+        return errors;
+    }
+
+    /**
+     * Removes all the entries from the cache, for example when a schema is replaced
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of times the validation errors of a query were found in the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of times a query was validated
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of queries in the cache
+     */
+    public int getSize() {
+        return (int) entries.size();
+    }
+
+    private static class Key {
+        private final GraphQLSchema schema;
+        private final String query;
+        private final int hashCode;
+
+        Key(GraphQLSchema schema, String query) {
+            this.schema = schema;
+            this.query = query;
+            this.hashCode = 31 * System.identityHashCode(schema) + query.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return schema == key.schema && query.equals(key.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static Builder newInMemoryValidationCache() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+        /**
+         * The maximum number of cached queries
+         *
+         * @param maximumSize the maximum number of entries
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            assertTrue(maximumSize > 0, "The maximum size must be positive");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public InMemoryValidationCache build() {
+            return new InMemoryValidationCache(this);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package graphql.validation;
+
+import graphql.PublicApi;
+import graphql.schema.GraphQLSchema;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ValidationCache} that validates every query
+ */
+@PublicApi
+public class NoOpValidationCache implements ValidationCache {
+    public static final NoOpValidationCache INSTANCE = new NoOpValidationCache();
+
+    @Override
+    public List<ValidationError> getValidationErrors(GraphQLSchema schema, String query, Supplier<List<ValidationError>> validateFunction) {
+        return validateFunction.get();
+    }
+}
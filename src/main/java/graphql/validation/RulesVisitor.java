@@ -1,11 +1,10 @@
 package graphql.validation;
 
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.IdentityHashMap;
-import java.util.LinkedHashSet;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import graphql.Internal;
@@ -23,15 +22,73 @@ import graphql.language.TypeName;
 import graphql.language.VariableDefinition;
 import graphql.language.VariableReference;
 
+/**
+ * Runs the validation rules over the nodes of a document.
+ * <p>
+ * Most rules only look at a few kinds of node, so a dispatch table is built up front that maps each callback of
+ * {@link AbstractRule} to the rules that actually override it.  Every node is then only handed to the rules that
+ * are interested in it.
+ */
 @Internal
 public class RulesVisitor implements DocumentVisitor {
 
-    private final List<AbstractRule> rules = new ArrayList<>();
+    private enum Callback {
+        CHECK_DOCUMENT("checkDocument", Document.class),
+        CHECK_ARGUMENT("checkArgument", Argument.class),
+        CHECK_TYPE_NAME("checkTypeName", TypeName.class),
+        CHECK_VARIABLE_DEFINITION("checkVariableDefinition", VariableDefinition.class),
+        CHECK_FIELD("checkField", Field.class),
+        CHECK_INLINE_FRAGMENT("checkInlineFragment", InlineFragment.class),
+        CHECK_DIRECTIVE("checkDirective", Directive.class, List.class),
+        CHECK_FRAGMENT_SPREAD("checkFragmentSpread", FragmentSpread.class),
+        CHECK_FRAGMENT_DEFINITION("checkFragmentDefinition", FragmentDefinition.class),
+        CHECK_OPERATION_DEFINITION("checkOperationDefinition", OperationDefinition.class),
+        CHECK_SELECTION_SET("checkSelectionSet", SelectionSet.class),
+        CHECK_VARIABLE("checkVariable", VariableReference.class),
+        LEAVE_OPERATION_DEFINITION("leaveOperationDefinition", OperationDefinition.class),
+        LEAVE_SELECTION_SET("leaveSelectionSet", SelectionSet.class),
+        DOCUMENT_FINISHED("documentFinished", Document.class);
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+
+        Callback(String methodName, Class<?>... parameterTypes) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        boolean isOverriddenBy(Class<?> ruleClass) {
+            try {
+                Method method = ruleClass.getMethod(methodName, parameterTypes);
+                return method.getDeclaringClass() != AbstractRule.class;
+            } catch (NoSuchMethodException e) {
+                // we can't tell, so the rule is always called
+                return true;
+            }
+        }
+    }
+
+    private static final ClassValue<Set<Callback>> OVERRIDDEN_CALLBACKS = new ClassValue<Set<Callback>>() {
+        @Override
+        protected Set<Callback> computeValue(Class<?> ruleClass) {
+            Set<Callback> callbacks = EnumSet.noneOf(Callback.class);
+            for (Callback callback : Callback.values()) {
+                if (callback.isOverriddenBy(ruleClass)) {
+                    callbacks.add(callback);
+                }
+            }
+            return callbacks;
+        }
+    };
+
     private final ValidationContext validationContext;
-    private boolean subVisitor;
+    private final boolean subVisitor;
     private final List<AbstractRule> rulesVisitingFragmentSpreads = new ArrayList<>();
-    private final Map<Node, List<AbstractRule>> rulesToSkipByUntilNode = new IdentityHashMap<>();
-    private final Set<AbstractRule> rulesToSkip = new LinkedHashSet<>();
+    private final AbstractRule[][] rulesByCallback;
+    // inside a fragment definition the rules visiting fragment spreads are skipped, since they see the fragment from the spreads
+    private final AbstractRule[][] rulesOutsideFragmentSpreadsByCallback;
+    private RulesVisitor fragmentSpreadVisitor;
+    private Node<?> skipRulesVisitingFragmentSpreadsUntil;
 
     public RulesVisitor(ValidationContext validationContext, List<AbstractRule> rules) {
         this(validationContext, rules, false);
@@ -40,146 +97,161 @@ public class RulesVisitor implements DocumentVisitor {
     public RulesVisitor(ValidationContext validationContext, List<AbstractRule> rules, boolean subVisitor) {
         this.validationContext = validationContext;
         this.subVisitor = subVisitor;
-        this.rules.addAll(rules);
-        this.subVisitor = subVisitor;
-        findRulesVisitingFragmentSpreads();
-    }
-
-    private void findRulesVisitingFragmentSpreads() {
+        List<AbstractRule> rulesOutsideFragmentSpreads = new ArrayList<>();
         for (AbstractRule rule : rules) {
             if (rule.isVisitFragmentSpreads()) {
                 rulesVisitingFragmentSpreads.add(rule);
+            } else {
+                rulesOutsideFragmentSpreads.add(rule);
             }
         }
+        this.rulesByCallback = buildDispatchTable(rules);
+        this.rulesOutsideFragmentSpreadsByCallback = buildDispatchTable(rulesOutsideFragmentSpreads);
+        if (subVisitor) {
+            // a sub visitor only has rules visiting fragment spreads, so it can follow further spreads itself
+            this.fragmentSpreadVisitor = this;
+        }
+    }
+
+    private static AbstractRule[][] buildDispatchTable(List<AbstractRule> rules) {
+        Callback[] callbacks = Callback.values();
+        AbstractRule[][] dispatchTable = new AbstractRule[callbacks.length][];
+        for (Callback callback : callbacks) {
+            List<AbstractRule> rulesForCallback = new ArrayList<>();
+            for (AbstractRule rule : rules) {
+                if (OVERRIDDEN_CALLBACKS.get(rule.getClass()).contains(callback)) {
+                    rulesForCallback.add(rule);
+                }
+            }
+            dispatchTable[callback.ordinal()] = rulesForCallback.toArray(new AbstractRule[0]);
+        }
+        return dispatchTable;
+    }
+
+    private AbstractRule[] rulesFor(Callback callback) {
+        AbstractRule[][] dispatchTable = skipRulesVisitingFragmentSpreadsUntil != null ? rulesOutsideFragmentSpreadsByCallback : rulesByCallback;
+        return dispatchTable[callback.ordinal()];
     }
 
     @Override
     public void enter(Node node, List<Node> ancestors) {
         validationContext.getTraversalContext().enter(node, ancestors);
-        Set<AbstractRule> tmpRulesSet = new LinkedHashSet<>(this.rules);
-        tmpRulesSet.removeAll(rulesToSkip);
-        List<AbstractRule> rulesToConsider = new ArrayList<>(tmpRulesSet);
-        if (node instanceof Document){
-            checkDocument((Document) node, rulesToConsider);
+        if (node instanceof Document) {
+            checkDocument((Document) node);
         } else if (node instanceof Argument) {
-            checkArgument((Argument) node, rulesToConsider);
+            checkArgument((Argument) node);
         } else if (node instanceof TypeName) {
-            checkTypeName((TypeName) node, rulesToConsider);
+            checkTypeName((TypeName) node);
         } else if (node instanceof VariableDefinition) {
-            checkVariableDefinition((VariableDefinition) node, rulesToConsider);
+            checkVariableDefinition((VariableDefinition) node);
         } else if (node instanceof Field) {
-            checkField((Field) node, rulesToConsider);
+            checkField((Field) node);
         } else if (node instanceof InlineFragment) {
-            checkInlineFragment((InlineFragment) node, rulesToConsider);
+            checkInlineFragment((InlineFragment) node);
         } else if (node instanceof Directive) {
-            checkDirective((Directive) node, ancestors, rulesToConsider);
+            checkDirective((Directive) node, ancestors);
         } else if (node instanceof FragmentSpread) {
-            checkFragmentSpread((FragmentSpread) node, rulesToConsider, ancestors);
+            checkFragmentSpread((FragmentSpread) node, ancestors);
         } else if (node instanceof FragmentDefinition) {
-            checkFragmentDefinition((FragmentDefinition) node, rulesToConsider);
+            checkFragmentDefinition((FragmentDefinition) node);
         } else if (node instanceof OperationDefinition) {
-            checkOperationDefinition((OperationDefinition) node, rulesToConsider);
+            checkOperationDefinition((OperationDefinition) node);
         } else if (node instanceof VariableReference) {
-            checkVariable((VariableReference) node, rulesToConsider);
+            checkVariable((VariableReference) node);
         } else if (node instanceof SelectionSet) {
-            checkSelectionSet((SelectionSet) node, rulesToConsider);
+            checkSelectionSet((SelectionSet) node);
         }
     }
 
-    private void checkDocument(Document node, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkDocument(Document node) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_DOCUMENT)) {
             rule.checkDocument(node);
         }
     }
 
 
-    private void checkArgument(Argument node, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkArgument(Argument node) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_ARGUMENT)) {
             rule.checkArgument(node);
         }
     }
 
-    private void checkTypeName(TypeName node, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkTypeName(TypeName node) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_TYPE_NAME)) {
             rule.checkTypeName(node);
         }
     }
 
 
-    private void checkVariableDefinition(VariableDefinition variableDefinition, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkVariableDefinition(VariableDefinition variableDefinition) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_VARIABLE_DEFINITION)) {
             rule.checkVariableDefinition(variableDefinition);
         }
     }
 
-    private void checkField(Field field, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkField(Field field) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_FIELD)) {
             rule.checkField(field);
         }
     }
 
-    private void checkInlineFragment(InlineFragment inlineFragment, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkInlineFragment(InlineFragment inlineFragment) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_INLINE_FRAGMENT)) {
             rule.checkInlineFragment(inlineFragment);
         }
     }
 
-    private void checkDirective(Directive directive, List<Node> ancestors, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkDirective(Directive directive, List<Node> ancestors) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_DIRECTIVE)) {
             rule.checkDirective(directive, ancestors);
         }
     }
 
-    private void checkFragmentSpread(FragmentSpread fragmentSpread, List<AbstractRule> rules, List<Node> ancestors) {
-        for (AbstractRule rule : rules) {
+    private void checkFragmentSpread(FragmentSpread fragmentSpread, List<Node> ancestors) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_FRAGMENT_SPREAD)) {
             rule.checkFragmentSpread(fragmentSpread);
         }
-        List<AbstractRule> rulesVisitingFragmentSpreads = getRulesVisitingFragmentSpreads(rules);
-        if (rulesVisitingFragmentSpreads.size() > 0) {
+        if (skipRulesVisitingFragmentSpreadsUntil == null && rulesVisitingFragmentSpreads.size() > 0) {
             FragmentDefinition fragment = validationContext.getFragment(fragmentSpread.getName());
             if (fragment != null && !ancestors.contains(fragment)) {
-                new LanguageTraversal(ancestors).traverse(fragment, new RulesVisitor(validationContext, rulesVisitingFragmentSpreads, true));
+                new LanguageTraversal(ancestors).traverse(fragment, getFragmentSpreadVisitor());
             }
         }
     }
 
-    private List<AbstractRule> getRulesVisitingFragmentSpreads(List<AbstractRule> rules) {
-        List<AbstractRule> result = new ArrayList<>();
-        for (AbstractRule rule : rules) {
-            if (rule.isVisitFragmentSpreads()) result.add(rule);
+    private RulesVisitor getFragmentSpreadVisitor() {
+        if (fragmentSpreadVisitor == null) {
+            fragmentSpreadVisitor = new RulesVisitor(validationContext, rulesVisitingFragmentSpreads, true);
         }
-        return result;
+        return fragmentSpreadVisitor;
     }
 
 
-    private void checkFragmentDefinition(FragmentDefinition fragmentDefinition, List<AbstractRule> rules) {
+    private void checkFragmentDefinition(FragmentDefinition fragmentDefinition) {
         if (!subVisitor) {
-            rulesToSkipByUntilNode.put(fragmentDefinition, new ArrayList<>(rulesVisitingFragmentSpreads));
-            rulesToSkip.addAll(rulesVisitingFragmentSpreads);
+            skipRulesVisitingFragmentSpreadsUntil = fragmentDefinition;
         }
 
-
-        for (AbstractRule rule : rules) {
-            if (!subVisitor && (rule.isVisitFragmentSpreads())) continue;
+        for (AbstractRule rule : rulesFor(Callback.CHECK_FRAGMENT_DEFINITION)) {
             rule.checkFragmentDefinition(fragmentDefinition);
         }
 
     }
 
-    private void checkOperationDefinition(OperationDefinition operationDefinition, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkOperationDefinition(OperationDefinition operationDefinition) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_OPERATION_DEFINITION)) {
             rule.checkOperationDefinition(operationDefinition);
         }
     }
 
-    private void checkSelectionSet(SelectionSet selectionSet, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkSelectionSet(SelectionSet selectionSet) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_SELECTION_SET)) {
             rule.checkSelectionSet(selectionSet);
         }
     }
 
-    private void checkVariable(VariableReference variableReference, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
+    private void checkVariable(VariableReference variableReference) {
+        for (AbstractRule rule : rulesFor(Callback.CHECK_VARIABLE)) {
             rule.checkVariable(variableReference);
         }
     }
@@ -189,6 +261,7 @@ public class RulesVisitor implements DocumentVisitor {
     public void leave(Node node, List<Node> ancestors) {
         validationContext.getTraversalContext().leave(node, ancestors);
 
+        // every rule is told when a node is left, including the rules skipped inside fragment definitions
         if (node instanceof Document) {
             documentFinished((Document) node);
         } else if (node instanceof OperationDefinition) {
@@ -197,28 +270,27 @@ public class RulesVisitor implements DocumentVisitor {
             leaveSelectionSet((SelectionSet) node);
         }
 
-        if (rulesToSkipByUntilNode.containsKey(node)) {
-            rulesToSkip.removeAll(rulesToSkipByUntilNode.get(node));
-            rulesToSkipByUntilNode.remove(node);
+        if (node == skipRulesVisitingFragmentSpreadsUntil) {
+            skipRulesVisitingFragmentSpreadsUntil = null;
         }
 
 
     }
 
     private void leaveSelectionSet(SelectionSet selectionSet) {
-        for (AbstractRule rule : rules) {
+        for (AbstractRule rule : rulesByCallback[Callback.LEAVE_SELECTION_SET.ordinal()]) {
             rule.leaveSelectionSet(selectionSet);
         }
     }
 
     private void leaveOperationDefinition(OperationDefinition operationDefinition) {
-        for (AbstractRule rule : rules) {
+        for (AbstractRule rule : rulesByCallback[Callback.LEAVE_OPERATION_DEFINITION.ordinal()]) {
             rule.leaveOperationDefinition(operationDefinition);
         }
     }
 
     private void documentFinished(Document document) {
-        for (AbstractRule rule : rules) {
+        for (AbstractRule rule : rulesByCallback[Callback.DOCUMENT_FINISHED.ordinal()]) {
             rule.documentFinished(document);
         }
     }
@@ -0,0 +1,33 @@
+package graphql.validation;
+
+import graphql.PublicSpi;
+import graphql.schema.GraphQLSchema;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Allows the validation errors of a query to be cached independently of its parsed document.
+ * <p>
+ * The validation rules only depend on the schema and the document, never on the variables of a request, so the
+ * validation result of a query text against a schema holds for every request that sends that query.  The values of
+ * the variables are checked on every request when they are coerced during execution.
+ * <p>
+ * This is useful when the same queries are sent with different variables but the documents themselves can't be
+ * cached by a {@link graphql.execution.preparsed.PreparsedDocumentProvider}.
+ */
+@PublicSpi
+public interface ValidationCache {
+
+    /**
+     * This is called to get the "cached" validation errors of a query and if they are not present, then the
+     * validateFunction can be called to validate the document of the query
+     *
+     * @param schema           the schema the query is validated against
+     * @param query            the text of the query
+     * @param validateFunction validates the document parsed from the query
+     *
+     * @return the validation errors of the query, which are empty if the query is valid
+     */
+    List<ValidationError> getValidationErrors(GraphQLSchema schema, String query, Supplier<List<ValidationError>> validateFunction);
+}
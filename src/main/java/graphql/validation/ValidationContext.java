@@ -24,22 +24,31 @@ public class ValidationContext {
     private final Document document;
 
     private final TraversalContext traversalContext;
-    private final Map<String, FragmentDefinition> fragmentDefinitionMap = new LinkedHashMap<>();
+    private final Map<String, FragmentDefinition> fragmentDefinitionMap;
 
 
     public ValidationContext(GraphQLSchema schema, Document document) {
+        this(schema, document, buildFragmentMap(document));
+    }
+
+    /*
+     * the contexts of the partitions of a document share the fragments, which are only read
+     */
+    ValidationContext(GraphQLSchema schema, Document document, Map<String, FragmentDefinition> fragmentDefinitionMap) {
         this.schema = schema;
         this.document = document;
         this.traversalContext = new TraversalContext(schema);
-        buildFragmentMap();
+        this.fragmentDefinitionMap = fragmentDefinitionMap;
     }
 
-    private void buildFragmentMap() {
+    static Map<String, FragmentDefinition> buildFragmentMap(Document document) {
+        Map<String, FragmentDefinition> fragmentDefinitionMap = new LinkedHashMap<>();
         for (Definition definition : document.getDefinitions()) {
             if (!(definition instanceof FragmentDefinition)) continue;
             FragmentDefinition fragmentDefinition = (FragmentDefinition) definition;
             fragmentDefinitionMap.put(fragmentDefinition.getName(), fragmentDefinition);
         }
+        return fragmentDefinitionMap;
     }
 
     public TraversalContext getTraversalContext() {
@@ -2,7 +2,10 @@ package graphql.validation;
 
 
 import graphql.Internal;
+import graphql.language.Definition;
 import graphql.language.Document;
+import graphql.language.FragmentDefinition;
+import graphql.language.Node;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.rules.ArgumentsOfCorrectType;
 import graphql.validation.rules.DeferredDirectiveOnNonNullableField;
@@ -32,11 +35,33 @@ import graphql.validation.rules.VariableTypesMatchRule;
 import graphql.validation.rules.VariablesAreInputTypes;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 
 @Internal
 public class Validator {
 
+    /**
+     * The rules that need to see the whole document, because they compare definitions with each other or report on the
+     * document once it has been traversed
+     */
+    private static final Set<Class<? extends AbstractRule>> DOCUMENT_RULES = new HashSet<>(Arrays.asList(
+            ExecutableDefinitions.class,
+            LoneAnonymousOperation.class,
+            UniqueOperationNames.class,
+            UniqueFragmentNames.class,
+            NoUnusedFragments.class,
+            NoFragmentCycles.class,
+            DeferredMustBeOnAllFields.class
+    ));
+
     public List<ValidationError> validateDocument(GraphQLSchema schema, Document document) {
         ValidationContext validationContext = new ValidationContext(schema, document);
 
@@ -49,6 +74,82 @@ public class Validator {
         return validationErrorCollector.getErrors();
     }
 
+    /**
+     * Validates the document by partitioning the work by top level definition and running the partitions on the
+     * provided executor.
+     * <p>
+     * The rules that work across definitions, such as unique operation names or unused fragments, are run
+     * over the whole document in one partition.  Every other rule is run in a partition per definition, so a
+     * document with many operations and fragments is validated on as many threads as the executor provides.
+     * <p>
+     * This includes the check that fields can be merged, which has its own memo of the compared fields in each partition.
+     * A conflict in a fragment that several definitions spread is therefore found by each of them, but reported once.
+     * Since the definitions don't share what they have compared, the reason of a conflict between two fields can also
+     * list conflicts of their sub fields that sequential validation reports on their own only.
+     * <p>
+     * Otherwise the same errors as {@link #validateDocument(GraphQLSchema, Document)} are reported, but in a deterministic
+     * order of their own : the errors of the document wide rules come first, followed by the errors of each definition
+     * in the order the definitions appear in the document.
+     * <p>
+     * The calling thread waits for the partitions to complete.
+     *
+     * @param schema   the schema to validate against
+     * @param document the document to validate
+     * @param executor the executor to run the partitions on
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Executor executor) {
+        Map<String, FragmentDefinition> fragments = ValidationContext.buildFragmentMap(document);
+        List<CompletableFuture<List<ValidationError>>> partitions = new ArrayList<>();
+        partitions.add(CompletableFuture.supplyAsync(() -> validatePartition(schema, document, fragments, document, DOCUMENT_RULES::contains), executor));
+        for (Definition definition : document.getDefinitions()) {
+            partitions.add(CompletableFuture.supplyAsync(() -> validatePartition(schema, document, fragments, definition, ruleClass -> !DOCUMENT_RULES.contains(ruleClass)), executor));
+        }
+
+        List<ValidationError> validationErrors = new ArrayList<>();
+        Set<List<Object>> fieldsConflicts = new HashSet<>();
+        for (CompletableFuture<List<ValidationError>> partition : partitions) {
+            for (ValidationError validationError : join(partition)) {
+                // the definitions that spread the same fragment each find the conflicts in it, at their own query path,
+                // and like sequential validation only the first definition in the document reports them
+                if (validationError.getValidationErrorType() != ValidationErrorType.FieldsConflict
+                        || fieldsConflicts.add(Arrays.asList(validationError.getDescription(), validationError.getLocations()))) {
+                    validationErrors.add(validationError);
+                }
+            }
+        }
+        return validationErrors;
+    }
+
+    private List<ValidationError> validatePartition(GraphQLSchema schema, Document document, Map<String, FragmentDefinition> fragments, Node<?> root, Predicate<Class<?>> ruleFilter) {
+        ValidationContext validationContext = new ValidationContext(schema, document, fragments);
+        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector();
+        List<AbstractRule> rules = new ArrayList<>();
+        for (AbstractRule rule : createRules(validationContext, validationErrorCollector)) {
+            if (ruleFilter.test(rule.getClass())) {
+                rules.add(rule);
+            }
+        }
+        List<Node> ancestors = new ArrayList<>();
+        if (root != document) {
+            ancestors.add(document);
+        }
+        new LanguageTraversal(ancestors).traverse(root, new RulesVisitor(validationContext, rules));
+        return validationErrorCollector.getErrors();
+    }
+
+    private List<ValidationError> join(CompletableFuture<List<ValidationError>> partition) {
+        try {
+            return partition.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     private List<AbstractRule> createRules(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         List<AbstractRule> rules = new ArrayList<>();
 
@@ -20,11 +20,11 @@ import java.util.Map;
 public class NoFragmentCycles extends AbstractRule {
 
     private final Map<String, List<FragmentSpread>> fragmentSpreads = new LinkedHashMap<>();
+    private boolean fragmentMapPrepared;
 
 
     public NoFragmentCycles(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         super(validationContext, validationErrorCollector);
-        prepareFragmentMap();
     }
 
     private void prepareFragmentMap() {
@@ -61,6 +61,11 @@ public class NoFragmentCycles extends AbstractRule {
 
     @Override
     public void checkFragmentDefinition(FragmentDefinition fragmentDefinition) {
+        // the spreads are gathered on first use, so that creating the rule stays cheap
+        if (!fragmentMapPrepared) {
+            prepareFragmentMap();
+            fragmentMapPrepared = true;
+        }
         List<FragmentSpread> spreadPath = new ArrayList<>();
         detectCycleRecursive(fragmentDefinition.getName(), fragmentDefinition.getName(), spreadPath);
     }
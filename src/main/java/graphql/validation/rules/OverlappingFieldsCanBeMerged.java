@@ -22,10 +22,14 @@ import graphql.validation.ValidationContext;
 import graphql.validation.ValidationErrorCollector;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import static graphql.schema.GraphQLTypeUtil.isEnum;
@@ -42,11 +46,21 @@ import static java.lang.String.format;
 
 /**
  * See http://facebook.github.io/graphql/June2018/#sec-Field-Selection-Merging
+ * <p>
+ * Every pair of fields is only compared once per document, and the fields of each fragment and selection set are only
+ * collected once, since large documents spread the same fragments in many places and so compare the same fields
+ * over and over.  The selection sets and fragments whose fields have all been compared with each other are tracked
+ * too, so that a selection set made up of those is skipped as a whole rather than pair by pair.
  */
 public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
 
-    private final List<FieldPair> alreadyChecked = new ArrayList<>();
+    private final Set<FieldPair> alreadyChecked = new HashSet<>();
+
+    // the collected fields of fragments and selection sets, with fragment spreads expanded as they are merged
+    private final Map<String, CollectedFields> fragmentFields = new HashMap<>();
+    private final Map<SelectionSetAndType, CollectedFields> selectionSetFields = new HashMap<>();
+    private final List<CollectedFields> collectedFieldsById = new ArrayList<>();
 
     public OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         super(validationContext, validationErrorCollector);
@@ -54,19 +68,40 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
     @Override
     public void leaveSelectionSet(SelectionSet selectionSet) {
-        Map<String, List<FieldAndType>> fieldMap = new LinkedHashMap<>();
+        FieldMap fieldMap = new FieldMap();
         Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
         collectFields(fieldMap, selectionSet, getValidationContext().getOutputType(), visitedFragmentSpreads);
+        if (allCompared(fieldMap.sources)) {
+            return;
+        }
         List<Conflict> conflicts = findConflicts(fieldMap);
+        markCompared(fieldMap.sources);
         for (Conflict conflict : conflicts) {
             addError(FieldsConflict, conflict.fields, conflict.reason);
         }
     }
 
-    private List<Conflict> findConflicts(Map<String, List<FieldAndType>> fieldMap) {
+    /*
+     * Every pair of fields of the sources has been compared when every pair of sources has been compared
+     */
+    private boolean allCompared(BitSet sources) {
+        BitSet comparedWithAll = (BitSet) sources.clone();
+        for (int id = sources.nextSetBit(0); id >= 0; id = sources.nextSetBit(id + 1)) {
+            comparedWithAll.and(collectedFieldsById.get(id).comparedWith);
+        }
+        return comparedWithAll.equals(sources);
+    }
+
+    private void markCompared(BitSet sources) {
+        for (int id = sources.nextSetBit(0); id >= 0; id = sources.nextSetBit(id + 1)) {
+            collectedFieldsById.get(id).comparedWith.or(sources);
+        }
+    }
+
+    private List<Conflict> findConflicts(FieldMap fieldMap) {
         List<Conflict> result = new ArrayList<>();
-        for (String name : fieldMap.keySet()) {
-            List<FieldAndType> fieldAndTypes = fieldMap.get(name);
+        for (String name : fieldMap.fields.keySet()) {
+            List<FieldAndType> fieldAndTypes = fieldMap.fields.get(name);
             for (int i = 0; i < fieldAndTypes.size(); i++) {
                 for (int j = i + 1; j < fieldAndTypes.size(); j++) {
                     Conflict conflict = findConflict(name, fieldAndTypes.get(i), fieldAndTypes.get(j));
@@ -79,28 +114,15 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         return result;
     }
 
-    private boolean isAlreadyChecked(Field field1, Field field2) {
-        for (FieldPair fieldPair : alreadyChecked) {
-            if (fieldPair.field1 == field1 && fieldPair.field2 == field2) {
-                return true;
-            }
-            if (fieldPair.field1 == field2 && fieldPair.field2 == field1) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @SuppressWarnings("ConstantConditions")
     private Conflict findConflict(String responseName, FieldAndType fieldAndTypeA, FieldAndType fieldAndTypeB) {
 
         Field fieldA = fieldAndTypeA.field;
         Field fieldB = fieldAndTypeB.field;
 
-        if (isAlreadyChecked(fieldA, fieldB)) {
+        if (!alreadyChecked.add(new FieldPair(fieldA, fieldB))) {
             return null;
         }
-        alreadyChecked.add(new FieldPair(fieldA, fieldB));
 
         String fieldNameA = fieldA.getName();
         String fieldNameB = fieldB.getName();
@@ -151,7 +173,7 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         SelectionSet selectionSet2 = fieldB.getSelectionSet();
         if (selectionSet1 != null && selectionSet2 != null) {
             Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-            Map<String, List<FieldAndType>> subFieldMap = new LinkedHashMap<>();
+            FieldMap subFieldMap = new FieldMap();
             collectFields(subFieldMap, selectionSet1, typeA, visitedFragmentSpreads);
             collectFields(subFieldMap, selectionSet2, typeB, visitedFragmentSpreads);
             List<Conflict> subConflicts = findConflicts(subFieldMap);
@@ -282,47 +304,76 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         return null;
     }
 
-    private void collectFields(Map<String, List<FieldAndType>> fieldMap, SelectionSet selectionSet, GraphQLType parentType, Set<String> visitedFragmentSpreads) {
-
-        for (Selection selection : selectionSet.getSelections()) {
-            if (selection instanceof Field) {
-                collectFieldsForField(fieldMap, parentType, (Field) selection);
+    private void collectFields(FieldMap fieldMap, SelectionSet selectionSet, GraphQLType parentType, Set<String> visitedFragmentSpreads) {
+        mergeFields(fieldMap, getCollectedFields(selectionSet, parentType), visitedFragmentSpreads);
+    }
 
-            } else if (selection instanceof InlineFragment) {
-                collectFieldsForInlineFragment(fieldMap, visitedFragmentSpreads, parentType, (InlineFragment) selection);
+    private CollectedFields getCollectedFields(SelectionSet selectionSet, GraphQLType parentType) {
+        SelectionSetAndType key = new SelectionSetAndType(selectionSet, parentType);
+        CollectedFields collectedFields = selectionSetFields.get(key);
+        if (collectedFields == null) {
+            collectedFields = new CollectedFields(collectedFieldsById.size());
+            collectSelections(collectedFields.selections, selectionSet, parentType);
+            selectionSetFields.put(key, collectedFields);
+            collectedFieldsById.add(collectedFields);
+        }
+        return collectedFields;
+    }
 
-            } else if (selection instanceof FragmentSpread) {
-                collectFieldsForFragmentSpread(fieldMap, visitedFragmentSpreads, (FragmentSpread) selection);
+    private void mergeFields(FieldMap fieldMap, CollectedFields collectedFields, Set<String> visitedFragmentSpreads) {
+        fieldMap.sources.set(collectedFields.id);
+        for (CollectedSelection selection : collectedFields.selections) {
+            if (selection.fieldAndType != null) {
+                fieldMap.fields.computeIfAbsent(selection.responseName, name -> new ArrayList<>()).add(selection.fieldAndType);
+            } else {
+                mergeFragmentSpread(fieldMap, selection.fragmentName, visitedFragmentSpreads);
             }
         }
     }
 
-    private void collectFieldsForFragmentSpread(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, FragmentSpread fragmentSpread) {
-        FragmentDefinition fragment = getValidationContext().getFragment(fragmentSpread.getName());
+    private void mergeFragmentSpread(FieldMap fieldMap, String fragmentName, Set<String> visitedFragmentSpreads) {
+        FragmentDefinition fragment = getValidationContext().getFragment(fragmentName);
         if (fragment == null) {
             return;
         }
-        if (visitedFragmentSpreads.contains(fragment.getName())) {
+        if (!visitedFragmentSpreads.add(fragment.getName())) {
             return;
         }
-        visitedFragmentSpreads.add(fragment.getName());
-        GraphQLType graphQLType = TypeFromAST.getTypeFromAST(getValidationContext().getSchema(),
-                fragment.getTypeCondition());
-        collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        CollectedFields collectedFields = fragmentFields.get(fragment.getName());
+        if (collectedFields == null) {
+            GraphQLType graphQLType = TypeFromAST.getTypeFromAST(getValidationContext().getSchema(),
+                    fragment.getTypeCondition());
+            // the same as the fields collected when the selection set of the fragment definition itself is left
+            collectedFields = getCollectedFields(fragment.getSelectionSet(), graphQLType);
+            fragmentFields.put(fragment.getName(), collectedFields);
+        }
+        mergeFields(fieldMap, collectedFields, visitedFragmentSpreads);
+    }
+
+    private void collectSelections(List<CollectedSelection> selections, SelectionSet selectionSet, GraphQLType parentType) {
+
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                collectFieldsForField(selections, parentType, (Field) selection);
+
+            } else if (selection instanceof InlineFragment) {
+                collectFieldsForInlineFragment(selections, parentType, (InlineFragment) selection);
+
+            } else if (selection instanceof FragmentSpread) {
+                selections.add(new CollectedSelection(((FragmentSpread) selection).getName()));
+            }
+        }
     }
 
-    private void collectFieldsForInlineFragment(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, GraphQLType parentType, InlineFragment inlineFragment) {
+    private void collectFieldsForInlineFragment(List<CollectedSelection> selections, GraphQLType parentType, InlineFragment inlineFragment) {
         GraphQLType graphQLType = inlineFragment.getTypeCondition() != null
                 ? TypeFromAST.getTypeFromAST(getValidationContext().getSchema(), inlineFragment.getTypeCondition())
                 : parentType;
-        collectFields(fieldMap, inlineFragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        collectSelections(selections, inlineFragment.getSelectionSet(), graphQLType);
     }
 
-    private void collectFieldsForField(Map<String, List<FieldAndType>> fieldMap, GraphQLType parentType, Field field) {
+    private void collectFieldsForField(List<CollectedSelection> selections, GraphQLType parentType, Field field) {
         String responseName = field.getAlias() != null ? field.getAlias() : field.getName();
-        if (!fieldMap.containsKey(responseName)) {
-            fieldMap.put(responseName, new ArrayList<>());
-        }
         GraphQLOutputType fieldType = null;
         GraphQLUnmodifiedType unwrappedParent = unwrapAll(parentType);
         if (unwrappedParent instanceof GraphQLFieldsContainer) {
@@ -330,13 +381,16 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             GraphQLFieldDefinition fieldDefinition = getVisibleFieldDefinition(fieldsContainer, field);
             fieldType = fieldDefinition != null ? fieldDefinition.getType() : null;
         }
-        fieldMap.get(responseName).add(new FieldAndType(field, fieldType, parentType));
+        selections.add(new CollectedSelection(responseName, new FieldAndType(field, fieldType, parentType)));
     }
 
     private GraphQLFieldDefinition getVisibleFieldDefinition(GraphQLFieldsContainer fieldsContainer, Field field) {
         return getValidationContext().getSchema().getCodeRegistry().getFieldVisibility().getFieldDefinition(fieldsContainer, field.getName());
     }
 
+    /*
+     * A pair of fields compared by identity, in either order
+     */
     private static class FieldPair {
         final Field field1;
         final Field field2;
@@ -345,6 +399,91 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             this.field1 = field1;
             this.field2 = field2;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FieldPair)) {
+                return false;
+            }
+            FieldPair that = (FieldPair) o;
+            return (field1 == that.field1 && field2 == that.field2) || (field1 == that.field2 && field2 == that.field1);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(field1) + System.identityHashCode(field2);
+        }
+    }
+
+    /*
+     * A selection set by identity and the type it is collected with
+     */
+    private static class SelectionSetAndType {
+        final SelectionSet selectionSet;
+        final GraphQLType parentType;
+
+        SelectionSetAndType(SelectionSet selectionSet, GraphQLType parentType) {
+            this.selectionSet = selectionSet;
+            this.parentType = parentType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SelectionSetAndType)) {
+                return false;
+            }
+            SelectionSetAndType that = (SelectionSetAndType) o;
+            return selectionSet == that.selectionSet && Objects.equals(parentType, that.parentType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(selectionSet) + Objects.hashCode(parentType);
+        }
+    }
+
+    /*
+     * The fields of a selection set by response name, and the ids of the collected fields they were merged from
+     */
+    private static class FieldMap {
+        final Map<String, List<FieldAndType>> fields = new LinkedHashMap<>();
+        final BitSet sources = new BitSet();
+    }
+
+    /*
+     * The selections of a selection set, with its inline fragments flattened, and the ids of the collected fields
+     * that all its fields have been compared with
+     */
+    private static class CollectedFields {
+        final int id;
+        final List<CollectedSelection> selections = new ArrayList<>();
+        final BitSet comparedWith = new BitSet();
+
+        CollectedFields(int id) {
+            this.id = id;
+        }
+    }
+
+    /*
+     * Either a field, or a fragment spread that is expanded when the selections are merged so that each fragment
+     * contributes its fields only once per merge
+     */
+    private static class CollectedSelection {
+        final String responseName;
+        final FieldAndType fieldAndType;
+        final String fragmentName;
+
+        CollectedSelection(String responseName, FieldAndType fieldAndType) {
+            this.responseName = responseName;
+            this.fieldAndType = fieldAndType;
+            this.fragmentName = null;
+        }
+
+        CollectedSelection(String fragmentName) {
+            this.responseName = null;
+            this.fieldAndType = null;
+            this.fragmentName = fragmentName;
+        }
     }
 
     private static class Conflict {
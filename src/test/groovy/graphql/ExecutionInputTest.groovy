@@ -16,6 +16,7 @@ class ExecutionInputTest extends Specification {
     def root = "root"
     def context = "context"
     def variables = [key: "value"]
+    def extensions = [ext: "value"]
 
     def "build works"() {
         when:
@@ -26,6 +27,7 @@ class ExecutionInputTest extends Specification {
                 .root(root)
                 .context(context)
                 .locale(Locale.GERMAN)
+                .extensions(extensions)
                 .build()
         then:
         executionInput.context == context
@@ -35,6 +37,7 @@ class ExecutionInputTest extends Specification {
         executionInput.cacheControl == cacheControl
         executionInput.query == query
         executionInput.locale == Locale.GERMAN
+        executionInput.extensions == extensions
     }
 
     def "context methods work"() {
@@ -59,6 +62,7 @@ class ExecutionInputTest extends Specification {
                 .build()
         then:
         executionInput.context instanceof GraphQLContext
+        executionInput.extensions == [:]
     }
 
     def "transform works and copies values"() {
@@ -70,6 +74,7 @@ class ExecutionInputTest extends Specification {
                 .root(root)
                 .context(context)
                 .locale(Locale.GERMAN)
+                .extensions(extensions)
                 .build()
         def executionInput = executionInputOld.transform({ bldg -> bldg.query("new query") })
 
@@ -80,6 +85,7 @@ class ExecutionInputTest extends Specification {
         executionInput.dataLoaderRegistry == registry
         executionInput.cacheControl == cacheControl
         executionInput.locale == Locale.GERMAN
+        executionInput.extensions == extensions
         executionInput.query == "new query"
     }
 
@@ -0,0 +1,240 @@
+package graphql.cachecontrol
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class CacheControlDirectiveWiringTest extends Specification {
+
+    def sdl = '''
+        enum CacheControlScope {
+            PUBLIC
+            PRIVATE
+        }
+
+        directive @cacheControl(maxAge : Int, scope : CacheControlScope) on FIELD_DEFINITION
+
+        type Query {
+            product(id : ID) : Product @cacheControl(maxAge : 60)
+            productById(id : ID) : Product
+            cart : String @cacheControl(maxAge : 30, scope : PRIVATE)
+            broken : String @cacheControl(maxAge : 60)
+            pending : String @cacheControl(maxAge : 60)
+        }
+
+        type Product {
+            id : ID
+            name : String @cacheControl(maxAge : 20)
+        }
+    '''
+
+    def clock = new ResultCacheInstrumentationTest.MutableClock()
+    def fetchCounts = [product: 0, name: 0, cart: 0, broken: 0, pending: 0]
+    def pendingFutures = []
+
+    GraphQL graphQL(CacheControlDirectiveWiring wiring) {
+        DataFetcher product = { env ->
+            fetchCounts.product++
+            [id: env.getArgument("id"), name: "Product " + env.getArgument("id")]
+        }
+        DataFetcher name = { env ->
+            fetchCounts.name++
+            env.getSource().name
+        }
+        DataFetcher cart = { env ->
+            fetchCounts.cart++
+            "cart of " + env.getContext()
+        }
+        DataFetcher broken = { env ->
+            fetchCounts.broken++
+            def future = new CompletableFuture()
+            future.completeExceptionally(new RuntimeException("broken"))
+            future
+        }
+        DataFetcher pending = { env ->
+            fetchCounts.pending++
+            def future = new CompletableFuture()
+            pendingFutures.add(future)
+            future
+        }
+        def runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .directive(CacheControlDirectiveWiring.CACHE_CONTROL, wiring)
+                .type(newTypeWiring("Query").dataFetchers([product: product, productById: product, cart: cart, broken: broken, pending: pending]))
+                .type(newTypeWiring("Product").dataFetcher("name", name))
+        GraphQL.newGraphQL(TestUtil.schema(sdl, runtimeWiring)).build()
+    }
+
+    def productQuery = 'query Product($id : ID) { product(id : $id) { id name } }'
+
+    def "field values are served from the cache until their max age has passed"() {
+        def wiring = CacheControlDirectiveWiring.newCacheControlDirectiveWiring().clock(clock).build()
+        def graphQL = graphQL(wiring)
+
+        when:
+        def first = graphQL.execute(ExecutionInput.newExecutionInput().query(productQuery).variables([id: "1"]))
+        def second = graphQL.execute(ExecutionInput.newExecutionInput().query(productQuery).variables([id: "1"]))
+
+        then:
+        first.data == [product: [id: "1", name: "Product 1"]]
+        second.data == first.data
+        fetchCounts.product == 1
+        fetchCounts.name == 1
+        wiring.hitCount == 2
+        wiring.missCount == 2
+
+        when: "the arguments are part of the key"
+        graphQL.execute(ExecutionInput.newExecutionInput().query(productQuery).variables([id: "2"]))
+
+        then:
+        fetchCounts.product == 2
+        fetchCounts.name == 2
+
+        when: "only the max age of the name has passed"
+        clock.millis = 20_000
+        def expired = graphQL.execute(ExecutionInput.newExecutionInput().query(productQuery).variables([id: "1"]))
+
+        then:
+        expired.data == first.data
+        fetchCounts.product == 2
+        fetchCounts.name == 3
+    }
+
+    def "the hints are made whether or not the value came from the cache"() {
+        def graphQL = graphQL(CacheControlDirectiveWiring.newCacheControlDirectiveWiring().clock(clock).build())
+
+        when:
+        def hints = (1..2).collect {
+            def cacheControl = CacheControl.newCacheControl()
+            def result = graphQL.execute(ExecutionInput.newExecutionInput().query(productQuery).variables([id: "1"]).cacheControl(cacheControl))
+            cacheControl.addTo(result).extensions.cacheControl.hints
+        }
+
+        then:
+        fetchCounts.product == 1
+        hints[0] == [
+                [path: ["product"], maxAge: 60, scope: "PUBLIC"],
+                [path: ["product", "name"], maxAge: 20, scope: "PUBLIC"],
+        ]
+        hints[1] == hints[0]
+    }
+
+    def "source objects are told apart by identity unless a source key is given"() {
+        def byIdentity = graphQL(CacheControlDirectiveWiring.newCacheControlDirectiveWiring().clock(clock).build())
+        def byId = graphQL(CacheControlDirectiveWiring.newCacheControlDirectiveWiring()
+                .clock(clock)
+                .sourceKey({ env -> env.getSource().id })
+                .build())
+        def query = '{ productById(id : 1) { name } }'
+
+        when: "equal products that are not the same object are fetched"
+        byIdentity.execute(query)
+        byIdentity.execute(query)
+
+        then:
+        fetchCounts.product == 2
+        fetchCounts.name == 2
+
+        when:
+        byId.execute(query)
+        byId.execute(query)
+
+        then:
+        fetchCounts.product == 4
+        fetchCounts.name == 3
+    }
+
+    def "private fields are hinted but not cached"() {
+        def wiring = CacheControlDirectiveWiring.newCacheControlDirectiveWiring().clock(clock).build()
+        def graphQL = graphQL(wiring)
+
+        when:
+        def results = ["alice", "bob"].collect { caller ->
+            graphQL.execute(ExecutionInput.newExecutionInput().query("{ cart }").context(caller)).data
+        }
+
+        then:
+        results == [[cart: "cart of alice"], [cart: "cart of bob"]]
+        fetchCounts.cart == 2
+        wiring.size == 0
+    }
+
+    def "failed fetches are not cached"() {
+        def wiring = CacheControlDirectiveWiring.newCacheControlDirectiveWiring().clock(clock).build()
+        def graphQL = graphQL(wiring)
+
+        when:
+        def first = graphQL.execute("{ broken }")
+        def second = graphQL.execute("{ broken }")
+
+        then:
+        first.errors.size() == 1
+        second.errors.size() == 1
+        fetchCounts.broken == 2
+        wiring.size == 0
+    }
+
+    def "values are only shared once they have completed"() {
+        def wiring = CacheControlDirectiveWiring.newCacheControlDirectiveWiring().clock(clock).build()
+        def graphQL = graphQL(wiring)
+
+        when:
+        def first = graphQL.executeAsync(ExecutionInput.newExecutionInput().query("{ pending }"))
+        def second = graphQL.executeAsync(ExecutionInput.newExecutionInput().query("{ pending }"))
+
+        then: "the second request doesn't wait on the future of the first"
+        fetchCounts.pending == 2
+        wiring.size == 0
+
+        when:
+        pendingFutures[1].complete("second")
+
+        then:
+        second.join().data == [pending: "second"]
+        !first.isDone()
+        wiring.size == 1
+
+        when:
+        def third = graphQL.execute("{ pending }")
+
+        then:
+        third.data == [pending: "second"]
+        fetchCounts.pending == 2
+
+        cleanup:
+        pendingFutures[0].complete("first")
+    }
+
+    def "the least recently used values are evicted beyond the maximum size"() {
+        def wiring = CacheControlDirectiveWiring.newCacheControlDirectiveWiring().clock(clock).maximumSize(2).build()
+        def graphQL = graphQL(wiring)
+
+        when:
+        ["1", "2", "1"].each { id ->
+            graphQL.execute(ExecutionInput.newExecutionInput().query('query Product($id : ID) { product(id : $id) { id } }').variables([id: id]))
+        }
+
+        then:
+        wiring.size == 2
+        fetchCounts.product == 2
+
+        when:
+        graphQL.execute(ExecutionInput.newExecutionInput().query(productQuery).variables([id: "1"]))
+
+        then: "the name is cached in place of the least recently used product"
+        wiring.size == 2
+        fetchCounts.product == 2
+
+        when:
+        graphQL.execute(ExecutionInput.newExecutionInput().query(productQuery).variables([id: "2"]))
+
+        then:
+        fetchCounts.product == 3
+    }
+}
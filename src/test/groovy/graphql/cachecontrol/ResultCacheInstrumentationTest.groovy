@@ -0,0 +1,219 @@
+package graphql.cachecontrol
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+class ResultCacheInstrumentationTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            product(id : ID) : Product
+            cart : String
+            unhinted : String
+            broken : String
+        }
+
+        type Product {
+            id : ID
+            name : String
+        }
+    '''
+
+    static class MutableClock extends Clock {
+        long millis
+
+        @Override
+        ZoneId getZone() {
+            ZoneOffset.UTC
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            this
+        }
+
+        @Override
+        Instant instant() {
+            Instant.ofEpochMilli(millis)
+        }
+    }
+
+    def fetchCount = 0
+    def clock = new MutableClock()
+
+    GraphQL graphQL(ResultCacheInstrumentation instrumentation) {
+        DataFetcher product = { env ->
+            fetchCount++
+            env.getCacheControl().hint(env, 60)
+            [id: env.getArgument("id"), name: "Product " + env.getArgument("id")]
+        }
+        DataFetcher cart = { env ->
+            fetchCount++
+            env.getCacheControl().hint(env, 30, CacheControl.Scope.PRIVATE)
+            "cart of " + env.getContext()
+        }
+        DataFetcher unhinted = { env ->
+            fetchCount++
+            "unhinted"
+        }
+        DataFetcher broken = { env ->
+            fetchCount++
+            env.getCacheControl().hint(env, 60)
+            throw new RuntimeException("broken")
+        }
+        GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [product: product, cart: cart, unhinted: unhinted, broken: broken]]))
+                .instrumentation(instrumentation)
+                .build()
+    }
+
+    def productQuery = 'query Product($id : ID) { product(id : $id) { id name } }'
+
+    def execute(GraphQL graphQL, String query, Map variables = [:], String caller = null) {
+        def executionInput = ExecutionInput.newExecutionInput().query(query).variables(variables)
+        if (caller != null) {
+            executionInput.context(caller)
+        }
+        graphQL.execute(executionInput)
+    }
+
+    def "results are served from the cache until their max age has passed"() {
+        def instrumentation = ResultCacheInstrumentation.newResultCacheInstrumentation().clock(clock).build()
+        def graphQL = graphQL(instrumentation)
+
+        when:
+        def first = execute(graphQL, productQuery, [id: "1"])
+        def second = execute(graphQL, productQuery, [id: "1"])
+
+        then:
+        first.data == [product: [id: "1", name: "Product 1"]]
+        second.data == first.data
+        fetchCount == 1
+        instrumentation.missCount == 1
+        instrumentation.hitCount == 1
+
+        when: "the variables are part of the key"
+        def other = execute(graphQL, productQuery, [id: "2"])
+
+        then:
+        other.data == [product: [id: "2", name: "Product 2"]]
+        fetchCount == 2
+
+        when: "the max age has passed"
+        clock.millis = 60_000
+        def expired = execute(graphQL, productQuery, [id: "1"])
+
+        then:
+        expired.data == first.data
+        fetchCount == 3
+        instrumentation.size == 2
+    }
+
+    def "the hints of a cached result are recorded into the cache control of the request"() {
+        def graphQL = graphQL(ResultCacheInstrumentation.newResultCacheInstrumentation().clock(clock).build())
+        execute(graphQL, productQuery, [id: "1"])
+        def cacheControl = CacheControl.newCacheControl()
+
+        when:
+        def result = graphQL.execute(ExecutionInput.newExecutionInput().query(productQuery).variables([id: "1"]).cacheControl(cacheControl))
+        result = cacheControl.addTo(result)
+
+        then:
+        fetchCount == 1
+        result.extensions == [
+                cacheControl: [
+                        version: 1,
+                        hints  : [
+                                [path: ["product"], maxAge: 60, scope: "PUBLIC"],
+                        ]
+                ]
+        ]
+    }
+
+    def "private results are cached per caller"() {
+        def instrumentation = ResultCacheInstrumentation.newResultCacheInstrumentation()
+                .clock(clock)
+                .privateCacheKey({ executionInput -> executionInput.getContext() })
+                .build()
+        def graphQL = graphQL(instrumentation)
+
+        when:
+        def results = ["alice", "alice", "bob", "bob"].collect { caller -> execute(graphQL, "{ cart }", [:], caller).data }
+
+        then:
+        results == [[cart: "cart of alice"], [cart: "cart of alice"], [cart: "cart of bob"], [cart: "cart of bob"]]
+        fetchCount == 2
+    }
+
+    def "private results are not cached without a private cache key"() {
+        def graphQL = graphQL(ResultCacheInstrumentation.newResultCacheInstrumentation().clock(clock).build())
+
+        when:
+        execute(graphQL, "{ cart }", [:], "alice")
+        execute(graphQL, "{ cart }", [:], "alice")
+
+        then:
+        fetchCount == 2
+    }
+
+    def "results with top level fields that have no max age are not cached"() {
+        def instrumentation = ResultCacheInstrumentation.newResultCacheInstrumentation().clock(clock).build()
+        def graphQL = graphQL(instrumentation)
+
+        when:
+        execute(graphQL, '{ product(id : 1) { id } unhinted }')
+        execute(graphQL, '{ product(id : 1) { id } unhinted }')
+
+        then:
+        fetchCount == 4
+        instrumentation.size == 0
+    }
+
+    def "results with errors are not cached"() {
+        def instrumentation = ResultCacheInstrumentation.newResultCacheInstrumentation().clock(clock).build()
+        def graphQL = graphQL(instrumentation)
+
+        when:
+        def first = execute(graphQL, '{ broken }')
+        def second = execute(graphQL, '{ broken }')
+
+        then:
+        first.errors.size() == 1
+        second.errors.size() == 1
+        fetchCount == 2
+        instrumentation.size == 0
+    }
+
+    def "mutations are not cached"() {
+        def instrumentation = ResultCacheInstrumentation.newResultCacheInstrumentation().clock(clock).build()
+        def mutationSdl = sdl + '''
+            type Mutation {
+                addProduct : Product
+            }
+        '''
+        DataFetcher addProduct = { env ->
+            fetchCount++
+            env.getCacheControl().hint(env, 60)
+            [id: "3"]
+        }
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(mutationSdl, [Mutation: [addProduct: addProduct]]))
+                .instrumentation(instrumentation)
+                .build()
+
+        when:
+        execute(graphQL, 'mutation { addProduct { id } }')
+        execute(graphQL, 'mutation { addProduct { id } }')
+
+        then:
+        fetchCount == 2
+        instrumentation.missCount == 0
+        instrumentation.size == 0
+    }
+}
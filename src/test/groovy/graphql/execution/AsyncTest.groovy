@@ -141,4 +141,29 @@ class AsyncTest extends Specification {
         result.isDone()
         result.get() == ['x', 'y', 'z']
     }
+
+    def "each completes when its futures complete"() {
+        given:
+        def pending = new CompletableFuture()
+
+        when:
+        def result = Async.each([completedFuture('x'), pending])
+
+        then:
+        !result.isDone()
+
+        when:
+        pending.complete('y')
+
+        then:
+        result.isDone()
+        result.get() == ['x', 'y']
+    }
+
+    def "isCompletedNormally test"() {
+        expect:
+        Async.isCompletedNormally(completedFuture('x'))
+        !Async.isCompletedNormally(new CompletableFuture())
+        !Async.isCompletedNormally(Async.exceptionallyCompletedFuture(new RuntimeException("some error")))
+    }
 }
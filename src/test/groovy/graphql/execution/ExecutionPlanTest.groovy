@@ -0,0 +1,273 @@
+package graphql.execution
+
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.TestingPreparsedDocumentProvider
+import graphql.language.Field
+import graphql.language.OperationDefinition
+import graphql.parser.Parser
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLObjectType
+import spock.lang.Specification
+
+import static graphql.ExecutionInput.newExecutionInput
+import static graphql.TestUtil.mergedField
+import static graphql.execution.MergedSelectionSet.newMergedSelectionSet
+
+class ExecutionPlanTest extends Specification {
+
+    def spec = """
+            type Query {
+                foo : Foo
+                foos : [Foo]
+            }
+            type Foo {
+                bar1 : String
+                bar2 : String
+            }
+    """
+
+    def schema = TestUtil.schema(spec)
+
+    def "merged selection sets are only collected once per type and selection"() {
+        given:
+        def document = new Parser().parseDocument("{foo {bar1 bar2 }}")
+        def field = ((OperationDefinition) document.children[0]).selectionSet.selections[0] as Field
+        def fooType = schema.getType("Foo") as GraphQLObjectType
+        def plan = new ExecutionPlan(schema, document)
+
+        def collectCount = 0
+        def collector = {
+            collectCount++
+            newMergedSelectionSet().build()
+        }
+
+        when:
+        def first = plan.getMergedSelectionSet(fooType, mergedField(field), [:], collector)
+        def second = plan.getMergedSelectionSet(fooType, mergedField(field), [:], collector)
+
+        then:
+        collectCount == 1
+        first.is(second)
+    }
+
+    def "skip and include variable values are part of the plan"() {
+        given:
+        def document = new Parser().parseDocument('query q($skip : Boolean) {foo {bar1 @skip(if : $skip) bar2 }}')
+        def field = ((OperationDefinition) document.children[0]).selectionSet.selections[0] as Field
+        def fooType = schema.getType("Foo") as GraphQLObjectType
+        def plan = new ExecutionPlan(schema, document)
+
+        def collectCount = 0
+        def collector = {
+            collectCount++
+            newMergedSelectionSet().build()
+        }
+
+        when:
+        plan.getMergedSelectionSet(fooType, mergedField(field), [skip: true], collector)
+        plan.getMergedSelectionSet(fooType, mergedField(field), [skip: true], collector)
+        plan.getMergedSelectionSet(fooType, mergedField(field), [skip: false], collector)
+
+        then:
+        collectCount == 2
+    }
+
+    def "field definitions are only resolved once per type"() {
+        given:
+        def plan = new ExecutionPlan(schema, new Parser().parseDocument("{foo {bar1}}"))
+        def fooType = schema.getType("Foo") as GraphQLObjectType
+
+        def resolveCount = 0
+        def resolver = {
+            resolveCount++
+            fooType.getFieldDefinition("bar1")
+        }
+
+        when:
+        def first = plan.getFieldDefinition(fooType, "bar1", resolver)
+        def second = plan.getFieldDefinition(fooType, "bar1", resolver)
+
+        then:
+        resolveCount == 1
+        first.is(second)
+        first.name == "bar1"
+    }
+
+    def "literal only arguments are only coerced once per field"() {
+        given:
+        def argSchema = TestUtil.schema("""
+            type Query {
+                foo(arg : String, input : Input) : String
+            }
+            input Input {
+                name : String
+                names : [String]
+            }
+        """)
+        def fooDef = argSchema.queryType.getFieldDefinition("foo")
+        def document = new Parser().parseDocument('''
+            query q($var : String) {
+                literal : foo(arg : "x", input : {name : "n", names : ["a", "b"]})
+                variable : foo(arg : "x", input : {name : "n", names : ["a", $var]})
+            }
+        ''')
+        def selections = ((OperationDefinition) document.children[0]).selectionSet.selections
+        def literalField = selections[0] as Field
+        def variableField = selections[1] as Field
+        def plan = new ExecutionPlan(argSchema, document)
+
+        def coerceCount = 0
+        def coercer = {
+            coerceCount++
+            [arg: "x"]
+        }
+
+        when:
+        def first = plan.getArgumentValues(fooDef, literalField, coercer)
+        def second = plan.getArgumentValues(fooDef, literalField, coercer)
+
+        then:
+        coerceCount == 1
+        !first.is(second)
+        first == [arg: "x"]
+        second == [arg: "x"]
+
+        when:
+        coerceCount = 0
+        plan.getArgumentValues(fooDef, variableField, coercer)
+        plan.getArgumentValues(fooDef, variableField, coercer)
+
+        then:
+        coerceCount == 2
+    }
+
+    def "every fetch gets its own copy of the planned argument values"() {
+        given:
+        def argSchema = TestUtil.schema("""
+            type Query {
+                foo(input : Input) : String
+            }
+            input Input {
+                names : [String]
+            }
+        """)
+        def fooDef = argSchema.queryType.getFieldDefinition("foo")
+        def document = new Parser().parseDocument('{ foo(input : {names : ["a", "b"]}) }')
+        def field = ((OperationDefinition) document.children[0]).selectionSet.selections[0] as Field
+        def plan = new ExecutionPlan(argSchema, document)
+
+        when:
+        def first = plan.getArgumentValues(fooDef, field, { [input: [names: ["a", "b"]]] })
+        first.input.put("other", "x")
+        first.input.names.add("c")
+        def second = plan.getArgumentValues(fooDef, field, { [input: [names: ["a", "b"]]] })
+        second.input.names.add("d")
+        def third = plan.getArgumentValues(fooDef, field, { [input: [names: ["a", "b"]]] })
+
+        then:
+        first == [input: [names: ["a", "b", "c"], other: "x"]]
+        second == [input: [names: ["a", "b", "d"]]]
+        third == [input: [names: ["a", "b"]]]
+    }
+
+    def "argument values that may be mutable objects are not planned"() {
+        given:
+        def argSchema = TestUtil.schema("""
+            type Query {
+                foo(arg : String) : String
+            }
+        """)
+        def fooDef = argSchema.queryType.getFieldDefinition("foo")
+        def document = new Parser().parseDocument('{ foo(arg : "x") }')
+        def field = ((OperationDefinition) document.children[0]).selectionSet.selections[0] as Field
+        def plan = new ExecutionPlan(argSchema, document)
+
+        def coerceCount = 0
+        def coercer = {
+            coerceCount++
+            [arg: new StringBuilder("x")]
+        }
+
+        when:
+        def first = plan.getArgumentValues(fooDef, field, coercer)
+        def second = plan.getArgumentValues(fooDef, field, coercer)
+
+        then:
+        coerceCount == 2
+        !first.arg.is(second.arg)
+    }
+
+    def "cached documents coerce arguments the same via their plan"() {
+        given:
+        def argSpec = """
+            type Query {
+                echo(arg : String, seen : [String]) : String
+            }
+        """
+        // the fetcher changes its list argument, which must not affect other executions
+        DataFetcher echoDF = { env ->
+            List<String> seen = env.getArgument("seen")
+            seen.add(env.getArgument("arg"))
+            seen.join(",")
+        }
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(argSpec, [Query: [echo: echoDF]]))
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+
+        def query = 'query q($arg : String) { literal : echo(arg : "literal", seen : []) variable : echo(arg : $arg, seen : []) }'
+
+        when:
+        def first = graphQL.execute(newExecutionInput(query).variables([arg: "first"]))
+        def second = graphQL.execute(newExecutionInput(query).variables([arg: "second"]))
+
+        then:
+        first.errors.isEmpty()
+        second.errors.isEmpty()
+        first.data == [literal: "literal", variable: "first"]
+        second.data == [literal: "literal", variable: "second"]
+    }
+
+    def "preparsed entries keep their plan per schema"() {
+        given:
+        def entry = new PreparsedDocumentEntry(new Parser().parseDocument("{foo {bar1}}"))
+        def otherSchema = TestUtil.schema(spec)
+
+        when:
+        def plan = entry.getExecutionPlan(schema)
+
+        then:
+        plan.isPlanFor(schema)
+        entry.getExecutionPlan(schema).is(plan)
+
+        when:
+        def otherPlan = entry.getExecutionPlan(otherSchema)
+
+        then:
+        !otherPlan.is(plan)
+        otherPlan.isPlanFor(otherSchema)
+    }
+
+    def "cached documents execute the same via their plan"() {
+        given:
+        def fooData = [bar1: "b1", bar2: "b2"]
+        DataFetcher foosDF = { env -> [fooData, fooData] }
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(spec, [Query: [foos: foosDF]]))
+                .preparsedDocumentProvider(new TestingPreparsedDocumentProvider())
+                .build()
+
+        def query = 'query q($skip : Boolean!) { foos { bar1 @skip(if : $skip) bar2 } }'
+
+        when:
+        def first = graphQL.execute(newExecutionInput(query).variables([skip: false]))
+        def second = graphQL.execute(newExecutionInput(query).variables([skip: true]))
+        def third = graphQL.execute(newExecutionInput(query).variables([skip: false]))
+
+        then:
+        first.errors.isEmpty()
+        first.data == [foos: [[bar1: "b1", bar2: "b2"], [bar1: "b1", bar2: "b2"]]]
+        second.data == [foos: [[bar2: "b2"], [bar2: "b2"]]]
+        third.data == first.data
+    }
+}
@@ -64,7 +64,7 @@ class ExecutionStrategyTest extends Specification {
                 executionStrategy, executionStrategy, executionStrategy,
                 [:], null, null,
                 variables, "context", "root", new DataLoaderRegistry(),
-                null, Locale.getDefault(), Collections.emptyList())
+                null, Locale.getDefault(), Collections.emptyList(), null, null)
     }
 
     @SuppressWarnings("GroovyAssignabilityCheck")
@@ -810,4 +810,51 @@ class ExecutionStrategyTest extends Specification {
         executionContext.errors.size() == 1
         executionContext.errors[0] instanceof TypeMismatchError
     }
+
+    def "fields with available values are completed right away and pending values when their future completes"() {
+        given:
+        def pendingValue = new CompletableFuture()
+        def fieldDefinition = newFieldDefinition()
+                .name("someField")
+                .type(GraphQLString)
+                .dataFetcher({ env -> env.source == "pending" ? pendingValue : "plain value" })
+                .build()
+        def objectType = newObject()
+                .name("Test")
+                .field(fieldDefinition)
+                .build()
+        GraphQLSchema schema = GraphQLSchema.newSchema().query(objectType).build()
+        ExecutionContext executionContext = buildContext(schema)
+        ExecutionStepInfo typeInfo = ExecutionStepInfo.newExecutionStepInfo().type(objectType).build()
+        Field field = new Field("someField")
+
+        def parameters = { source ->
+            newParameters()
+                    .executionStepInfo(typeInfo)
+                    .source(source)
+                    .fields(mergedSelectionSet(["someField": [field]]))
+                    .field(mergedField(field))
+                    .nonNullFieldValidator(new NonNullableFieldValidator(executionContext, typeInfo))
+                    .path(ExecutionPath.rootPath().segment("someField"))
+                    .build()
+        }
+
+        executionStrategy.setCompleteAvailableValuesSynchronously(true)
+
+        when:
+        def available = executionStrategy.resolveFieldWithInfo(executionContext, parameters("available"))
+        def pending = executionStrategy.resolveFieldWithInfo(executionContext, parameters("pending"))
+
+        then:
+        available.isDone()
+        available.join().fieldValue.join().data == "plain value"
+        !pending.isDone()
+
+        when:
+        pendingValue.complete("pending value")
+
+        then:
+        pending.isDone()
+        pending.join().fieldValue.join().data == "pending value"
+    }
 }
@@ -17,6 +17,8 @@ import org.reactivestreams.Publisher
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.CompletableFuture
+
 import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
 
 class SubscriptionExecutionStrategyTest extends Specification {
@@ -335,4 +337,33 @@ class SubscriptionExecutionStrategyTest extends Specification {
             }
         }
     }
+
+    def "subscription events are published in order when the concurrent events are bounded"() {
+        DataFetcher newMessageDF = { env -> new RxJavaMessagePublisher(10) }
+        // the earlier messages take longer to fetch the sender of
+        DataFetcher senderDF = { env ->
+            Message message = env.getSource()
+            int at = Integer.parseInt(message.sender.substring("sender".length()))
+            CompletableFuture.supplyAsync({
+                Thread.sleep((10 - at) * 5)
+                message.sender
+            })
+        }
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Subscription").dataFetcher("newMessage", newMessageDF).build())
+                .type(newTypeWiring("Message").dataFetcher("sender", senderDF).build())
+                .build()
+        def strategy = new SubscriptionExecutionStrategy(new SimpleDataFetcherExceptionHandler(), 4)
+        GraphQL graphQL = TestUtil.graphQL(idl, runtimeWiring).subscriptionExecutionStrategy(strategy).build()
+
+        when:
+        def executionResult = graphQL.execute('subscription { newMessage(roomId: 123) { sender text } }')
+        Publisher<ExecutionResult> msgStream = executionResult.getData()
+        def capturingSubscriber = new CapturingSubscriber<ExecutionResult>()
+        msgStream.subscribe(capturingSubscriber)
+
+        then:
+        Awaitility.await().untilTrue(capturingSubscriber.isDone())
+        capturingSubscriber.events.collect { it.data } == (0..9).collect { i -> ["newMessage": [sender: "sender" + i, text: "text" + i]] }
+    }
 }
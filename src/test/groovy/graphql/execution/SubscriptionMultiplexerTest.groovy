@@ -0,0 +1,231 @@
+package graphql.execution
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.pubsub.CapturingSubscriber
+import graphql.execution.pubsub.Message
+import graphql.execution.reactive.SingleSubscriberPublisher
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class SubscriptionMultiplexerTest extends Specification {
+
+    def idl = """
+            type Query {
+                name : String
+            }
+
+            type Message {
+                sender : String!
+                text : String!
+            }
+
+            type Subscription {
+                newMessage(roomId:Int) : Message
+            }
+        """
+
+    def query = 'subscription NewMessages($roomId: Int) { newMessage(roomId: $roomId) { sender text } }'
+
+    // the source event streams by room, which the test offers messages to
+    Map<Integer, SingleSubscriberPublisher<Message>> rooms = [:]
+    def cancelledRooms = []
+    def subscriptionFetches = new AtomicInteger()
+    def senderFetches = new AtomicInteger()
+
+    GraphQL buildSubscriptionQL(SubscriptionMultiplexer subscriptionMultiplexer) {
+        DataFetcher newMessageDF = { env ->
+            subscriptionFetches.incrementAndGet()
+            int roomId = env.getArgument("roomId")
+            def publisher = new SingleSubscriberPublisher<Message>({ -> }, { -> cancelledRooms.add(roomId) })
+            rooms.put(roomId, publisher)
+            return publisher
+        }
+        DataFetcher senderDF = { env ->
+            senderFetches.incrementAndGet()
+            return ((Message) env.getSource()).sender
+        }
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Subscription").dataFetcher("newMessage", newMessageDF).build())
+                .type(newTypeWiring("Message").dataFetcher("sender", senderDF).build())
+                .build()
+        def strategy = new SubscriptionExecutionStrategy(new SimpleDataFetcherExceptionHandler(), subscriptionMultiplexer)
+        return TestUtil.graphQL(idl, runtimeWiring).subscriptionExecutionStrategy(strategy).build()
+    }
+
+    CapturingSubscriber<ExecutionResult> subscribe(GraphQL graphQL, int roomId, Object context = "user") {
+        def capturingSubscriber = new CapturingSubscriber<ExecutionResult>()
+        execute(graphQL, roomId, context).subscribe(capturingSubscriber)
+        return capturingSubscriber
+    }
+
+    Publisher<ExecutionResult> execute(GraphQL graphQL, int roomId, Object context = "user") {
+        def executionInput = ExecutionInput.newExecutionInput().query(query).variables([roomId: roomId]).context(context).build()
+        return graphQL.execute(executionInput).getData()
+    }
+
+    static List<Object> messagesOf(CapturingSubscriber<ExecutionResult> subscriber) {
+        subscriber.events.collect { it.data }
+    }
+
+    def "identical subscriptions share the source event stream and the execution of each event"() {
+        def subscriptionMultiplexer = SubscriptionMultiplexer.newSubscriptionMultiplexer().contextKey({ context -> context }).build()
+        def graphQL = buildSubscriptionQL(subscriptionMultiplexer)
+
+        when:
+        def subscribers = (1..3).collect { subscribe(graphQL, 123) }
+        rooms[123].offer(new Message("sender0", "text0"))
+        rooms[123].offer(new Message("sender1", "text1"))
+        rooms[123].noMoreData()
+
+        then:
+        subscriptionFetches.get() == 1
+        senderFetches.get() == 2
+        subscribers.every { it.isDone().get() }
+        subscribers.every {
+            messagesOf(it) == [[newMessage: [sender: "sender0", text: "text0"]], [newMessage: [sender: "sender1", text: "text1"]]]
+        }
+        subscriptionMultiplexer.groupCount == 0
+    }
+
+    def "subscriptions with different variables or context keys are not shared"() {
+        def subscriptionMultiplexer = SubscriptionMultiplexer.newSubscriptionMultiplexer()
+                .contextKey({ context -> context })
+                .build()
+        def graphQL = buildSubscriptionQL(subscriptionMultiplexer)
+
+        when:
+        def room1 = subscribe(graphQL, 1)
+        def room2OtherUser = subscribe(graphQL, 2, "otherUser")
+        def room2 = subscribe(graphQL, 2)
+        def room2Again = subscribe(graphQL, 2)
+
+        then:
+        subscriptionFetches.get() == 3
+        subscriptionMultiplexer.groupCount == 3
+
+        when: "the last source event stream of room 2 is the one shared by the first user"
+        rooms[1].offer(new Message("sender1", "text1"))
+        rooms[2].offer(new Message("sender2", "text2"))
+
+        then:
+        messagesOf(room1) == [[newMessage: [sender: "sender1", text: "text1"]]]
+        messagesOf(room2) == [[newMessage: [sender: "sender2", text: "text2"]]]
+        messagesOf(room2Again) == [[newMessage: [sender: "sender2", text: "text2"]]]
+        messagesOf(room2OtherUser) == []
+    }
+
+    def "the source event stream is cancelled when the last subscriber cancels"() {
+        def subscriptionMultiplexer = SubscriptionMultiplexer.newSubscriptionMultiplexer().contextKey({ context -> context }).build()
+        def graphQL = buildSubscriptionQL(subscriptionMultiplexer)
+
+        when:
+        def subscriber1 = subscribe(graphQL, 123)
+        def subscriber2 = subscribe(graphQL, 123)
+        subscriber1.subscription.cancel()
+        rooms[123].offer(new Message("sender0", "text0"))
+
+        then:
+        cancelledRooms == []
+        messagesOf(subscriber1) == []
+        messagesOf(subscriber2) == [[newMessage: [sender: "sender0", text: "text0"]]]
+
+        when:
+        subscriber2.subscription.cancel()
+
+        then:
+        cancelledRooms == [123]
+        subscriptionMultiplexer.groupCount == 0
+
+        when: "the next subscription starts a new group"
+        subscribe(graphQL, 123)
+
+        then:
+        subscriptionFetches.get() == 2
+        subscriptionMultiplexer.groupCount == 1
+    }
+
+    def "a context key has to be given"() {
+        when:
+        SubscriptionMultiplexer.newSubscriptionMultiplexer().build()
+
+        then:
+        thrown(AssertException)
+    }
+
+    def "a subscription is a member of its group from when it has been executed"() {
+        def subscriptionMultiplexer = SubscriptionMultiplexer.newSubscriptionMultiplexer().contextKey({ context -> context }).build()
+        def graphQL = buildSubscriptionQL(subscriptionMultiplexer)
+
+        when: "the only subscriber cancels before the second subscription has been subscribed to"
+        def subscriber1 = subscribe(graphQL, 123)
+        def publisher2 = execute(graphQL, 123)
+        subscriber1.subscription.cancel()
+
+        then:
+        cancelledRooms == []
+        subscriptionMultiplexer.groupCount == 1
+
+        when:
+        def subscriber2 = new CapturingSubscriber<ExecutionResult>()
+        publisher2.subscribe(subscriber2)
+        rooms[123].offer(new Message("sender0", "text0"))
+
+        then:
+        subscriptionFetches.get() == 1
+        !subscriber2.isDone().get()
+        messagesOf(subscriber2) == [[newMessage: [sender: "sender0", text: "text0"]]]
+    }
+
+    def "a subscriber that falls too far behind is dropped from its group"() {
+        def subscriptionMultiplexer = SubscriptionMultiplexer.newSubscriptionMultiplexer()
+                .contextKey({ context -> context })
+                .maxBufferedResults(2)
+                .build()
+        def graphQL = buildSubscriptionQL(subscriptionMultiplexer)
+        def subscriber = subscribe(graphQL, 123)
+        Subscription slowSubscription = null
+        Throwable slowError = null
+        def slowSubscriber = [
+                onSubscribe: { Subscription subscription -> slowSubscription = subscription },
+                onNext     : { ExecutionResult result -> },
+                onError    : { Throwable t -> slowError = t },
+                onComplete : { -> }
+        ] as Subscriber<ExecutionResult>
+        execute(graphQL, 123).subscribe(slowSubscriber)
+
+        when:
+        (1..2).each { rooms[123].offer(new Message("sender" + it, "text" + it)) }
+
+        then:
+        slowError == null
+        messagesOf(subscriber).size() == 2
+
+        when:
+        rooms[123].offer(new Message("sender3", "text3"))
+
+        then:
+        slowError instanceof AbortExecutionException
+        messagesOf(subscriber).size() == 3
+        !subscriber.isDone().get()
+        cancelledRooms == []
+
+        when: "the source event stream is cancelled once the remaining subscriber cancels too"
+        subscriber.subscription.cancel()
+
+        then:
+        cancelledRooms == [123]
+        subscriptionMultiplexer.groupCount == 0
+    }
+}
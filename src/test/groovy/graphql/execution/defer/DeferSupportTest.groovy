@@ -1,6 +1,7 @@
 package graphql.execution.defer
 
 import graphql.DeferredExecutionResult
+import graphql.DeferredExecutionResultBatch
 import graphql.ExecutionResult
 import graphql.ExecutionResultImpl
 import graphql.execution.ExecutionPath
@@ -159,6 +160,98 @@ class DeferSupportTest extends Specification {
         expectedThrowble != null
     }
 
+    def "concurrent calls still emit in the order they were enqueued"() {
+
+        given:
+        def deferSupport = new DeferSupport(DeferOptions.newDeferOptions().maxConcurrentCalls(3).build())
+        deferSupport.enqueue(offThread("A", 100, "/field/path")) // <-- will finish last
+        deferSupport.enqueue(offThread("B", 50, "/field/path")) // <-- will finish second
+        deferSupport.enqueue(offThread("C", 10, "/field/path")) // <-- will finish first
+
+        when:
+        List<ExecutionResult> results = []
+        def subscriber = new BasicSubscriber() {
+            @Override
+            void onNext(DeferredExecutionResult executionResult) {
+                results.add(executionResult)
+                subscription.request(1)
+            }
+        }
+        deferSupport.startDeferredCalls().subscribe(subscriber)
+        Awaitility.await().untilTrue(subscriber.finished)
+        then:
+
+        results.collect { it.data } == ["A", "B", "C"]
+    }
+
+    def "no more calls than the maximum are made while the subscriber asks for nothing"() {
+
+        given:
+        def deferSupport = new DeferSupport(DeferOptions.newDeferOptions().maxConcurrentCalls(2).build())
+        def invoked = []
+        (0..4).each { i ->
+            deferSupport.enqueue(new DeferredCall(ExecutionPath.parse("/field/" + i), {
+                invoked.add(i)
+                CompletableFuture.completedFuture(new ExecutionResultImpl(i, []))
+            }, new DeferredErrorSupport()))
+        }
+
+        when:
+        def publisher = deferSupport.startDeferredCalls()
+
+        then:
+        invoked == [0, 1]
+
+        when:
+        List<ExecutionResult> results = []
+        def subscriber = new BasicSubscriber() {
+            @Override
+            void onNext(DeferredExecutionResult executionResult) {
+                results.add(executionResult)
+            }
+        }
+        publisher.subscribe(subscriber)
+
+        then:
+        results.collect { it.data } == [0]
+        invoked == [0, 1, 2]
+
+        when:
+        subscriber.subscription.request(10)
+
+        then:
+        results.collect { it.data } == [0, 1, 2, 3, 4]
+        invoked == [0, 1, 2, 3, 4]
+        subscriber.finished.get()
+    }
+
+    def "results that are ready together are batched"() {
+
+        given:
+        def deferSupport = new DeferSupport(DeferOptions.newDeferOptions().maxConcurrentCalls(3).batchResults(true).build())
+        deferSupport.enqueue(offThread("A", 100, "/a")) // <-- will finish last
+        deferSupport.enqueue(offThread("B", 50, "/b"))
+        deferSupport.enqueue(offThread("C", 10, "/c"))
+
+        when:
+        List<ExecutionResult> results = []
+        def subscriber = new BasicSubscriber() {
+            @Override
+            void onNext(DeferredExecutionResult executionResult) {
+                results.add(executionResult)
+                subscription.request(1)
+            }
+        }
+        deferSupport.startDeferredCalls().subscribe(subscriber)
+        Awaitility.await().untilTrue(subscriber.finished)
+        then:
+
+        results.size() == 1
+        results[0] instanceof DeferredExecutionResultBatch
+        results[0].data == ["A", "B", "C"]
+        results[0].toSpecification() == [incremental: [[data: "A", path: ["a"]], [data: "B", path: ["b"]], [data: "C", path: ["c"]]]]
+    }
+
     def "indicates of there any defers present"() {
         given:
         def deferSupport = new DeferSupport()
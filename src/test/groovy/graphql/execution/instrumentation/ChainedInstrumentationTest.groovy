@@ -0,0 +1,79 @@
+package graphql.execution.instrumentation
+
+import graphql.ExecutionResult
+import graphql.ExecutionResultImpl
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class ChainedInstrumentationTest extends Specification {
+
+    static class NamedState implements InstrumentationState {
+        String name
+    }
+
+    static class FetchCountingInstrumentation extends SimpleInstrumentation {
+        String name
+        List<String> calls
+
+        @Override
+        InstrumentationState createState() {
+            return new NamedState(name: name)
+        }
+
+        @Override
+        InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+            calls.add(name + ":" + parameters.getInstrumentationState().name)
+            return SimpleInstrumentationContext.whenCompleted({ result, throwable -> calls.add(name + ":completed") })
+        }
+    }
+
+    static class ResultInstrumentation extends SimpleInstrumentation {
+        String name
+        List<String> calls
+
+        @Override
+        CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+            calls.add(name + ":result")
+            def extensions = new LinkedHashMap<Object, Object>(executionResult.extensions ?: [:])
+            extensions.put(name, calls.size())
+            return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult().from(executionResult).extensions(extensions).build())
+        }
+    }
+
+    def "only the instrumentations that override a method are called, in list order"() {
+        def calls = []
+        def chainedInstrumentation = new ChainedInstrumentation([
+                new FetchCountingInstrumentation(name: "A", calls: calls),
+                new ResultInstrumentation(name: "B", calls: calls),
+                new SimpleInstrumentation(),
+                new FetchCountingInstrumentation(name: "C", calls: calls),
+                new ResultInstrumentation(name: "D", calls: calls),
+        ])
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).instrumentation(chainedInstrumentation).build()
+
+        when:
+        def result = graphQL.execute('{ hero { id } }')
+
+        then:
+        result.errors.isEmpty()
+        calls == ["A:A", "C:C", "A:completed", "C:completed", "A:A", "C:C", "A:completed", "C:completed", "B:result", "D:result"]
+        result.extensions == [B: 9, D: 10]
+    }
+
+    def "a method that no instrumentation overrides does nothing"() {
+        def chainedInstrumentation = new ChainedInstrumentation([new SimpleInstrumentation(), new SimpleInstrumentation()])
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).instrumentation(chainedInstrumentation).build()
+
+        when:
+        def result = graphQL.execute('{ hero { id } }')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [id: "2001"]]
+    }
+}
@@ -0,0 +1,126 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.instrumentation.Instrumentation
+import graphql.schema.DataFetcher
+import graphql.schema.idl.RuntimeWiring
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoader
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.Executors
+
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getExpectedData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getExpectedExpensiveData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getExpensiveQuery
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getQuery
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class DataLoaderPerformanceWithEagerDispatchTest extends Specification {
+
+    def scheduler = Executors.newSingleThreadScheduledExecutor()
+
+    BatchCompareDataFetchers batchCompareDataFetchers
+    DataLoaderPerformanceData dataLoaderPerformanceData
+    DataLoaderRegistry dataLoaderRegistry
+
+    void setup() {
+        batchCompareDataFetchers = new BatchCompareDataFetchers()
+        dataLoaderPerformanceData = new DataLoaderPerformanceData(batchCompareDataFetchers)
+        dataLoaderRegistry = dataLoaderPerformanceData.setupDataLoaderRegistry()
+    }
+
+    void cleanup() {
+        scheduler.shutdownNow()
+    }
+
+    GraphQL graphQL(DataLoaderDispatcherInstrumentationOptions options) {
+        Instrumentation instrumentation = new DataLoaderDispatcherInstrumentation(options.eagerDispatch(true))
+        dataLoaderPerformanceData.setupGraphQL(instrumentation)
+    }
+
+    def "eager dispatch: 760 ensure data loader is performant for lists"() {
+        when:
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(query).dataLoaderRegistry(dataLoaderRegistry).build()
+        def result = graphQL(DataLoaderDispatcherInstrumentationOptions.newOptions()).execute(executionInput)
+
+        then:
+        result.data == expectedData
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 1
+        batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 1
+    }
+
+    def "eager dispatch: 970 ensure data loader is performant for multiple field with lists using async batch loading and a batch window"() {
+        when:
+        batchCompareDataFetchers.useAsyncBatchLoading(true)
+
+        def options = DataLoaderDispatcherInstrumentationOptions.newOptions()
+                .eagerDispatchBatchWindow(scheduler, Duration.ofMillis(100), 1000)
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(expensiveQuery).dataLoaderRegistry(dataLoaderRegistry).build()
+        def result = graphQL(options).execute(executionInput)
+
+        then:
+        result.data == expectedExpensiveData
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 1
+        batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 1
+    }
+
+    def "eager dispatch does not wait for slow fields before dispatching other branches"() {
+        given:
+        def sdl = """
+            type Query {
+                slow : String
+                items : [Item]
+            }
+            type Item {
+                id : ID
+                detail : Item
+            }
+        """
+        def slowValue = new CompletableFuture()
+        def batchLoadCalls = []
+        def dataLoader = new DataLoader<Object, Object>(new BatchLoader<Object, Object>() {
+            @Override
+            CompletionStage<List<Object>> load(List<Object> keys) {
+                batchLoadCalls.add(keys)
+                return CompletableFuture.completedFuture(keys.collect({ [id: 'd' + it] }))
+            }
+        })
+        def registry = new DataLoaderRegistry().register("detail", dataLoader)
+
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                .dataFetcher("slow", { env -> slowValue } as DataFetcher)
+                .dataFetcher("items", { env -> [[id: '1'], [id: '2']] } as DataFetcher))
+                .type(newTypeWiring("Item")
+                .dataFetcher("detail", { env -> dataLoader.load(env.source.id) } as DataFetcher))
+                .build()
+        def options = DataLoaderDispatcherInstrumentationOptions.newOptions().eagerDispatch(true)
+        def graphql = TestUtil.graphQL(sdl, wiring)
+                .instrumentation(new DataLoaderDispatcherInstrumentation(options))
+                .build()
+
+        when:
+        def executionInput = ExecutionInput.newExecutionInput()
+                .query("{ slow items { id detail { id } } }")
+                .dataLoaderRegistry(registry)
+                .build()
+        def result = graphql.executeAsync(executionInput)
+
+        then: "the data loader has been dispatched while the slow field is outstanding"
+        !result.isDone()
+        batchLoadCalls == [['1', '2']]
+
+        when:
+        slowValue.complete("slow")
+
+        then:
+        result.join().data == [slow: "slow", items: [[id: '1', detail: [id: 'd1']], [id: '2', detail: [id: 'd2']]]]
+    }
+}
@@ -0,0 +1,94 @@
+package graphql.execution.instrumentation.dataloader
+
+import graphql.DeferredExecutionResult
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.execution.defer.CapturingSubscriber
+import graphql.execution.instrumentation.Instrumentation
+import org.awaitility.Awaitility
+import org.dataloader.DataLoaderRegistry
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.expectedInitialDeferredData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getDeferredQuery
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getExpectedData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getExpectedExpensiveData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getExpectedListOfDeferredData
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getExpensiveQuery
+import static graphql.execution.instrumentation.dataloader.DataLoaderPerformanceData.getQuery
+
+class DataLoaderPerformanceWithLockFreeTrackingTest extends Specification {
+
+    GraphQL graphQL
+    DataLoaderRegistry dataLoaderRegistry
+    BatchCompareDataFetchers batchCompareDataFetchers
+
+    void setup() {
+        batchCompareDataFetchers = new BatchCompareDataFetchers()
+        DataLoaderPerformanceData dataLoaderPerformanceData = new DataLoaderPerformanceData(batchCompareDataFetchers)
+        dataLoaderRegistry = dataLoaderPerformanceData.setupDataLoaderRegistry()
+        def options = DataLoaderDispatcherInstrumentationOptions.newOptions().lockFreeLevelTracking(true)
+        Instrumentation instrumentation = new DataLoaderDispatcherInstrumentation(options)
+        graphQL = dataLoaderPerformanceData.setupGraphQL(instrumentation)
+    }
+
+    def "lock free tracking: 760 ensure data loader is performant for lists"() {
+        when:
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(query).dataLoaderRegistry(dataLoaderRegistry).build()
+        def result = graphQL.execute(executionInput)
+
+        then:
+        result.data == expectedData
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 1
+        batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 1
+    }
+
+    def "lock free tracking: 970 ensure data loader is performant for multiple field with lists using async batch loading"() {
+        when:
+        batchCompareDataFetchers.useAsyncBatchLoading(true)
+
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(expensiveQuery).dataLoaderRegistry(dataLoaderRegistry).build()
+        def result = graphQL.execute(executionInput)
+
+        then:
+        result.data == expectedExpensiveData
+        batchCompareDataFetchers.departmentsForShopsBatchLoaderCounter.get() == 1
+        batchCompareDataFetchers.productsForDepartmentsBatchLoaderCounter.get() == 1
+    }
+
+    def "lock free tracking: data loader will work with deferred queries"() {
+        when:
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(deferredQuery).dataLoaderRegistry(dataLoaderRegistry).build()
+        def result = graphQL.execute(executionInput)
+
+        Map<Object, Object> extensions = result.getExtensions()
+        Publisher<DeferredExecutionResult> deferredResultStream = (Publisher<DeferredExecutionResult>) extensions.get(GraphQL.DEFERRED_RESULTS)
+
+        def subscriber = new CapturingSubscriber()
+        subscriber.subscribeTo(deferredResultStream)
+        Awaitility.await().untilTrue(subscriber.finished)
+
+        then:
+        result.data == expectedInitialDeferredData
+        subscriber.executionResultData == expectedListOfDeferredData
+    }
+
+    def "options keep each other when changed"() {
+        when:
+        def options = DataLoaderDispatcherInstrumentationOptions.newOptions()
+                .includeStatistics(true)
+                .lockFreeLevelTracking(true)
+
+        then:
+        options.isIncludeStatistics()
+        options.isLockFreeLevelTracking()
+
+        when:
+        options = options.includeStatistics(false)
+
+        then:
+        !options.isIncludeStatistics()
+        options.isLockFreeLevelTracking()
+    }
+}
@@ -0,0 +1,155 @@
+package graphql.execution.instrumentation.memoization
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.GraphqlErrorBuilder
+import graphql.TestUtil
+import graphql.execution.DataFetcherResult
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class FieldFetchMemoizationInstrumentationTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            user(id : ID) : User
+            slow(n : Int) : Int
+            broken : String
+            partial : String
+        }
+
+        type User {
+            id : ID
+            friends(first : Int) : [User]
+        }
+
+        type Mutation {
+            increment : Int
+        }
+    '''
+
+    def fetchCounts = [user: 0, friends: 0, slow: 0, broken: 0, partial: 0]
+    def users = [:]
+    def pendingFetches = []
+    def counter = 0
+
+    GraphQL graphQL() {
+        DataFetcher user = { env ->
+            fetchCounts.user++
+            String id = env.getArgument("id")
+            users.computeIfAbsent(id, { [id: id] })
+        }
+        DataFetcher friends = { env ->
+            fetchCounts.friends++
+            [users.computeIfAbsent("friend", { [id: "friend"] })]
+        }
+        DataFetcher slow = { env ->
+            fetchCounts.slow++
+            def future = new CompletableFuture()
+            pendingFetches.add({ future.complete(env.getArgument("n") * 2) })
+            future
+        }
+        DataFetcher broken = { env ->
+            fetchCounts.broken++
+            throw new RuntimeException("broken")
+        }
+        DataFetcher partial = { env ->
+            fetchCounts.partial++
+            DataFetcherResult.newResult()
+                    .data("partial")
+                    .error(GraphqlErrorBuilder.newError(env).message("partially broken").build())
+                    .build()
+        }
+        DataFetcher increment = { env -> ++counter }
+        def schema = TestUtil.schema(sdl, [
+                Query   : [user: user, slow: slow, broken: broken, partial: partial],
+                User    : [friends: friends],
+                Mutation: [increment: increment]])
+        GraphQL.newGraphQL(schema).instrumentation(new FieldFetchMemoizationInstrumentation()).build()
+    }
+
+    def "the same field of the same source object with the same arguments is fetched once"() {
+        def query = '''
+            {
+                a : user(id : 1) { id friends(first : 1) { id } }
+                b : user(id : 1) { x : friends(first : 1) { id } y : friends(first : 2) { id } }
+                c : user(id : 2) { id }
+                ...userFragment
+            }
+
+            fragment userFragment on Query {
+                user(id : 1) { friends(first : 1) { id } }
+            }
+        '''
+
+        when:
+        def result = graphQL().execute(query)
+
+        then:
+        result.errors.isEmpty()
+        result.data == [
+                a   : [id: "1", friends: [[id: "friend"]]],
+                b   : [x: [[id: "friend"]], y: [[id: "friend"]]],
+                c   : [id: "2"],
+                user: [friends: [[id: "friend"]]],
+        ]
+        fetchCounts.user == 2
+        fetchCounts.friends == 2
+    }
+
+    def "fetches that are still running are shared"() {
+        when:
+        def resultFuture = graphQL().executeAsync(ExecutionInput.newExecutionInput('{ a : slow(n : 2) b : slow(n : 2) c : slow(n : 3) }'))
+
+        then:
+        fetchCounts.slow == 2
+        !resultFuture.isDone()
+
+        when:
+        pendingFetches.each { it.run() }
+
+        then:
+        resultFuture.join().data == [a: 4, b: 4, c: 6]
+    }
+
+    def "a failed fetch is reported for every field that shares it"() {
+        when:
+        def result = graphQL().execute('{ a : broken b : broken }')
+
+        then:
+        fetchCounts.broken == 1
+        result.data == [a: null, b: null]
+        result.errors.collect { it.path } == [["a"], ["b"]]
+    }
+
+    def "the errors of a data fetcher result are reported once for the fields that share it"() {
+        when:
+        def result = graphQL().execute('{ a : partial b : partial }')
+
+        then:
+        fetchCounts.partial == 1
+        result.data == [a: "partial", b: "partial"]
+        result.errors.collect { [it.message, it.path] } == [["partially broken", ["a"]]]
+    }
+
+    def "values are only remembered for one execution"() {
+        def graphQL = graphQL()
+
+        when:
+        graphQL.execute('{ user(id : 1) { id } }')
+        graphQL.execute('{ user(id : 1) { id } }')
+
+        then:
+        fetchCounts.user == 2
+    }
+
+    def "the top level fields of a mutation are always fetched"() {
+        when:
+        def result = graphQL().execute('mutation { a : increment b : increment }')
+
+        then:
+        result.data == [a: 1, b: 2]
+    }
+}
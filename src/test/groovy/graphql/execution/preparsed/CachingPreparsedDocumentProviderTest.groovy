@@ -0,0 +1,264 @@
+package graphql.execution.preparsed
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Function
+
+import static graphql.execution.preparsed.CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider
+
+class CachingPreparsedDocumentProviderTest extends Specification {
+
+    static PreparsedDocumentEntry parse(String query) {
+        new PreparsedDocumentEntry(new Parser().parseDocument(query))
+    }
+
+    static ExecutionInput input(String query, String operationName = null) {
+        ExecutionInput.newExecutionInput(query).operationName(operationName).build()
+    }
+
+    def "documents are only computed once per query"() {
+        given:
+        def provider = newCachingPreparsedDocumentProvider().build()
+        def computeCount = 0
+        Function<ExecutionInput, PreparsedDocumentEntry> compute = { ei ->
+            computeCount++
+            parse(ei.query)
+        }
+
+        when:
+        def first = provider.getDocument(input("{ hero { id } }"), compute)
+        def second = provider.getDocument(input("{ hero { id } }"), compute)
+        def other = provider.getDocument(input("{ hero { name } }"), compute)
+        def stats = provider.getStats()
+
+        then:
+        computeCount == 2
+        first.is(second)
+        !first.is(other)
+        stats.hitCount == 1
+        stats.missCount == 2
+        stats.loadCount == 2
+        stats.size == 2
+    }
+
+    def "operation names are only part of the key when asked for"() {
+        given:
+        def query = "query a { hero { id } } query b { hero { name } }"
+        def computeCount = 0
+        Function<ExecutionInput, PreparsedDocumentEntry> compute = { ei ->
+            computeCount++
+            parse(ei.query)
+        }
+
+        when:
+        def provider = newCachingPreparsedDocumentProvider().build()
+        provider.getDocument(input(query, "a"), compute)
+        provider.getDocument(input(query, "b"), compute)
+
+        then:
+        computeCount == 1
+
+        when:
+        computeCount = 0
+        provider = newCachingPreparsedDocumentProvider().keyByOperationName(true).build()
+        provider.getDocument(input(query, "a"), compute)
+        provider.getDocument(input(query, "b"), compute)
+        provider.getDocument(input(query, "a"), compute)
+
+        then:
+        computeCount == 2
+    }
+
+    def "the least recently used entries are evicted to stay within the maximum weight"() {
+        given:
+        def provider = newCachingPreparsedDocumentProvider()
+                .maximumWeight(2)
+                .weigher({ entry -> 1L })
+                .build()
+        def computed = []
+        Function<ExecutionInput, PreparsedDocumentEntry> compute = { ei ->
+            computed.add(ei.query)
+            parse(ei.query)
+        }
+
+        when:
+        provider.getDocument(input("{ a }"), compute)
+        provider.getDocument(input("{ b }"), compute)
+        provider.getDocument(input("{ a }"), compute)
+        provider.getDocument(input("{ c }"), compute)
+        provider.getDocument(input("{ a }"), compute)
+        provider.getDocument(input("{ b }"), compute)
+
+        then:
+        computed == ["{ a }", "{ b }", "{ c }", "{ b }"]
+        provider.getStats().evictionCount == 2
+        provider.getStats().size == 2
+        provider.getStats().weight == 2
+    }
+
+    def "the default weight is the number of nodes of the document"() {
+        given:
+        def provider = newCachingPreparsedDocumentProvider().build()
+
+        when:
+        provider.getDocument(input("{ hero { id } }"), { ei -> parse(ei.query) })
+
+        then:
+        // document, operation, selection set, hero, selection set, id
+        provider.getStats().weight == 6
+    }
+
+    def "entries heavier than the maximum weight are not cached"() {
+        given:
+        def provider = newCachingPreparsedDocumentProvider().maximumWeight(3).build()
+        def computeCount = 0
+        Function<ExecutionInput, PreparsedDocumentEntry> compute = { ei ->
+            computeCount++
+            parse(ei.query)
+        }
+
+        when:
+        provider.getDocument(input("{ hero { id } }"), compute)
+        provider.getDocument(input("{ hero { id } }"), compute)
+
+        then:
+        computeCount == 2
+        provider.getStats().size == 0
+        provider.getStats().evictionCount == 0
+    }
+
+    def "concurrent misses on the same query only compute once"() {
+        given:
+        def provider = newCachingPreparsedDocumentProvider().build()
+        def computeCount = new AtomicInteger()
+        def computing = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        Function<ExecutionInput, PreparsedDocumentEntry> compute = { ei ->
+            computeCount.incrementAndGet()
+            computing.countDown()
+            release.await()
+            parse(ei.query)
+        }
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def futures = (1..4).collect {
+            executor.submit({ provider.getDocument(input("{ hero { id } }"), compute) } as java.util.concurrent.Callable)
+        }
+        computing.await()
+        // give the other requests the chance to wait on the computation
+        Thread.sleep(100)
+        release.countDown()
+        def entries = futures.collect { it.get(5, TimeUnit.SECONDS) }
+        executor.shutdown()
+
+        then:
+        computeCount.get() == 1
+        entries.every { it.is(entries[0]) }
+        provider.getStats().missCount == 1
+        provider.getStats().hitCount == 3
+    }
+
+    def "requests waiting on a computation that fails compute their own"() {
+        given:
+        def provider = newCachingPreparsedDocumentProvider().build()
+        def computeCount = new AtomicInteger()
+        def computing = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        Function<ExecutionInput, PreparsedDocumentEntry> compute = { ei ->
+            if (computeCount.incrementAndGet() == 1) {
+                computing.countDown()
+                release.await()
+                throw new IllegalStateException("only the first request fails")
+            }
+            parse(ei.query)
+        }
+        def executor = Executors.newFixedThreadPool(3)
+
+        when:
+        def first = executor.submit({ provider.getDocument(input("{ hero { id } }"), compute) } as java.util.concurrent.Callable)
+        computing.await()
+        def waiting = (1..2).collect {
+            executor.submit({ provider.getDocument(input("{ hero { id } }"), compute) } as java.util.concurrent.Callable)
+        }
+        // give the other requests the chance to wait on the computation
+        Thread.sleep(100)
+        release.countDown()
+        def entries = waiting.collect { it.get(5, TimeUnit.SECONDS) }
+        first.get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(java.util.concurrent.ExecutionException)
+        e.cause instanceof IllegalStateException
+        entries.every { it.document != null }
+        computeCount.get() >= 2
+        provider.getStats().loadFailureCount == 1
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "failed computations are not cached"() {
+        given:
+        def provider = newCachingPreparsedDocumentProvider().build()
+        def computeCount = 0
+        Function<ExecutionInput, PreparsedDocumentEntry> failing = { ei ->
+            computeCount++
+            throw new IllegalStateException("bang")
+        }
+
+        when:
+        provider.getDocument(input("{ hero { id } }"), failing)
+
+        then:
+        thrown(IllegalStateException)
+        provider.getStats().loadFailureCount == 1
+
+        when:
+        def entry = provider.getDocument(input("{ hero { id } }"), { ei -> parse(ei.query) })
+
+        then:
+        entry.document != null
+        computeCount == 1
+    }
+
+    def "invalid queries are cached with their errors"() {
+        given:
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(newCachingPreparsedDocumentProvider().build())
+                .build()
+
+        when:
+        def first = graphQL.execute("{ hero { unknownField } }")
+        def second = graphQL.execute("{ hero { unknownField } }")
+        def valid = graphQL.execute("{ hero { id } }")
+
+        then:
+        first.errors.size() == 1
+        second.errors == first.errors
+        valid.errors.isEmpty()
+        valid.data == [hero: [id: "2001"]]
+    }
+
+    def "invalidating clears the entries but keeps the stats"() {
+        given:
+        def provider = newCachingPreparsedDocumentProvider().build()
+        provider.getDocument(input("{ hero { id } }"), { ei -> parse(ei.query) })
+
+        when:
+        provider.invalidateAll()
+
+        then:
+        provider.getStats().size == 0
+        provider.getStats().weight == 0
+        provider.getStats().missCount == 1
+    }
+}
@@ -12,6 +12,8 @@ import graphql.execution.instrumentation.parameters.InstrumentationExecutionPara
 import graphql.language.Document
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
 import java.util.function.Function
 
 class PreparsedDocumentProviderTest extends Specification {
@@ -220,4 +222,66 @@ class PreparsedDocumentProviderTest extends Specification {
         resultB.data == [hero: [name: "R2-D2"]]
         instrumentationB.capturedInput.getQuery() == queryB
     }
+
+    class ThreadCapturingInstrumentation extends SimpleInstrumentation {
+        List<String> threadNames = []
+
+        @Override
+        InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters) {
+            threadNames.add(Thread.currentThread().getName())
+            return super.beginParse(parameters)
+        }
+    }
+
+    def "an asynchronous provider is used without blocking the calling thread"() {
+        def lookup = new CompletableFuture<Void>()
+        def documentProvider = new PreparsedDocumentProvider() {
+
+            @Override
+            PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+                return getDocumentAsync(executionInput, computeFunction).join()
+            }
+
+            @Override
+            CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+                return lookup.thenApply({ computeFunction.apply(executionInput) })
+            }
+        }
+
+        when:
+        def result = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(documentProvider)
+                .build()
+                .executeAsync(ExecutionInput.newExecutionInput().query("{ hero { id } }").build())
+
+        then:
+        !result.isDone()
+
+        when:
+        lookup.complete(null)
+
+        then:
+        result.join().data == [hero: [id: "2001"]]
+    }
+
+    def "documents are parsed and validated on the given executor"() {
+        def executor = Executors.newSingleThreadExecutor({ runnable -> new Thread(runnable, "parse-and-validate") })
+        def instrumentation = new ThreadCapturingInstrumentation()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(instrumentation)
+                .parseAndValidateExecutor(executor)
+                .build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput().query("{ hero { id } }").build()).join()
+        def invalidResult = graphQL.executeAsync(ExecutionInput.newExecutionInput().query("{ heroXXXX { id } }").build()).join()
+
+        then:
+        result.data == [hero: [id: "2001"]]
+        invalidResult.errors[0].errorType == ErrorType.ValidationError
+        instrumentation.threadNames == ["parse-and-validate", "parse-and-validate"]
+
+        cleanup:
+        executor.shutdown()
+    }
 }
@@ -0,0 +1,167 @@
+package graphql.execution.preparsed.persisted
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.util.function.Function
+
+import static graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport.sha256Hex
+import static graphql.execution.preparsed.persisted.InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache
+import static graphql.execution.preparsed.persisted.PersistedQuerySupport.PERSISTED_QUERY_MARKER
+
+class ApolloPersistedQuerySupportTest extends Specification {
+
+    def heroQuery = "query { hero { name } }"
+    def heroHash = sha256Hex(heroQuery)
+
+    def computeCount = 0
+    Function<ExecutionInput, PreparsedDocumentEntry> compute = { ExecutionInput ei ->
+        computeCount++
+        new PreparsedDocumentEntry(new Parser().parseDocument(ei.query))
+    }
+
+    static ExecutionInput persistedInput(String query, String hash) {
+        ExecutionInput.newExecutionInput(query)
+                .extensions([persistedQuery: [version: 1, sha256Hash: hash]])
+                .build()
+    }
+
+    def "sha256 ids are hex encoded"() {
+        expect:
+        sha256Hex("") == "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855"
+    }
+
+    def "requests without a persisted query id are computed as normal"() {
+        given:
+        def support = new ApolloPersistedQuerySupport(newInMemoryPersistedQueryCache().build())
+
+        when:
+        support.getDocument(ExecutionInput.newExecutionInput(heroQuery).build(), compute)
+        support.getDocument(ExecutionInput.newExecutionInput(heroQuery).build(), compute)
+
+        then:
+        computeCount == 2
+    }
+
+    def "unknown ids without query text are not found"() {
+        given:
+        def support = new ApolloPersistedQuerySupport(newInMemoryPersistedQueryCache().build())
+
+        when:
+        def entry = support.getDocument(persistedInput(PERSISTED_QUERY_MARKER, heroHash), compute)
+
+        then:
+        computeCount == 0
+        entry.hasErrors()
+        entry.errors[0] instanceof PersistedQueryNotFound
+        entry.errors[0].message == "PersistedQueryNotFound"
+        entry.errors[0].extensions == [classification: "PersistedQueryNotFound", persistedQueryId: heroHash]
+    }
+
+    def "queries are cached by id once seen"() {
+        given:
+        def support = new ApolloPersistedQuerySupport(newInMemoryPersistedQueryCache().build())
+
+        when:
+        def first = support.getDocument(persistedInput(heroQuery, heroHash), compute)
+        def second = support.getDocument(persistedInput("", heroHash), compute)
+        def third = support.getDocument(persistedInput(PERSISTED_QUERY_MARKER, heroHash), compute)
+
+        then:
+        computeCount == 1
+        !first.hasErrors()
+        second.is(first)
+        third.is(first)
+    }
+
+    def "the least recently used documents are evicted once the cache is full"() {
+        given:
+        def support = new ApolloPersistedQuerySupport(newInMemoryPersistedQueryCache().maximumSize(2).build())
+        def queries = ["query { hero { id } }", "query { hero { name } }", "query { hero { appearsIn } }"]
+
+        when:
+        queries.each { support.getDocument(persistedInput(it, sha256Hex(it)), compute) }
+
+        then:
+        computeCount == 3
+
+        when:
+        def evicted = support.getDocument(persistedInput(PERSISTED_QUERY_MARKER, sha256Hex(queries[0])), compute)
+        def kept = support.getDocument(persistedInput(PERSISTED_QUERY_MARKER, sha256Hex(queries[2])), compute)
+
+        then:
+        computeCount == 3
+        evicted.errors[0] instanceof PersistedQueryNotFound
+        !kept.hasErrors()
+    }
+
+    def "registered queries can be executed by id"() {
+        given:
+        def cache = newInMemoryPersistedQueryCache().addQuery(heroHash, heroQuery).build()
+        def support = new ApolloPersistedQuerySupport(cache)
+        String computedQuery = null
+
+        when:
+        def entry = support.getDocument(persistedInput(PERSISTED_QUERY_MARKER, heroHash), { ExecutionInput ei ->
+            computedQuery = ei.query
+            compute.apply(ei)
+        })
+
+        then:
+        !entry.hasErrors()
+        computedQuery == heroQuery
+    }
+
+    def "ids that do not match the query text are invalid and not cached"() {
+        given:
+        def support = new ApolloPersistedQuerySupport(newInMemoryPersistedQueryCache().build())
+        def wrongHash = sha256Hex("query { hero { id } }")
+
+        when:
+        def entry = support.getDocument(persistedInput(heroQuery, wrongHash), compute)
+
+        then:
+        computeCount == 0
+        entry.errors[0] instanceof PersistedQueryIdInvalid
+
+        when:
+        entry = support.getDocument(persistedInput(PERSISTED_QUERY_MARKER, wrongHash), compute)
+
+        then:
+        entry.errors[0] instanceof PersistedQueryNotFound
+    }
+
+    def "integration test of the automatic persisted query flow"() {
+        given:
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(new ApolloPersistedQuerySupport(newInMemoryPersistedQueryCache().build()))
+                .build()
+
+        when: "the client first only sends the id"
+        def result = graphQL.execute(persistedInput(PERSISTED_QUERY_MARKER, heroHash))
+
+        then:
+        result.data == null
+        result.errors.size() == 1
+        result.errors[0].message == "PersistedQueryNotFound"
+        result.errors[0].toSpecification().extensions.classification == "PersistedQueryNotFound"
+
+        when: "it then sends the id and the query text"
+        result = graphQL.execute(persistedInput(heroQuery, heroHash))
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "R2-D2"]]
+
+        when: "from then on the id is enough"
+        result = graphQL.execute(persistedInput(PERSISTED_QUERY_MARKER, heroHash))
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "R2-D2"]]
+    }
+}
@@ -51,4 +51,8 @@ public class CapturingSubscriber<T> implements Subscriber<T> {
     public AtomicBoolean isDone() {
         return done;
     }
+
+    public Subscription getSubscription() {
+        return subscription;
+    }
 }
@@ -0,0 +1,187 @@
+package graphql.execution.reactive
+
+import graphql.execution.pubsub.CapturingSubscriber
+import io.reactivex.Flowable
+import org.awaitility.Awaitility
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.function.Function
+
+class OrderedCompletionStageMappingPublisherTest extends Specification {
+
+    // requests everything up front, so only the publisher bounds the concurrency
+    static class GreedySubscriber<T> implements Subscriber<T> {
+        List<T> events = Collections.synchronizedList([])
+        Throwable throwable
+        AtomicBoolean done = new AtomicBoolean()
+
+        @Override
+        void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE)
+        }
+
+        @Override
+        void onNext(T t) {
+            events.add(t)
+        }
+
+        @Override
+        void onError(Throwable t) {
+            throwable = t
+            done.set(true)
+        }
+
+        @Override
+        void onComplete() {
+            done.set(true)
+        }
+    }
+
+    def pending = [:]
+    def maxPending = 0
+
+    // the mapped items only complete when the test says so
+    def pendingMapper = new Function<Integer, CompletionStage<String>>() {
+        @Override
+        CompletionStage<String> apply(Integer integer) {
+            def future = new CompletableFuture<String>()
+            pending.put(integer, future)
+            maxPending = Math.max(maxPending, pending.count { !it.value.isDone() })
+            return future
+        }
+    }
+
+    def "results are published in upstream order even when later items complete first"() {
+        Publisher<String> rxStrings = new OrderedCompletionStageMappingPublisher<String, Integer>(Flowable.range(0, 4), pendingMapper, 4)
+        def subscriber = new GreedySubscriber<String>()
+
+        when:
+        rxStrings.subscribe(subscriber)
+        pending[3].complete("3")
+        pending[1].complete("1")
+        pending[2].complete("2")
+
+        then:
+        subscriber.events.isEmpty()
+
+        when:
+        pending[0].complete("0")
+
+        then:
+        subscriber.events == ["0", "1", "2", "3"]
+        subscriber.done.get()
+    }
+
+    def "no more than the maximum number of items are mapped at the same time"() {
+        Publisher<String> rxStrings = new OrderedCompletionStageMappingPublisher<String, Integer>(Flowable.range(0, 10), pendingMapper, 3)
+        def subscriber = new GreedySubscriber<String>()
+
+        when:
+        rxStrings.subscribe(subscriber)
+
+        then:
+        pending.keySet() == [0, 1, 2] as Set
+
+        when: "a later item completes first"
+        pending[2].complete("2")
+
+        then: "it still holds its place until the items before it are published"
+        pending.size() == 3
+
+        when:
+        pending[0].complete("0")
+
+        then:
+        subscriber.events == ["0"]
+        pending.size() == 4
+
+        when:
+        (0..9).each { i ->
+            pending[i].complete(String.valueOf(i))
+        }
+
+        then:
+        subscriber.events == (0..9).collect { String.valueOf(it) }
+        subscriber.done.get()
+        maxPending == 3
+    }
+
+    def "items are only requested as the downstream subscriber asks for them"() {
+        def mapper = new Function<Integer, CompletionStage<String>>() {
+            @Override
+            CompletionStage<String> apply(Integer integer) {
+                return CompletableFuture.completedFuture(String.valueOf(integer))
+            }
+        }
+        def requested = []
+        Publisher<Integer> rxIntegers = Flowable.range(0, 10).doOnRequest({ n -> requested.add(n) })
+        Publisher<String> rxStrings = new OrderedCompletionStageMappingPublisher<String, Integer>(rxIntegers, mapper, 5)
+
+        def capturingSubscriber = new CapturingSubscriber<>()
+
+        when:
+        rxStrings.subscribe(capturingSubscriber)
+
+        then:
+        capturingSubscriber.events == (0..9).collect { String.valueOf(it) }
+        capturingSubscriber.isDone().get()
+        requested.every { it == 1 }
+    }
+
+    def "error handling"() {
+        when:
+        Publisher<Integer> rxIntegers = Flowable.range(0, 10)
+
+        def mapper = new Function<Integer, CompletionStage<String>>() {
+            @Override
+            CompletionStage<String> apply(Integer integer) {
+                if (integer == 5) {
+                    def future = new CompletableFuture()
+                    future.completeExceptionally(new RuntimeException("Bang"))
+                    return future
+                } else {
+                    CompletableFuture.completedFuture(String.valueOf(integer))
+                }
+            }
+        }
+        Publisher<String> rxStrings = new OrderedCompletionStageMappingPublisher<String, Integer>(rxIntegers, mapper, 2)
+
+        def capturingSubscriber = new CapturingSubscriber<>()
+        rxStrings.subscribe(capturingSubscriber)
+
+        then:
+        capturingSubscriber.throwable.getMessage() == "Bang"
+        capturingSubscriber.events.size() == 5
+    }
+
+    def "mapper exception causes onError"() {
+        when:
+        Publisher<Integer> rxIntegers = Flowable.range(0, 10)
+
+        def mapper = new Function<Integer, CompletionStage<String>>() {
+            @Override
+            CompletionStage<String> apply(Integer integer) {
+                if (integer == 5) {
+                    throw new RuntimeException("Bang")
+                } else {
+                    CompletableFuture.completedFuture(String.valueOf(integer))
+                }
+            }
+        }
+        Publisher<String> rxStrings = new OrderedCompletionStageMappingPublisher<String, Integer>(rxIntegers, mapper, 2)
+
+        def capturingSubscriber = new GreedySubscriber<String>()
+        rxStrings.subscribe(capturingSubscriber)
+
+        then:
+        Awaitility.await().untilTrue(capturingSubscriber.done)
+        capturingSubscriber.throwable.getMessage() == "Bang"
+        capturingSubscriber.events == ["0", "1", "2", "3", "4"]
+    }
+}
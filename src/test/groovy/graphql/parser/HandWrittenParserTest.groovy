@@ -0,0 +1,245 @@
+package graphql.parser
+
+import graphql.language.AstComparator
+import graphql.language.AstPrinter
+import graphql.language.Document
+import graphql.language.Node
+import graphql.language.OperationDefinition
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class HandWrittenParserTest extends Specification {
+
+    def antlrOptions = ParserOptions.newParserOptions().handWrittenParser(false).build()
+    def handWrittenOptions = ParserOptions.newParserOptions().handWrittenParser(true).build()
+
+    static def queries = [
+            "{ hello }",
+            "{,\r me\n\t} ,\n",
+            '''
+            # a comment
+            query Q($a: [Int!]! = [1, 2], $b: Boolean = true, $c: In = {a: "x", b: null}) @dir(a: ENUM) {
+                # field comment
+                alias: field(a: $a, f: 1.5e3, i: -12, s: "with \\"escape\\" \\u0041") @skip(if: $b) {
+                    ...Frag @include(if: true)
+                    ... on Type { x }
+                    ... @defer { y }
+                    ... { z }
+                }
+            }
+
+            mutation { m }
+            subscription S { s }
+
+            fragment Frag on Type { a, b, c }
+            ''',
+            '''
+            {
+              triple(s: """
+                    a block string
+                    with \\""" escaped quotes
+                  """)
+            }
+            ''',
+            '''
+              # Represents the 😕 emoji.
+              {
+              foo
+               }
+            ''',
+            '''
+            "schema description"
+            schema @dir { query: Query mutation: Mutation }
+
+            """
+            block description
+            """
+            type Query implements & A & B @key(fields: "id") {
+                "field description"
+                field(
+                    "arg description"
+                    arg: [String!] = ["a"] @deprecated
+                ): [[Int]!]!
+                other: Query
+            }
+
+            type Legacy implements A B { a: Int }
+            interface A { a: Int }
+            interface B
+            union U = | A | B
+            union Empty
+            scalar Url @specifiedBy(url: "x")
+            enum E { ONE @deprecated, TWO "three" THREE }
+            input I { a: Int = 1, b: [I!] }
+            directive @key(fields: String!) on OBJECT | INTERFACE
+            directive @dir on FIELD_DEFINITION
+
+            extend type Query @dir
+            extend type Query @dir {}
+            extend type Query { more: Int }
+            extend interface A @dir
+            extend interface A { b: Int }
+            extend union U @dir
+            extend union U = C
+            extend enum E { FOUR }
+            extend input I @dir
+            extend input I { c: Int }
+            extend scalar Url @dir
+            extend type Query implements C
+            ''',
+            // braces that do not parse as the body of a definition are the selection set of an anonymous query
+            "type A { a Int }",
+            "extend type A @dir { ...F }",
+            // accepted by the ANTLR parser even though the specification does not allow them
+            "extend type A @dir { }",
+            "enum E { true }",
+    ]
+
+    static def invalidQueries = [
+            "",
+            "{",
+            "{ a } }",
+            "{ a ",
+            "query X { field1 field2(thisBreaksHere field3 }",
+            "query X { field() field2",
+            "mutation event(\$var: SomeType[]!) { res: update(arg: \$var) {id} }",
+            "mutation event(() }",
+            "{ hello(arg: 4.) }",
+            "{ hello(arg: 4.e1) }",
+            "{ hello(arg: -) }",
+            "{ hello(arg: \"unterminated) }",
+            "{ hello(arg: \"bad \\x escape\") }",
+            "{ hello(arg: \"\"\"unterminated) }",
+            "{ hello(arg: \$var) }\nfragment F on T { a(b: 1 }",
+            "query Q(\$a: Int = \$b) { a }",
+            "type Foo {\n  name / String\n}",
+            "scala Url   # spillin misteak\n\ninterface Foo { is_foo : Boolean }",
+            "\"description\" query { a }",
+            "\"description\" \"another\" type A",
+            "extend type A",
+            "extend type A {}",
+            "extend type A implements B { a: Int",
+            "extend type A implements B {}",
+            "type A { a: }",
+            "type A { a(x: Int): }",
+            "type A { a: [Int }",
+            "extend union U",
+            "extend thing A @dir",
+            "type A { f: [[Int }",
+            "type A { f: [Int }",
+            "fragment on on A { a }",
+            "{ ... 1 }",
+            "{ ...on }",
+            "directive @a on",
+            "query { a } # trailing comment\n }",
+            // token recognition errors further on win over no viable alternative, but not over a mismatched token
+            "sch.ema {",
+            "x { a } ?",
+            "{ a(b: ) c d ?",
+            "query Q ) a ?",
+    ]
+
+    @Unroll
+    def "hand written parser builds the same document as the ANTLR parser for #query"() {
+        when:
+        def expected = new Parser().parseDocument(query, null, antlrOptions)
+        def actual = new Parser().parseDocument(query, null, handWrittenOptions)
+
+        then:
+        AstPrinter.printAst(actual) == AstPrinter.printAst(expected)
+        new AstComparator().isEqual(actual, expected)
+        assertSameNodeData(actual, expected)
+
+        where:
+        query << queries
+    }
+
+    @Unroll
+    def "hand written parser reports the same syntax error as the ANTLR parser for #query"() {
+        when:
+        def expected = syntaxError(query, antlrOptions)
+        def actual = syntaxError(query, handWrittenOptions)
+
+        then:
+        actual != null
+        actual.message == expected.message
+        actual.location == expected.location
+        actual.offendingToken == expected.offendingToken
+        actual.sourcePreview == expected.sourcePreview
+
+        where:
+        query << invalidQueries
+    }
+
+    def "multi source input has the same locations"() {
+        def sourceReader = MultiSourceReader.newMultiSourceReader()
+                .string("query {\n", "part1")
+                .string("   field1\n", "part2")
+                .string("   # comment\n   field2\n}", "part3")
+                .trackData(true)
+                .build()
+        def sameSourceReader = MultiSourceReader.newMultiSourceReader()
+                .string("query {\n", "part1")
+                .string("   field1\n", "part2")
+                .string("   # comment\n   field2\n}", "part3")
+                .trackData(true)
+                .build()
+
+        when:
+        def expected = new Parser().parseDocument(sourceReader, antlrOptions)
+        def actual = new Parser().parseDocument(sameSourceReader, handWrittenOptions)
+
+        then:
+        assertSameNodeData(actual, expected)
+        def field2 = (actual.definitions[0] as OperationDefinition).selectionSet.selections[1]
+        field2.sourceLocation.sourceName == "part3"
+        field2.sourceLocation.line == 2
+        field2.comments[0].content == " comment"
+        field2.comments[0].sourceLocation.sourceName == "part3"
+    }
+
+    def "the default parser options are used when none are given"() {
+        def defaultOptions = ParserOptions.getDefaultParserOptions()
+
+        when:
+        ParserOptions.setDefaultParserOptions(defaultOptions.transform({ it.handWrittenParser(true) }))
+        Document document = new Parser().parseDocument("{ hello(a: 1) world }")
+
+        then:
+        ParserOptions.getDefaultParserOptions().isHandWrittenParser()
+        AstPrinter.printAst(document) == AstPrinter.printAst(new Parser().parseDocument("{ hello(a: 1) world }", null, antlrOptions))
+
+        cleanup:
+        ParserOptions.setDefaultParserOptions(defaultOptions)
+    }
+
+    def "the ANTLR parser is the default"() {
+        expect:
+        !ParserOptions.newParserOptions().build().isHandWrittenParser()
+        !ParserOptions.getDefaultParserOptions().isHandWrittenParser()
+    }
+
+    static InvalidSyntaxException syntaxError(String query, ParserOptions options) {
+        try {
+            new Parser().parseDocument(query, null, options)
+            return null
+        } catch (InvalidSyntaxException e) {
+            return e
+        }
+    }
+
+    static boolean assertSameNodeData(Node actual, Node expected) {
+        assert actual.class == expected.class
+        assert actual.sourceLocation == expected.sourceLocation
+        assert actual.comments.collect { [it.content, it.sourceLocation] } == expected.comments.collect { [it.content, it.sourceLocation] }
+        assert actual.ignoredChars.left == expected.ignoredChars.left
+        assert actual.ignoredChars.right == expected.ignoredChars.right
+        List<Node> actualChildren = actual.children
+        List<Node> expectedChildren = expected.children
+        assert actualChildren.size() == expectedChildren.size()
+        for (int i = 0; i < actualChildren.size(); i++) {
+            assertSameNodeData(actualChildren[i], expectedChildren[i])
+        }
+        return true
+    }
+}
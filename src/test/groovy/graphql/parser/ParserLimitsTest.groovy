@@ -0,0 +1,169 @@
+package graphql.parser
+
+import graphql.ErrorType
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.introspection.IntrospectionQuery
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ParserLimitsTest extends Specification {
+
+    static ParserOptions options(boolean handWrittenParser) {
+        ParserOptions.newParserOptions().handWrittenParser(handWrittenParser).build()
+    }
+
+    static InvalidSyntaxException syntaxError(String query, ParserOptions options) {
+        try {
+            new Parser().parseDocument(query, null, options)
+            return null
+        } catch (InvalidSyntaxException e) {
+            return e
+        }
+    }
+
+    def "documents are not limited by default"() {
+        def options = ParserOptions.getDefaultParserOptions()
+
+        expect:
+        options.maxCharacters == Integer.MAX_VALUE
+        options.maxTokens == Integer.MAX_VALUE
+        options.maxWhitespaceRunLength == Integer.MAX_VALUE
+        options.maxNestingDepth == Integer.MAX_VALUE
+    }
+
+    def "operations are not limited by default"() {
+        def options = ParserOptions.getDefaultOperationParserOptions()
+
+        expect:
+        options.maxCharacters == Integer.MAX_VALUE
+        options.maxTokens == Integer.MAX_VALUE
+        options.maxWhitespaceRunLength == Integer.MAX_VALUE
+        options.maxNestingDepth == Integer.MAX_VALUE
+    }
+
+    def "operations can opt in to the recommended limits"() {
+        def options = ParserOptions.getDefaultOperationParserOptions().transform({ it.operationLimits() })
+
+        expect:
+        !options.isCaptureLineComments()
+        options.maxCharacters == ParserOptions.MAX_QUERY_CHARACTERS
+        options.maxTokens == ParserOptions.MAX_QUERY_TOKENS
+        options.maxWhitespaceRunLength == ParserOptions.MAX_QUERY_WHITESPACE_RUN_LENGTH
+        options.maxNestingDepth == ParserOptions.MAX_QUERY_NESTING_DEPTH
+
+        when:
+        new Parser().parseDocument(IntrospectionQuery.INTROSPECTION_QUERY, null, options)
+
+        then:
+        noExceptionThrown()
+    }
+
+    @Unroll
+    def "parsing is cancelled at the first token over the limit with the hand written parser #handWrittenParser"() {
+        def parserOptions = options(handWrittenParser).transform({ it.maxTokens(4) })
+
+        expect:
+        syntaxError("{ a b }", parserOptions) == null
+        syntaxError("{ a b # comment\n }", parserOptions) != null
+
+        when:
+        def e = syntaxError("{ a b c }", parserOptions)
+
+        then:
+        e.message.contains("More than 4 parse tokens have been presented")
+        e.location.line == 1
+        e.location.column == 9
+        e.sourcePreview == "{ a b c }\n"
+
+        where:
+        handWrittenParser << [false, true]
+    }
+
+    @Unroll
+    def "parsing is cancelled when the document is nested too deeply with the hand written parser #handWrittenParser"() {
+        def parserOptions = options(handWrittenParser).transform({ it.maxNestingDepth(3) })
+
+        expect:
+        syntaxError("{ a(b: [1]) { c } d { e { f } } }", parserOptions) == null
+        syntaxError("{ a(b: [[1]]) }", parserOptions).message.contains("More than 3 levels of nesting have been presented")
+
+        when:
+        def e = syntaxError("{ a { b { c { d } } } }", parserOptions)
+
+        then:
+        e.message.contains("More than 3 levels of nesting have been presented")
+        e.location.line == 1
+        e.location.column == 13
+
+        when: "a stack overflow is prevented"
+        e = syntaxError("{ a" * 100_000, options(handWrittenParser).transform({ it.operationLimits() }))
+
+        then:
+        e.message.contains("More than ${ParserOptions.MAX_QUERY_NESTING_DEPTH} levels of nesting have been presented")
+
+        where:
+        handWrittenParser << [false, true]
+    }
+
+    @Unroll
+    def "parsing is cancelled at long runs of whitespace with the hand written parser #handWrittenParser"() {
+        def parserOptions = options(handWrittenParser).transform({ it.maxWhitespaceRunLength(3) })
+
+        expect:
+        syntaxError("{ a,\n b\t c }", parserOptions) == null
+
+        when:
+        def e = syntaxError("{ a, , b }", parserOptions)
+
+        then:
+        e.message.contains("More than 3 consecutive whitespace tokens have been presented")
+        e.location.line == 1
+        e.location.column == 7
+
+        where:
+        handWrittenParser << [false, true]
+    }
+
+    @Unroll
+    def "parsing is cancelled before lexing when there are too many characters with the hand written parser #handWrittenParser"() {
+        def parserOptions = options(handWrittenParser).transform({ it.maxCharacters(10) })
+
+        expect:
+        syntaxError("{ hello }", parserOptions) == null
+
+        when:
+        def e = syntaxError("{ hello world }", parserOptions)
+
+        then:
+        e.message.contains("More than 10 characters have been presented")
+        e.location == null
+
+        when:
+        new Parser().parseDocument(new StringReader("{ hello world }"), parserOptions)
+
+        then:
+        e = thrown(InvalidSyntaxException)
+        e.message.contains("More than 10 characters have been presented")
+
+        where:
+        handWrittenParser << [false, true]
+    }
+
+    def "executions that exceed the limits are invalid syntax once they are opted in to"() {
+        def defaultOptions = ParserOptions.getDefaultOperationParserOptions()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).build()
+
+        when:
+        ParserOptions.setDefaultOperationParserOptions(defaultOptions.transform({ it.operationLimits() }))
+        def result = graphQL.execute("{ hero " + ("{ friends " * 1_000) + "{ name }" + (" }" * 1_000) + " }")
+
+        then:
+        result.errors.size() == 1
+        result.errors[0].errorType == ErrorType.InvalidSyntax
+        result.errors[0].message.contains("levels of nesting")
+
+        cleanup:
+        ParserOptions.setDefaultOperationParserOptions(defaultOptions)
+    }
+}
@@ -0,0 +1,144 @@
+package graphql.parser
+
+import graphql.language.Field
+import graphql.language.IgnoredChars
+import graphql.language.ObjectTypeDefinition
+import graphql.language.OperationDefinition
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ParserOptionsTest extends Specification {
+
+    def query = '''
+        # the query
+        query Q {
+            # the field
+            field
+        }
+        '''
+
+    def sdl = '''
+        "the type"
+        type Query {
+            field: String
+        }
+        '''
+
+    def "everything is captured by default"() {
+        def options = ParserOptions.getDefaultParserOptions()
+
+        expect:
+        options.isCaptureSourceLocation()
+        options.isCaptureLineComments()
+        options.isCaptureIgnoredChars()
+        options.isTrackData()
+    }
+
+    def "operations don't capture comments and ignored chars by default"() {
+        def options = ParserOptions.getDefaultOperationParserOptions()
+
+        expect:
+        options.isCaptureSourceLocation()
+        !options.isCaptureLineComments()
+        !options.isCaptureIgnoredChars()
+        options.isTrackData()
+    }
+
+    def "options can be transformed"() {
+        def options = ParserOptions.newParserOptions().captureLineComments(false).build()
+
+        when:
+        def transformed = options.transform({ it.captureSourceLocation(false).trackData(false) })
+
+        then:
+        !transformed.isCaptureLineComments()
+        !transformed.isCaptureSourceLocation()
+        !transformed.isTrackData()
+        transformed.isCaptureIgnoredChars()
+
+        options.isCaptureSourceLocation()
+        options.isTrackData()
+    }
+
+    @Unroll
+    def "nothing is captured when turned off with the hand written parser #handWrittenParser"() {
+        def options = ParserOptions.newParserOptions()
+                .handWrittenParser(handWrittenParser)
+                .captureSourceLocation(false)
+                .captureLineComments(false)
+                .captureIgnoredChars(false)
+                .build()
+
+        when:
+        def document = new Parser().parseDocument(query, null, options)
+        def operationDefinition = document.definitions[0] as OperationDefinition
+        def field = operationDefinition.selectionSet.selections[0] as Field
+
+        then:
+        document.sourceLocation == null
+        operationDefinition.sourceLocation == null
+        operationDefinition.comments.isEmpty()
+        operationDefinition.ignoredChars == IgnoredChars.EMPTY
+        field.sourceLocation == null
+        field.comments.isEmpty()
+        field.ignoredChars == IgnoredChars.EMPTY
+
+        when:
+        document = new Parser().parseDocument(sdl, null, options)
+        def typeDefinition = document.definitions[0] as ObjectTypeDefinition
+
+        then:
+        typeDefinition.sourceLocation == null
+        typeDefinition.description.content == "the type"
+        typeDefinition.description.sourceLocation == null
+        typeDefinition.fieldDefinitions[0].sourceLocation == null
+
+        where:
+        handWrittenParser << [false, true]
+    }
+
+    @Unroll
+    def "each kind of data can be captured on its own with the hand written parser #handWrittenParser"() {
+        def options = ParserOptions.newParserOptions()
+                .handWrittenParser(handWrittenParser)
+                .captureSourceLocation(false)
+                .captureLineComments(true)
+                .captureIgnoredChars(false)
+                .build()
+
+        when:
+        def document = new Parser().parseDocument(query, null, options)
+        def operationDefinition = document.definitions[0] as OperationDefinition
+        def field = operationDefinition.selectionSet.selections[0] as Field
+
+        then:
+        operationDefinition.sourceLocation == null
+        operationDefinition.comments[0].content == " the query"
+        operationDefinition.comments[0].sourceLocation.line == 2
+        field.comments[0].content == " the field"
+        field.ignoredChars == IgnoredChars.EMPTY
+
+        where:
+        handWrittenParser << [false, true]
+    }
+
+    @Unroll
+    def "syntax errors have no source preview without tracking data with the hand written parser #handWrittenParser"() {
+        def options = ParserOptions.newParserOptions()
+                .handWrittenParser(handWrittenParser)
+                .trackData(false)
+                .build()
+
+        when:
+        new Parser().parseDocument("query X { field1 field2(thisBreaksHere field3 }", null, options)
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e.location.line == 1
+        e.location.column == 40
+        e.sourcePreview == ""
+
+        where:
+        handWrittenParser << [false, true]
+    }
+}
@@ -367,6 +367,32 @@ class ParserTest extends Specification {
         helloField.comments.collect { c -> c.content } == [" this is some comment, which should be captured"]
     }
 
+    def "comments have the line and source of the line they are on"() {
+        given:
+        def input = "{\n  # first\n  hello\n  # second\n  world\n}"
+        def multiSourceReader = MultiSourceReader.newMultiSourceReader()
+                .string("{\n  hello\n", "part1")
+                .string("  # in part2\n  world\n}", "part2")
+                .trackData(true)
+                .build()
+
+        when:
+        def document = new Parser().parseDocument(input)
+        def selections = (document.definitions[0] as OperationDefinition).selectionSet.selections
+
+        then:
+        selections[0].comments[0].sourceLocation.line == 2
+        selections[1].comments[0].sourceLocation.line == 4
+
+        when:
+        document = new Parser().parseDocument(multiSourceReader)
+        def world = (document.definitions[0] as OperationDefinition).selectionSet.selections[1]
+
+        then:
+        world.comments[0].sourceLocation.line == 1
+        world.comments[0].sourceLocation.sourceName == "part2"
+    }
+
     @Unroll
     def "parse floatValue #floatString"() {
         given:
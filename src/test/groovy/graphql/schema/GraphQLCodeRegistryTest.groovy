@@ -130,6 +130,58 @@ class GraphQLCodeRegistryTest extends Specification {
         codeRegistry.getDataFetcher(FieldCoordinates.coordinates("parentType2", "A"), field("A")) instanceof PropertyDataFetcher // a default one
     }
 
+    def "data fetchers from static factories are resolved once and reused"() {
+        given:
+        def parentType = objectType("parentType1")
+        def fieldA = field("A")
+        def fieldB = field("B")
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("parentType1", "A"), new NamedDF("A"))
+                .build()
+
+        when:
+        def dfA1 = codeRegistry.getDataFetcher(parentType, fieldA)
+        def dfA2 = codeRegistry.getDataFetcher(parentType, fieldA)
+        def dfB1 = codeRegistry.getDataFetcher(parentType, fieldB)
+        def dfB2 = codeRegistry.getDataFetcher(parentType, fieldB)
+
+        then:
+        (dfA1 as NamedDF).name == "A"
+        dfA1.is(dfA2)
+        dfB1 instanceof PropertyDataFetcher
+        dfB1.is(dfB2)
+    }
+
+    def "dynamic data fetcher factories are asked on each call"() {
+        given:
+        def callCount = 0
+        DataFetcherFactory factory = { env ->
+            callCount++
+            new NamedDF("A" + callCount)
+        }
+        def codeRegistryBuilder = GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("parentType1", "A"), factory)
+        def codeRegistry = codeRegistryBuilder.build()
+
+        def parentType = objectType("parentType1")
+        def fieldA = field("A")
+
+        when:
+        def df1 = codeRegistry.getDataFetcher(parentType, fieldA)
+        def df2 = codeRegistry.getDataFetcher(parentType, fieldA)
+
+        then:
+        callCount == 2
+        (df1 as NamedDF).name == "A1"
+        (df2 as NamedDF).name == "A2"
+
+        when: "the builder is changed after the code registry is built"
+        codeRegistryBuilder.dataFetcher(FieldCoordinates.coordinates("parentType1", "A"), new NamedDF("changed"))
+
+        then:
+        (codeRegistry.getDataFetcher(parentType, fieldA) as NamedDF).name == "A3"
+    }
+
     def "records type resolvers against unions and interfaces"() {
         when:
         def codeRegistryBuilder = GraphQLCodeRegistry.newCodeRegistry()
@@ -11,6 +11,7 @@ import spock.lang.Specification
 
 import java.util.function.Function
 
+import static graphql.Scalars.GraphQLBoolean
 import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment
 
 @SuppressWarnings("GroovyUnusedDeclaration")
@@ -18,6 +19,7 @@ class PropertyDataFetcherTest extends Specification {
 
     void setup() {
         PropertyDataFetcher.setUseSetAccessible(true)
+        PropertyDataFetcher.setUseLambdaFactory(false)
         PropertyDataFetcher.clearReflectionCache()
     }
 
@@ -219,6 +221,63 @@ class PropertyDataFetcherTest extends Specification {
 
     }
 
+    def "fetch via generated getter functions gives the same results as reflection"() {
+        PropertyDataFetcher.setUseLambdaFactory(true)
+
+        def fetcher = new PropertyDataFetcher(property)
+        when:
+        def result = fetcher.get(env(source))
+        then:
+        result == expected
+
+        when:
+        result = fetcher.get(env(source))
+        then:
+        result == expected
+
+        where:
+        source                                                | property                                    | expected
+        new TestClass()                                       | "publicProperty"                            | "publicValue"
+        new TestClass()                                       | "privateProperty"                           | "privateValue"
+        new TestClass()                                       | "publicField"                               | "publicFieldValue"
+        new TestClass()                                       | "unknownProperty"                           | null
+        new TwoClassesDown("aValue")                          | "publicProperty"                            | "publicValue"
+        TestClass.createPackageProtectedImpl("aValue")        | "packageProtectedProperty"                  | "aValue"
+        TestClass.createPackageProtectedImpl("aValue")        | "propertyOnlyDefinedOnPackageProtectedImpl" | "valueOnlyDefinedOnPackageProtectedIpl"
+        new ClassWithDFEMethods()                             | "methodWithDFE"                             | "methodWithDFE"
+        new ClassWithDFEMethods()                             | "methodWithoutDFE"                          | "methodWithoutDFE"
+        new ClassWithInterfaces()                             | "methodThatIsADefault"                      | "methodThatIsADefault"
+        new ClassWithInteritanceAndInterfaces.StartingClass() | "methodYouMustImplement"                    | "methodYouMustImplement"
+    }
+
+    def "generated getter functions use the is prefix for boolean properties"() {
+        PropertyDataFetcher.setUseLambdaFactory(true)
+
+        def environment = newDataFetchingEnvironment()
+                .source(new BooleanPojo())
+                .fieldType(GraphQLBoolean)
+                .build()
+        when:
+        def result = new PropertyDataFetcher("active").get(environment)
+        then:
+        result == true
+
+        when:
+        result = new PropertyDataFetcher("enabled").get(environment)
+        then:
+        result == false
+    }
+
+    static class BooleanPojo {
+        boolean isActive() {
+            return true
+        }
+
+        Boolean getEnabled() {
+            return false
+        }
+    }
+
     def "support for DFE on methods"() {
         def environment = env(new ClassWithDFEMethods())
         def fetcher = new PropertyDataFetcher("methodWithDFE")
@@ -0,0 +1,79 @@
+package graphql.util
+
+import spock.lang.Specification
+
+class BoundedCacheTest extends Specification {
+
+    def "small caches evict the least recently used values"() {
+        given:
+        BoundedCache<String, String> cache = BoundedCache.newBoundedCache(2)
+
+        when:
+        cache.put("a", "A")
+        cache.put("b", "B")
+        cache.get("a")
+        cache.put("c", "C")
+
+        then:
+        cache.get("a") == "A"
+        cache.get("b") == null
+        cache.get("c") == "C"
+        cache.size() == 2
+        cache.evictionCount() == 1
+    }
+
+    def "values are only put if absent when asked for"() {
+        given:
+        BoundedCache<String, String> cache = BoundedCache.newBoundedCache(10)
+
+        expect:
+        cache.putIfAbsent("a", "first") == null
+        cache.putIfAbsent("a", "second") == "first"
+        cache.get("a") == "first"
+    }
+
+    def "values are only removed when they are still the expected value"() {
+        given:
+        BoundedCache<String, String> cache = BoundedCache.newBoundedCache(10)
+        def value = "value"
+        cache.put("a", value)
+
+        expect:
+        !cache.remove("a", new String("value"))
+        cache.remove("a", value)
+        cache.get("a") == null
+        cache.size() == 0
+    }
+
+    def "large caches stay within their maximum weight across segments"() {
+        given:
+        BoundedCache<Integer, String> cache = BoundedCache.newWeightedBoundedCache(10_000, { String value -> value.length() as long })
+
+        when:
+        (1..5_000).each { cache.put(it, "four") }
+
+        then:
+        cache.weight() <= 10_000
+        cache.size() == cache.weight() / 4
+        cache.evictionCount() == 5_000 - cache.size()
+
+        when:
+        cache.clear()
+
+        then:
+        cache.size() == 0
+        cache.weight() == 0
+    }
+
+    def "values heavier than the share of a segment are not cached"() {
+        given:
+        BoundedCache<String, String> cache = BoundedCache.newWeightedBoundedCache(3, { String value -> value.length() as long })
+
+        when:
+        cache.put("a", "abcd")
+
+        then:
+        cache.get("a") == null
+        cache.size() == 0
+    }
+}
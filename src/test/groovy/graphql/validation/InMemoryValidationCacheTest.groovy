@@ -0,0 +1,128 @@
+package graphql.validation
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.execution.instrumentation.DocumentAndVariables
+import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.parser.Parser
+import spock.lang.Specification
+
+class InMemoryValidationCacheTest extends Specification {
+
+    def query = '''query Q($id: String!) {
+        human(id: $id) {
+            name
+        }
+    }'''
+
+    def "queries are validated once for any variables"() {
+        def cache = InMemoryValidationCache.newInMemoryValidationCache().build()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).validationCache(cache).build()
+
+        when:
+        def luke = graphQL.execute(ExecutionInput.newExecutionInput().query(query).variables([id: "1000"]))
+        def vader = graphQL.execute(ExecutionInput.newExecutionInput().query(query).variables([id: "1001"]))
+
+        then:
+        luke.data == [human: [name: "Luke Skywalker"]]
+        vader.data == [human: [name: "Darth Vader"]]
+        cache.missCount == 1
+        cache.hitCount == 1
+        cache.size == 1
+
+        when: "the values of the variables are still checked on every request"
+        def invalidVariables = graphQL.execute(ExecutionInput.newExecutionInput().query(query).variables([id: null]))
+
+        then:
+        !invalidVariables.errors.isEmpty()
+        cache.missCount == 1
+        cache.hitCount == 2
+    }
+
+    def "validation errors are cached"() {
+        def cache = InMemoryValidationCache.newInMemoryValidationCache().build()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).validationCache(cache).build()
+
+        when:
+        def first = graphQL.execute("{ hero { unknownField } }")
+        def second = graphQL.execute("{ hero { unknownField } }")
+
+        then:
+        first.errors.size() == 1
+        first.errors[0] instanceof ValidationError
+        second.errors == first.errors
+        cache.missCount == 1
+        cache.hitCount == 1
+    }
+
+    def "queries are cached per schema"() {
+        def cache = InMemoryValidationCache.newInMemoryValidationCache().build()
+        def otherSchema = TestUtil.schema("type Query { hero : String }")
+
+        when:
+        def errors = cache.getValidationErrors(StarWarsSchema.starWarsSchema, "{ hero { name } }", { validate(StarWarsSchema.starWarsSchema, "{ hero { name } }") })
+        def otherErrors = cache.getValidationErrors(otherSchema, "{ hero { name } }", { validate(otherSchema, "{ hero { name } }") })
+
+        then:
+        errors.isEmpty()
+        otherErrors.size() == 1
+        otherErrors[0].validationErrorType == ValidationErrorType.SubSelectionNotAllowed
+        cache.missCount == 2
+        cache.size == 2
+    }
+
+    def "the least recently used queries are evicted"() {
+        def cache = InMemoryValidationCache.newInMemoryValidationCache().maximumSize(2).build()
+        def schema = StarWarsSchema.starWarsSchema
+
+        when:
+        cache.getValidationErrors(schema, "{ a }", { [] })
+        cache.getValidationErrors(schema, "{ b }", { [] })
+        cache.getValidationErrors(schema, "{ a }", { [] })
+        cache.getValidationErrors(schema, "{ c }", { [] })
+        cache.getValidationErrors(schema, "{ a }", { [] })
+        cache.getValidationErrors(schema, "{ b }", { [] })
+
+        then:
+        cache.size == 2
+        cache.hitCount == 2
+        cache.missCount == 4
+
+        when:
+        cache.invalidateAll()
+
+        then:
+        cache.size == 0
+    }
+
+    def "documents replaced by instrumentation are not cached"() {
+        def cache = InMemoryValidationCache.newInMemoryValidationCache().build()
+        def instrumentation = new SimpleInstrumentation() {
+            @Override
+            DocumentAndVariables instrumentDocumentAndVariables(DocumentAndVariables documentAndVariables, InstrumentationExecutionParameters parameters) {
+                def newDoc = new Parser().parseDocument("{ hero { name } }")
+                documentAndVariables.transform({ builder -> builder.document(newDoc) })
+            }
+        }
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(instrumentation)
+                .validationCache(cache)
+                .build()
+
+        when:
+        def result = graphQL.execute("{ hero { unknownField } }")
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "R2-D2"]]
+        cache.missCount == 0
+        cache.size == 0
+    }
+
+    static List<ValidationError> validate(schema, String query) {
+        new Validator().validateDocument(schema, new Parser().parseDocument(query))
+    }
+}
@@ -2,6 +2,7 @@ package graphql.validation
 
 import graphql.TestUtil
 import graphql.language.Document
+import graphql.language.Field
 import graphql.parser.Parser
 import graphql.validation.rules.NoUnusedVariables
 import spock.lang.Specification
@@ -71,4 +72,50 @@ class RulesVisitorTest extends Specification {
         notThrown(StackOverflowError)
     }
 
+    static class FieldCountingRule extends AbstractRule {
+        List<String> fieldNames = []
+
+        FieldCountingRule(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector, boolean visitFragmentSpreads) {
+            super(validationContext, validationErrorCollector)
+            setVisitFragmentSpreads(visitFragmentSpreads)
+        }
+
+        @Override
+        void checkField(Field field) {
+            fieldNames.add(field.name)
+        }
+    }
+
+    def "rules are called for the nodes they check, following fragment spreads when they ask to"() {
+        given:
+        def query = """
+        query Q1 {
+            dog {
+                ...DogFields
+            }
+        }
+
+        query Q2 {
+            dog {
+                ...DogFields
+            }
+        }
+
+        fragment DogFields on Dog {
+            name
+        }
+        """
+        Document document = new Parser().parseDocument(query)
+        ValidationContext validationContext = new ValidationContext(TestUtil.dummySchema, document)
+        def fragmentRule = new FieldCountingRule(validationContext, errorCollector, false)
+        def spreadRule = new FieldCountingRule(validationContext, errorCollector, true)
+
+        when:
+        new LanguageTraversal().traverse(document, new RulesVisitor(validationContext, [fragmentRule, spreadRule]))
+
+        then:
+        fragmentRule.fieldNames == ["dog", "dog", "name"]
+        spreadRule.fieldNames == ["dog", "name", "dog", "name"]
+    }
+
 }
@@ -0,0 +1,148 @@
+package graphql.validation
+
+import graphql.GraphQL
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.concurrent.ForkJoinPool
+
+class ValidatorTest extends Specification {
+
+    def query = '''
+        query getDogName($unused: Int) {
+            dog {
+                name
+                badField
+                ...dogFields
+            }
+        }
+
+        query getDogName {
+            dog {
+                x: name
+                x: nickname
+                ...dogFields
+            }
+        }
+
+        query getOwner {
+            dog {
+                owner {
+                    name(nonExistentArg: true)
+                }
+                doesKnowCommand(dogCommand: $undefined)
+            }
+        }
+
+        fragment dogFields on Dog {
+            nickname
+            barkVolume {
+                tooDeep
+            }
+        }
+
+        fragment unusedFragment on Dog {
+            name
+        }
+    '''
+
+    static List<String> describe(List<ValidationError> validationErrors) {
+        validationErrors.collect { it.toString() }
+    }
+
+    def "partitioned validation reports the same errors as sequential validation"() {
+        def document = new Parser().parseDocument(query)
+        def schema = SpecValidationSchema.specValidationSchema
+
+        when:
+        def sequentialErrors = new Validator().validateDocument(schema, document)
+        def parallelErrors = new Validator().validateDocument(schema, document, ForkJoinPool.commonPool())
+
+        then:
+        sequentialErrors.size() == 8
+        describe(parallelErrors).sort() == describe(sequentialErrors).sort()
+        parallelErrors.collect { it.validationErrorType } as Set == [
+                ValidationErrorType.DuplicateOperationName,
+                ValidationErrorType.UnusedFragment,
+                ValidationErrorType.FieldUndefined,
+                ValidationErrorType.UnusedVariable,
+                ValidationErrorType.FieldsConflict,
+                ValidationErrorType.UnknownArgument,
+                ValidationErrorType.UndefinedVariable,
+                ValidationErrorType.SubSelectionNotAllowed,
+        ] as Set
+    }
+
+    def "conflicts in a fragment spread by several operations are reported once"() {
+        def document = new Parser().parseDocument('''
+            query first {
+                dog {
+                    ...conflicting
+                }
+            }
+
+            query second {
+                dog {
+                    name
+                    ...conflicting
+                }
+            }
+
+            fragment conflicting on Dog {
+                x: name
+                x: nickname
+            }
+        ''')
+        def schema = SpecValidationSchema.specValidationSchema
+
+        when:
+        def sequentialErrors = new Validator().validateDocument(schema, document)
+        def parallelErrors = new Validator().validateDocument(schema, document, ForkJoinPool.commonPool())
+
+        then:
+        sequentialErrors.size() == 1
+        sequentialErrors[0].validationErrorType == ValidationErrorType.FieldsConflict
+        describe(parallelErrors) == describe(sequentialErrors)
+    }
+
+    def "partitioned validation can be used by GraphQL"() {
+        def executor = Mock(Executor)
+        def graphQL = GraphQL.newGraphQL(SpecValidationSchema.specValidationSchema)
+                .validationExecutor(executor)
+                .build()
+
+        when:
+        def result = graphQL.execute('{ dog { x: name x: nickname } }')
+
+        then:
+        (2.._) * executor.execute(_) >> { Runnable runnable -> runnable.run() }
+        result.errors.size() == 1
+        (result.errors[0] as ValidationError).validationErrorType == ValidationErrorType.FieldsConflict
+    }
+
+    def "partitioned errors are ordered by definition whatever order the partitions finish in"() {
+        def document = new Parser().parseDocument(query)
+        def schema = SpecValidationSchema.specValidationSchema
+        def inOrder = { Runnable runnable -> runnable.run() } as Executor
+        def partitionCount = document.definitions.size() + 1
+        def deferred = Collections.synchronizedList([])
+        def inReverseOrder = { Runnable runnable -> deferred.add(0, runnable) } as Executor
+
+        when:
+        def expectedErrors = new Validator().validateDocument(schema, document, inOrder)
+        def thread = Thread.start {
+            while (deferred.size() < partitionCount) {
+                Thread.sleep(10)
+            }
+            deferred.each { it.run() }
+        }
+        def reversedErrors = new Validator().validateDocument(schema, document, inReverseOrder)
+        thread.join()
+
+        then:
+        describe(reversedErrors) == describe(expectedErrors)
+        expectedErrors[0].validationErrorType == ValidationErrorType.DuplicateOperationName
+        expectedErrors.last().validationErrorType == ValidationErrorType.SubSelectionNotAllowed
+    }
+}
@@ -626,5 +626,48 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
 
     }
 
+    def "conflicts in fragments that are spread in many places are reported once"() {
+        given:
+        def query = """
+            {
+                a: pet { ...F }
+                b: pet { ...F ...G }
+                c: pet { ...G ...F }
+            }
+            fragment F on Pet { x: name ...G }
+            fragment G on Pet { x: nickname }
+        """
+        def schema = TestUtil.schema("""
+            type Query { pet: Pet }
+            type Pet { name: String nickname: String }
+        """)
+        when:
+        traverse(query, schema)
 
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error of type FieldsConflict: x: name and nickname are different fields @ 'pet'"
+    }
+
+    def "documents with many fragments are validated"() {
+        given:
+        def fragmentCount = 200
+        def spreads = (0..<fragmentCount).collect { "...F$it" }.join(" ")
+        def fragments = (0..<fragmentCount).collect {
+            "fragment F$it on Pet { name friend { name nickname } ...F${(it + 1) % fragmentCount} }"
+        }.join("\n")
+        def query = "{ pet { $spreads } }\n$fragments\nfragment Conflict on Pet { name: nickname ...F0 }"
+        def schema = TestUtil.schema("""
+            type Query { pet: Pet }
+            type Pet { name: String nickname: String friend: Pet }
+        """)
+        when:
+        traverse(query, schema)
+
+        then:
+        errorCollector.getErrors().size() == fragmentCount
+        errorCollector.getErrors().every {
+            it.message == "Validation error of type FieldsConflict: name: nickname and name are different fields @ 'Conflict'"
+        }
+    }
 }
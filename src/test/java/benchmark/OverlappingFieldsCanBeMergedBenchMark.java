@@ -0,0 +1,92 @@
+package benchmark;
+
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.validation.LanguageTraversal;
+import graphql.validation.RulesVisitor;
+import graphql.validation.ValidationContext;
+import graphql.validation.ValidationErrorCollector;
+import graphql.validation.rules.OverlappingFieldsCanBeMerged;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Validates fragment heavy documents, like the ones generated by clients, with the OverlappingFieldsCanBeMerged rule.
+ * The fragments are either all spread side by side in one selection set, or each fragment spreads the next one.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class OverlappingFieldsCanBeMergedBenchMark {
+
+    @Param({"sideBySide", "chained"})
+    public String shape;
+
+    @Param({"50", "200"})
+    public int fragmentCount;
+
+    private GraphQLSchema schema;
+    private Document document;
+
+    @Setup
+    public void setup() {
+        InputStream sdl = OverlappingFieldsCanBeMergedBenchMark.class.getClassLoader().getResourceAsStream("starWarsSchema.graphqls");
+        TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(new InputStreamReader(sdl));
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Character").typeResolver(env -> env.getSchema().getObjectType("Human")))
+                .build();
+        schema = new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
+        document = new Parser().parseDocument(buildQuery("chained".equals(shape), fragmentCount));
+    }
+
+    static String buildQuery(boolean chained, int fragmentCount) {
+        StringBuilder query = new StringBuilder("query Q { hero {");
+        int spreadCount = chained ? 1 : fragmentCount;
+        for (int i = 0; i < spreadCount; i++) {
+            query.append(" ...F").append(i);
+        }
+        query.append(" } }\n");
+        for (int i = 0; i < fragmentCount; i++) {
+            query.append("fragment F").append(i).append(" on Character {")
+                    .append(" id name alias: name")
+                    .append(" friends { id name ... on Human { homePlanet } friends { name } }")
+                    .append(" ... on Droid { primaryFunction friends { id } }");
+            if (chained && i + 1 < fragmentCount) {
+                query.append(" ...F").append(i + 1);
+            }
+            query.append(" }\n");
+        }
+        return query.toString();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ValidationErrorCollector benchMarkValidation() {
+        ValidationContext validationContext = new ValidationContext(schema, document);
+        ValidationErrorCollector errorCollector = new ValidationErrorCollector();
+        OverlappingFieldsCanBeMerged rule = new OverlappingFieldsCanBeMerged(validationContext, errorCollector);
+        new LanguageTraversal().traverse(document, new RulesVisitor(validationContext, Collections.singletonList(rule)));
+        return errorCollector;
+    }
+}
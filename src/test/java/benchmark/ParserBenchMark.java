@@ -0,0 +1,74 @@
+package benchmark;
+
+import graphql.introspection.IntrospectionQuery;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.parser.ParserOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a query and a schema with the ANTLR generated parser against the hand written parser.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class ParserBenchMark {
+
+    @Param({"antlr", "handWritten"})
+    public String parser;
+
+    private ParserOptions parserOptions;
+    private String schema;
+
+    @Setup
+    public void setup() {
+        parserOptions = ParserOptions.newParserOptions().handWrittenParser("handWritten".equals(parser)).build();
+        schema = readResource("starWarsSchema.graphqls");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Document benchMarkIntrospectionQueryThroughput() {
+        return new Parser().parseDocument(IntrospectionQuery.INTROSPECTION_QUERY, null, parserOptions);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Document benchMarkSchemaThroughput() {
+        return new Parser().parseDocument(schema, null, parserOptions);
+    }
+
+    private static String readResource(String name) {
+        InputStream inputStream = ParserBenchMark.class.getClassLoader().getResourceAsStream(name);
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[4096];
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+}
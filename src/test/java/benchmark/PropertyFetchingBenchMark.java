@@ -0,0 +1,82 @@
+package benchmark;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.PropertyDataFetcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static graphql.Scalars.GraphQLString;
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+
+/**
+ * Compares {@link PropertyDataFetcher} fetching POJO properties via reflection against fetching them via generated
+ * getter functions.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class PropertyFetchingBenchMark {
+
+    @Param({"reflection", "lambda"})
+    public String fetchingMode;
+
+    private final PropertyDataFetcher<Object> nameFetcher = PropertyDataFetcher.fetching("name");
+    private final PropertyDataFetcher<Object> ageFetcher = PropertyDataFetcher.fetching("age");
+
+    private DataFetchingEnvironment environment;
+
+    @Setup
+    public void setup() {
+        PropertyDataFetcher.setUseLambdaFactory("lambda".equals(fetchingMode));
+        PropertyDataFetcher.clearReflectionCache();
+        environment = newDataFetchingEnvironment()
+                .source(new Pojo("Luke", 22))
+                .fieldType(GraphQLString)
+                .build();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void benchMarkPropertyFetchingThroughput(Blackhole blackhole) {
+        blackhole.consume(nameFetcher.get(environment));
+        blackhole.consume(ageFetcher.get(environment));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void benchMarkPropertyFetchingAvgTime(Blackhole blackhole) {
+        blackhole.consume(nameFetcher.get(environment));
+        blackhole.consume(ageFetcher.get(environment));
+    }
+
+    public static class Pojo {
+        private final String name;
+        private final int age;
+
+        public Pojo(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}